@@ -0,0 +1,118 @@
+package benchmark;
+
+import org.junit.Test;
+import org.noear.solon.annotation.Param;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.NvMap;
+import org.noear.solon.core.handle.ActionExecutorDefault;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.handle.ModelAndView;
+import org.noear.solon.core.handle.UploadedFile;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.noear.solon.core.wrap.ParamWrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 动作参数构建：逐参数判断（旧） 与 预先生成解析器（新） 的对比
+ */
+public class ActionArgsTest {
+    public Object demo(Context ctx, Locale locale, @Param("id") long id, @Param("name") String name, @Param("size") int size) {
+        return null;
+    }
+
+    static class ExecutorNew extends ActionExecutorDefault {
+        public Object[] build(Context ctx, MethodWrap mWrap) throws Exception {
+            return resolveArgs(ctx, mWrap);
+        }
+    }
+
+    static class ExecutorOld extends ActionExecutorDefault {
+        //旧的构建方式（每次请求都逐参数判断，且构建 List 再转为数组）
+        public Object[] build(Context ctx, MethodWrap mWrap) throws Exception {
+            ParamWrap[] pSet = mWrap.getParamWraps();
+            List<Object> args = new ArrayList<>(pSet.length);
+
+            Object bodyObj = changeBody(ctx);
+
+            for (int i = 0, len = pSet.length; i < len; i++) {
+                ParamWrap p = pSet[i];
+                Class<?> pt = p.getType();
+
+                if (Context.class.isAssignableFrom(pt)) {
+                    args.add(ctx);
+                } else if (ModelAndView.class.isAssignableFrom(pt)) {
+                    args.add(new ModelAndView());
+                } else if (Locale.class.isAssignableFrom(pt)) {
+                    args.add(ctx.getLocale());
+                } else if (UploadedFile.class == pt) {
+                    args.add(ctx.file(p.getName()));
+                } else if (pt.isInstance(ctx.request())) {
+                    args.add(ctx.request());
+                } else if (pt.isInstance(ctx.response())) {
+                    args.add(ctx.response());
+                } else {
+                    Object tv = changeValue(ctx, p, i, pt, bodyObj);
+
+                    if (tv == null && pt.isPrimitive()) {
+                        if (pt == int.class) {
+                            tv = 0;
+                        } else if (pt == long.class) {
+                            tv = 0L;
+                        }
+                    }
+
+                    args.add(tv);
+                }
+            }
+
+            return args.toArray();
+        }
+    }
+
+    @Test
+    public void test() throws Exception {
+        MethodWrap mWrap = new MethodWrap(new AopContext(), ActionArgsTest.class.getMethod("demo",
+                Context.class, Locale.class, long.class, String.class, int.class));
+
+        Context ctx = new ContextEmpty();
+        NvMap params = ctx.paramMap();
+        params.put("id", "12");
+        params.put("name", "noear");
+
+        ExecutorOld executorOld = new ExecutorOld();
+        ExecutorNew executorNew = new ExecutorNew();
+
+        Object[] args1 = executorOld.build(ctx, mWrap);
+        Object[] args2 = executorNew.build(ctx, mWrap);
+
+        assert args1.length == args2.length;
+        for (int i = 0; i < args1.length; i++) {
+            assert String.valueOf(args1[i]).equals(String.valueOf(args2[i]));
+        }
+        assert args2[2].equals(12L);
+        assert args2[4].equals(0);
+
+        int count = 1_000_000;
+
+        for (int i = 0; i < count; i++) {
+            executorOld.build(ctx, mWrap);
+            executorNew.build(ctx, mWrap);
+        }
+
+        long time_start = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            executorOld.build(ctx, mWrap);
+        }
+        System.out.println("old: " + (System.currentTimeMillis() - time_start));
+
+        time_start = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            executorNew.build(ctx, mWrap);
+        }
+        System.out.println("new: " + (System.currentTimeMillis() - time_start));
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import org.junit.Test;
+import org.noear.solon.core.util.ConvertUtil;
+import org.noear.solon.core.wrap.ClassWrap;
+import org.noear.solon.core.wrap.FieldWrap;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * ClassWrap 字段绑定（30 个字段的实体）：反射加通用转换 vs 预构建的绑定器
+ *
+ * @author agent 2026/10/18 created
+ */
+public class FieldBinderTest {
+    static final int COUNT = 200_000;
+
+    @Test
+    public void bind() throws Exception {
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            data.put("s" + i, "hello" + i);
+            data.put("n" + i, String.valueOf(i * 100));
+        }
+        for (int i = 0; i < 5; i++) {
+            data.put("d" + i, "12.5");
+        }
+        for (int i = 0; i < 4; i++) {
+            data.put("b" + i, "1");
+        }
+        data.put("day", "2023-06-02");
+
+        //结果一致
+        Dto30 dto1 = reflectFill(data::get);
+        Dto30 dto2 = ClassWrap.get(Dto30.class).newBy(data::get);
+        assert dto1.s9.equals(dto2.s9);
+        assert dto1.n9 == dto2.n9 && dto2.n9 == 900;
+        assert dto1.d4.equals(dto2.d4);
+        assert dto2.b3;
+        assert LocalDate.of(2023, 6, 2).equals(dto2.day);
+
+        for (int r = 0; r < 5; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < COUNT; i++) {
+                reflectFill(data::get);
+            }
+            long time1 = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < COUNT; i++) {
+                ClassWrap.get(Dto30.class).fill(new Dto30(), data::get);
+            }
+            long time2 = System.nanoTime() - start;
+
+            System.out.println("reflect: " + (time1 / COUNT) + "ns/op, binder: " + (time2 / COUNT) + "ns/op");
+        }
+    }
+
+    /**
+     * 原来的方式（每个字段：通用转换 + 反射设置）
+     */
+    private static Dto30 reflectFill(Function<String, String> data) throws Exception {
+        Dto30 obj = new Dto30();
+
+        for (Map.Entry<String, FieldWrap> kv : ClassWrap.get(Dto30.class).getFieldAllWraps().entrySet()) {
+            String val0 = data.apply(kv.getKey());
+
+            if (val0 != null) {
+                FieldWrap fw = kv.getValue();
+                fw.setValue(obj, ConvertUtil.to(fw.field, fw.type, kv.getKey(), val0, null));
+            }
+        }
+
+        return obj;
+    }
+
+    public static class Dto30 {
+        public String s0, s1, s2, s3, s4, s5, s6, s7, s8, s9;
+        public int n0, n1, n2, n3, n4, n5, n6, n7, n8, n9;
+        public BigDecimal d0, d1, d2, d3, d4;
+        public boolean b0, b1, b2, b3;
+        public LocalDate day;
+
+        public void setS0(String s0) {
+            this.s0 = s0;
+        }
+
+        public void setN0(int n0) {
+            this.n0 = n0;
+        }
+    }
+}
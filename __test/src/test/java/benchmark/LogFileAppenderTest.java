@@ -0,0 +1,125 @@
+package benchmark;
+
+import org.junit.Test;
+import org.noear.solon.logging.appender.AppenderSimple;
+import org.noear.solon.logging.event.Level;
+import org.noear.solon.logging.event.LogEvent;
+import org.noear.solon.logging.persistent.BinaryEncoder;
+import org.noear.solon.logging.persistent.FilePersistentAppender;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 日志写文件：逐行拼接字符串并输出（旧，同 OutputStreamAppender 的方式） 与 批量编码到直接缓冲区（新） 的对比
+ */
+public class LogFileAppenderTest {
+    static final int COUNT = 200_000;
+    static final int BATCH = 150;
+
+    /**
+     * 旧的方式（拼接标题字符串，逐行输出并刷出）
+     */
+    static class LineAppender extends AppenderSimple {
+        final PrintWriter out;
+
+        LineAppender(File file) throws IOException {
+            out = new PrintWriter(new FileOutputStream(file), true);
+        }
+
+        @Override
+        protected void appendDo(Level level, String title, Object content) {
+            synchronized (out) {
+                out.println(title);
+                out.println(content);
+            }
+        }
+    }
+
+    private List<LogEvent> buildEvents() {
+        List<LogEvent> list = new ArrayList<>(COUNT);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < COUNT; i++) {
+            list.add(new LogEvent("demo.order.OrderService", Level.INFO,
+                    Collections.singletonMap("traceId", "c0a8010b1685600000000" + (i % 100)),
+                    "order created: id=" + i + ", user=\"noear\", amount=12.5",
+                    now + i, "http-nio-8080-exec-1", null));
+        }
+
+        return list;
+    }
+
+    private long runLine(List<LogEvent> events, File file) throws Exception {
+        LineAppender appender = new LineAppender(file);
+        appender.setName("line");
+
+        long start = System.nanoTime();
+        for (LogEvent e : events) {
+            appender.append(e);
+        }
+        long time = System.nanoTime() - start;
+
+        appender.out.close();
+        return time;
+    }
+
+    private long runFile(List<LogEvent> events, File dir, boolean binary) throws Exception {
+        FilePersistentAppender appender = new FilePersistentAppender();
+        appender.setName("file");
+        appender.setDir(dir);
+        if (binary) {
+            appender.setEncoder(BinaryEncoder.instance);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events.size(); i += BATCH) {
+            appender.onEvents(events.subList(i, Math.min(i + BATCH, events.size())));
+        }
+        long time = System.nanoTime() - start;
+
+        appender.stop();
+        return time;
+    }
+
+    @Test
+    public void test() throws Exception {
+        List<LogEvent> events = buildEvents();
+        File tmp = Files.createTempDirectory("solon-log").toFile();
+
+        //预热
+        for (int i = 0; i < 3; i++) {
+            runLine(events, new File(tmp, "line.log"));
+            runFile(events, new File(tmp, "json" + i), false);
+            runFile(events, new File(tmp, "bin" + i), true);
+        }
+
+        long lineTime = runLine(events, new File(tmp, "line.log"));
+        File jsonDir = new File(tmp, "json");
+        long jsonTime = runFile(events, jsonDir, false);
+        long binTime = runFile(events, new File(tmp, "bin"), true);
+
+        System.out.println("line:   " + lineTime / 1000_000 + "ms");
+        System.out.println("json:   " + jsonTime / 1000_000 + "ms");
+        System.out.println("binary: " + binTime / 1000_000 + "ms");
+
+        //检查 json 行数
+        File[] files = jsonDir.listFiles();
+        assert files != null && files.length == 1;
+        try (BufferedReader reader = new BufferedReader(new FileReader(files[0]))) {
+            int lines = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (lines == 0) {
+                    assert line.startsWith("{\"ts\":");
+                    assert line.contains("\\\"noear\\\"");
+                }
+                lines++;
+            }
+            assert lines == COUNT;
+        }
+    }
+}
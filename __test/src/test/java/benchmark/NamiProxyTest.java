@@ -0,0 +1,118 @@
+package benchmark;
+
+import org.junit.Test;
+import org.noear.nami.*;
+import org.noear.nami.annotation.Body;
+import org.noear.nami.annotation.Mapping;
+import org.noear.nami.annotation.NamiClient;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Nami 代理开销（通道为空操作，只测调用处理本身）
+ */
+public class NamiProxyTest {
+    static final int COUNT = 1_000_000;
+
+    @NamiClient(headers = "X-App=demo")
+    public interface DemoApi {
+        String hello(String name, int age);
+
+        @Mapping(value = "GET users/{id}/orders/{orderId}", headers = "X-Ver=1")
+        String order(String id, String orderId, String status);
+
+        @Mapping("POST users")
+        String save(@Body Map<String, Object> user, String token);
+    }
+
+    //空操作通道（检查参数后直接返回）
+    static final Channel channel = ctx -> {
+        if (ctx.url == null || ctx.headers.get("X-App") == null) {
+            throw new IllegalStateException();
+        }
+
+        return new Result(200, null);
+    };
+
+    static final Decoder decoder = new Decoder() {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return null;
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    };
+
+    private DemoApi create() {
+        return Nami.builder()
+                .decoder(decoder)
+                .channel(channel)
+                .upstream(() -> "http://localhost:8080")
+                .create(DemoApi.class);
+    }
+
+    @Test
+    public void check() {
+        Channel channel2 = ctx -> {
+            assert "http://localhost:8080/users/1/orders/2".equals(ctx.url);
+            assert "GET".equals(ctx.action);
+            assert "1".equals(ctx.headers.get("X-Ver"));
+            assert "demo".equals(ctx.headers.get("X-App"));
+            assert ctx.args.size() == 1 && "paid".equals(ctx.args.get("status"));
+            return new Result(200, null);
+        };
+
+        DemoApi api = Nami.builder()
+                .decoder(decoder)
+                .channel(channel2)
+                .upstream(() -> "http://localhost:8080")
+                .create(DemoApi.class);
+
+        api.order("1", "2", "paid");
+    }
+
+    @Test
+    public void test_hello() {
+        DemoApi api = create();
+        run("hello", () -> api.hello("noear", 18));
+    }
+
+    @Test
+    public void test_pathVars() {
+        DemoApi api = create();
+        run("pathVars", () -> api.order("1", "2", "paid"));
+    }
+
+    @Test
+    public void test_body() {
+        DemoApi api = create();
+        Map<String, Object> user = new java.util.HashMap<>();
+        user.put("name", "noear");
+
+        run("body", () -> api.save(user, "t"));
+    }
+
+    private void run(String name, Runnable call) {
+        //预热
+        for (int i = 0; i < COUNT / 10; i++) {
+            call.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNT; i++) {
+            call.run();
+        }
+        long time = System.nanoTime() - start;
+
+        System.out.println(name + ": " + (time / COUNT) + " ns/op");
+    }
+}
@@ -0,0 +1,41 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.annotation.Param;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.handle.ActionExecutorDefault;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.wrap.MethodWrap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 动作执行器：重写 buildArgs 的，仍由它构建执行参数
+ */
+public class ActionExecutorTest {
+    public String demo(@Param("name") String name) {
+        return "hello " + name;
+    }
+
+    static class ExecutorCustom extends ActionExecutorDefault {
+        @Override
+        protected List<Object> buildArgs(Context ctx, MethodWrap mWrap) throws Exception {
+            List<Object> args = new ArrayList<>();
+            args.add("custom");
+            return args;
+        }
+    }
+
+    @Test
+    public void test() throws Throwable {
+        MethodWrap mWrap = new MethodWrap(new AopContext(), ActionExecutorTest.class.getMethod("demo", String.class));
+
+        Context ctx = new ContextEmpty();
+        ctx.paramMap().put("name", "noear");
+
+        assert "hello noear".equals(new ActionExecutorDefault().execute(ctx, this, mWrap));
+        assert "hello custom".equals(new ExecutorCustom().execute(ctx, this, mWrap));
+    }
+}
@@ -0,0 +1,74 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.ChainManager;
+import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.wrap.MethodWrap;
+
+import java.util.Map;
+
+/**
+ * 预编译调用链的顺序与参数视图
+ */
+public class ChainManagerTest {
+    @Test
+    public void filter() throws Throwable {
+        ChainManager chainManager = new ChainManager();
+        StringBuilder buf = new StringBuilder();
+
+        chainManager.addFilter((ctx, chain) -> buf.append("end"), Integer.MAX_VALUE);
+        chainManager.addFilter((ctx, chain) -> {
+            buf.append("b,");
+            chain.doFilter(ctx);
+        }, 2);
+        chainManager.addFilter((ctx, chain) -> {
+            buf.append("a,");
+            chain.doFilter(ctx);
+        }, 1);
+
+        Context ctx = new ContextEmpty();
+        chainManager.doFilter(ctx);
+        assert "a,b,end".equals(buf.toString());
+
+        //调用链可重复使用
+        buf.setLength(0);
+        chainManager.doFilter(ctx);
+        assert "a,b,end".equals(buf.toString());
+    }
+
+    @Test
+    public void interceptor() throws Throwable {
+        ChainManager chainManager = new ChainManager();
+        StringBuilder buf = new StringBuilder();
+
+        chainManager.addInterceptor((ctx, mainHandler, chain) -> buf.append("end"), Integer.MAX_VALUE);
+        chainManager.addInterceptor((ctx, mainHandler, chain) -> {
+            buf.append("a,");
+            chain.doIntercept(ctx, mainHandler);
+        }, 0);
+
+        chainManager.doIntercept(new ContextEmpty(), null);
+        assert "a,end".equals(buf.toString());
+    }
+
+    public String hello(String name, int age) {
+        return name + age;
+    }
+
+    @Test
+    public void argsAsMap() throws Throwable {
+        MethodWrap mWrap = new MethodWrap(new AopContext(), ChainManagerTest.class.getMethod("hello", String.class, int.class));
+
+        assert "noear1".equals(mWrap.invokeByAspect(this, new Object[]{"noear", 1}));
+
+        Invocation inv = new Invocation(this, new Object[]{"noear", 1}, mWrap, mWrap.getArounds());
+        Map<String, Object> map = inv.argsAsMap();
+
+        assert map.size() == 2;
+        assert map.values().toArray()[1].equals(1);
+        assert "noear1".equals(inv.invoke());
+    }
+}
@@ -0,0 +1,121 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.ComponentIndex;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class ComponentIndexTest {
+    @Test
+    public void find() throws Exception {
+        File root = Files.createTempDirectory("idx").toFile();
+        new File(root, "idxdemo/sub").mkdirs();
+        new File(root, "META-INF/solon").mkdirs();
+
+        String idx = "# test\n" +
+                "idxdemo.A=org.noear.solon.annotation.Component\n" +
+                "idxdemo.sub.B=org.noear.solon.annotation.Controller,org.noear.solon.annotation.Mapping\n" +
+                "idxdemo.C=java.lang.Deprecated\n" +
+                "other.D=org.noear.solon.annotation.Component\n";
+        Files.write(new File(root, ComponentIndex.INDEX_FILE).toPath(), idx.getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root.toURI().toURL()}, null)) {
+            Set<String> names = ComponentIndex.find(classLoader, "idxdemo",
+                    n -> n.equals("org.noear.solon.annotation.Component") || n.equals("org.noear.solon.annotation.Controller"));
+
+            assert names != null;
+            assert names.size() == 2;
+            assert names.contains("idxdemo.A");
+            assert names.contains("idxdemo.sub.B");
+        }
+    }
+
+    @Test
+    public void find_merge() throws Exception {
+        File root = Files.createTempDirectory("idx").toFile();
+        new File(root, "idxdemo").mkdirs();
+        new File(root, "META-INF/solon").mkdirs();
+
+        String idx = "idxdemo.A=org.noear.solon.annotation.Component\n" +
+                "idxdemo.E=\n";
+        Files.write(new File(root, ComponentIndex.INDEX_FILE).toPath(), idx.getBytes(StandardCharsets.UTF_8));
+
+        //类文件（只列名，内容无关）
+        for (String name : new String[]{"A", "A$1", "E", "K", "K$Inner"}) {
+            Files.write(new File(root, "idxdemo/" + name + ".class").toPath(), new byte[0]);
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root.toURI().toURL()}, null)) {
+            Set<String> names = ComponentIndex.find(classLoader, "idxdemo",
+                    n -> n.equals("org.noear.solon.annotation.Component"));
+
+            //索引里的候选 + 索引里没有的类（比如 Kotlin 编译的）；不包括匿名类与索引里的非候选
+            assert names != null;
+            assert names.size() == 3;
+            assert names.contains("idxdemo.A");
+            assert names.contains("idxdemo.K");
+            assert names.contains("idxdemo.K$Inner");
+        }
+    }
+
+    @Test
+    public void find_jar() throws Exception {
+        String idx = "idxdemo.A=org.noear.solon.annotation.Component\n";
+
+        //有完整标记的 jar：信任索引，不遍历条目
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{buildJar(ComponentIndex.COMPLETE_MARKER + "\n" + idx)}, null)) {
+            Set<String> names = ComponentIndex.find(classLoader, "idxdemo",
+                    n -> n.equals("org.noear.solon.annotation.Component"));
+
+            assert names != null;
+            assert names.size() == 1;
+            assert names.contains("idxdemo.A");
+        }
+
+        //没有完整标记的 jar：索引里没有的类照常加载
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{buildJar(idx)}, null)) {
+            Set<String> names = ComponentIndex.find(classLoader, "idxdemo",
+                    n -> n.equals("org.noear.solon.annotation.Component"));
+
+            assert names != null;
+            assert names.size() == 2;
+            assert names.contains("idxdemo.K");
+        }
+    }
+
+    private static URL buildJar(String idx) throws Exception {
+        File file = File.createTempFile("idx", ".jar");
+        file.deleteOnExit();
+
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new JarEntry("META-INF/solon/components.idx"));
+            out.write(idx.getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new JarEntry("idxdemo/"));
+            out.putNextEntry(new JarEntry("idxdemo/A.class"));
+            out.putNextEntry(new JarEntry("idxdemo/K.class"));
+        }
+
+        return file.toURI().toURL();
+    }
+
+    @Test
+    public void find_noIndex() throws Exception {
+        File root = Files.createTempDirectory("idx").toFile();
+        new File(root, "idxdemo").mkdirs();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root.toURI().toURL()}, null)) {
+            assert ComponentIndex.find(classLoader, "idxdemo", n -> true) == null;
+        }
+    }
+}
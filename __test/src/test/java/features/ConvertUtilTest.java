@@ -0,0 +1,80 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.util.ConvertUtil;
+import org.noear.solon.core.wrap.ClassWrap;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class ConvertUtilTest {
+    @Test
+    public void builtin() {
+        assert ConvertUtil.to(Integer.class, "12").equals(12);
+        assert ConvertUtil.to(boolean.class, "1").equals(true);
+        assert ConvertUtil.to(LocalDate.class, "2023-06-02").equals(LocalDate.of(2023, 6, 2));
+        assert ConvertUtil.to(Integer.class, "") == null;
+        assert ConvertUtil.tryTo(Map.class, "a") == null;
+    }
+
+    @Test
+    public void enumOf() {
+        assert ConvertUtil.to(Color.class, "green") == Color.GREEN;
+        assert ConvertUtil.to(Color.class, "RED") == Color.RED;
+        assert ConvertUtil.tryTo(Color.class, "blue") == null;
+    }
+
+    @Test
+    public void date() {
+        Calendar calendar = Calendar.getInstance();
+
+        calendar.setTime((Date) ConvertUtil.to(Date.class, "2023-06-02 10:20:30"));
+        assert calendar.get(Calendar.MINUTE) == 20;
+
+        //同一格式再次解析（缓存的解析器）
+        calendar.setTime((Date) ConvertUtil.to(Date.class, "2022-01-03 04:05:06"));
+        assert calendar.get(Calendar.YEAR) == 2022;
+        assert calendar.get(Calendar.SECOND) == 6;
+    }
+
+    @Test
+    public void register() {
+        Map<String, String> data = new HashMap<>();
+        data.put("money", "12.50");
+
+        //先绑定一次（让绑定器缓存），再注册
+        try {
+            ClassWrap.get(Order.class).newBy(data::get);
+            assert false;
+        } catch (ClassCastException e) {
+            //还不支持
+        }
+
+        ConvertUtil.register(Money.class, val -> new Money(Math.round(Double.parseDouble(val) * 100)));
+
+        assert ((Money) ConvertUtil.to(Money.class, "1.5")).cents == 150;
+        assert ClassWrap.get(Order.class).<Order>newBy(data::get).money.cents == 1250;
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Money {
+        final long cents;
+
+        public Money(long cents) {
+            this.cents = cents;
+        }
+    }
+
+    public static class Order {
+        public Money money;
+    }
+}
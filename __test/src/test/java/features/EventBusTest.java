@@ -0,0 +1,188 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class EventBusTest {
+    @Test
+    public void dispatch() {
+        List<String> log = new CopyOnWriteArrayList<>();
+
+        EventListener<BaseEvent> l1 = e -> log.add("base");
+        EventListener<SubEvent> l2 = e -> log.add("sub");
+
+        EventBus.subscribe(BaseEvent.class, l1);
+        EventBus.subscribe(SubEvent.class, l2);
+        EventBus.subscribe(SubEvent.class, l2); //重复订阅无效
+
+        try {
+            EventBus.push(new SubEvent(0));
+            assert log.size() == 2;
+            assert log.get(0).equals("base");
+            assert log.get(1).equals("sub");
+
+            log.clear();
+            EventBus.push(new BaseEvent());
+            assert log.size() == 1;
+
+            //取消后，索引要更新
+            log.clear();
+            EventBus.unsubscribe(l1);
+            EventBus.push(new SubEvent(0));
+            assert log.size() == 1;
+            assert log.get(0).equals("sub");
+        } finally {
+            EventBus.unsubscribe(l1);
+            EventBus.unsubscribe(l2);
+        }
+    }
+
+    @Test
+    public void lane() throws Exception {
+        int count = 1000;
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(count);
+
+        EventListener<SubEvent> l1 = e -> {
+            received.add(e.seq);
+            latch.countDown();
+        };
+
+        EventBus.subscribe(SubEvent.class, l1);
+        EventBus.laneAdd(SubEvent.class, 16);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                EventBus.pushAsync(new SubEvent(i));
+            }
+
+            assert latch.await(10, TimeUnit.SECONDS);
+
+            //同一通道，按推送顺序执行
+            for (int i = 0; i < count; i++) {
+                assert received.get(i) == i;
+            }
+        } finally {
+            EventBus.laneRemove(SubEvent.class);
+            EventBus.unsubscribe(l1);
+        }
+    }
+
+    @Test
+    public void lane_remove() throws Exception {
+        int producers = 4;
+        int perProducer = 50;
+        int total = 2 + producers * perProducer + 1;
+
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(total);
+
+        EventListener<LaneEvent> l1 = e -> {
+            entered.countDown();
+            release.await();
+            counter.incrementAndGet();
+            done.countDown();
+        };
+
+        EventBus.subscribe(LaneEvent.class, l1);
+        EventBus.laneAdd(LaneEvent.class, 1);
+
+        try {
+            //一个在执行（阻塞住），一个在队列里（满了）
+            EventBus.pushAsync(new LaneEvent());
+            assert entered.await(5, TimeUnit.SECONDS);
+            EventBus.pushAsync(new LaneEvent());
+
+            //推送者阻塞在满的通道上
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < producers; i++) {
+                Thread thread = new Thread(() -> {
+                    for (int j = 0; j < perProducer; j++) {
+                        EventBus.pushAsync(new LaneEvent());
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            for (Thread thread : threads) {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                assert thread.getState() == Thread.State.WAITING;
+            }
+
+            //移除通道（不能阻塞，也不能丢事件）
+            EventBus.laneRemove(LaneEvent.class);
+            EventBus.pushAsync(new LaneEvent());
+            release.countDown();
+
+            for (Thread thread : threads) {
+                thread.join(10_000);
+                assert thread.isAlive() == false;
+            }
+
+            assert done.await(10, TimeUnit.SECONDS);
+            assert counter.get() == total;
+        } finally {
+            release.countDown();
+            EventBus.laneRemove(LaneEvent.class);
+            EventBus.unsubscribe(l1);
+        }
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        EventListener<BaseEvent> l1 = e -> counter.incrementAndGet();
+        EventBus.subscribe(BaseEvent.class, l1);
+
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                EventListener<BaseEvent> tmp = e -> { };
+                EventBus.subscribe(BaseEvent.class, tmp);
+                EventBus.unsubscribe(tmp);
+            }
+        });
+
+        try {
+            thread.start();
+            for (int i = 0; i < 10000; i++) {
+                EventBus.push(new BaseEvent());
+            }
+            thread.join();
+
+            assert counter.get() == 10000;
+        } finally {
+            EventBus.unsubscribe(l1);
+        }
+    }
+
+    public static class BaseEvent {
+    }
+
+    public static class LaneEvent {
+    }
+
+    public static class SubEvent extends BaseEvent {
+        final int seq;
+
+        public SubEvent(int seq) {
+            this.seq = seq;
+        }
+    }
+}
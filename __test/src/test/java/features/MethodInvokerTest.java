@@ -0,0 +1,94 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.wrap.MethodInvoker;
+import org.noear.solon.core.wrap.MethodInvokerFactoryDefault;
+
+import java.lang.reflect.Method;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class MethodInvokerTest {
+    MethodInvoker create(String name, Class<?>... types) throws Exception {
+        Method method = Demo.class.getDeclaredMethod(name, types);
+        method.setAccessible(true);
+
+        return new MethodInvokerFactoryDefault().create(method);
+    }
+
+    @Test
+    public void test() throws Throwable {
+        Demo demo = new Demo();
+
+        assert "a:1".equals(create("hello", String.class, int.class).invoke(demo, new Object[]{"a", 1}));
+        assert Integer.valueOf(3).equals(create("sum", int.class, int.class).invoke(null, new Object[]{1, 2}));
+        assert create("none").invoke(demo, new Object[]{}) == null;
+        assert create("hidden") == null; //非公有的，退回为反射
+        assert Integer.valueOf(2).equals(create("count", String[].class).invoke(demo, new Object[]{new String[]{"a", "b"}}));
+    }
+
+    @Test
+    public void test_err() throws Throwable {
+        try {
+            create("err").invoke(new Demo(), new Object[]{});
+            assert false;
+        } catch (IllegalStateException e) {
+            assert "err".equals(e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_args() throws Throwable {
+        //与反射一致：抛出 IllegalArgumentException
+        assertIllegalArgs(create("hello", String.class, int.class), new Demo(), new Object[]{"a", null});
+        assertIllegalArgs(create("hello", String.class, int.class), new Demo(), new Object[]{"a"});
+        assertIllegalArgs(create("hello", String.class, int.class), new Demo(), new Object[]{"a", 1, 2});
+        assertIllegalArgs(create("hello", String.class, int.class), new Demo(), new Object[]{1, 1});
+        assertIllegalArgs(create("hello", String.class, int.class), "demo", new Object[]{"a", 1});
+        assertIllegalArgs(create("none"), new Demo(), new Object[]{1});
+
+        //与反射一致：基本类型的放宽转换
+        assert Long.valueOf(3).equals(create("sumLong", long.class, long.class).invoke(null, new Object[]{1, 2}));
+        assert create("none").invoke(new Demo(), null) == null;
+    }
+
+    private void assertIllegalArgs(MethodInvoker invoker, Object obj, Object[] args) throws Throwable {
+        try {
+            invoker.invoke(obj, args);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            assert true;
+        }
+    }
+
+    public static class Demo {
+        public String hello(String name, int age) {
+            return name + ":" + age;
+        }
+
+        public static int sum(int a, int b) {
+            return a + b;
+        }
+
+        public static long sumLong(long a, long b) {
+            return a + b;
+        }
+
+        public void none() {
+
+        }
+
+        private void hidden() {
+
+        }
+
+        public int count(String... names) {
+            return names.length;
+        }
+
+        public void err() {
+            throw new IllegalStateException("err");
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package features;
 
 import org.junit.Test;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.route.Routing;
+import org.noear.solon.core.route.RoutingDefault;
+import org.noear.solon.core.route.RoutingTableDefault;
 import org.noear.solon.core.util.PathAnalyzer;
 import org.noear.solon.core.util.PathUtil;
+import org.noear.solon.core.util.PathVars;
 import org.noear.solon.core.util.ResourceUtil;
 import org.noear.solon.web.staticfiles.StaticMappings;
 import org.noear.solon.web.staticfiles.repository.FileStaticRepository;
@@ -39,4 +44,57 @@ public class PathTest {
 
         assert pathAnalyzer.matches("/demo2/intercept/");
     }
+
+    @Test
+    public void test5() {
+        PathAnalyzer pathAnalyzer = PathAnalyzer.get("/user/{id}/file/{path_}");
+        assert pathAnalyzer.varCount() == 2;
+
+        String path = "/user/12/file/a/b.txt";
+        int[] offsets = new int[4];
+        assert pathAnalyzer.matches(path, offsets);
+        assert path.substring(offsets[0], offsets[1]).equals("12");
+        assert path.substring(offsets[2], offsets[3]).equals("a/b.txt");
+
+        PathVars vars = PathVars.capture(pathAnalyzer, path);
+        assert vars != null;
+        assert vars.isFrom(pathAnalyzer, path);
+        assert vars.get(1).equals("a/b.txt");
+
+        assert pathAnalyzer.matches("/user//file/a") == false;
+        assert PathVars.capture(pathAnalyzer, "/user/12") == null;
+    }
+
+    @Test
+    public void test6() {
+        PathAnalyzer pathAnalyzer = PathAnalyzer.get("/demo/{id}.html");
+
+        int[] offsets = new int[2];
+        assert pathAnalyzer.matches("/DEMO/a.b.html", offsets);
+        assert offsets[0] == 6 && offsets[1] == 9;
+        assert pathAnalyzer.matches("/demo/a/b.html") == false;
+    }
+
+    @Test
+    public void test7() {
+        RoutingTableDefault<String> table = new RoutingTableDefault<>();
+        table.add(new RoutingDefault<>("/user/{id}/info", MethodType.GET, "info"));
+        table.add(new RoutingDefault<>("/user/{id}", MethodType.GET, "user"));
+        table.add(new RoutingDefault<>("/**", MethodType.GET, "all"));
+
+        //线性表：匹配即捕获
+        PathVars[] vars = new PathVars[1];
+        Routing<String> routing = table.matchOneRouting("/user/12", MethodType.GET, vars);
+        assert "user".equals(routing.target());
+        assert vars[0] != null && vars[0].get(0).equals("12");
+
+        vars[0] = null;
+        routing = table.matchOneRouting("/user/12", MethodType.POST, vars);
+        assert routing == null;
+        assert vars[0] == null;
+
+        routing = table.matchOneRouting("/demo", MethodType.GET, vars);
+        assert "all".equals(routing.target());
+        assert vars[0] == null;
+    }
 }
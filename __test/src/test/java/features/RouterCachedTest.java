@@ -0,0 +1,117 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.handle.Endpoint;
+import org.noear.solon.core.handle.Handler;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.route.RouterCached;
+import org.noear.solon.core.route.RouterDefault;
+
+/**
+ * 分发缓存的命中与失效
+ */
+public class RouterCachedTest {
+    private Context ctx(String path) {
+        Context ctx = new ContextEmpty() {
+            @Override
+            public String method() {
+                return "GET";
+            }
+        };
+        ctx.pathNew(path);
+        return ctx;
+    }
+
+    @Test
+    public void test() {
+        RouterCached router = new RouterCached(new RouterDefault(), 100);
+
+        Handler h1 = c -> {};
+        Handler h2 = c -> {};
+        Handler b1 = c -> {};
+
+        router.add("/user/{id}", Endpoint.main, MethodType.GET, h1);
+        router.add("/**", Endpoint.before, MethodType.HTTP, b1);
+
+        assert router.matchMain(ctx("/user/1")) == h1;
+        assert router.missCount() == 1;
+
+        Context ctx = ctx("/user/1");
+        assert router.matchMain(ctx) == h1;
+        assert router.hitCount() == 1;
+        assert ctx.attr("mainHandler") == h1;
+
+        assert router.matchAll(ctx, Endpoint.before).size() == 1;
+        assert router.matchAll(ctx, Endpoint.before).size() == 1;
+        assert router.hitCount() == 2;
+
+        //变更后失效
+        router.add("/user/1", Endpoint.main, MethodType.GET, h2);
+        assert router.cacheSize() == 0;
+        assert router.matchMain(ctx("/user/1")) == h2;
+
+        router.remove("/user/1");
+        assert router.matchMain(ctx("/user/1")) == h1;
+
+        assert router.matchMain(ctx("/none")) == null;
+        assert router.matchMain(ctx("/none")) == null;
+    }
+
+    @Test
+    public void capacity() {
+        RouterCached router = new RouterCached(new RouterDefault(), 16);
+        router.add("/**", c -> {});
+
+        for (int i = 0; i < 1000; i++) {
+            router.matchMain(ctx("/p" + i));
+        }
+
+        assert router.cacheSize() <= 16;
+    }
+
+    @Test
+    public void capacity_lru() {
+        RouterCached router = new RouterCached(new RouterDefault(), 16);
+        router.add("/**", c -> {});
+
+        router.matchMain(ctx("/hot"));
+
+        for (int i = 0; i < 100; i++) {
+            router.matchMain(ctx("/p" + i));
+            //一直在访问的，不会被淘汰
+            router.matchMain(ctx("/hot"));
+        }
+
+        long miss = router.missCount();
+        router.matchMain(ctx("/hot"));
+        assert router.missCount() == miss;
+    }
+
+    @Test
+    public void sameRequest() {
+        RouterCached router = new RouterCached(new RouterDefault(), 100);
+
+        Handler h1 = c -> {};
+        Handler b1 = c -> {};
+        router.add("/user/{id}", Endpoint.main, MethodType.GET, h1);
+        router.add("/**", Endpoint.before, MethodType.HTTP, b1);
+
+        Context ctx = ctx("/user/1");
+        assert router.matchAll(ctx, Endpoint.before).size() == 1;
+        assert router.matchMain(ctx) == h1;
+        assert router.cacheSize() == 1;
+
+        //前置处理修改了 pathNew，按新路径匹配
+        ctx.pathNew("/none");
+        assert router.matchMain(ctx) == null;
+        assert router.cacheSize() == 2;
+
+        //同一请求内，路由变更后也会失效
+        Handler h2 = c -> {};
+        ctx.pathNew("/user/1");
+        router.add("/user/1", Endpoint.main, MethodType.GET, h2);
+        assert router.matchMain(ctx) == h2;
+    }
+}
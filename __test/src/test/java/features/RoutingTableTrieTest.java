@@ -0,0 +1,114 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.route.RoutingDefault;
+import org.noear.solon.core.route.RoutingTable;
+import org.noear.solon.core.route.RoutingTableDefault;
+import org.noear.solon.core.route.RoutingTableTrie;
+
+/**
+ * 字典树路由表与线性路由表的结果应保持一致
+ */
+public class RoutingTableTrieTest {
+    static final String[] routes = new String[]{
+            "/",
+            "/user/",
+            "/user/add",
+            "/user/{id}",
+            "/user/{id}/info",
+            "/user/*",
+            "/user/*/list",
+            "/user/**",
+            "/file/{path_}",
+            "/file/{path_}/meta",
+            "/demo/**/end",
+            "/demo/{id}.html",
+            "/api*",
+            "/API/Case",
+            "**",
+    };
+
+    static final String[] paths = new String[]{
+            "/",
+            "/user",
+            "/user/",
+            "/user/add",
+            "/USER/ADD",
+            "/user/12",
+            "/user/12/info",
+            "/user//info",
+            "/user//list",
+            "/user/12/list",
+            "/user/12/x/y",
+            "/file/a",
+            "/file/a/b/c",
+            "/file/a/b/meta",
+            "/file/meta",
+            "/demo/end",
+            "/demo//end",
+            "/demo/a/end",
+            "/demo/a/b/end",
+            "/demo/12.html",
+            "/api",
+            "/api2",
+            "/api/case",
+            "/none",
+            "none",
+            "",
+    };
+
+    private void fill(RoutingTable<String> table, MethodType method) {
+        int index = 0;
+        for (String r : routes) {
+            RoutingDefault<String> routing = new RoutingDefault<>(r, method, (index++) % 3, r);
+
+            if (r.contains("*") || r.contains("{")) {
+                table.add(routing);
+            } else {
+                table.add(0, routing);
+            }
+        }
+    }
+
+    @Test
+    public void test() {
+        RoutingTable<String> table1 = new RoutingTableDefault<>();
+        RoutingTable<String> table2 = new RoutingTableTrie<>();
+
+        fill(table1, MethodType.HTTP);
+        fill(table2, MethodType.HTTP);
+        table1.add(new RoutingDefault<>("/user/add", MethodType.POST, "post:/user/add"));
+        table2.add(new RoutingDefault<>("/user/add", MethodType.POST, "post:/user/add"));
+
+        for (MethodType m : new MethodType[]{MethodType.GET, MethodType.POST, MethodType.SOCKET}) {
+            for (String p : paths) {
+                assert eq(table1.matchOne(p, m), table2.matchOne(p, m)) : m + " " + p;
+                assert table1.matchAll(p, m).equals(table2.matchAll(p, m)) : m + " " + p;
+            }
+        }
+    }
+
+    @Test
+    public void test2() {
+        RoutingTable<String> table = new RoutingTableTrie<>();
+        fill(table, MethodType.HTTP);
+
+        assert "/user/add".equals(table.matchOne("/user/add", MethodType.GET));
+        assert "/user/{id}".equals(table.matchOne("/user/12", MethodType.GET));
+
+        table.remove("/user/add");
+        assert "/user/{id}".equals(table.matchOne("/user/add", MethodType.GET));
+
+        table.clear();
+        assert table.matchOne("/user/add", MethodType.GET) == null;
+    }
+
+    private static boolean eq(Object a, Object b) {
+        if (a == null) {
+            return b == null;
+        } else {
+            return a.equals(b);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package features;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.noear.solon.Solon;
+import org.noear.solon.annotation.Bean;
+import org.noear.solon.annotation.Component;
+import org.noear.solon.annotation.Configuration;
+import org.noear.solon.annotation.Inject;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.bean.LifecycleBean;
+import org.noear.solon.test.SolonJUnit4ClassRunner;
+import org.noear.solon.test.SolonTest;
+import webapp.App;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+@RunWith(SolonJUnit4ClassRunner.class)
+@SolonTest(App.class)
+public class StartParallelTest {
+    static final List<String> started = new CopyOnWriteArrayList<>();
+    static final CountDownLatch startLatch = new CountDownLatch(2);
+    static final CountDownLatch buildLatch = new CountDownLatch(2);
+    static final CountDownLatch shapeLatch = new CountDownLatch(2);
+
+    @Test
+    public void lifecycle() throws Throwable {
+        Solon.cfg().startParallel(true);
+
+        try {
+            AopContext context = new AopContext();
+            context.beanMake(LifecycleC.class);
+            context.beanMake(LifecycleA.class);
+            context.beanMake(LifecycleB.class);
+
+            //A 与 B 互相等待（串行时会超时）；C 依赖 A，必须在 A 与 B 之后
+            context.start();
+
+            assert started.size() == 3;
+            assert started.get(2).equals("c");
+        } finally {
+            Solon.cfg().startParallel(false);
+        }
+    }
+
+    @Test
+    public void lifecycleIdentity() throws Throwable {
+        Solon.cfg().startParallel(true);
+
+        try {
+            AopContext context = new AopContext();
+            context.beanMake(LifecycleD.class);
+            context.beanMake(LifecycleE.class);
+
+            //D 与 E 互相等待（按 hashCode 识别时，会当作非 bean 形态串行启动而超时）
+            context.start();
+
+            assert context.getBean(LifecycleD.class).started;
+            assert context.getBean(LifecycleE.class).started;
+        } finally {
+            Solon.cfg().startParallel(false);
+        }
+    }
+
+    @Test
+    public void beanBuild() throws Throwable {
+        Solon.cfg().startParallel(true);
+
+        try {
+            AopContext context = new AopContext();
+            context.beanBuildParallel(() -> {
+                context.beanMake(BuildConfig.class);
+            });
+
+            assert "a".equals(context.<Part>getBean("buildA").value);
+            assert "b".equals(context.<Part>getBean("buildB").value);
+            assert "a+b".equals(context.<Part>getBean("buildC").value);
+        } finally {
+            Solon.cfg().startParallel(false);
+        }
+    }
+
+    static void await(CountDownLatch latch) throws InterruptedException {
+        latch.countDown();
+        assert latch.await(5, TimeUnit.SECONDS);
+    }
+
+    @Component
+    public static class LifecycleA implements LifecycleBean {
+        @Override
+        public void start() throws Throwable {
+            await(startLatch);
+            started.add("a");
+        }
+    }
+
+    @Component
+    public static class LifecycleB implements LifecycleBean {
+        @Override
+        public void start() throws Throwable {
+            await(startLatch);
+            started.add("b");
+        }
+    }
+
+    @Component
+    public static class LifecycleC implements LifecycleBean {
+        @Inject
+        LifecycleA a;
+
+        @Override
+        public void start() throws Throwable {
+            started.add("c");
+        }
+    }
+
+    /**
+     * hashCode 不稳定的 bean（要按实例识别，才能并行启动）
+     */
+    public static abstract class LifecycleShape implements LifecycleBean {
+        boolean started;
+        int hashCalls;
+
+        @Override
+        public void start() throws Throwable {
+            await(shapeLatch);
+            started = true;
+        }
+
+        @Override
+        public int hashCode() {
+            return ++hashCalls;
+        }
+    }
+
+    @Component
+    public static class LifecycleD extends LifecycleShape {
+    }
+
+    @Component
+    public static class LifecycleE extends LifecycleShape {
+    }
+
+    @Configuration
+    public static class BuildConfig {
+        @Bean("buildA")
+        public Part buildA() throws Exception {
+            await(buildLatch);
+            return new Part("a");
+        }
+
+        @Bean("buildB")
+        public Part buildB() throws Exception {
+            await(buildLatch);
+            return new Part("b");
+        }
+
+        @Bean("buildC")
+        public Part buildC(@Inject("buildA") Part a, @Inject("buildB") Part b) {
+            return new Part(a.value + "+" + b.value);
+        }
+    }
+
+    public static class Part {
+        final String value;
+
+        public Part(String value) {
+            this.value = value;
+        }
+    }
+}
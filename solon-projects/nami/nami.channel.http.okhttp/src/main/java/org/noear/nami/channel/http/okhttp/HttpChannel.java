@@ -6,14 +6,56 @@ import org.noear.nami.*;
 import org.noear.nami.common.Constants;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Http 通道
  * */
-public class HttpChannel implements Channel {
+public class HttpChannel implements AsyncChannel {
     public static final HttpChannel instance = new HttpChannel();
 
     @Override
     public Result call(Context ctx) throws Throwable {
+        Response response = callDo(ctx, HttpUtils::exec);
+
+        if (response == null) {
+            return null;
+        }
+
+        return resultOf(response);
+    }
+
+    /**
+     * 异步调用（通过 OkHttp enqueue，不占用线程等待响应）
+     */
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Response> future;
+
+        try {
+            future = callDo(ctx, HttpUtils::enqueue);
+        } catch (Throwable e) {
+            CompletableFuture<Result> tmp = new CompletableFuture<>();
+            tmp.completeExceptionally(e);
+            return tmp;
+        }
+
+        if (future == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return future.thenApply(response -> {
+            try {
+                return resultOf(response);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private <T> T callDo(Context ctx, ExecHandler<T> handler) throws Throwable {
         pretreatment(ctx);
 
         //0.检测method
@@ -46,18 +88,18 @@ public class HttpChannel implements Channel {
 
         //0.开始构建http
         HttpUtils http = HttpUtils.http(url).headers(ctx.headers).timeout(ctx.config.getTimeout());
-        Response response = null;
+        T response = null;
         Encoder encoder = ctx.config.getEncoder();
 
         //1.执行并返回
         if (is_get || ctx.args.size() == 0) {
-            response = http.exec(Constants.METHOD_GET);
+            response = handler.exec(http, Constants.METHOD_GET);
         } else {
             if (encoder == null) {
                 String ct0 = ctx.headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
 
                 if (ct0.length() == 0) {
-                    response = http.data(ctx.args).exec(ctx.action);
+                    response = handler.exec(http.data(ctx.args), ctx.action);
                 } else {
                     encoder = NamiManager.getEncoder(ct0);
                 }
@@ -70,14 +112,14 @@ public class HttpChannel implements Channel {
             byte[] bytes = encoder.encode(ctx.body);
 
             if (bytes != null) {
-                response = http.bodyRaw(bytes, encoder.enctype()).exec(ctx.action);
+                response = handler.exec(http.bodyRaw(bytes, encoder.enctype()), ctx.action);
             }
         }
 
-        if (response == null) {
-            return null;
-        }
+        return response;
+    }
 
+    private Result resultOf(Response response) throws IOException {
         //2.构建结果
         Result result = new Result(response.code(), response.body().bytes());
 
@@ -116,4 +158,9 @@ public class HttpChannel implements Channel {
             }
         }
     }
+
+    @FunctionalInterface
+    private interface ExecHandler<T> {
+        T exec(HttpUtils http, String method) throws Exception;
+    }
 }
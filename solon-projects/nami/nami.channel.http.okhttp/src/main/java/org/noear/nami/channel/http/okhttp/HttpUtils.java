@@ -4,11 +4,13 @@ import okhttp3.*;
 import org.noear.nami.NamiException;
 import org.noear.nami.NamiGlobal;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -121,6 +123,29 @@ class HttpUtils {
 
     //@XNote("执行请求，返回响应对象")
     public Response exec(String mothod) throws Exception {
+        return newCall(mothod).execute();
+    }
+
+    //@XNote("异步执行请求（不占用线程等待）")
+    public CompletableFuture<Response> enqueue(String mothod) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+
+        newCall(mothod).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                future.complete(response);
+            }
+        });
+
+        return future;
+    }
+
+    private Call newCall(String mothod) {
         if (_form != null) {
             FormBody.Builder fb = new FormBody.Builder(_charset);
 
@@ -143,8 +168,7 @@ class HttpUtils {
             default: throw new IllegalStateException("This method is not supported");
         }
 
-        Call call = _client.newCall(_builder.build());
-        return call.execute();
+        return _client.newCall(_builder.build());
     }
 
     private void tryInitForm(){
@@ -0,0 +1,109 @@
+package features;
+
+import com.sun.net.httpserver.HttpServer;
+import org.noear.nami.*;
+import org.noear.nami.channel.http.okhttp.HttpChannel;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * okhttp 异步调用（enqueue；不占用线程等待响应）
+ *
+ * @author agent 2026/10/18 created
+ */
+public class HttpChannelAsyncTest {
+    public interface DemoApi {
+        CompletableFuture<String> hello(String name);
+
+        CompletableFuture<Void> ping();
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                //慢一点响应
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = (path.endsWith("/hello") ? "hello" : "").getBytes(StandardCharsets.UTF_8);
+
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        try {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/demo/";
+
+            test_async(url);
+            test_void(url);
+            test_failure();
+        } finally {
+            server.stop(0);
+        }
+
+        System.out.println("HttpChannelAsyncTest: ok");
+    }
+
+    static DemoApi create(String url) {
+        return Nami.builder()
+                .url(url)
+                .decoder(new TextDecoder())
+                .channel(HttpChannel.instance)
+                .create(DemoApi.class);
+    }
+
+    static void test_async(String url) throws Exception {
+        CompletableFuture<String> future = create(url).hello("noear");
+
+        //没有等待响应
+        assert future.isDone() == false;
+        assert "hello".equals(future.get(5, TimeUnit.SECONDS));
+    }
+
+    static void test_void(String url) throws Exception {
+        CompletableFuture<Void> future = create(url).ping();
+        assert future.get(5, TimeUnit.SECONDS) == null;
+    }
+
+    static void test_failure() throws Exception {
+        //没有服务的端口
+        CompletableFuture<String> future = create("http://127.0.0.1:1/demo/").hello("noear");
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            assert false;
+        } catch (ExecutionException e) {
+            assert e.getCause() != null;
+        }
+    }
+
+    static class TextDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+}
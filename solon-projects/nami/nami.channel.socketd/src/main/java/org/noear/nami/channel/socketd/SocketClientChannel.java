@@ -1,6 +1,6 @@
 package org.noear.nami.channel.socketd;
 
-import org.noear.nami.Channel;
+import org.noear.nami.AsyncChannel;
 import org.noear.nami.Context;
 import org.noear.nami.Result;
 import org.noear.solon.core.message.Session;
@@ -10,11 +10,12 @@ import org.noear.solon.socketd.SocketD;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author noear 2021/1/1 created
  */
-public class SocketClientChannel extends SocketChannelBase implements Channel {
+public class SocketClientChannel extends SocketChannelBase implements AsyncChannel {
     public static final SocketClientChannel instance = new SocketClientChannel();
 
     Map<String, SocketChannel> channelMap = new HashMap<>();
@@ -48,4 +49,14 @@ public class SocketClientChannel extends SocketChannelBase implements Channel {
 
         return channel.call(ctx);
     }
+
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        pretreatment(ctx);
+
+        URI uri = URI.create(ctx.url);
+        SocketChannel channel = get(uri);
+
+        return channel.callAsync(ctx);
+    }
 }
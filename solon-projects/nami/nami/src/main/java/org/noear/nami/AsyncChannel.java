@@ -0,0 +1,13 @@
+package org.noear.nami;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Nami 异步执行通道（调用时不占用线程等待响应）
+ *
+ * @author agent
+ * @since 2.3
+ * */
+public interface AsyncChannel extends Channel {
+    CompletableFuture<Result> callAsync(Context ctx);
+}
@@ -3,6 +3,7 @@ package org.noear.nami;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Nami - 调用者
@@ -13,6 +14,7 @@ import java.util.List;
 public class Invocation extends Context {
     private List<Filter> filters = new ArrayList<>();
     private int index;
+    private CompletableFuture<Result> resultFuture;
 
     public Invocation(Config config, Object proxy, Method method, String action, String url, Filter actuator) {
         super(config, proxy, method, action, url);
@@ -28,4 +30,15 @@ public class Invocation extends Context {
     public Result invoke() throws Throwable {
         return filters.get(index++).doFilter(this);
     }
+
+    /**
+     * 异步结果（异步调用时才有，此时 invoke 返回 null；过滤器可在上面挂后续处理）
+     * */
+    public CompletableFuture<Result> resultFuture() {
+        return resultFuture;
+    }
+
+    protected void resultFutureSet(CompletableFuture<Result> resultFuture) {
+        this.resultFuture = resultFuture;
+    }
 }
@@ -8,6 +8,8 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Nami（Solon rest * rpc client）
@@ -145,7 +147,70 @@ public class Nami {
     }
 
 
+    /**
+     * 执行异步呼叫（过滤器在当前线程执行；通道支持异步时，不占用线程等待响应）
+     */
+    public CompletableFuture<Nami> callAsync(Map<String, String> headers, Map args, Object body) {
+        try {
+            Invocation invocation = new Invocation(_config, _target, _method, _action, _url, this::callAsyncDo);
+
+            if (headers != null) {
+                invocation.headers.putAll(headers);
+            }
+
+            if (args != null) {
+                invocation.args.putAll(args);
+            }
+
+            if (body != null) {
+                invocation.body = body;
+            }
+
+            Result result = invocation.invoke();
+
+            if (invocation.resultFuture() == null) {
+                //被过滤器拦截了（没有走到通道）
+                _result = result;
+                return CompletableFuture.completedFuture(this);
+            }
+
+            return invocation.resultFuture().thenApply(rst -> {
+                _result = rst;
+                return this;
+            });
+        } catch (Throwable ex) {
+            CompletableFuture<Nami> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    private Result callAsyncDo(Invocation inv) throws Throwable {
+        Channel channel = channelGet(inv);
+
+        if (channel instanceof AsyncChannel) {
+            inv.resultFutureSet(((AsyncChannel) channel).callAsync(inv));
+        } else {
+            //不支持异步的通道，交给异步执行器
+            inv.resultFutureSet(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return channel.call(inv);
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new CompletionException(ex);
+                }
+            }, NamiGlobal.getAsyncExecutor()));
+        }
+
+        return null;
+    }
+
     private Result callDo(Invocation inv) throws Throwable {
+        return channelGet(inv).call(inv);
+    }
+
+    private Channel channelGet(Invocation inv) {
         Channel channel = _config.getChannel();
 
         if (channel == null) {
@@ -174,7 +239,7 @@ public class Nami {
 
         log.trace("Nami call: {}", inv.url);
 
-        return channel.call(inv);
+        return channel;
     }
 
     private Result _result;
@@ -1,5 +1,8 @@
 package org.noear.nami;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 /**
  * Nami 全局设置
  *
@@ -23,6 +26,10 @@ public class NamiGlobal {
      * 写入超时（单位：秒）
      */
     static int writeTimeout = 10;
+    /**
+     * 异步执行器（用于不支持异步的通道）
+     */
+    static volatile Executor asyncExecutor;
 
     /**
      * 最大连接数
@@ -75,4 +82,29 @@ public class NamiGlobal {
             writeTimeout = seconds;
         }
     }
+
+    /**
+     * 异步执行器（用于不支持异步的通道）
+     */
+    public static Executor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized (NamiGlobal.class) {
+                if (asyncExecutor == null) {
+                    asyncExecutor = Executors.newCachedThreadPool(r -> {
+                        Thread t = new Thread(r, "nami-async");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
+            }
+        }
+
+        return asyncExecutor;
+    }
+
+    public static void setAsyncExecutor(Executor executor) {
+        if (executor != null) {
+            asyncExecutor = executor;
+        }
+    }
 }
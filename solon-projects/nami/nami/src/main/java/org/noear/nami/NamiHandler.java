@@ -1,16 +1,13 @@
 package org.noear.nami;
 
-import org.noear.nami.annotation.Mapping;
 import org.noear.nami.annotation.NamiClient;
 import org.noear.nami.common.*;
 
 import java.lang.reflect.*;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Nami - 调用处理程序
@@ -19,14 +16,13 @@ import java.util.regex.Pattern;
  * @since 1.0
  * */
 public class NamiHandler implements InvocationHandler {
-    private final static Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
-
     private final Config config;
     private final NamiClient client;
 
     private final Map<String, String> headers0 = new LinkedHashMap<>();
     private final Class<?> clz0;
-    private final Map<String, Map> pathKeysCached = new LinkedHashMap<>();
+    private final Map<Method, CallTemplate> templates = new ConcurrentHashMap<>();
+    private volatile String[] upstreamCached;
 
     /**
      * @param config 配置
@@ -141,150 +137,82 @@ public class NamiHandler implements InvocationHandler {
             return MethodHandlerUtils.invokeObject(clz0,proxy, method, vals);
         }
 
-        MethodWrap methodWrap = MethodWrap.get(method);
-
-        //构建 headers
-        Map<String, String> headers = new HashMap<>(headers0);
-
-        //构建 args
-        Map<String, Object> args = new LinkedHashMap<>();
-        Object body = null;
-        Parameter[] names = methodWrap.getParameters();
-        for (int i = 0, len = names.length; i < len; i++) {
-            if (vals[i] != null) {
-                args.put(names[i].getName(), vals[i]);
-            }
-        }
-
-        //确定body及默认编码
-        if (methodWrap.getBodyName() != null) {
-            body = args.get(methodWrap.getBodyName());
-
-            if (config.getEncoder() == null) {
-                headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
-            }
-        }
-
-        //构建 fun
-        String fun = method.getName();
-        String act = null;
-
-        //处理mapping
-        Mapping mapping = methodWrap.getMappingAnno();
-        if (mapping != null) {
-            if (methodWrap.getAct() != null) {
-                act = methodWrap.getAct();
-            }
-
-            if (methodWrap.getFun() != null) {
-                fun = methodWrap.getFun();
-            }
-
-            if (methodWrap.getMappingHeaders() != null) {
-                headers.putAll(methodWrap.getMappingHeaders());
-            }
-        }
-
-        //处理附加信息
-        Map<String, String> contextMap = NamiAttachment.getData();
-        if (contextMap.size() > 0) {
-            headers.putAll(contextMap);
+        //获取调用模板（每个函数只编译一次）
+        CallTemplate template = templates.get(method);
+        if (template == null) {
+            template = templates.computeIfAbsent(method, m -> new CallTemplate(config, headers0, m));
         }
 
+        //构建 headers, args, body, fun
+        Map<String, String> headers = template.buildHeaders(config.getEncoder() == null, NamiAttachment.getData());
+        Map<String, Object> args = template.buildArgs(vals);
+        Object body = template.bodyOf(vals);
+        String fun = template.buildFun(vals);
 
         //构建 url
         String url = null;
         if (TextUtils.isEmpty(config.getUrl())) {
-            url = config.getUpstream().get();
-
-            if (url == null) {
-                StringBuilder buf = new StringBuilder();
-                buf.append("NamiClient: Upstream not found server instance: ").append(clz0.getName());
-
-                if (TextUtils.isEmpty(config.getName())) {
-                    buf.append(": '").append(config.getName()).append("'");
-                }
-
-                throw new NamiException(buf.toString());
-            }
-
-            if (url.indexOf("://") < 0) {
-                url = "http://" + url;
-            }
-
-            if (TextUtils.isNotEmpty(config.getPath())) {
-                int idx = url.indexOf("/", 9);//https://a
-                if (idx > 0) {
-                    url = url.substring(0, idx);
-                }
-
-                if (config.getPath().endsWith("/")) {
-                    fun = config.getPath() + fun;
-                } else {
-                    fun = config.getPath() + "/" + fun;
-                }
-            }
-
+            url = upstreamUrl(config.getUpstream().get());
         } else {
             url = config.getUrl();
         }
 
-        if (fun != null && fun.indexOf("{") > 0) {
-            //
-            //处理Path参数
-            //
-            Map<String, String> pathKeys = buildPathKeys(fun);
-
-            for (Map.Entry<String, String> kv : pathKeys.entrySet()) {
-                //
-                //处理path参数不为String类型时报错的问题
-                //String val = (String) args.get(kv.getValue());
-                //
-                Object arg = args.get(kv.getValue());
-
-                if (arg != null) {
-                    String val = arg.toString();
-                    fun = fun.replace(kv.getKey(), val);
-                    args.remove(kv.getValue());
-                }
-            }
-        }
+        //异步调用（返回 CompletableFuture 的函数）
+        if (template.isAsync()) {
+            Type elementType = template.getElementType();
 
-        //确定返回类型
-        Type type = method.getGenericReturnType();
-        if (type == null) {
-            type = method.getReturnType();
+            return new Nami(config)
+                    .method(proxy, method)
+                    .action(template.getAct())
+                    .url(url, fun)
+                    .callAsync(headers, args, body)
+                    .thenApply(nami -> nami.getObject(elementType));
         }
 
-
         //执行调用
         Object rst = new Nami(config)
                 .method(proxy, method)
-                .action(act)
+                .action(template.getAct())
                 .url(url, fun)
                 .call(headers, args, body)
-                .getObject(type);
+                .getObject(template.getReturnType());
 
         return rst;//调试时，方便看
     }
 
-    private Map<String, String> buildPathKeys(String path) {
-        Map<String, String> pathKeys = pathKeysCached.get(path);
-        if (pathKeys == null) {
-            synchronized (path.intern()) {
-                pathKeys = pathKeysCached.get(path);
-                if (pathKeys == null) {
-                    pathKeys = new LinkedHashMap<>();
+    /**
+     * 处理 upstream 地址（最近一次的结果缓存着）
+     */
+    private String upstreamUrl(String url) {
+        if (url == null) {
+            StringBuilder buf = new StringBuilder();
+            buf.append("NamiClient: Upstream not found server instance: ").append(clz0.getName());
 
-                    Matcher pm = pathKeyExpr.matcher(path);
+            if (TextUtils.isEmpty(config.getName())) {
+                buf.append(": '").append(config.getName()).append("'");
+            }
 
-                    while (pm.find()) {
-                        pathKeys.put(pm.group(), pm.group(1));
-                    }
-                }
+            throw new NamiException(buf.toString());
+        }
+
+        String[] cached = upstreamCached;
+        if (cached != null && cached[0].equals(url)) {
+            return cached[1];
+        }
+
+        String url2 = url;
+        if (url2.indexOf("://") < 0) {
+            url2 = "http://" + url2;
+        }
+
+        if (TextUtils.isNotEmpty(config.getPath())) {
+            int idx = url2.indexOf("/", 9);//https://a
+            if (idx > 0) {
+                url2 = url2.substring(0, idx);
             }
         }
 
-        return pathKeys;
+        upstreamCached = new String[]{url, url2};
+        return url2;
     }
 }
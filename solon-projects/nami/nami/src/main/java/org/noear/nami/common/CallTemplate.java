@@ -0,0 +1,270 @@
+package org.noear.nami.common;
+
+import org.noear.nami.Config;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 调用模板（每个代理函数预编译一次；调用时只需填入参数）
+ *
+ * <pre><code>
+ * 1.预先确定 act, fun（含 path 前缀）、静态头信息、body 参数位置、返回类型
+ * 2.fun 中的 {var} 预先拆成片段，调用时直接拼接（不再每次扫描与替换）
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class CallTemplate {
+    private static final Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
+
+    private final String[] paramNames;
+    private final boolean[] paramIsPathVar;
+    private final int bodyIndex;
+
+    private final String act;
+    private final String fun;
+    //fun 的片段（String 为字面量，Integer 为参数位置；没有变量时为 null）
+    private final Object[] funSegments;
+
+    private final Map<String, String> headers;
+    private final Map<String, String> headersWithBodyType;
+
+    private final Type returnType;
+    private final boolean async;
+    private final Type elementType;
+
+    /**
+     * @param config   配置（已初始化的）
+     * @param headers0 客户端注解的头信息
+     * @param method   函数
+     */
+    public CallTemplate(Config config, Map<String, String> headers0, Method method) {
+        MethodWrap methodWrap = MethodWrap.get(method);
+
+        //1.参数
+        Parameter[] parameters = methodWrap.getParameters();
+        paramNames = new String[parameters.length];
+        paramIsPathVar = new boolean[parameters.length];
+
+        int bodyIdx = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            paramNames[i] = parameters[i].getName();
+
+            if (paramNames[i].equals(methodWrap.getBodyName())) {
+                bodyIdx = i;
+            }
+        }
+        bodyIndex = bodyIdx;
+
+        //2.act, fun
+        String act0 = null;
+        String fun0 = method.getName();
+
+        if (methodWrap.getMappingAnno() != null) {
+            if (methodWrap.getAct() != null) {
+                act0 = methodWrap.getAct();
+            }
+
+            if (methodWrap.getFun() != null) {
+                fun0 = methodWrap.getFun();
+            }
+        }
+
+        if (TextUtils.isEmpty(config.getUrl()) && TextUtils.isNotEmpty(config.getPath())) {
+            if (config.getPath().endsWith("/")) {
+                fun0 = config.getPath() + fun0;
+            } else {
+                fun0 = config.getPath() + "/" + fun0;
+            }
+        }
+
+        act = act0;
+        fun = fun0;
+        funSegments = compileFun(fun0);
+
+        //3.头信息（body 的默认编码，要在注解头信息之后确定是否需要）
+        Map<String, String> headers1 = new HashMap<>(headers0);
+        if (methodWrap.getMappingHeaders() != null) {
+            headers1.putAll(methodWrap.getMappingHeaders());
+        }
+
+        headers = Collections.unmodifiableMap(headers1);
+
+        if (methodWrap.getBodyName() != null && headers1.containsKey(Constants.HEADER_CONTENT_TYPE) == false) {
+            Map<String, String> headers2 = new HashMap<>(headers0);
+            headers2.put(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
+            if (methodWrap.getMappingHeaders() != null) {
+                headers2.putAll(methodWrap.getMappingHeaders());
+            }
+
+            headersWithBodyType = Collections.unmodifiableMap(headers2);
+        } else {
+            headersWithBodyType = headers;
+        }
+
+        //4.返回类型
+        Type type = method.getGenericReturnType();
+        if (type == null) {
+            type = method.getReturnType();
+        }
+        returnType = type;
+
+        Class<?> rawType = method.getReturnType();
+        async = (rawType == CompletableFuture.class || rawType == CompletionStage.class || rawType == Future.class);
+
+        Type elType = Object.class;
+        if (async && type instanceof ParameterizedType) {
+            elType = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+            if (elType instanceof WildcardType) {
+                elType = Object.class;
+            } else if (elType == Void.class) {
+                elType = Void.TYPE;
+            }
+        }
+        elementType = elType;
+    }
+
+    private Object[] compileFun(String fun) {
+        if (fun == null || fun.indexOf("{") <= 0) {
+            return null;
+        }
+
+        List<Object> segments = new ArrayList<>();
+        Matcher pm = pathKeyExpr.matcher(fun);
+        int start = 0;
+
+        while (pm.find()) {
+            if (pm.start() > start) {
+                segments.add(fun.substring(start, pm.start()));
+            }
+
+            int idx = indexOfParam(pm.group(1));
+            if (idx < 0) {
+                //没有对应参数的，保持原样
+                segments.add(pm.group());
+            } else {
+                paramIsPathVar[idx] = true;
+                segments.add(idx);
+            }
+
+            start = pm.end();
+        }
+
+        if (start < fun.length()) {
+            segments.add(fun.substring(start));
+        }
+
+        return segments.toArray();
+    }
+
+    private int indexOfParam(String name) {
+        for (int i = 0; i < paramNames.length; i++) {
+            if (paramNames[i].equals(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * 构建参数（不含已填入 fun 的路径变量）
+     */
+    public Map<String, Object> buildArgs(Object[] vals) {
+        Map<String, Object> args = new LinkedHashMap<>();
+
+        for (int i = 0; i < paramNames.length; i++) {
+            if (vals[i] != null && paramIsPathVar[i] == false) {
+                args.put(paramNames[i], vals[i]);
+            }
+        }
+
+        return args;
+    }
+
+    /**
+     * 构建 fun（填入路径变量；值为 null 的保持原样）
+     */
+    public String buildFun(Object[] vals) {
+        if (funSegments == null) {
+            return fun;
+        }
+
+        StringBuilder buf = new StringBuilder(fun.length() + 16);
+        for (Object seg : funSegments) {
+            if (seg instanceof Integer) {
+                int idx = (Integer) seg;
+
+                if (vals[idx] == null) {
+                    buf.append('{').append(paramNames[idx]).append('}');
+                } else {
+                    buf.append(vals[idx]);
+                }
+            } else {
+                buf.append((String) seg);
+            }
+        }
+
+        return buf.toString();
+    }
+
+    /**
+     * 获取 body
+     */
+    public Object bodyOf(Object[] vals) {
+        if (bodyIndex < 0) {
+            return null;
+        } else {
+            return vals[bodyIndex];
+        }
+    }
+
+    /**
+     * 构建头信息
+     *
+     * @param withBodyType 是否添加 body 的默认编码（没有编码器时）
+     * @param attachments  附加信息
+     */
+    public Map<String, String> buildHeaders(boolean withBodyType, Map<String, String> attachments) {
+        Map<String, String> tmp = withBodyType ? headersWithBodyType : headers;
+
+        if (attachments == null || attachments.size() == 0) {
+            //只读的（调用时会被复制）
+            return tmp;
+        }
+
+        tmp = new HashMap<>(tmp);
+        tmp.putAll(attachments);
+        return tmp;
+    }
+
+    public String getAct() {
+        return act;
+    }
+
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * 是否为异步（返回 CompletableFuture 等）
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 异步时的结果类型
+     */
+    public Type getElementType() {
+        return elementType;
+    }
+}
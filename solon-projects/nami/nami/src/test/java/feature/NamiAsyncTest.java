@@ -0,0 +1,148 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.*;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 异步调用：返回 CompletableFuture 的函数（含 Void），不支持异步的通道，过滤器在响应到达时结束
+ *
+ * @author agent 2026/10/18 created
+ */
+public class NamiAsyncTest {
+    public interface DemoApi {
+        CompletableFuture<String> hello(String name);
+
+        CompletableFuture<Void> ping();
+
+        String helloSync(String name);
+    }
+
+    static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "test-async");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * 延时响应的异步通道
+     */
+    static class DelayAsyncChannel implements AsyncChannel {
+        @Override
+        public CompletableFuture<Result> callAsync(Context ctx) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            scheduler.schedule(() -> future.complete(resultOf(ctx)), 100, TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        @Override
+        public Result call(Context ctx) throws Throwable {
+            return resultOf(ctx);
+        }
+    }
+
+    /**
+     * 不支持异步的通道
+     */
+    static class SyncChannel implements Channel {
+        @Override
+        public Result call(Context ctx) throws Throwable {
+            return resultOf(ctx);
+        }
+    }
+
+    static Result resultOf(Context ctx) {
+        //参数名与编译选项有关（-parameters），直接取第一个值
+        String body = (ctx.args.isEmpty() ? "" : "hello " + ctx.args.values().iterator().next());
+        return new Result(200, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class TextDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+
+    private <T> T create(Channel channel, Filter filter) {
+        NamiBuilder builder = Nami.builder()
+                .url("http://localhost:8080/demo")
+                .decoder(new TextDecoder())
+                .channel(channel);
+
+        if (filter != null) {
+            builder.filterAdd(filter);
+        }
+
+        return builder.create(DemoApi.class);
+    }
+
+    @Test
+    public void test_async() throws Exception {
+        DemoApi api = create(new DelayAsyncChannel(), null);
+
+        CompletableFuture<String> future = api.hello("noear");
+        assert future.isDone() == false;
+        assert "hello noear".equals(future.get(2, TimeUnit.SECONDS));
+
+        //同步的函数，不受影响
+        assert "hello solon".equals(api.helloSync("solon"));
+    }
+
+    @Test
+    public void test_void() throws Exception {
+        DemoApi api = create(new DelayAsyncChannel(), null);
+
+        CompletableFuture<Void> future = api.ping();
+        assert future.get(2, TimeUnit.SECONDS) == null;
+    }
+
+    @Test
+    public void test_fallback() throws Exception {
+        DemoApi api = create(new SyncChannel(), null);
+
+        assert "hello noear".equals(api.hello("noear").get(2, TimeUnit.SECONDS));
+        assert api.ping().get(2, TimeUnit.SECONDS) == null;
+    }
+
+    @Test
+    public void test_filter() throws Exception {
+        AtomicBoolean doneAtDispatch = new AtomicBoolean(true);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        //模拟跟踪过滤器：invoke 返回时只是发出了请求，要在 resultFuture 完成时结束
+        Filter filter = inv -> {
+            Result rst = inv.invoke();
+
+            if (inv.resultFuture() == null) {
+                finished.countDown();
+            } else {
+                doneAtDispatch.set(inv.resultFuture().isDone());
+                inv.resultFuture().whenComplete((r, e) -> finished.countDown());
+            }
+
+            return rst;
+        };
+
+        DemoApi api = create(new DelayAsyncChannel(), filter);
+
+        CompletableFuture<String> future = api.hello("noear");
+        assert doneAtDispatch.get() == false;
+        assert "hello noear".equals(future.get(2, TimeUnit.SECONDS));
+        assert finished.await(2, TimeUnit.SECONDS);
+    }
+}
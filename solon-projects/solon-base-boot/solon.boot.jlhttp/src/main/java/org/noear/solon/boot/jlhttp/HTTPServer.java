@@ -1699,9 +1699,11 @@ public class HTTPServer {
             encodedOut = new ResponseOutputStream(out); // leaves underlying stream open when closed
             if (te.contains("chunked"))
                 encodedOut = new ChunkedOutputStream(encodedOut);
-            if (ce.contains("gzip") || te.contains("gzip"))
+            //有 Content-Length 的，说明内容已编码（比如预压缩的静态文件），不再压缩
+            boolean encoded = headers.contains("Content-Length");
+            if ((ce.contains("gzip") && !encoded) || te.contains("gzip"))
                 encodedOut = new GZIPOutputStream(encodedOut, 4096);
-            else if (ce.contains("deflate") || te.contains("deflate"))
+            else if ((ce.contains("deflate") && !encoded) || te.contains("deflate"))
                 encodedOut = new DeflaterOutputStream(encodedOut);
 
             return encodedOut; // return the outer-most stream
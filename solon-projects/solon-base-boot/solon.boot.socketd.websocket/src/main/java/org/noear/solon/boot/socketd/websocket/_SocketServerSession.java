@@ -95,6 +95,7 @@ public class _SocketServerSession extends SessionBase {
         super.send(message);
 
         synchronized (this) {
+            //websocket 一个消息即一帧（不用 encodeFrames）
             ByteBuffer buf = ProtocolManager.encode(message);
             real.send(buf);
         }
@@ -100,6 +100,7 @@ public class _SocketServerSession extends SessionBase {
         super.send(message);
 
         if (Solon.app().enableWebSocketD()) {
+            //websocket 一个消息即一帧（不用 encodeFrames）
             ByteBuffer buf = ProtocolManager.encode(message);
             WebSockets.sendBinary(buf, real, _CallbackImpl.instance);
         } else {
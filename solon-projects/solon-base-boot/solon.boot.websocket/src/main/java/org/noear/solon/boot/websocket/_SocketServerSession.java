@@ -101,6 +101,7 @@ public class _SocketServerSession extends SessionBase {
 
         synchronized (this) {
             if (Solon.app().enableWebSocketD()) {
+                //websocket 一个消息即一帧（不用 encodeFrames）
                 ByteBuffer buf = ProtocolManager.encode(message);
                 real.send(buf.array());
             } else {
@@ -0,0 +1,35 @@
+package org.noear.solon.cache.jedis;
+
+import org.noear.redisx.utils.SerializationUtil;
+import org.noear.solon.data.cache.BytesSerializer;
+
+/**
+ * @author agent
+ * @since 2.3
+ */
+public class JavabinBytesSerializer implements BytesSerializer {
+    public static final JavabinBytesSerializer instance = new JavabinBytesSerializer();
+
+    @Override
+    public String name() {
+        return "java-bin";
+    }
+
+    @Override
+    public byte[] serialize(Object obj) throws Exception {
+        if (obj == null) {
+            return null;
+        }
+
+        return SerializationUtil.serialize(obj);
+    }
+
+    @Override
+    public Object deserialize(byte[] dta) throws Exception {
+        if (dta == null) {
+            return null;
+        }
+
+        return SerializationUtil.deserialize(dta);
+    }
+}
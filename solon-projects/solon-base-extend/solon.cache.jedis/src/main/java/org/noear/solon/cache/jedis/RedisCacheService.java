@@ -1,12 +1,20 @@
 package org.noear.solon.cache.jedis;
 
 import org.noear.redisx.RedisClient;
+import org.noear.redisx.RedisSession;
 import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.core.event.EventBus;
+import org.noear.solon.data.cache.BytesSerializer;
 import org.noear.solon.data.cache.CacheService;
+import org.noear.solon.data.cache.CacheTagsIndex;
 import org.noear.solon.data.cache.Serializer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -15,16 +23,32 @@ import java.util.Properties;
  * @author noear
  * @since 1.3
  */
-public class RedisCacheService implements CacheService {
+public class RedisCacheService implements CacheService, CacheTagsIndex {
     protected String _cacheKeyHead;
     protected int _defaultSeconds;
     private Serializer<String> _serializer = null;
+    //字节序列化（有时，优先使用；直接存取原始字节）
+    private BytesSerializer _bytesSerializer = null;
+    //标签的最大成员数量
+    private int _tagMaxSize = 10_000;
 
     protected final RedisClient client;
 
     public RedisCacheService serializer(Serializer<String> serializer) {
         if (serializer != null) {
             this._serializer = serializer;
+            this._bytesSerializer = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * 设置字节序列化（免去 Base64 转换；与字符串序列化的存储数据不兼容）
+     */
+    public RedisCacheService serializer(BytesSerializer serializer) {
+        if (serializer != null) {
+            this._bytesSerializer = serializer;
         }
 
         return this;
@@ -59,6 +83,7 @@ public class RedisCacheService implements CacheService {
         String defSeconds_str = prop.getProperty("defSeconds");
         String db_str = prop.getProperty("db");
         String maxTotal_str = prop.getProperty("maxTotal");
+        String tagMaxSize_str = prop.getProperty("tagMaxSize");
 
         if (defSeconds == 0) {
             if (Utils.isNotEmpty(defSeconds_str)) {
@@ -77,6 +102,10 @@ public class RedisCacheService implements CacheService {
             maxTotal = Integer.parseInt(maxTotal_str);
         }
 
+        if (Utils.isNotEmpty(tagMaxSize_str)) {
+            tagMaxSize(Integer.parseInt(tagMaxSize_str));
+        }
+
         if (Utils.isEmpty(keyHeader)) {
             keyHeader = Solon.cfg().appName();
         }
@@ -107,14 +136,15 @@ public class RedisCacheService implements CacheService {
         }
 
         String newKey = newKey(key);
+        int seconds2 = (seconds > 0 ? seconds : _defaultSeconds);
 
         try {
-            String val = _serializer.serialize(obj);
-
-            if (seconds > 0) {
-                client.open((ru) -> ru.key(newKey).expire(seconds).set(val));
+            if (_bytesSerializer == null) {
+                String val = _serializer.serialize(obj);
+                client.open((ru) -> ru.key(newKey).expire(seconds2).set(val));
             } else {
-                client.open((ru) -> ru.key(newKey).expire(_defaultSeconds).set(val));
+                byte[] val = _bytesSerializer.serialize(obj);
+                client.open((ru) -> ru.jedis().setex(toBytes(newKey), seconds2, val));
             }
         } catch (Exception e) {
             EventBus.pushTry(e);
@@ -124,20 +154,43 @@ public class RedisCacheService implements CacheService {
     @Override
     public Object get(String key) {
         String newKey = newKey(key);
-        String val = client.openAndGet((ru) -> ru.key(newKey).get());
 
-        if (val == null) {
-            return null;
-        }
+        return client.openAndGet((ru) -> getDo(ru, newKey));
+    }
 
+    /**
+     * 获取并反序列化（出错时为 null）
+     */
+    private Object getDo(RedisSession ru, String newKey) {
         try {
-            return _serializer.deserialize(val);
+            if (_bytesSerializer == null) {
+                String val = ru.key(newKey).get();
+                return (val == null ? null : _serializer.deserialize(val));
+            } else {
+                byte[] val = ru.jedis().get(toBytes(newKey));
+                return (val == null ? null : _bytesSerializer.deserialize(val));
+            }
         } catch (Exception e) {
             EventBus.pushTry(e);
             return null;
         }
     }
 
+    /**
+     * 序列化并存储
+     */
+    private void storeDo(RedisSession ru, String newKey, Object obj, int seconds) throws Exception {
+        if (_bytesSerializer == null) {
+            ru.key(newKey).expire(seconds).set(_serializer.serialize(obj));
+        } else {
+            ru.jedis().setex(toBytes(newKey), seconds, _bytesSerializer.serialize(obj));
+        }
+    }
+
+    private static byte[] toBytes(String newKey) {
+        return newKey.getBytes(StandardCharsets.UTF_8);
+    }
+
     @Override
     public void remove(String key) {
         String newKey = newKey(key);
@@ -148,6 +201,184 @@ public class RedisCacheService implements CacheService {
     }
 
 
+    //标签索引键的后缀（有序集合：成员为缓存键，分值为过期时间；与旧版本的标签列表键分开，避免类型冲突）
+    private static final String TAG_INDEX_SUFFIX = ":idx";
+    //标签索引每次弹出的数量
+    private static final int TAG_POP_BATCH = 500;
+
+    //添加标签成员，清理已过期的成员，并按需延长标签的存活时间；返回成员数量（原子，一次往返，只操作 KEYS[1]）
+    private static final String SCRIPT_TAG_ADD =
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+                    "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', '(' .. ARGV[3]) " +
+                    "if redis.call('TTL', KEYS[1]) < tonumber(ARGV[4]) then redis.call('EXPIRE', KEYS[1], ARGV[4]) end " +
+                    "return redis.call('ZCARD', KEYS[1])";
+
+    //弹出过期时间最早的 ARGV[1] 个成员（原子，只操作 KEYS[1]）
+    private static final String SCRIPT_TAG_POP =
+            "local ks = redis.call('ZRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1) " +
+                    "if #ks > 0 then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, #ks - 1) end " +
+                    "return ks";
+
+    /**
+     * 设置标签的最大成员数量（超出时，移除最早过期的成员及其缓存）
+     *
+     * @since 2.3
+     */
+    public RedisCacheService tagMaxSize(int tagMaxSize) {
+        if (tagMaxSize > 0) {
+            _tagMaxSize = tagMaxSize;
+        }
+
+        return this;
+    }
+
+    /**
+     * 为缓存键添加标签
+     *
+     * <pre><code>
+     * 标签索引为单独的有序集合键（所有脚本只操作 KEYS 里的键，可用于集群模式）
+     * 升级时：旧版本节点写入的标签列表，仍会在移除与更新时处理
+     * </code></pre>
+     */
+    @Override
+    public void tagAdd(String tagKey, String key, int seconds) {
+        if (seconds <= 0) {
+            seconds = _defaultSeconds;
+        }
+
+        String indexKey = newKey(tagKey) + TAG_INDEX_SUFFIX;
+        String newKey = newKey(key);
+        long now = System.currentTimeMillis();
+        List<String> args = Arrays.asList(newKey,
+                String.valueOf(now + seconds * 1000L),
+                String.valueOf(now),
+                String.valueOf(seconds));
+
+        client.open((ru) -> {
+            long size = ((Number) ru.jedis().eval(SCRIPT_TAG_ADD, Collections.singletonList(indexKey), args)).longValue();
+
+            if (size > _tagMaxSize) {
+                //超出最大数量，移除最早过期的成员及其缓存（提前失效是安全的）
+                deleteAll(ru, tagPop(ru, indexKey, (int) (size - _tagMaxSize)));
+            }
+        });
+    }
+
+    @Override
+    public void tagRemove(String tagKey) {
+        String newTagKey = newKey(tagKey);
+        String indexKey = newTagKey + TAG_INDEX_SUFFIX;
+
+        client.open((ru) -> {
+            //分批弹出成员再删除（弹出是原子的，并发添加的成员不会丢失）
+            while (true) {
+                List<String> members = tagPop(ru, indexKey, TAG_POP_BATCH);
+
+                if (members.size() == 0) {
+                    break;
+                }
+
+                deleteAll(ru, members);
+            }
+
+            //旧版本的标签列表
+            List<String> legacyMembers = tagLegacyMembers(ru, newTagKey);
+            if (legacyMembers != null) {
+                deleteAll(ru, legacyMembers);
+                ru.jedis().del(newTagKey);
+            }
+        });
+    }
+
+    @Override
+    public void tagUpdate(String tagKey, Object newValue, int seconds) {
+        String newTagKey = newKey(tagKey);
+        String indexKey = newTagKey + TAG_INDEX_SUFFIX;
+        int seconds2 = (seconds > 0 ? seconds : _defaultSeconds);
+
+        client.open((ru) -> {
+            List<String> members = new ArrayList<>(ru.jedis().zrangeByScore(indexKey,
+                    String.valueOf(System.currentTimeMillis()), "+inf"));
+
+            List<String> legacyMembers = tagLegacyMembers(ru, newTagKey);
+            if (legacyMembers != null) {
+                members.addAll(legacyMembers);
+            }
+
+            for (String member : members) {
+                if (newValue == null) {
+                    //如果值为null，则删除
+                    ru.key(member).delete();
+                    continue;
+                }
+
+                Object temp = getDo(ru, member);
+
+                //如果之前有缓存，且类型一样才更新 //避免引起莫名的错
+                if (temp != null && newValue.getClass() == temp.getClass()) {
+                    try {
+                        storeDo(ru, member, newValue, seconds2);
+                    } catch (Exception e) {
+                        EventBus.pushTry(e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 弹出标签成员
+     */
+    private List<String> tagPop(RedisSession ru, String indexKey, int count) {
+        Object rst = ru.jedis().eval(SCRIPT_TAG_POP,
+                Collections.singletonList(indexKey),
+                Collections.singletonList(String.valueOf(count)));
+
+        return (List<String>) rst;
+    }
+
+    /**
+     * 获取旧版本的标签成员（旧版本以字符串键存储缓存键列表；没有时为 null）
+     */
+    private List<String> tagLegacyMembers(RedisSession ru, String newTagKey) {
+        if ("string".equals(ru.jedis().type(newTagKey)) == false) {
+            return null;
+        }
+
+        Object temp = getDo(ru, newTagKey);
+        List<String> members = new ArrayList<>();
+
+        if (temp instanceof List) {
+            for (Object cacheKey : (List<?>) temp) {
+                String cacheKeyStr = String.valueOf(cacheKey);
+
+                //跳过时间记录（{{s}}:秒数）
+                if (cacheKeyStr.startsWith("{{s}}:") == false) {
+                    members.add(newKey(cacheKeyStr));
+                }
+            }
+        }
+
+        return members;
+    }
+
+    /**
+     * 删除多个键（集群模式下不能跨槽删除，改为逐个删除）
+     */
+    private void deleteAll(RedisSession ru, List<String> keys) {
+        if (keys.size() == 0) {
+            return;
+        }
+
+        try {
+            ru.jedis().del(keys.toArray(new String[0]));
+        } catch (Exception e) {
+            for (String key : keys) {
+                ru.jedis().del(key);
+            }
+        }
+    }
+
     protected String newKey(String key) {
         return _cacheKeyHead + ":" + Utils.md5(key);
     }
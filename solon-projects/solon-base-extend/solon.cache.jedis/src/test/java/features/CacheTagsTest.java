@@ -0,0 +1,79 @@
+package features;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.noear.solon.annotation.Inject;
+import org.noear.solon.cache.jedis.RedisCacheService;
+import org.noear.solon.data.cache.CacheService;
+import org.noear.solon.data.cache.CacheTags;
+import org.noear.solon.test.SolonJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 标签索引（有序集合）：添加、更新、移除、数量上限，以及旧版本标签列表的兼容
+ */
+@RunWith(SolonJUnit4ClassRunner.class)
+public class CacheTagsTest {
+    @Inject
+    CacheService cacheService;
+
+    @Test
+    public void test() {
+        CacheTags tags = new CacheTags(cacheService);
+
+        for (int i = 0; i < 10; i++) {
+            cacheService.store("tag_k" + i, "v", 100);
+            tags.add("tag_user", "tag_k" + i, 100);
+        }
+
+        tags.update("tag_user", "v2", 100);
+        assert "v2".equals(cacheService.get("tag_k1"));
+
+        tags.remove("tag_user");
+        for (int i = 0; i < 10; i++) {
+            assert cacheService.get("tag_k" + i) == null;
+        }
+    }
+
+    @Test
+    public void test_maxSize() {
+        RedisCacheService redisCache = ((RedisCacheService) cacheService).tagMaxSize(5);
+        CacheTags tags = new CacheTags(redisCache);
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                redisCache.store("tag_m" + i, "v", 100 + i);
+                tags.add("tag_max", "tag_m" + i, 100 + i);
+            }
+
+            //超出上限的（最早过期的）被提前移除
+            assert redisCache.get("tag_m0") == null;
+            assert redisCache.get("tag_m2") == null;
+            assert "v".equals(redisCache.get("tag_m7"));
+        } finally {
+            tags.remove("tag_max");
+            redisCache.tagMaxSize(10_000);
+        }
+    }
+
+    @Test
+    public void test_legacy() {
+        //旧版本的标签列表（以字符串键存储）
+        List<String> legacy = new ArrayList<>();
+        legacy.add("{{s}}:100");
+        legacy.add("tag_old");
+        cacheService.store("@TAG_LEGACY", legacy, 100);
+        cacheService.store("tag_old", "v", 100);
+
+        CacheTags tags = new CacheTags(cacheService);
+        cacheService.store("tag_new", "v", 100);
+        tags.add("tag_legacy", "tag_new", 100);
+
+        tags.remove("tag_legacy");
+        assert cacheService.get("tag_old") == null;
+        assert cacheService.get("tag_new") == null;
+        assert cacheService.get("@TAG_LEGACY") == null;
+    }
+}
@@ -0,0 +1,69 @@
+package org.noear.solon.cache.redisson;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.noear.solon.data.cache.BytesSerializer;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+
+/**
+ * 字节序列化的 Redisson 编解码适配
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class BytesSerializerCodec extends BaseCodec {
+    private final BytesSerializer serializer;
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            byte[] bytes;
+            try {
+                bytes = serializer.serialize(in);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(bytes.length);
+            out.writeBytes(bytes);
+            return out;
+        }
+    };
+
+    private final Decoder<Object> decoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+
+            try {
+                return serializer.deserialize(bytes);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    };
+
+    public BytesSerializerCodec(BytesSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+}
@@ -3,8 +3,11 @@ package org.noear.solon.cache.redisson;
 import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.core.event.EventBus;
+import org.noear.solon.data.cache.BytesSerializer;
 import org.noear.solon.data.cache.CacheService;
+import org.redisson.api.RBucket;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
 
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -17,8 +20,22 @@ public class RedissonCacheService implements CacheService {
     protected String _cacheKeyHead;
     protected int _defaultSeconds;
 
+    //编解码（为 null 时，使用客户端的默认配置）
+    private Codec _codec;
+
     protected final RedissonClient client;
 
+    /**
+     * 设置字节序列化
+     */
+    public RedissonCacheService serializer(BytesSerializer serializer) {
+        if (serializer != null) {
+            this._codec = new BytesSerializerCodec(serializer);
+        }
+
+        return this;
+    }
+
     public RedissonCacheService(RedissonClient client, int defSeconds) {
         this(client, null, defSeconds);
     }
@@ -85,7 +102,7 @@ public class RedissonCacheService implements CacheService {
         String newKey = newKey(key);
 
         try {
-            client.getBucket(newKey).set(obj, seconds, TimeUnit.SECONDS);
+            bucket(newKey).set(obj, seconds, TimeUnit.SECONDS);
         } catch (Throwable e) {
             EventBus.pushTry(e);
         }
@@ -95,14 +112,22 @@ public class RedissonCacheService implements CacheService {
     public Object get(String key) {
         String newKey = newKey(key);
 
-        return client.getBucket(newKey).get();
+        return bucket(newKey).get();
     }
 
     @Override
     public void remove(String key) {
         String newKey = newKey(key);
 
-        client.getBucket(newKey).delete();
+        bucket(newKey).delete();
+    }
+
+    protected RBucket<Object> bucket(String newKey) {
+        if (_codec == null) {
+            return client.getBucket(newKey);
+        } else {
+            return client.getBucket(newKey, _codec);
+        }
     }
 
     protected String newKey(String key) {
@@ -36,18 +36,34 @@ public class NamiFilterTracing implements Filter {
             return inv.invoke();
         } else {
             Span span = buildSpan(inv);
+            Result rst;
 
             try (Scope scope = tracer.activateSpan(span)) {
                 TracingMDC.inject(span);
 
-                return inv.invoke();
+                rst = inv.invoke();
             } catch (Throwable e) {
                 span.log(Utils.throwableToString(e));
+                span.finish();
                 throw e;
             } finally {
                 TracingMDC.removeSpanId();
+            }
+
+            if (inv.resultFuture() == null) {
                 span.finish();
+            } else {
+                //异步调用（invoke 只是发出了请求；响应到达时才结束）
+                inv.resultFuture().whenComplete((r, e) -> {
+                    if (e != null) {
+                        span.log(Utils.throwableToString(e));
+                    }
+
+                    span.finish();
+                });
             }
+
+            return rst;
         }
     }
 
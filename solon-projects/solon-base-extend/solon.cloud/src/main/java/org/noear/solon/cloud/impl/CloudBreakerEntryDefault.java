@@ -0,0 +1,282 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.BreakerEntrySim;
+import org.noear.solon.cloud.model.BreakerException;
+import org.noear.solon.cloud.model.BreakerPermit;
+import org.noear.solon.cloud.model.BreakerRule;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地断路器（滑动窗口；无锁）
+ *
+ * <pre><code>
+ * 1.CLOSED：放行；窗口内错误率或慢调用率超过阀值时，进入 OPEN
+ * 2.OPEN：拒绝；等待 openMillis 后，进入 HALF_OPEN
+ * 3.HALF_OPEN：只放行 halfOpenCalls 个探测调用；全部成功则 CLOSED，有一个失败（或慢）则再次 OPEN
+ * 4.每次状态切换都是一个新的阶段（代数加 1）；之前阶段发出的调用，完成时不再影响当前阶段
+ * 5.并发数超过 maxConcurrency 时拒绝（不改变状态）
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class CloudBreakerEntryDefault extends BreakerEntrySim {
+    public static final int STATE_CLOSED = 0;
+    public static final int STATE_OPEN = 1;
+    public static final int STATE_HALF_OPEN = 2;
+
+    private final String name;
+    private final BreakerRule rule;
+    private final CloudBreakerWindow window;
+    private final long slowNanos;
+
+    //当前阶段（状态 + 代数；每次状态切换都换一个新的阶段对象）
+    private final AtomicReference<Phase> phase = new AtomicReference<>(new Phase(STATE_CLOSED, 0, 0));
+    private volatile int maxConcurrency;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder openCount = new LongAdder();
+
+    public CloudBreakerEntryDefault(String name, BreakerRule rule) {
+        this.name = name;
+        this.rule = rule;
+        this.window = CloudBreakerWindow.of(rule);
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(rule.getSlowMillis());
+        this.maxConcurrency = rule.getMaxConcurrency();
+    }
+
+    /**
+     * 重置阀值（最大并发数）
+     */
+    @Override
+    public void reset(int value) {
+        maxConcurrency = value;
+    }
+
+    @Override
+    public BreakerPermit enter() throws BreakerException {
+        Phase p = phase.get();
+
+        if (p.state == STATE_OPEN) {
+            if (System.nanoTime() - p.openUntilNanos < 0) {
+                rejectedCount.increment();
+                throw new BreakerException();
+            }
+
+            //等待时间已到，进入半开（探测计数只在这里重置；抢不到也没关系，说明别人已经改了状态）
+            phase.compareAndSet(p, new Phase(STATE_HALF_OPEN, p.epoch + 1, 0));
+            p = phase.get();
+        }
+
+        if (p.state == STATE_HALF_OPEN) {
+            if (p.probeIssued.incrementAndGet() > rule.getHalfOpenCalls()) {
+                rejectedCount.increment();
+                throw new BreakerException();
+            }
+        } else if (p.state == STATE_OPEN) {
+            rejectedCount.increment();
+            throw new BreakerException();
+        }
+
+        int max = maxConcurrency;
+        if (active.incrementAndGet() > max && max > 0) {
+            active.decrementAndGet();
+
+            if (p.state == STATE_HALF_OPEN) {
+                //退还探测名额
+                p.probeIssued.decrementAndGet();
+            }
+
+            rejectedCount.increment();
+            throw new BreakerException();
+        }
+
+        return new Permit(this, p);
+    }
+
+    private void onComplete(Phase from, boolean error, long elapsedNanos) {
+        active.decrementAndGet();
+
+        Phase p = phase.get();
+        if (p != from) {
+            //之前阶段发出的（状态已经切换过了），不再影响当前阶段
+            return;
+        }
+
+        boolean slow = elapsedNanos >= slowNanos;
+
+        if (p.state == STATE_HALF_OPEN) {
+            if (error || (slow && rule.getSlowRate() > 0)) {
+                trip(p);
+            } else if (p.probeSucceeded.incrementAndGet() >= rule.getHalfOpenCalls()) {
+                if (phase.compareAndSet(p, new Phase(STATE_CLOSED, p.epoch + 1, 0))) {
+                    window.reset();
+                }
+            }
+            return;
+        }
+
+        window.record(error, slow);
+
+        if (error || slow) {
+            //只有失败或慢调用才可能让比率上升，才需要检查
+            long[] tmp = window.snapshot();
+
+            if (tmp[0] >= rule.getMinCalls() && tmp[0] > 0) {
+                if ((rule.getErrorRate() > 0 && tmp[1] * 100 >= tmp[0] * rule.getErrorRate()) ||
+                        (rule.getSlowRate() > 0 && tmp[2] * 100 >= tmp[0] * rule.getSlowRate())) {
+                    trip(p);
+                }
+            }
+        }
+    }
+
+    /**
+     * 熔断（只从指定的阶段切换；抢不到的，什么也不改）
+     */
+    private void trip(Phase from) {
+        long openUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(rule.getOpenMillis());
+
+        if (phase.compareAndSet(from, new Phase(STATE_OPEN, from.epoch + 1, openUntil))) {
+            openCount.increment();
+        }
+    }
+
+    /**
+     * 名字
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 规则
+     */
+    public BreakerRule rule() {
+        return rule;
+    }
+
+    /**
+     * 状态（STATE_CLOSED, STATE_OPEN, STATE_HALF_OPEN）
+     */
+    public int state() {
+        return phase.get().state;
+    }
+
+    /**
+     * 状态代数（每次状态切换加 1）
+     */
+    public long epoch() {
+        return phase.get().epoch;
+    }
+
+    /**
+     * 进行中的调用数
+     */
+    public int activeCount() {
+        return Math.max(0, active.get());
+    }
+
+    /**
+     * 窗口内的调用数
+     */
+    public long callCount() {
+        return window.snapshot()[0];
+    }
+
+    /**
+     * 窗口内的失败数
+     */
+    public long errorCount() {
+        return window.snapshot()[1];
+    }
+
+    /**
+     * 窗口内的慢调用数
+     */
+    public long slowCount() {
+        return window.snapshot()[2];
+    }
+
+    /**
+     * 窗口内的错误率（百分比）
+     */
+    public double errorRate() {
+        long[] tmp = window.snapshot();
+        return tmp[0] == 0 ? 0D : tmp[1] * 100D / tmp[0];
+    }
+
+    /**
+     * 窗口内的慢调用率（百分比）
+     */
+    public double slowRate() {
+        long[] tmp = window.snapshot();
+        return tmp[0] == 0 ? 0D : tmp[2] * 100D / tmp[0];
+    }
+
+    /**
+     * 被拒绝的调用数（累计）
+     */
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 熔断次数（累计）
+     */
+    public long openCount() {
+        return openCount.sum();
+    }
+
+    /**
+     * 阶段（不可变；半开阶段有自己的探测计数）
+     */
+    static class Phase {
+        final int state;
+        final long epoch;
+        final long openUntilNanos;
+        final AtomicInteger probeIssued = new AtomicInteger();
+        final AtomicInteger probeSucceeded = new AtomicInteger();
+
+        Phase(int state, long epoch, long openUntilNanos) {
+            this.state = state;
+            this.epoch = epoch;
+            this.openUntilNanos = openUntilNanos;
+        }
+    }
+
+    /**
+     * 通行证（记下发出时的阶段）
+     */
+    static class Permit implements BreakerPermit {
+        private final CloudBreakerEntryDefault entry;
+        private final Phase phase;
+        private final long startNanos = System.nanoTime();
+        private boolean error;
+        private boolean closed;
+
+        Permit(CloudBreakerEntryDefault entry, Phase phase) {
+            this.entry = entry;
+            this.phase = phase;
+        }
+
+        @Override
+        public void error(Throwable e) {
+            error = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed == false) {
+                closed = true;
+                entry.onComplete(phase, error, System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.noear.solon.Utils;
 import org.noear.solon.cloud.CloudClient;
 import org.noear.solon.cloud.annotation.CloudBreaker;
 import org.noear.solon.cloud.model.BreakerException;
+import org.noear.solon.cloud.model.BreakerPermit;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.aspect.Interceptor;
 import org.noear.solon.core.aspect.Invocation;
@@ -20,7 +21,7 @@ public class CloudBreakerInterceptor implements Interceptor {
     @Override
     public Object doIntercept(Invocation inv) throws Throwable {
         if (CloudClient.breaker() == null) {
-            throw new IllegalArgumentException("Missing CloudBreakerService component");
+            throw new IllegalArgumentException("Missing CloudBreakerService component (or enable the built-in: " + CloudBreakerServiceDefault.CONFIG_ENABLED + "=true)");
         }
 
         CloudBreaker anno = inv.method().getAnnotation(CloudBreaker.class);
@@ -30,7 +31,15 @@ public class CloudBreakerInterceptor implements Interceptor {
             String name = Solon.cfg().getByParse(Utils.annoAlias(anno.value(), anno.name()));
 
             try (AutoCloseable entry = CloudClient.breaker().entry(name)) {
-                return inv.invoke();
+                try {
+                    return inv.invoke();
+                } catch (Throwable e) {
+                    if (entry instanceof BreakerPermit && (e instanceof DataThrowable) == false) {
+                        //报告失败（用于按错误率熔断）
+                        ((BreakerPermit) entry).error(e);
+                    }
+                    throw e;
+                }
             } catch (BreakerException ex) {
                 Context ctx = Context.current();
                 if (ctx != null) {
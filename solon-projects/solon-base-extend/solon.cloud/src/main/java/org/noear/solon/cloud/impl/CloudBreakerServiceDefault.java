@@ -0,0 +1,84 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.Solon;
+import org.noear.solon.cloud.model.BreakerEntrySim;
+import org.noear.solon.cloud.model.BreakerRule;
+
+/**
+ * 本地熔断服务（内置的；滑动窗口，按错误率、慢调用率、并发数熔断）
+ *
+ * <pre><code>
+ * solon.cloud.local.breakerDefault=true             #启用（没有熔断插件时；默认不启用）
+ * solon.cloud.local.breaker.test=100                #最大并发数（兼容原有配置）
+ * solon.cloud.local.breakerRule.root.errorRate=50   #规则（详见 BreakerRule）
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class CloudBreakerServiceDefault extends CloudBreakerServiceLocalImpl {
+    /**
+     * 启用配置（没有熔断插件时，是否用内置的）
+     */
+    public static final String CONFIG_ENABLED = "solon.cloud.local.breakerDefault";
+
+    private static CloudBreakerServiceDefault instance;
+
+    public static synchronized CloudBreakerServiceDefault getInstance() {
+        if (instance == null) {
+            instance = new CloudBreakerServiceDefault();
+        }
+
+        return instance;
+    }
+
+    public CloudBreakerServiceDefault() {
+        super();
+
+        //规则变化时，移除断路器（下次使用时按新规则创建）
+        Solon.cfg().onChange((key, val) -> {
+            if (key.startsWith(BreakerRule.CONFIG_PREFIX + ".")) {
+                String name = key.substring(BreakerRule.CONFIG_PREFIX.length() + 1);
+                int idx = name.lastIndexOf('.');
+                if (idx > 0) {
+                    name = name.substring(0, idx);
+                }
+
+                if (BreakerRule.CONFIG_DEF.equals(name)) {
+                    clear();
+                } else {
+                    remove(name);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected BreakerEntrySim create(String name, int value) {
+        BreakerRule rule = BreakerRule.of(name);
+
+        //断路器自己的并发配置优先
+        value = Solon.cfg().getInt(CONFIG_PREFIX + "." + name, value);
+        if (value > 0) {
+            rule.setMaxConcurrency(value);
+        }
+
+        return new CloudBreakerEntryDefault(name, rule);
+    }
+
+    /**
+     * 内置的，所有断路器都按默认规则动态创建
+     */
+    @Override
+    protected boolean autoCreate() {
+        return true;
+    }
+
+    /**
+     * 获取断路器（用于查看指标）
+     */
+    @Override
+    public CloudBreakerEntryDefault get(String breakerName) {
+        return (CloudBreakerEntryDefault) super.get(breakerName);
+    }
+}
@@ -1,13 +1,15 @@
 package org.noear.solon.cloud.impl;
 
 import org.noear.solon.Solon;
+import org.noear.solon.Utils;
 import org.noear.solon.cloud.model.BreakerEntrySim;
 import org.noear.solon.cloud.model.BreakerException;
 import org.noear.solon.cloud.service.CloudBreakerService;
 import org.noear.solon.core.Props;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 本地熔断服务
@@ -23,7 +25,7 @@ public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerServic
     static final String CONFIG_PREFIX = "solon.cloud.local.breaker";
     static final String CONFIG_DEF = "root";
 
-    private Map<String, BreakerEntrySim> breakers = new HashMap<>();
+    private final Map<String, BreakerEntrySim> breakers = new ConcurrentHashMap<>();
     private int rootValue = 0;
 
     public CloudBreakerServiceLocalImpl() {
@@ -48,11 +50,11 @@ public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerServic
             //增加配置变化监听
             //
             Solon.cfg().onChange((key, val) -> {
-                if (key.startsWith(CONFIG_PREFIX)) {
+                if (key.startsWith(CONFIG_PREFIX + ".")) {
                     String name = key.substring(CONFIG_PREFIX.length() + 1);
                     BreakerEntrySim tmp = breakers.get(name);
-                    if (tmp != null) {
-                        tmp.reset(Integer.parseInt(val));
+                    if (tmp != null && Utils.isNotEmpty(val)) {
+                        tmp.reset(Integer.parseInt(val.trim()));
                     }
                 }
             });
@@ -61,20 +63,48 @@ public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerServic
 
     protected abstract BreakerEntrySim create(String name, int value);
 
+    /**
+     * 是否动态创建（没有配置的断路器）
+     */
+    protected boolean autoCreate() {
+        return rootValue > 0;
+    }
+
+    /**
+     * 移除断路器（下次使用时重新创建）
+     */
+    protected void remove(String breakerName) {
+        breakers.remove(breakerName);
+    }
+
+    /**
+     * 移除所有断路器
+     */
+    protected void clear() {
+        breakers.clear();
+    }
+
+    /**
+     * 获取断路器
+     */
+    public BreakerEntrySim get(String breakerName) {
+        return breakers.get(breakerName);
+    }
+
+    /**
+     * 获取所有断路器（只读）
+     */
+    public Map<String, BreakerEntrySim> getAll() {
+        return Collections.unmodifiableMap(breakers);
+    }
+
     @Override
     public AutoCloseable entry(String breakerName) throws BreakerException {
         BreakerEntrySim tmp = breakers.get(breakerName);
 
-        if(tmp == null && rootValue > 0) {
+        if (tmp == null && autoCreate()) {
             //动态创建
-            synchronized (breakerName.intern()) {
-                tmp = breakers.get(breakerName);
-
-                if (tmp == null) {
-                    tmp = create(breakerName, rootValue);
-                    breakers.put(breakerName, tmp);
-                }
-            }
+            tmp = breakers.computeIfAbsent(breakerName, k -> create(k, rootValue));
         }
 
         if (tmp == null) {
@@ -0,0 +1,190 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.BreakerRule;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 断路器滑动窗口（无锁；记录调用数、失败数、慢调用数）
+ *
+ * <pre><code>
+ * 1.count：环形缓冲记录最近 N 次调用的结果，覆盖时扣减旧结果
+ * 2.time：按秒分桶的环形缓冲，桶内计数用 LongAdder（分段，减少争用）；过期的桶在写入时重置
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public abstract class CloudBreakerWindow {
+    protected static final int FLAG_CALL = 1;
+    protected static final int FLAG_ERROR = 2;
+    protected static final int FLAG_SLOW = 4;
+
+    /**
+     * 根据规则创建
+     */
+    public static CloudBreakerWindow of(BreakerRule rule) {
+        if (rule.isCountWindow()) {
+            return new CountWindow(rule.getWindowSize());
+        } else {
+            return new TimeWindow(rule.getWindowSize(), 1000);
+        }
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param error 是否失败
+     * @param slow  是否为慢调用
+     */
+    public abstract void record(boolean error, boolean slow);
+
+    /**
+     * 快照（[调用数, 失败数, 慢调用数]）
+     */
+    public abstract long[] snapshot();
+
+    /**
+     * 重置
+     */
+    public abstract void reset();
+
+
+    /**
+     * 按调用次数的窗口
+     */
+    static class CountWindow extends CloudBreakerWindow {
+        private final AtomicIntegerArray ring;
+        private final AtomicLong cursor = new AtomicLong();
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slows = new LongAdder();
+
+        CountWindow(int size) {
+            ring = new AtomicIntegerArray(Math.max(1, size));
+        }
+
+        @Override
+        public void record(boolean error, boolean slow) {
+            int flags = FLAG_CALL | (error ? FLAG_ERROR : 0) | (slow ? FLAG_SLOW : 0);
+            int slot = (int) (cursor.getAndIncrement() % ring.length());
+            int old = ring.getAndSet(slot, flags);
+
+            add(flags, 1);
+            add(old, -1);
+        }
+
+        private void add(int flags, int delta) {
+            if ((flags & FLAG_CALL) != 0) {
+                calls.add(delta);
+
+                if ((flags & FLAG_ERROR) != 0) {
+                    errors.add(delta);
+                }
+
+                if ((flags & FLAG_SLOW) != 0) {
+                    slows.add(delta);
+                }
+            }
+        }
+
+        @Override
+        public long[] snapshot() {
+            return new long[]{calls.sum(), errors.sum(), slows.sum()};
+        }
+
+        @Override
+        public void reset() {
+            for (int i = 0; i < ring.length(); i++) {
+                add(ring.getAndSet(i, 0), -1);
+            }
+        }
+    }
+
+    /**
+     * 按时间的窗口
+     */
+    static class TimeWindow extends CloudBreakerWindow {
+        private final Bucket[] buckets;
+        private final long bucketMillis;
+
+        TimeWindow(int bucketCount, long bucketMillis) {
+            this.buckets = new Bucket[Math.max(1, bucketCount)];
+            this.bucketMillis = Math.max(1, bucketMillis);
+
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private long epochNow() {
+            return System.currentTimeMillis() / bucketMillis;
+        }
+
+        @Override
+        public void record(boolean error, boolean slow) {
+            long epoch = epochNow();
+            Bucket bucket = buckets[(int) (epoch % buckets.length)];
+
+            long old = bucket.epoch.get();
+            if (old < epoch) {
+                //过期的桶，抢到的线程负责重置（并发时可能丢几个计数，统计上可以接受）
+                if (bucket.epoch.compareAndSet(old, epoch)) {
+                    bucket.clear();
+                }
+            }
+
+            bucket.calls.increment();
+
+            if (error) {
+                bucket.errors.increment();
+            }
+
+            if (slow) {
+                bucket.slows.increment();
+            }
+        }
+
+        @Override
+        public long[] snapshot() {
+            long epoch = epochNow();
+            long[] tmp = new long[3];
+
+            for (Bucket bucket : buckets) {
+                long be = bucket.epoch.get();
+
+                if (be > epoch - buckets.length && be <= epoch) {
+                    tmp[0] += bucket.calls.sum();
+                    tmp[1] += bucket.errors.sum();
+                    tmp[2] += bucket.slows.sum();
+                }
+            }
+
+            return tmp;
+        }
+
+        @Override
+        public void reset() {
+            for (Bucket bucket : buckets) {
+                bucket.epoch.set(-1);
+                bucket.clear();
+            }
+        }
+
+        static class Bucket {
+            final AtomicLong epoch = new AtomicLong(-1);
+            final LongAdder calls = new LongAdder();
+            final LongAdder errors = new LongAdder();
+            final LongAdder slows = new LongAdder();
+
+            void clear() {
+                calls.reset();
+                errors.reset();
+                slows.reset();
+            }
+        }
+    }
+}
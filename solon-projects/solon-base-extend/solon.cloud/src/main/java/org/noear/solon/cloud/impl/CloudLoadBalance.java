@@ -13,6 +13,7 @@ import org.noear.solon.cloud.model.Discovery;
  */
 public class CloudLoadBalance implements LoadBalance {
     private static CloudLoadStrategy strategy = new CloudLoadStrategyDefault();
+    private static volatile boolean statsEnabled = false;
 
     /**
      * 获取负载策略
@@ -27,9 +28,19 @@ public class CloudLoadBalance implements LoadBalance {
     public static void setStrategy(CloudLoadStrategy strategy) {
         if (strategy != null) {
             CloudLoadBalance.strategy = strategy;
+            CloudLoadBalance.statsEnabled = (strategy instanceof CloudLoadStrategyP2c);
         }
     }
 
+    /**
+     * 是否需要负载统计（当前策略为二选一或 EWMA 时）
+     *
+     * @since 2.3
+     */
+    public static boolean isStatsEnabled() {
+        return statsEnabled;
+    }
+
     ////////////////
 
     private final String service;
@@ -47,7 +58,11 @@ public class CloudLoadBalance implements LoadBalance {
             discovery = CloudClient.discovery().find(group, service);
 
             CloudClient.discovery().attention(group, service, d1 -> {
+                Discovery d0 = discovery;
                 discovery = d1;
+
+                //移除已下线实例的负载统计
+                CloudLoadStats.evict(d0, d1);
             });
         }
     }
@@ -0,0 +1,251 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.Utils;
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 负载统计（按实例 uri 记录进行中的请求数与 EWMA 延时；给负载策略使用）
+ *
+ * <pre><code>
+ * CloudLoadStats.Call call = CloudLoadStats.start(uri);
+ * try {
+ *     ...
+ *     call.end(true);
+ * } catch (Throwable e) {
+ *     call.end(false);
+ * }
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class CloudLoadStats {
+    /**
+     * 衰减时间（纳秒；越大越平滑）
+     */
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    /**
+     * 失败时的惩罚延时（纳秒）
+     */
+    private static final long PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * 闲置多久后可清理（纳秒）
+     */
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    /**
+     * 超过多少个实例时，清理闲置的
+     */
+    private static final int SWEEP_SIZE = 256;
+
+    private static final Map<String, Stats> statsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 获取实例统计
+     *
+     * @param uri 实例 uri（protocol://ip:port）
+     */
+    public static Stats get(String uri) {
+        Stats stats = statsMap.get(uri);
+        if (stats == null) {
+            if (statsMap.size() >= SWEEP_SIZE) {
+                sweep();
+            }
+
+            stats = statsMap.computeIfAbsent(uri, k -> new Stats());
+        }
+
+        return stats;
+    }
+
+    /**
+     * 开始请求
+     *
+     * @return 请求记录（结束时用它，更新的是开始时的那个统计；期间实例统计被移除也不影响）
+     */
+    public static Call start(String uri) {
+        Stats stats = get(uri);
+        stats.outstanding.incrementAndGet();
+
+        long now = System.nanoTime();
+        stats.activeNanos = now;
+        return new Call(stats, now);
+    }
+
+    /**
+     * 移除实例统计（实例下线后）
+     */
+    public static void remove(String uri) {
+        statsMap.remove(uri);
+    }
+
+    /**
+     * 移除已下线实例的统计（服务发现变更时）
+     *
+     * @param oldDiscovery 变更前的
+     * @param newDiscovery 变更后的
+     */
+    public static void evict(Discovery oldDiscovery, Discovery newDiscovery) {
+        if (oldDiscovery == null || statsMap.isEmpty()) {
+            return;
+        }
+
+        Set<String> uris = new HashSet<>();
+        if (newDiscovery != null) {
+            for (Instance instance : newDiscovery.cluster()) {
+                uris.add(instance.uri());
+            }
+        }
+
+        for (Instance instance : oldDiscovery.cluster()) {
+            if (uris.contains(instance.uri()) == false) {
+                statsMap.remove(instance.uri());
+            }
+        }
+    }
+
+    /**
+     * 实例统计数量
+     */
+    public static int size() {
+        return statsMap.size();
+    }
+
+    /**
+     * 清理闲置的实例统计（没有进行中的请求，且闲置超时；比如本地配置的实例变更后）
+     */
+    private static void sweep() {
+        long now = System.nanoTime();
+
+        statsMap.entrySet().removeIf(kv -> {
+            Stats stats = kv.getValue();
+            return stats.outstanding() == 0 && now - stats.activeNanos > IDLE_NANOS;
+        });
+    }
+
+    /**
+     * 获取实例权重（优先用 meta 里的 weight）
+     */
+    public static double weightOf(Instance instance) {
+        double weight = instance.weight();
+
+        String str = instance.metaGet("weight");
+        if (Utils.isNotEmpty(str)) {
+            try {
+                weight = Double.parseDouble(str);
+            } catch (NumberFormatException e) {
+                //不管它
+            }
+        }
+
+        //权重为 0 的，尽量不选（但仍可用）
+        return weight > 0 ? weight : 0.01D;
+    }
+
+    /**
+     * 请求记录
+     */
+    public static class Call {
+        private final Stats stats;
+        private final long startNanos;
+
+        Call(Stats stats, long startNanos) {
+            this.stats = stats;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 结束请求
+         *
+         * @param success 是否成功
+         */
+        public void end(boolean success) {
+            stats.outstanding.decrementAndGet();
+
+            long rtt = System.nanoTime() - startNanos;
+            if (success == false) {
+                stats.errorCount.increment();
+                rtt = Math.max(rtt, PENALTY_NANOS);
+            }
+
+            stats.observe(rtt);
+        }
+    }
+
+    /**
+     * 实例统计
+     */
+    public static class Stats {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final LongAdder errorCount = new LongAdder();
+        //EWMA 延时（double 的位）
+        private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToLongBits(0D));
+        private volatile long lastNanos = System.nanoTime();
+        //最近活动时间（用于清理闲置的）
+        private volatile long activeNanos = lastNanos;
+
+        /**
+         * 进行中的请求数
+         */
+        public int outstanding() {
+            return Math.max(0, outstanding.get());
+        }
+
+        /**
+         * 失败次数
+         */
+        public long errorCount() {
+            return errorCount.sum();
+        }
+
+        /**
+         * EWMA 延时（纳秒）
+         */
+        public double ewmaNanos() {
+            return Double.longBitsToDouble(ewmaBits.get());
+        }
+
+        /**
+         * 负载成本（EWMA 延时 x (进行中 + 1) / 权重；越小越好）
+         */
+        public double cost(double weight) {
+            double ewma = ewmaNanos();
+            int active = outstanding();
+
+            if (ewma == 0D) {
+                //还没有数据的，按进行中的请求数算（让它有机会被选中）
+                return active / weight;
+            }
+
+            return ewma * (active + 1) / weight;
+        }
+
+        private void observe(long rtt) {
+            long now = System.nanoTime();
+            double w = Math.exp(-Math.max(0, now - lastNanos) / DECAY_NANOS);
+            lastNanos = now;
+            activeNanos = now;
+
+            while (true) {
+                long bits = ewmaBits.get();
+                double ewma = Double.longBitsToDouble(bits);
+
+                //峰值敏感：变慢时立即跟上，变快时慢慢衰减
+                double val = (rtt > ewma) ? rtt : (ewma * w + rtt * (1 - w));
+
+                if (ewmaBits.compareAndSet(bits, Double.doubleToLongBits(val))) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -3,29 +3,30 @@ package org.noear.solon.cloud.impl;
 import org.noear.solon.cloud.model.Discovery;
 import org.noear.solon.cloud.model.Instance;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * 默认负载策略
+ * 默认负载策略（轮询；无锁）
  *
  * @author noear
  * @since 2.2
  */
 public class CloudLoadStrategyDefault implements CloudLoadStrategy {
-    private static final int indexMax = 99999999;
-
     @Override
     public String getServer(Discovery discovery) {
-        Instance instance;
+        Object attachment = discovery.attachment();
+        AtomicInteger index;
 
-        synchronized (discovery.service().intern()) {
-            Integer index = discovery.attachment();
-            if (index == null || index > indexMax) {
-                index = 0;
-            }
-
-            instance = discovery.instanceGet(index++);
+        if (attachment instanceof AtomicInteger) {
+            index = (AtomicInteger) attachment;
+        } else {
+            //并发时可能会多建一个，没关系
+            index = new AtomicInteger();
             discovery.attachmentSet(index);
         }
 
+        Instance instance = discovery.instanceGet(index.getAndIncrement() & Integer.MAX_VALUE);
+
         return instance.uri();
     }
 }
@@ -0,0 +1,18 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.Instance;
+
+/**
+ * EWMA 延时负载策略（随机取两个实例，选 EWMA 延时 x (进行中 + 1) / 权重 较小的；无锁）
+ *
+ * <p>需要有负载统计（CloudLoadStats），默认由 Nami 过滤器记录</p>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class CloudLoadStrategyEwma extends CloudLoadStrategyP2c {
+    @Override
+    protected double score(Instance instance) {
+        return CloudLoadStats.get(instance.uri()).cost(CloudLoadStats.weightOf(instance));
+    }
+}
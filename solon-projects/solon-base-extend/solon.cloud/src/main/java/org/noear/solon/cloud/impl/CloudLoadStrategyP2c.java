@@ -0,0 +1,48 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 二选一负载策略（随机取两个实例，选进行中请求数 / 权重 较小的；无锁）
+ *
+ * <p>需要有负载统计（CloudLoadStats），默认由 Nami 过滤器记录</p>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class CloudLoadStrategyP2c implements CloudLoadStrategy {
+    @Override
+    public String getServer(Discovery discovery) {
+        int size = discovery.clusterSize();
+
+        if (size == 1) {
+            return discovery.instanceGet(0).uri();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i1 = random.nextInt(size);
+        int i2 = random.nextInt(size - 1);
+        if (i2 >= i1) {
+            i2++;
+        }
+
+        Instance n1 = discovery.instanceGet(i1);
+        Instance n2 = discovery.instanceGet(i2);
+
+        if (score(n2) < score(n1)) {
+            return n2.uri();
+        } else {
+            return n1.uri();
+        }
+    }
+
+    /**
+     * 评分（越小越好）
+     */
+    protected double score(Instance instance) {
+        return CloudLoadStats.get(instance.uri()).outstanding() / CloudLoadStats.weightOf(instance);
+    }
+}
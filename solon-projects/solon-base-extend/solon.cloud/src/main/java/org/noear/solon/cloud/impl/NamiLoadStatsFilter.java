@@ -0,0 +1,73 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.nami.Filter;
+import org.noear.nami.Invocation;
+import org.noear.nami.NamiManager;
+import org.noear.nami.Result;
+
+import java.net.URI;
+
+/**
+ * Nami 负载统计过滤器（为负载策略记录每个实例的进行中请求数与延时；只在二选一或 EWMA 负载策略时记录）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class NamiLoadStatsFilter implements Filter {
+    private static boolean registered;
+
+    /**
+     * 注册过滤器（只注册一次）
+     * */
+    public static synchronized void register() {
+        if (registered == false) {
+            registered = true;
+            NamiManager.reg(new NamiLoadStatsFilter());
+        }
+    }
+
+    @Override
+    public Result doFilter(Invocation inv) throws Throwable {
+        if (CloudLoadBalance.isStatsEnabled() == false) {
+            return inv.invoke();
+        }
+
+        String uri = instanceUri(inv.uri);
+
+        if (uri == null) {
+            return inv.invoke();
+        }
+
+        CloudLoadStats.Call call = CloudLoadStats.start(uri);
+        Result result;
+
+        try {
+            result = inv.invoke();
+        } catch (Throwable e) {
+            call.end(false);
+            throw e;
+        }
+
+        if (inv.resultFuture() == null) {
+            call.end(result == null || result.code() < 500);
+        } else {
+            //异步调用，完成时再记录
+            inv.resultFuture().whenComplete((rst, err) -> {
+                call.end(err == null && (rst == null || rst.code() < 500));
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * 实例 uri（同 Instance::uri，即 protocol://ip:port）
+     */
+    private static String instanceUri(URI uri) {
+        if (uri == null || uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return null;
+        }
+
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+}
@@ -78,10 +78,18 @@ public class XPluginImp implements Plugin , InitializingBean {
             CloudManager.register(new CloudTraceServiceImpl());
         }
 
+        if (CloudClient.breaker() == null && Solon.cfg().getBool(CloudBreakerServiceDefault.CONFIG_ENABLED, false)) {
+            //设置默认的熔断服务（内置的本地熔断，需要配置启用；有熔断插件时会被替换）
+            CloudManager.register(CloudBreakerServiceDefault.getInstance());
+        }
+
         //有些场景会排除掉nami
         if (ClassUtil.loadClass("org.noear.nami.NamiManager") != null) {
             //注册Nami跟踪过滤器
             NamiTraceFilter.register();
+
+            //注册Nami负载统计过滤器（给负载策略用；客户端构建时会复制全局过滤器，所以先注册，由负载策略决定是否记录）
+            NamiLoadStatsFilter.register();
         }
 
         context.getBeanAsync(CloudLoadStrategy.class, bean -> {
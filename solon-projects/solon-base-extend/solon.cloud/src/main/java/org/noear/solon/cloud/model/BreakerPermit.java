@@ -0,0 +1,36 @@
+package org.noear.solon.cloud.model;
+
+/**
+ * 断路器通行证（一次调用一个；可报告调用失败，用于按错误率熔断）
+ *
+ * <p><code>
+ *     try (AutoCloseable entry = CloudClient.breaker().entry("test")) {
+ *         try {
+ *             //业务处理
+ *         } catch (Throwable e) {
+ *             if (entry instanceof BreakerPermit) {
+ *                 //在 close 之前报告失败
+ *                 ((BreakerPermit) entry).error(e);
+ *             }
+ *             throw e;
+ *         }
+ *     } catch (BreakerException ex) {
+ *         //被熔断
+ *     }
+ * </code></p>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public interface BreakerPermit extends AutoCloseable {
+    /**
+     * 报告调用失败（要在 close 之前）
+     */
+    void error(Throwable e);
+
+    /**
+     * 结束调用（记录结果与耗时）
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,177 @@
+package org.noear.solon.cloud.model;
+
+import org.noear.solon.Solon;
+import org.noear.solon.core.Props;
+
+import java.io.Serializable;
+
+/**
+ * 断路器规则（本地熔断引擎用）
+ *
+ * <pre><code>
+ * solon.cloud.local.breakerRule.root.errorRate=50   #默认规则
+ * solon.cloud.local.breakerRule.test.slowRate=80    #某个断路器的规则（在默认规则上覆盖）
+ * solon.cloud.local.breakerRule.test.slowMillis=500
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class BreakerRule implements Serializable {
+    public static final String CONFIG_PREFIX = "solon.cloud.local.breakerRule";
+    public static final String CONFIG_DEF = "root";
+
+    public static final String WINDOW_TIME = "time";
+    public static final String WINDOW_COUNT = "count";
+
+    /**
+     * 窗口类型（time：按时间，count：按调用次数）
+     */
+    private String windowType = WINDOW_TIME;
+    /**
+     * 窗口大小（time 时为秒数，count 时为调用次数）
+     */
+    private int windowSize = 10;
+    /**
+     * 窗口内最少调用数（不足时不做比率判断）
+     */
+    private int minCalls = 20;
+    /**
+     * 错误率阀值（百分比；0 表示不启用）
+     */
+    private int errorRate = 50;
+    /**
+     * 慢调用率阀值（百分比；0 表示不启用）
+     */
+    private int slowRate = 0;
+    /**
+     * 慢调用的耗时（毫秒）
+     */
+    private long slowMillis = 1000;
+    /**
+     * 最大并发数（0 表示不限制）
+     */
+    private int maxConcurrency = 0;
+    /**
+     * 熔断后的等待时间（毫秒；之后进入半开状态）
+     */
+    private long openMillis = 5000;
+    /**
+     * 半开状态的探测调用数
+     */
+    private int halfOpenCalls = 5;
+
+    public String getWindowType() {
+        return windowType;
+    }
+
+    public void setWindowType(String windowType) {
+        this.windowType = windowType;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinCalls() {
+        return minCalls;
+    }
+
+    public void setMinCalls(int minCalls) {
+        this.minCalls = minCalls;
+    }
+
+    public int getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(int errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int getSlowRate() {
+        return slowRate;
+    }
+
+    public void setSlowRate(int slowRate) {
+        this.slowRate = slowRate;
+    }
+
+    public long getSlowMillis() {
+        return slowMillis;
+    }
+
+    public void setSlowMillis(long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    public void setOpenMillis(long openMillis) {
+        this.openMillis = openMillis;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * 是否为按调用次数的窗口
+     */
+    public boolean isCountWindow() {
+        return WINDOW_COUNT.equals(windowType);
+    }
+
+    /**
+     * 从配置加载（默认规则 + 断路器自己的规则）
+     *
+     * @param breakerName 断路器名字
+     */
+    public static BreakerRule of(String breakerName) {
+        BreakerRule rule = new BreakerRule();
+
+        Props props = Solon.cfg().getProp(CONFIG_PREFIX);
+        if (props.size() > 0) {
+            props.getProp(CONFIG_DEF).bindTo(rule);
+
+            if (CONFIG_DEF.equals(breakerName) == false) {
+                props.getProp(breakerName).bindTo(rule);
+            }
+        }
+
+        return rule;
+    }
+
+    @Override
+    public String toString() {
+        return "BreakerRule{" +
+                "windowType='" + windowType + '\'' +
+                ", windowSize=" + windowSize +
+                ", minCalls=" + minCalls +
+                ", errorRate=" + errorRate +
+                ", slowRate=" + slowRate +
+                ", slowMillis=" + slowMillis +
+                ", maxConcurrency=" + maxConcurrency +
+                ", openMillis=" + openMillis +
+                ", halfOpenCalls=" + halfOpenCalls +
+                '}';
+    }
+}
@@ -23,6 +23,7 @@ public class NamiTraceFilter implements Filter {
 
     @Override
     public Result doFilter(Invocation inv) throws Throwable {
+        //只在发出前写入头信息（没有需要结束的状态；异步调用同样适用）
         inv.headers.put(CloudClient.trace().HEADER_TRACE_ID_NAME(), CloudClient.trace().getTraceId());
         inv.headers.put(CloudClient.trace().HEADER_FROM_ID_NAME(), Instance.local().serviceAndAddress());
         return inv.invoke();
@@ -0,0 +1,190 @@
+package features;
+
+import org.noear.solon.cloud.impl.CloudBreakerEntryDefault;
+import org.noear.solon.cloud.model.BreakerException;
+import org.noear.solon.cloud.model.BreakerPermit;
+import org.noear.solon.cloud.model.BreakerRule;
+
+/**
+ * 本地断路器的状态机：熔断、半开探测、恢复，以及之前阶段发出的调用不影响当前阶段
+ *
+ * @author agent 2026/10/18 created
+ */
+public class CloudBreakerEntryTest {
+    public static void main(String[] args) throws Exception {
+        test_trip();
+        test_recover();
+        test_probeFailure();
+        test_staleClosed();
+        test_staleProbe();
+        test_concurrency();
+
+        System.out.println("CloudBreakerEntryTest: ok");
+    }
+
+    static BreakerRule ruleOf() {
+        BreakerRule rule = new BreakerRule();
+        rule.setWindowType(BreakerRule.WINDOW_COUNT);
+        rule.setWindowSize(10);
+        rule.setMinCalls(4);
+        rule.setErrorRate(50);
+        rule.setOpenMillis(50);
+        rule.setHalfOpenCalls(2);
+        return rule;
+    }
+
+    static void call(CloudBreakerEntryDefault entry, boolean error) throws Exception {
+        BreakerPermit permit = entry.enter();
+        if (error) {
+            permit.error(new RuntimeException());
+        }
+        permit.close();
+    }
+
+    static boolean rejected(CloudBreakerEntryDefault entry) {
+        try {
+            entry.enter().close();
+            return false;
+        } catch (BreakerException e) {
+            return true;
+        }
+    }
+
+    static CloudBreakerEntryDefault openOf(BreakerRule rule) throws Exception {
+        CloudBreakerEntryDefault entry = new CloudBreakerEntryDefault("test", rule);
+
+        for (int i = 0; i < 4; i++) {
+            call(entry, true);
+        }
+
+        assert entry.state() == CloudBreakerEntryDefault.STATE_OPEN;
+        return entry;
+    }
+
+    static void test_trip() throws Exception {
+        CloudBreakerEntryDefault entry = new CloudBreakerEntryDefault("test", ruleOf());
+
+        //不足最少调用数，不熔断
+        call(entry, true);
+        call(entry, true);
+        call(entry, false);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+
+        call(entry, true);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_OPEN;
+        assert entry.openCount() == 1;
+        assert entry.epoch() == 1;
+
+        assert rejected(entry);
+        assert entry.rejectedCount() == 1;
+    }
+
+    static void test_recover() throws Exception {
+        CloudBreakerEntryDefault entry = openOf(ruleOf());
+        Thread.sleep(60);
+
+        //半开：只放行 2 个探测
+        BreakerPermit p1 = entry.enter();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_HALF_OPEN;
+        BreakerPermit p2 = entry.enter();
+        assert rejected(entry);
+
+        p1.close();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_HALF_OPEN;
+        p2.close();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+        assert entry.epoch() == 3;
+
+        //恢复后，窗口重新开始
+        assert entry.callCount() == 0;
+        call(entry, true);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+    }
+
+    static void test_probeFailure() throws Exception {
+        CloudBreakerEntryDefault entry = openOf(ruleOf());
+        Thread.sleep(60);
+
+        call(entry, true);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_OPEN;
+        assert entry.openCount() == 2;
+        assert rejected(entry);
+
+        //再次半开，探测名额是新的
+        Thread.sleep(60);
+        call(entry, false);
+        call(entry, false);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+    }
+
+    static void test_staleClosed() throws Exception {
+        CloudBreakerEntryDefault entry = new CloudBreakerEntryDefault("test", ruleOf());
+
+        //关闭状态时发出的调用，迟迟没有完成
+        BreakerPermit stale = entry.enter();
+
+        for (int i = 0; i < 4; i++) {
+            call(entry, true);
+        }
+        assert entry.state() == CloudBreakerEntryDefault.STATE_OPEN;
+
+        Thread.sleep(60);
+        BreakerPermit probe = entry.enter();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_HALF_OPEN;
+
+        //之前阶段的失败，不再熔断，也不重置探测名额
+        stale.error(new RuntimeException());
+        stale.close();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_HALF_OPEN;
+        assert entry.openCount() == 1;
+
+        BreakerPermit probe2 = entry.enter();
+        assert rejected(entry);
+
+        probe.close();
+        probe2.close();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+        assert entry.activeCount() == 0;
+    }
+
+    static void test_staleProbe() throws Exception {
+        CloudBreakerEntryDefault entry = openOf(ruleOf());
+        Thread.sleep(60);
+
+        //第一轮半开：一个探测失败（再次熔断），另一个迟迟没有完成
+        BreakerPermit slowProbe = entry.enter();
+        call(entry, true);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_OPEN;
+
+        //第二轮半开
+        Thread.sleep(60);
+        BreakerPermit probe = entry.enter();
+
+        //上一轮的探测成功，不能算到这一轮
+        slowProbe.close();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_HALF_OPEN;
+
+        probe.close();
+        assert entry.state() == CloudBreakerEntryDefault.STATE_HALF_OPEN;
+
+        call(entry, false);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+    }
+
+    static void test_concurrency() throws Exception {
+        BreakerRule rule = ruleOf();
+        rule.setMaxConcurrency(1);
+
+        CloudBreakerEntryDefault entry = openOf(rule);
+        Thread.sleep(60);
+
+        BreakerPermit probe = entry.enter();
+
+        //并发超限被拒绝的，退还探测名额
+        assert rejected(entry);
+        probe.close();
+
+        call(entry, false);
+        assert entry.state() == CloudBreakerEntryDefault.STATE_CLOSED;
+    }
+}
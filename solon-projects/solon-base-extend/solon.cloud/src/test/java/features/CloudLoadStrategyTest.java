@@ -0,0 +1,216 @@
+package features;
+
+import org.noear.nami.*;
+import org.noear.solon.cloud.impl.*;
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.*;
+
+/**
+ * 二选一与 EWMA 负载策略：选择、权重、失败惩罚、统计清理，以及 Nami 负载统计过滤器
+ *
+ * @author agent 2026/10/18 created
+ */
+public class CloudLoadStrategyTest {
+    public static void main(String[] args) throws Exception {
+        test_p2c();
+        test_weight();
+        test_ewma();
+        test_penalty();
+        test_evict();
+        test_filter();
+
+        System.out.println("CloudLoadStrategyTest: ok");
+    }
+
+    static Discovery discoveryOf(Instance... instances) {
+        Discovery discovery = new Discovery("demo");
+        for (Instance instance : instances) {
+            discovery.instanceAdd(instance);
+        }
+        return discovery;
+    }
+
+    static void test_p2c() {
+        Instance n1 = new Instance("demo", "127.0.0.1:7101");
+        Instance n2 = new Instance("demo", "127.0.0.1:7102");
+        Discovery discovery = discoveryOf(n1, n2);
+
+        //n1 有进行中的请求
+        for (int i = 0; i < 5; i++) {
+            CloudLoadStats.start(n1.uri());
+        }
+
+        CloudLoadStrategy strategy = new CloudLoadStrategyP2c();
+        for (int i = 0; i < 100; i++) {
+            assert n2.uri().equals(strategy.getServer(discovery));
+        }
+
+        //只有一个实例的
+        assert n1.uri().equals(strategy.getServer(discoveryOf(n1)));
+    }
+
+    static void test_weight() {
+        Instance n1 = new Instance("demo", "127.0.0.1:7201").weight(1);
+        Instance n2 = new Instance("demo", "127.0.0.1:7202").metaPut("weight", "10");
+        Discovery discovery = discoveryOf(n1, n2);
+
+        assert CloudLoadStats.weightOf(n1) == 1D;
+        assert CloudLoadStats.weightOf(n2) == 10D;
+        assert CloudLoadStats.weightOf(new Instance("demo", "127.0.0.1:7203").weight(0)) > 0D;
+
+        //进行中的请求数相同（n2 权重大）
+        for (int i = 0; i < 4; i++) {
+            CloudLoadStats.start(n1.uri());
+            CloudLoadStats.start(n2.uri());
+        }
+
+        CloudLoadStrategy strategy = new CloudLoadStrategyP2c();
+        for (int i = 0; i < 100; i++) {
+            assert n2.uri().equals(strategy.getServer(discovery));
+        }
+    }
+
+    static void test_ewma() throws Exception {
+        Instance n1 = new Instance("demo", "127.0.0.1:7301");
+        Instance n2 = new Instance("demo", "127.0.0.1:7302");
+        Instance n3 = new Instance("demo", "127.0.0.1:7303");
+
+        //n1 快，n2 慢
+        for (int i = 0; i < 5; i++) {
+            CloudLoadStats.start(n1.uri()).end(true);
+
+            CloudLoadStats.Call call = CloudLoadStats.start(n2.uri());
+            Thread.sleep(20);
+            call.end(true);
+        }
+
+        assert CloudLoadStats.get(n1.uri()).ewmaNanos() < CloudLoadStats.get(n2.uri()).ewmaNanos();
+        assert CloudLoadStats.get(n1.uri()).outstanding() == 0;
+
+        CloudLoadStrategy strategy = new CloudLoadStrategyEwma();
+        for (int i = 0; i < 100; i++) {
+            assert n1.uri().equals(strategy.getServer(discoveryOf(n1, n2)));
+        }
+
+        //还没有数据的，优先（让它有机会被选中）
+        for (int i = 0; i < 100; i++) {
+            assert n3.uri().equals(strategy.getServer(discoveryOf(n1, n3)));
+        }
+    }
+
+    static void test_penalty() {
+        String uri = "http://127.0.0.1:7401";
+
+        CloudLoadStats.start(uri).end(false);
+
+        CloudLoadStats.Stats stats = CloudLoadStats.get(uri);
+        assert stats.errorCount() == 1;
+        assert stats.ewmaNanos() >= TimeUnit.SECONDS.toNanos(1);
+    }
+
+    static void test_evict() {
+        Instance n1 = new Instance("demo", "127.0.0.1:7501");
+        Instance n2 = new Instance("demo", "127.0.0.1:7502");
+
+        CloudLoadStats.start(n1.uri()).end(true);
+        CloudLoadStats.start(n2.uri()).end(true);
+        int size = CloudLoadStats.size();
+
+        //n2 下线
+        CloudLoadStats.evict(discoveryOf(n1, n2), discoveryOf(n1));
+        assert CloudLoadStats.size() == size - 1;
+        assert CloudLoadStats.get(n2.uri()).errorCount() == 0;
+        assert CloudLoadStats.get(n2.uri()).ewmaNanos() == 0D;
+        assert CloudLoadStats.get(n1.uri()).ewmaNanos() > 0D;
+
+        //请求进行中被移除：结束时更新的是原来的统计（新的统计不会变成 -1）
+        CloudLoadStats.Call call = CloudLoadStats.start(n1.uri());
+        CloudLoadStats.remove(n1.uri());
+        call.end(true);
+
+        CloudLoadStats.Stats stats = CloudLoadStats.get(n1.uri());
+        CloudLoadStats.start(n1.uri());
+        assert stats.outstanding() == 1;
+        assert stats.ewmaNanos() == 0D;
+    }
+
+    public interface DemoApi {
+        String hello(String name);
+
+        CompletableFuture<String> helloAsync(String name);
+    }
+
+    static void test_filter() throws Exception {
+        String url = "http://127.0.0.1:7601";
+        CompletableFuture<Result> pending = new CompletableFuture<>();
+
+        AsyncChannel channel = new AsyncChannel() {
+            @Override
+            public CompletableFuture<Result> callAsync(Context ctx) {
+                return pending;
+            }
+
+            @Override
+            public Result call(Context ctx) throws Throwable {
+                return new Result(200, "ok".getBytes());
+            }
+        };
+
+        DemoApi api = Nami.builder()
+                .url(url + "/demo/")
+                .decoder(new TextDecoder())
+                .channel(channel)
+                .filterAdd(new NamiLoadStatsFilter())
+                .create(DemoApi.class);
+
+        //默认策略，不记录
+        CloudLoadBalance.setStrategy(new CloudLoadStrategyDefault());
+        api.hello("noear");
+        assert CloudLoadStats.get(url).ewmaNanos() == 0D;
+
+        CloudLoadBalance.setStrategy(new CloudLoadStrategyEwma());
+        try {
+            //同步
+            api.hello("noear");
+            assert CloudLoadStats.get(url).outstanding() == 0;
+            assert CloudLoadStats.get(url).ewmaNanos() > 0D;
+
+            //异步（完成时才记录）
+            CompletableFuture<String> future = api.helloAsync("noear");
+            assert CloudLoadStats.get(url).outstanding() == 1;
+
+            pending.complete(new Result(500, "error".getBytes()));
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                assert false;
+            } catch (ExecutionException e) {
+                //500 的结果，解码时出错
+            }
+
+            assert CloudLoadStats.get(url).outstanding() == 0;
+            assert CloudLoadStats.get(url).errorCount() == 1;
+        } finally {
+            CloudLoadBalance.setStrategy(new CloudLoadStrategyDefault());
+        }
+    }
+
+    static class TextDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+}
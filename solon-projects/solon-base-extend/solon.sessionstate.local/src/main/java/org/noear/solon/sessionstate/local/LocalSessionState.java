@@ -1,5 +1,6 @@
 package org.noear.solon.sessionstate.local;
 
+import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.boot.web.SessionStateBase;
 import org.noear.solon.core.handle.Context;
@@ -12,10 +13,18 @@ import java.util.Collection;
  * */
 public class LocalSessionState extends SessionStateBase {
 
-    private static ScheduledStore _store;
+    private static TimingWheelStore _store;
 
     static {
-        _store = new ScheduledStore(_expiry);
+        int maxSize = Solon.cfg().getInt("server.session.state.local.maxSize", 0);
+        _store = new TimingWheelStore(_expiry, maxSize);
+    }
+
+    /**
+     * 获取存储器（可查看数量统计）
+     * */
+    public static TimingWheelStore store() {
+        return _store;
     }
 
     protected LocalSessionState(Context ctx) {
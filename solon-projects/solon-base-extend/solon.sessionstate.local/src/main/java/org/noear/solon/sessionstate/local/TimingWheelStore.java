@@ -0,0 +1,288 @@
+package org.noear.solon.sessionstate.local;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 时间轮存储器（做为Session存储方案）
+ *
+ * <pre><code>
+ * 1.只有一个粗粒度的时间轮任务（不再为每次 put, delay 重新计划任务）
+ * 2.续期只是写一次 volatile 时间戳；时间轮到期时才复查，未过期的会挪到新的槽位
+ * 3.读取时也会惰性检查过期
+ * 4.可限制最大数量，超出时按到期先后淘汰（即最久未活动的）
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class TimingWheelStore {
+    //时间轮的槽位数量（大概值）
+    private static final int WHEEL_SLOTS = 512;
+
+    private static final ScheduledExecutorService _exec = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "solon-session-wheel");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final long _expiryMillis;
+    private final long _tickMillis;
+    private final int _maxSize;
+
+    private final Map<String, Entity> _data = new ConcurrentHashMap<>();   //缓存存储器
+    private final AtomicReferenceArray<Queue<Entity>> _wheel;
+    private long _lastTick;
+
+    private final LongAdder _expiredCount = new LongAdder();
+    private final LongAdder _evictedCount = new LongAdder();
+
+    /**
+     * @param seconds 过期秒数
+     * @param maxSize 最大数量（0 表示不限）
+     */
+    public TimingWheelStore(int seconds, int maxSize) {
+        if (seconds < 1) {
+            seconds = 1;
+        }
+
+        _expiryMillis = seconds * 1000L;
+        _tickMillis = Math.max(1000L, _expiryMillis / WHEEL_SLOTS);
+        _maxSize = maxSize;
+
+        //多留一个槽位，确保到期时间不会绕回当前槽位之前
+        int slots = (int) (_expiryMillis / _tickMillis) + 2;
+        _wheel = new AtomicReferenceArray<>(slots);
+        for (int i = 0; i < slots; i++) {
+            _wheel.set(i, new ConcurrentLinkedQueue<>());
+        }
+
+        _lastTick = System.currentTimeMillis() / _tickMillis;
+        _exec.scheduleWithFixedDelay(this::advance, _tickMillis, _tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Collection<String> keys() {
+        return _data.keySet();
+    }
+
+    public void put(String block, String key, Object obj) {
+        long now = System.currentTimeMillis();
+
+        Entity ent = _data.get(block);
+        if (ent == null || ent.isExpired(now, _expiryMillis)) {
+            ent = _data.compute(block, (k, v) -> {
+                if (v == null || v.isExpired(now, _expiryMillis)) {
+                    if (v != null) {
+                        _expiredCount.increment();
+                    }
+
+                    Entity tmp = new Entity(k, now);
+                    slotOf(now + _expiryMillis).offer(tmp);
+                    return tmp;
+                } else {
+                    return v;
+                }
+            });
+
+            if (_maxSize > 0 && _data.size() > _maxSize) {
+                evict(_data.size() - _maxSize, ent);
+            }
+        }
+
+        ent.map.put(key, obj);
+        ent.lastAccess = now;
+    }
+
+    public void delay(String block) {
+        Entity ent = _data.get(block);
+        if (ent != null) {
+            long now = System.currentTimeMillis();
+
+            if (ent.isExpired(now, _expiryMillis)) {
+                //已过期的（还没被时间轮清理），不能续活
+                removeIfExpired(ent, now);
+                return;
+            }
+
+            //只是更新时间戳（时间轮到期时，才会复查）
+            ent.lastAccess = now;
+        }
+    }
+
+    public Object get(String block, String key) {
+        Entity ent = getEntity(block);
+        if (ent != null) {
+            return ent.map.get(key);
+        }
+
+        return null;
+    }
+
+    public void remove(String block, String key) {
+        Entity ent = getEntity(block);
+        if (ent != null) {
+            ent.map.remove(key);
+        }
+    }
+
+    public void clear(String block) {
+        _data.remove(block);
+    }
+
+    public void clear() {
+        _data.clear();
+
+        for (int i = 0; i < _wheel.length(); i++) {
+            _wheel.set(i, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * 活动数量
+     */
+    public int activeCount() {
+        return _data.size();
+    }
+
+    /**
+     * 过期清理数量
+     */
+    public long expiredCount() {
+        return _expiredCount.sum();
+    }
+
+    /**
+     * 超出最大数量而淘汰的数量
+     */
+    public long evictedCount() {
+        return _evictedCount.sum();
+    }
+
+    public int getMaxSize() {
+        return _maxSize;
+    }
+
+    /**
+     * 获取实体（已过期的，惰性清理）
+     */
+    private Entity getEntity(String block) {
+        Entity ent = _data.get(block);
+
+        if (ent != null) {
+            long now = System.currentTimeMillis();
+
+            if (ent.isExpired(now, _expiryMillis)) {
+                removeIfExpired(ent, now);
+                return null;
+            }
+        }
+
+        return ent;
+    }
+
+    private Queue<Entity> slotOf(long expireAt) {
+        return _wheel.get((int) ((expireAt / _tickMillis) % _wheel.length()));
+    }
+
+    /**
+     * 时间轮推进（处理已到期的槽位）
+     */
+    private void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            long tick = now / _tickMillis;
+
+            //最多转一圈
+            long from = Math.max(_lastTick, tick - _wheel.length() + 1);
+            for (long t = from; t <= tick; t++) {
+                int idx = (int) (t % _wheel.length());
+                //换下整个槽位再处理，避免挪回同一槽位时死循环
+                Queue<Entity> slot = _wheel.getAndSet(idx, new ConcurrentLinkedQueue<>());
+
+                for (Entity ent : slot) {
+                    if (ent.isExpired(now, _expiryMillis)) {
+                        removeIfExpired(ent, now);
+                    } else if (_data.get(ent.block) == ent) {
+                        //已续期，挪到新的槽位
+                        slotOf(ent.lastAccess + _expiryMillis).offer(ent);
+                    }
+                }
+            }
+
+            //当前槽位下次再查一遍（期间可能有挪入的）
+            _lastTick = tick;
+        } catch (Throwable e) {
+            //不能让异常中断时间轮
+        }
+    }
+
+    /**
+     * 按到期先后淘汰（从最近要到期的槽位开始）
+     */
+    private void evict(int count, Entity keep) {
+        long tick = System.currentTimeMillis() / _tickMillis;
+
+        for (int i = 0; i < _wheel.length() && count > 0; i++) {
+            Queue<Entity> slot = _wheel.get((int) ((tick + i) % _wheel.length()));
+            int size = slot.size();
+
+            while (count > 0 && size-- > 0) {
+                Entity ent = slot.poll();
+                if (ent == null) {
+                    break;
+                }
+
+                if (ent == keep || _data.get(ent.block) != ent) {
+                    //自己或已移除的
+                    if (ent == keep) {
+                        slot.offer(ent);
+                    }
+                    continue;
+                }
+
+                long expireAt = ent.lastAccess + _expiryMillis;
+                if (slotOf(expireAt) != slot) {
+                    //已续期，挪到新的槽位（后面再轮到）
+                    slotOf(expireAt).offer(ent);
+                    continue;
+                }
+
+                if (_data.remove(ent.block, ent)) {
+                    _evictedCount.increment();
+                    count--;
+                }
+            }
+        }
+    }
+
+    private void removeIfExpired(Entity ent, long now) {
+        _data.computeIfPresent(ent.block, (k, v) -> {
+            if (v == ent && v.isExpired(now, _expiryMillis)) {
+                _expiredCount.increment();
+                return null;
+            } else {
+                return v;
+            }
+        });
+    }
+
+    //存储实体
+    private static class Entity {
+        public final String block;
+        public final Map<String, Object> map = new ConcurrentHashMap<>();
+        public volatile long lastAccess;
+
+        Entity(String block, long lastAccess) {
+            this.block = block;
+            this.lastAccess = lastAccess;
+        }
+
+        boolean isExpired(long now, long expiryMillis) {
+            return lastAccess + expiryMillis <= now;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package features;
+
+import org.noear.solon.sessionstate.local.TimingWheelStore;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 时间轮存储器：过期、续期（不重新计划）、最大数量、统计
+ */
+public class TimingWheelStoreTest {
+    public static void main(String[] args) throws Exception {
+        expiry();
+        renewal();
+        delayExpired();
+        maxSize();
+        stats();
+    }
+
+    /**
+     * 过期后读取不到（惰性清理）
+     */
+    static void expiry() throws Exception {
+        TimingWheelStore store = new TimingWheelStore(1, 0);
+
+        store.put("s1", "name", "noear");
+        assert "noear".equals(store.get("s1", "name"));
+
+        Thread.sleep(1100);
+        assert store.get("s1", "name") == null;
+        assert store.activeCount() == 0;
+        assert store.expiredCount() == 1;
+
+        //过期后再写入，是新的会话
+        store.put("s1", "age", 1);
+        assert store.get("s1", "name") == null;
+        assert store.get("s1", "age").equals(1);
+    }
+
+    /**
+     * 续期只更新时间戳，不会重复放入时间轮
+     */
+    static void renewal() throws Exception {
+        TimingWheelStore store = new TimingWheelStore(1, 0);
+
+        store.put("s1", "name", "noear");
+        for (int i = 0; i < 1000; i++) {
+            store.delay("s1");
+        }
+        assert wheelSize(store) == 1;
+
+        //续期后，超过原到期时间仍然有效
+        Thread.sleep(600);
+        store.delay("s1");
+        Thread.sleep(600);
+        assert "noear".equals(store.get("s1", "name"));
+        assert store.expiredCount() == 0;
+        assert wheelSize(store) == 1;
+    }
+
+    /**
+     * 已过期（还没被时间轮清理）的，续期不能续活
+     */
+    static void delayExpired() throws Exception {
+        TimingWheelStore store = new TimingWheelStore(60, 0);
+
+        store.put("s1", "name", "noear");
+
+        //模拟已过期
+        setLastAccess(store, "s1", System.currentTimeMillis() - 61_000);
+
+        store.delay("s1");
+        assert store.activeCount() == 0;
+        assert store.expiredCount() == 1;
+        assert store.get("s1", "name") == null;
+    }
+
+    /**
+     * 超出最大数量时，按到期先后淘汰
+     */
+    static void maxSize() throws Exception {
+        TimingWheelStore store = new TimingWheelStore(60, 10);
+
+        for (int i = 0; i < 15; i++) {
+            store.put("s" + i, "name", "n" + i);
+        }
+
+        assert store.activeCount() == 10;
+        assert store.evictedCount() == 5;
+        assert store.get("s0", "name") == null;
+        assert store.get("s4", "name") == null;
+        assert "n14".equals(store.get("s14", "name"));
+        assert store.getMaxSize() == 10;
+    }
+
+    /**
+     * 时间轮推进时清理过期的（不需要读取）
+     */
+    static void stats() throws Exception {
+        TimingWheelStore store = new TimingWheelStore(1, 0);
+
+        for (int i = 0; i < 5; i++) {
+            store.put("s" + i, "name", "n" + i);
+        }
+        assert store.activeCount() == 5;
+
+        Thread.sleep(3100);
+        assert store.activeCount() == 0;
+        assert store.expiredCount() == 5;
+        assert store.evictedCount() == 0;
+        assert wheelSize(store) == 0;
+    }
+
+    static void setLastAccess(TimingWheelStore store, String block, long lastAccess) throws Exception {
+        Field dataField = TimingWheelStore.class.getDeclaredField("_data");
+        dataField.setAccessible(true);
+        Object ent = ((Map<String, ?>) dataField.get(store)).get(block);
+
+        Field field = ent.getClass().getDeclaredField("lastAccess");
+        field.setAccessible(true);
+        field.setLong(ent, lastAccess);
+    }
+
+    static int wheelSize(TimingWheelStore store) throws Exception {
+        Field field = TimingWheelStore.class.getDeclaredField("_wheel");
+        field.setAccessible(true);
+        AtomicReferenceArray<Queue<?>> wheel = (AtomicReferenceArray<Queue<?>>) field.get(store);
+
+        int size = 0;
+        for (int i = 0; i < wheel.length(); i++) {
+            size += wheel.get(i).size();
+        }
+        return size;
+    }
+}
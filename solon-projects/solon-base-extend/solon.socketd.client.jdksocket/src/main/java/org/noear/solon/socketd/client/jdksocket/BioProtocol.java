@@ -29,20 +29,13 @@ public class BioProtocol {
         ByteBuffer buffer = ByteBuffer.allocate(len);
         buffer.putInt(len);
 
-        int bufSize = 512;
-        byte[] buf = new byte[bufSize];
+        //直接读入帧缓冲（不经过临时数组）
+        byte[] array = buffer.array();
+        int readSize;
 
-        int readSize = 0;
-
-        while (true) {
-            if (buffer.remaining() > bufSize) {
-                readSize = bufSize;
-            } else {
-                readSize = buffer.remaining();
-            }
-
-            if ((readSize = input.read(buf, 0, readSize)) > 0) {
-                buffer.put(buf, 0, readSize);
+        while (buffer.hasRemaining()) {
+            if ((readSize = input.read(array, buffer.position(), buffer.remaining())) > 0) {
+                buffer.position(buffer.position() + readSize);
             } else {
                 break;
             }
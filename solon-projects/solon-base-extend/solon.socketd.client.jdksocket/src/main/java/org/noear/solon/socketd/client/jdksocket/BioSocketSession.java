@@ -10,6 +10,7 @@ import org.noear.solon.socketd.ProtocolManager;
 import org.noear.solon.socketd.SessionBase;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
@@ -155,10 +156,12 @@ public class BioSocketSession extends SessionBase {
             return;
         }
 
-        ByteBuffer buf = ProtocolManager.encode(message);
-
-        real.getOutputStream().write(buf.array());
-        real.getOutputStream().flush();
+        //分段写出（内容直接引用，免去合并复制）
+        OutputStream out = real.getOutputStream();
+        for (ByteBuffer buf : ProtocolManager.encodeFrames(message)) {
+            out.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        }
+        out.flush();
     }
 
     @Override
@@ -13,23 +13,17 @@ class MessageDecoder extends ByteToMessageDecoder {
 
     @Override
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> out) throws Exception {
-        int len = byteBuf.readInt();
-        if(len > 0) {
-            byte[] bytes = new byte[len - Integer.BYTES];
-            byteBuf.readBytes(bytes);
-
-            ByteBuffer byteBuffer = ByteBuffer.allocate(len);
-            byteBuffer.putInt(len);
-            byteBuffer.put(bytes);
-            byteBuffer.flip();
+        //已由 LengthFieldBasedFrameDecoder 分好帧；直接在帧的视图上解码（不复制）
+        int len = byteBuf.readableBytes();
+        if (len > Integer.BYTES) {
+            ByteBuffer byteBuffer = byteBuf.nioBuffer(byteBuf.readerIndex(), len);
 
             Message message = ProtocolManager.decode(byteBuffer);
             if (message != null) {
                 out.add(message);
             }
-
-            byteBuffer.compact();
         }
-        byteBuf.discardReadBytes();
+
+        byteBuf.skipBytes(len);
     }
 }
@@ -1,19 +1,21 @@
 package org.noear.solon.socketd.client.netty;
 
-import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 import org.noear.solon.core.message.Message;
 import org.noear.solon.socketd.ProtocolManager;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
-class MessageEncoder extends MessageToByteEncoder<Message> {
+class MessageEncoder extends MessageToMessageEncoder<Message> {
     @Override
-    protected void encode(ChannelHandlerContext channelHandlerContext, Message message, ByteBuf byteBuf) throws Exception {
+    protected void encode(ChannelHandlerContext channelHandlerContext, Message message, List<Object> out) throws Exception {
         if (message != null) {
-            ByteBuffer buf = ProtocolManager.encode(message);
-            byteBuf.writeBytes(buf.array());
+            //头部区 + 内容引用，组合后聚集写出（内容不复制）
+            ByteBuffer[] frames = ProtocolManager.encodeFrames(message);
+            out.add(Unpooled.wrappedBuffer(frames));
         }
     }
 }
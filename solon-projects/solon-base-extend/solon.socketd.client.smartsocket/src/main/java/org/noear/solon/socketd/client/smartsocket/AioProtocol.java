@@ -24,9 +24,18 @@ public class AioProtocol implements Protocol<Message> {
             if (buffer.remaining() < Integer.BYTES) {
                 return null;
             }else{
-                buffer.mark();
-                decoder = new FixedLengthFrameDecoder(buffer.getInt());
-                buffer.reset();
+                int len = buffer.getInt(buffer.position());
+
+                if (len > Integer.BYTES && buffer.remaining() >= len) {
+                    //整帧已在入站缓冲里，直接在视图上解码（不复制）
+                    ByteBuffer frame = buffer.slice();
+                    frame.limit(len);
+                    buffer.position(buffer.position() + len);
+
+                    return ProtocolManager.decode(frame);
+                }
+
+                decoder = new FixedLengthFrameDecoder(len);
                 session.setAttachment(decoder);
             }
         }
@@ -9,6 +9,7 @@ import org.noear.solon.socketd.Connector;
 import org.noear.solon.socketd.ProtocolManager;
 import org.noear.solon.socketd.SessionBase;
 import org.smartboot.socket.transport.AioSession;
+import org.smartboot.socket.transport.WriteBuffer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -148,8 +149,16 @@ public class AioSocketSession extends SessionBase {
             return;
         }
 
-        ByteBuffer buf = ProtocolManager.encode(message);
-        real.writeBuffer().writeAndFlush(buf.array());
+        //头部区 + 内容引用，依次写入写缓冲（内容不再合并复制）
+        ByteBuffer[] frames = ProtocolManager.encodeFrames(message);
+        WriteBuffer writeBuffer = real.writeBuffer();
+
+        synchronized (writeBuffer) {
+            for (ByteBuffer buf : frames) {
+                writeBuffer.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+            }
+            writeBuffer.flush();
+        }
     }
 
 
@@ -21,18 +21,14 @@ public class FixedLengthFrameDecoder {
 
     public boolean read(ByteBuffer byteBuffer) {
         int len0 = length - buffer.position();
-        if (len0 > byteBuffer.remaining()) {
-            byte[] bytes = new byte[byteBuffer.remaining()];
-            byteBuffer.get(bytes, 0, byteBuffer.remaining());
-
-            buffer.put(bytes);
-            return false;
-        } else {
-            byte[] bytes = new byte[len0];
-            byteBuffer.get(bytes, 0, len0);
-
-            buffer.put(bytes);
-            return true;
-        }
+        int size = Math.min(len0, byteBuffer.remaining());
+
+        //直接复制区间（不经过临时数组）
+        ByteBuffer src = byteBuffer.duplicate();
+        src.limit(src.position() + size);
+        buffer.put(src);
+        byteBuffer.position(byteBuffer.position() + size);
+
+        return size == len0;
     }
 }
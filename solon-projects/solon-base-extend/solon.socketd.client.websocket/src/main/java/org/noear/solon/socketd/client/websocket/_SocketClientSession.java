@@ -163,6 +163,7 @@ public class _SocketClientSession extends SessionBase {
             return;
         }
 
+        //websocket 一个消息即一帧，不能分段写出（不用 encodeFrames）
         ByteBuffer buf = ProtocolManager.encode(message);
         real.send(buf.array());
     }
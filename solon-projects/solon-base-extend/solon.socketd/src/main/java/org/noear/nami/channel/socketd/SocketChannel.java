@@ -8,10 +8,12 @@ import org.noear.solon.Utils;
 import org.noear.solon.core.message.Message;
 import org.noear.solon.core.message.MessageFlag;
 import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.SessionBase;
 import org.noear.solon.socketd.annotation.Handshake;
 import org.noear.solon.socketd.util.HeaderUtil;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -20,7 +22,7 @@ import java.util.function.Supplier;
  * @author noear
  * @since 1.2
  */
-public class SocketChannel extends SocketChannelBase implements Channel {
+public class SocketChannel extends SocketChannelBase implements AsyncChannel {
     public Supplier<Session> sessions;
 
     public SocketChannel(Supplier<Session> sessions) {
@@ -35,6 +37,56 @@ public class SocketChannel extends SocketChannelBase implements Channel {
      * */
     @Override
     public Result call(Context ctx) throws Throwable {
+        Message message = buildMessage(ctx);
+
+        //3.获取会话
+        Session session = sessionGet(ctx);
+
+        //4.发送消息
+        Message res = session.sendAndResponse(message, ctx.config.getTimeout());
+
+        return resultOf(res);
+    }
+
+    /**
+     * 异步调用（不占用线程等待响应）
+     *
+     * @param ctx 上下文
+     * @return 调用结果
+     * */
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Message> future;
+
+        try {
+            Message message = buildMessage(ctx);
+
+            //3.获取会话
+            Session session = sessionGet(ctx);
+
+            //4.发送消息
+            if (session instanceof SessionBase) {
+                future = ((SessionBase) session).sendAndResponseAsync(message, ctx.config.getTimeout());
+            } else {
+                CompletableFuture<Message> tmp = new CompletableFuture<>();
+                session.sendAndCallback(message, (res, err) -> {
+                    if (err == null) {
+                        tmp.complete(res);
+                    } else {
+                        tmp.completeExceptionally(err);
+                    }
+                });
+                future = tmp;
+            }
+        } catch (Throwable e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        return future.thenApply(this::resultOf);
+    }
+
+    private Message buildMessage(Context ctx) {
         pretreatment(ctx);
 
         if(ctx.config.getDecoder() == null){
@@ -77,15 +129,19 @@ public class SocketChannel extends SocketChannelBase implements Channel {
         byte[] bytes = encoder.encode(ctx.body);
         message = new Message(flag, message_key, ctx.url, HeaderUtil.encodeHeaderMap(ctx.headers), bytes);
 
-        //3.获取会话
+        return message;
+    }
+
+    private Session sessionGet(Context ctx) {
         Session session = sessions.get();
         if(ctx.config.getHeartbeat() > 0){
             session.sendHeartbeatAuto(ctx.config.getHeartbeat());
         }
 
-        //4.发送消息
-        Message res = session.sendAndResponse(message, ctx.config.getTimeout());
+        return session;
+    }
 
+    private Result resultOf(Message res) {
         if (res == null) {
             return null;
         }
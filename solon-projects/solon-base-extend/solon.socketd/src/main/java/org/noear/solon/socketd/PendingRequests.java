@@ -0,0 +1,188 @@
+package org.noear.solon.socketd;
+
+import org.noear.solon.core.message.Message;
+import org.noear.solon.socketd.util.WheelTimer;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 会话的等待中请求表（每个会话一个；按消息 key 对应响应）
+ *
+ * <pre><code>
+ * 1.每个请求都有超时（由共享的时间轮处理），超时后以 TimeoutException 结束
+ * 2.超时的请求会留一个占位一段时间，之后才到的响应记为迟到并丢弃
+ * 3.会话关闭时，以异常结束所有等待中的请求
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class PendingRequests {
+    private final Map<String, Pending> pendings = new ConcurrentHashMap<>();
+
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder lateCount = new LongAdder();
+
+    /**
+     * 注册请求
+     *
+     * @param message        请求消息
+     * @param future         回调
+     * @param timeoutSeconds 超时秒数
+     * @return 是否注册成功（失败时 future 已以异常结束，不要再发送）
+     */
+    public boolean register(Message message, CompletableFuture<Message> future, int timeoutSeconds) {
+        String key = message.key();
+        long timeoutMillis = timeoutSeconds * 1000L;
+
+        RequestManager.inflightAdd(1);
+
+        Pending pending = new Pending(future);
+        pending.timeout = RequestManager.timer().schedule(() -> onTimeout(key, pending, timeoutMillis), timeoutMillis);
+
+        Pending old = pendings.putIfAbsent(key, pending);
+        if (old != null) {
+            if (old.timedOut && pendings.replace(key, old, pending)) {
+                //替换超时占位
+            } else {
+                if (pending.settle()) {
+                    pending.timeout.cancel();
+                    future.completeExceptionally(new IllegalStateException("The request key is already pending: " + key));
+                }
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 完成请求（当是自己的响应时，返回 true）
+     *
+     * @param response 响应消息
+     */
+    public boolean complete(Message response) {
+        String key = response.key();
+        Pending pending = pendings.get(key);
+
+        if (pending == null) {
+            return false;
+        }
+
+        pendings.remove(key, pending);
+
+        if (pending.settle()) {
+            pending.timeout.cancel();
+            pending.future.complete(response);
+        } else {
+            //迟到的响应（已超时或已不再等待；丢弃）
+            lateCount.increment();
+            RequestManager.lateAdd();
+        }
+
+        return true;
+    }
+
+    /**
+     * 移除请求（不再等待时；超时占位会保留）
+     *
+     * @param key    消息key
+     * @param future 注册时的回调
+     */
+    public void remove(String key, CompletableFuture<Message> future) {
+        Pending pending = pendings.get(key);
+
+        if (pending != null && pending.future == future && pending.timedOut == false && pending.settle()) {
+            pendings.remove(key, pending);
+            pending.timeout.cancel();
+        }
+    }
+
+    /**
+     * 以异常结束所有等待中的请求（会话关闭时）
+     *
+     * @param cause 原因
+     */
+    public void closeAll(Throwable cause) {
+        for (String key : pendings.keySet()) {
+            Pending pending = pendings.remove(key);
+
+            if (pending != null && pending.settle()) {
+                pending.timeout.cancel();
+                pending.future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * 等待中的数量
+     */
+    public int inflightCount() {
+        int count = 0;
+        for (Pending pending : pendings.values()) {
+            if (pending.timedOut == false) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 超时数量
+     */
+    public long timeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 迟到响应数量
+     */
+    public long lateCount() {
+        return lateCount.sum();
+    }
+
+    private void onTimeout(String key, Pending pending, long timeoutMillis) {
+        if (pending.settle()) {
+            pending.timedOut = true;
+            timeoutCount.increment();
+            RequestManager.timeoutAdd();
+
+            pending.future.completeExceptionally(new TimeoutException("The request timed out: " + key));
+
+            //占位再保留一个超时周期，用于识别迟到的响应
+            RequestManager.timer().schedule(() -> pendings.remove(key, pending), timeoutMillis);
+        }
+    }
+
+    /**
+     * 等待中的请求
+     */
+    private static class Pending {
+        final CompletableFuture<Message> future;
+        final AtomicBoolean settled = new AtomicBoolean();
+        volatile WheelTimer.Timeout timeout;
+        volatile boolean timedOut;
+
+        Pending(CompletableFuture<Message> future) {
+            this.future = future;
+        }
+
+        /**
+         * 结束等待（只有一次成功；同时扣减全局等待数）
+         */
+        boolean settle() {
+            if (settled.compareAndSet(false, true)) {
+                RequestManager.inflightAdd(-1);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+}
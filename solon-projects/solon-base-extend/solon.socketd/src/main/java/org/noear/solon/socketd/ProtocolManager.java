@@ -25,7 +25,7 @@ public class ProtocolManager {
     }
 
     /**
-     * 编码
+     * 编码（得到完整的一帧；websocket 之类一个消息即一帧的传输，用它）
      *
      * @param message 消息
      */
@@ -37,6 +37,20 @@ public class ProtocolManager {
         }
     }
 
+    /**
+     * 编码为多段（可由传输层聚集写出）
+     *
+     * @param message 消息
+     * @since 2.3
+     */
+    public static ByteBuffer[] encodeFrames(Message message) throws IllegalArgumentException {
+        try {
+            return protocol.encodeFrames(message);
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     /**
      * 解码
      *
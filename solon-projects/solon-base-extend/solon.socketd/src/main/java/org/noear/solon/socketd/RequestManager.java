@@ -1,10 +1,13 @@
 package org.noear.solon.socketd;
 
 import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.util.WheelTimer;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author noear
@@ -12,30 +15,110 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class RequestManager {
     /**
-     * 请求并响应的默认超时时间（单位：秒）
+     * 请求并响应的默认超时时间（单位：秒；会话可单独设置）
+     *
+     * @see SessionBase#requestTimeout(int)
      * */
     public static int REQUEST_AND_RESPONSE_TIMEOUT_SECONDS = 30;
 
     /**
-     * 请求暂存处
+     * 请求暂存处（不是 SessionBase 的会话使用）
      * */
     private static Map<String, CompletableFuture<Message>> requests = new ConcurrentHashMap<>();
 
+    /**
+     * 请求超时的时间轮（刻度 100ms）
+     * */
+    private static final WheelTimer timer = new WheelTimer("solon-socketd-timer", 100, 512);
+
+    private static final LongAdder inflightCount = new LongAdder();
+    private static final LongAdder timeoutCount = new LongAdder();
+    private static final LongAdder lateCount = new LongAdder();
+
     /**
      * 注册请求
      *
      * @param message 请求消息
      * @param future 回调
+     * @deprecated 2.3 （SessionBase 的会话改用 {@link SessionBase#pendingRequests()}，有超时与迟到处理）
      * */
+    @Deprecated
     public static void register(Message message, CompletableFuture<Message> future) {
         requests.putIfAbsent(message.key(), future);
     }
 
+    /**
+     * @deprecated 2.3
+     * */
+    @Deprecated
     public static CompletableFuture<Message> get(String key){
         return requests.get(key);
     }
 
+    /**
+     * @deprecated 2.3
+     * */
+    @Deprecated
     public static void remove(String key){
         requests.remove(key);
     }
+
+    /**
+     * 完成请求（当是等待中请求的响应时，返回 true）
+     *
+     * @param session  会话
+     * @param response 响应消息
+     * */
+    public static boolean complete(Session session, Message response) {
+        if (session instanceof SessionBase) {
+            if (((SessionBase) session).pendingRequests().complete(response)) {
+                return true;
+            }
+        }
+
+        CompletableFuture<Message> request = requests.remove(response.key());
+        if (request != null) {
+            request.complete(response);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * 等待中的请求数量（所有会话）
+     * */
+    public static long inflightCount() {
+        return inflightCount.sum();
+    }
+
+    /**
+     * 超时的请求数量（所有会话）
+     * */
+    public static long timeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 迟到的响应数量（所有会话）
+     * */
+    public static long lateCount() {
+        return lateCount.sum();
+    }
+
+    static WheelTimer timer() {
+        return timer;
+    }
+
+    static void inflightAdd(int delta) {
+        inflightCount.add(delta);
+    }
+
+    static void timeoutAdd() {
+        timeoutCount.increment();
+    }
+
+    static void lateAdd() {
+        lateCount.increment();
+    }
 }
@@ -10,7 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
+import java.nio.channels.ClosedChannelException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -99,12 +99,8 @@ public class RouterListener implements Listener{
             if (message.flag() == MessageFlag.response) {
                 //flag 消息标志（-1握手包；0发起包； 1响应包）
                 //
-                CompletableFuture<Message> request = RequestManager.get(message.key());
-
-                //请求模式
-                if (request != null) {
-                    RequestManager.remove(message.key());
-                    request.complete(message);
+                //请求模式（迟到的响应也在此丢弃）
+                if (RequestManager.complete(session, message)) {
                     return;
                 }
             }
@@ -125,6 +121,11 @@ public class RouterListener implements Listener{
      * */
     @Override
     public void onClose(Session session) {
+        //结束等待中的请求（不再会有响应了）
+        if (session instanceof SessionBase) {
+            ((SessionBase) session).pendingRequests().closeAll(new ClosedChannelException());
+        }
+
         executor.execute(() -> {
             onClose0(session);
         });
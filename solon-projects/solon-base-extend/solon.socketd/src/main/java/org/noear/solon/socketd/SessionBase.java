@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
@@ -148,6 +149,37 @@ public abstract class SessionBase implements Session {
 
     //////////////////////////////////////////
 
+    private final PendingRequests pendingRequests = new PendingRequests();
+
+    /**
+     * 等待中的请求表
+     */
+    public PendingRequests pendingRequests() {
+        return pendingRequests;
+    }
+
+    private int requestTimeout;
+
+    /**
+     * 设置请求并响应的超时时间（单位：秒；0 表示用默认的）
+     */
+    public void requestTimeout(int seconds) {
+        requestTimeout = seconds;
+    }
+
+    /**
+     * 获取请求并响应的超时时间（单位：秒）
+     */
+    public int requestTimeout() {
+        if (requestTimeout > 0) {
+            return requestTimeout;
+        } else {
+            return RequestManager.REQUEST_AND_RESPONSE_TIMEOUT_SECONDS;
+        }
+    }
+
+    //////////////////////////////////////////
+
     @Override
     public void sendAsync(String message) {
         RunUtil.async(() -> {
@@ -206,23 +238,30 @@ public abstract class SessionBase implements Session {
         }
 
         if (timeout < 1) {
-            timeout = RequestManager.REQUEST_AND_RESPONSE_TIMEOUT_SECONDS;
+            timeout = requestTimeout();
         }
 
-        //注册请求
+        //注册请求（超时由时间轮处理；注册失败的，请求已以异常结束，不再发送）
         CompletableFuture<Message> request = new CompletableFuture<>();
-        RequestManager.register(message, request);
-
-        //发送消息
-        send(message);
+        if (pendingRequests.register(message, request, timeout)) {
+            //发送消息
+            try {
+                send(message);
+            } catch (RuntimeException e) {
+                pendingRequests.remove(message.key(), request);
+                throw e;
+            }
+        }
 
         try {
-            //等待响应
-            return request.get(timeout, TimeUnit.SECONDS);
+            //等待响应（多等一秒，兜底）
+            return request.get(timeout + 1, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         } catch (Exception e) {
             throw new RuntimeException(e);
-        }finally {
-            RequestManager.remove(message.key());
+        } finally {
+            pendingRequests.remove(message.key(), request);
         }
     }
 
@@ -242,19 +281,37 @@ public abstract class SessionBase implements Session {
      */
     @Override
     public void sendAndCallback(Message message, BiConsumer<Message, Throwable> callback) {
+        //等待响应
+        sendAndResponseAsync(message, 0).whenCompleteAsync(callback);
+    }
+
+    /**
+     * 用于支持异步请求（不占用线程等待响应）
+     *
+     * @param timeout 单位为秒
+     */
+    public CompletableFuture<Message> sendAndResponseAsync(Message message, int timeout) {
         if (Utils.isEmpty(message.key())) {
             throw new IllegalArgumentException("sendAndCallback message no key");
         }
 
-        //注册请求
-        CompletableFuture<Message> request = new CompletableFuture<>();
-        RequestManager.register(message, request);
+        if (timeout < 1) {
+            timeout = requestTimeout();
+        }
 
-        //等待响应
-        request.whenCompleteAsync(callback);
+        //注册请求（超时由时间轮处理；注册失败的，请求已以异常结束，不再发送）
+        CompletableFuture<Message> request = new CompletableFuture<>();
+        if (pendingRequests.register(message, request, timeout)) {
+            //发送消息
+            try {
+                send(message);
+            } catch (RuntimeException e) {
+                pendingRequests.remove(message.key(), request);
+                throw e;
+            }
+        }
 
-        //发送消息
-        send(message);
+        return request;
     }
 
     private Listener listener;
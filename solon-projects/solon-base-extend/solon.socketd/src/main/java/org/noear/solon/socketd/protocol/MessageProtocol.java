@@ -14,5 +14,16 @@ import java.nio.ByteBuffer;
 public interface MessageProtocol {
     ByteBuffer encode(Message message) throws Exception;
 
+    /**
+     * 编码为多段（比如：头部区 + 内容引用；可由传输层聚集写出，免去合并复制）
+     *
+     * <p>只适合流式传输（tcp）；websocket 的一个消息即一帧，仍用 encode</p>
+     *
+     * @since 2.3
+     * */
+    default ByteBuffer[] encodeFrames(Message message) throws Exception {
+        return new ByteBuffer[]{encode(message)};
+    }
+
     Message decode(ByteBuffer buffer) throws Exception;
 }
@@ -2,8 +2,10 @@ package org.noear.solon.socketd.protocol;
 
 import org.noear.solon.core.message.MessageFlag;
 import org.noear.solon.core.message.Message;
+import org.noear.solon.core.util.Utf8Util;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 基础协议
@@ -14,13 +16,45 @@ import java.nio.ByteBuffer;
 public class MessageProtocolBase implements MessageProtocol {
     public static final MessageProtocol instance = new MessageProtocolBase();
 
+    //解码字符串用的暂存区（按线程复用）
+    private static final ThreadLocal<ByteBuffer> scratchBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(4096));
+
     @Override
     public ByteBuffer encode(Message message) throws Exception {
+        ByteBuffer buffer = encodeHeader(message, message.body().length);
+
+        //content
+        buffer.put(message.body());
+
+        buffer.flip();
+
+        return buffer;
+    }
+
+    @Override
+    public ByteBuffer[] encodeFrames(Message message) throws Exception {
+        if (message.body().length == 0) {
+            return new ByteBuffer[]{encode(message)};
+        }
+
+        ByteBuffer header = encodeHeader(message, 0);
+        header.flip();
+
+        //内容直接引用（不复制）
+        return new ByteBuffer[]{header, ByteBuffer.wrap(message.body())};
+    }
+
+    /**
+     * 编码头部区（长度 + flag + key + resourceDescriptor + header；字符串按 UTF-8 编码）
+     *
+     * @param extra 额外预留的空间
+     */
+    protected ByteBuffer encodeHeader(Message message, int extra) {
         if (message.flag() == MessageFlag.container) {
             //length (flag + content + int.bytes)
             int len = message.body().length + 4 + 4;
 
-            ByteBuffer buffer = ByteBuffer.allocate(len);
+            ByteBuffer buffer = ByteBuffer.allocate(len - message.body().length + extra);
 
             //长度
             buffer.putInt(len);
@@ -28,24 +62,18 @@ public class MessageProtocolBase implements MessageProtocol {
             //flag
             buffer.putInt(message.flag());
 
-            //content
-            buffer.put(message.body());
-
-            buffer.flip();
-
             return buffer;
         } else {
-            //key
-            byte[] keyB = message.key().getBytes(message.getCharset());
-            //resourceDescriptor
-            byte[] resourceDescriptorB = message.resourceDescriptor().getBytes(message.getCharset());
-            //header
-            byte[] headerB = message.header().getBytes(message.getCharset());
+            //头部字符串固定按 UTF-8 写入（与 decode 对称；message.getCharset() 只作用于内容）
+            int strLen = Utf8Util.length(message.key())
+                    + Utf8Util.length(message.resourceDescriptor())
+                    + Utf8Util.length(message.header());
 
-            //length (flag + key + resourceDescriptor + content + int.bytes)
-            int len = keyB.length + resourceDescriptorB.length + headerB.length + message.body().length + 2 * 3 + 4 + 4;
+            //length (flag + key + resourceDescriptor + header + content + int.bytes)
+            int len = strLen + message.body().length + 2 * 3 + 4 + 4;
 
-            ByteBuffer buffer = ByteBuffer.allocate(len);
+            //每个消息单独分配（返回的缓冲会交给传输层异步写出，不能按线程复用）
+            ByteBuffer buffer = ByteBuffer.allocate(len - message.body().length + extra);
 
             //长度
             buffer.putInt(len);
@@ -54,25 +82,22 @@ public class MessageProtocolBase implements MessageProtocol {
             buffer.putInt(message.flag());
 
             //key
-            buffer.put(keyB);
+            Utf8Util.put(buffer, message.key());
             buffer.putChar('\n');
-
             //resourceDescriptor
-            buffer.put(resourceDescriptorB);
+            Utf8Util.put(buffer, message.resourceDescriptor());
             buffer.putChar('\n');
             //header
-            buffer.put(headerB);
+            Utf8Util.put(buffer, message.header());
             buffer.putChar('\n');
 
-            //content
-            buffer.put(message.body());
-
-            buffer.flip();
-
             return buffer;
         }
     }
 
+    /**
+     * 解码（buffer 可以是入站缓冲的视图，位置 0 须为帧的开始）
+     */
     @Override
     public Message decode(ByteBuffer buffer) throws Exception {
         int len0 = buffer.getInt();
@@ -94,22 +119,21 @@ public class MessageProtocolBase implements MessageProtocol {
             return new Message(flag, null, null, null, body);
         } else {
             //1.解码key and resourceDescriptor
-            ByteBuffer sb = ByteBuffer.allocate(Math.min(4096, buffer.limit()));
 
             //key
-            String key = decodeString(buffer, sb, 256);
+            String key = decodeString(buffer, 256);
             if (key == null) {
                 return null;
             }
 
             //resourceDescriptor
-            String resourceDescriptor = decodeString(buffer, sb, 512);
+            String resourceDescriptor = decodeString(buffer, 512);
             if (resourceDescriptor == null) {
                 return null;
             }
 
             //header
-            String header = decodeString(buffer, sb, 0);
+            String header = decodeString(buffer, 0);
             if (header == null) {
                 return null;
             }
@@ -125,6 +149,66 @@ public class MessageProtocolBase implements MessageProtocol {
         }
     }
 
+    /**
+     * 解码字符串（以 '\n' 结尾，按 UTF-8 解码；直接从缓冲区生成，不逐字节复制）
+     */
+    protected String decodeString(ByteBuffer buffer, int maxLen) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        int end = -1;
+        boolean hasZero = false;
+
+        for (int i = start; i < limit; i++) {
+            byte c = buffer.get(i);
+
+            if (c == 10) { //10:'\n'
+                end = i;
+                break;
+            } else if (c == 0 && (i + 1 >= limit || buffer.get(i + 1) != 10)) {
+                hasZero = true;
+            }
+        }
+
+        if (end < 0 || hasZero) {
+            //没有结束符，或有需要跳过的 0（按逐字节方式处理）
+            ByteBuffer sb = scratchBuffers.get();
+            if (sb.capacity() < limit - start) {
+                sb = ByteBuffer.allocate(limit - start);
+            }
+
+            return decodeString(buffer, sb, maxLen);
+        }
+
+        //去掉 putChar 留下的 0
+        int strEnd = (end > start && buffer.get(end - 1) == 0) ? end - 1 : end;
+        int len = strEnd - start;
+
+        if (maxLen > 0 && maxLen < len) {
+            return null;
+        }
+
+        buffer.position(end + 1);
+
+        if (len == 0) {
+            return "";
+        }
+
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, len, StandardCharsets.UTF_8);
+        } else {
+            ByteBuffer sb = scratchBuffers.get();
+            if (sb.capacity() < len) {
+                sb = ByteBuffer.allocate(len);
+            }
+
+            for (int i = 0; i < len; i++) {
+                sb.array()[i] = buffer.get(start + i);
+            }
+
+            return new String(sb.array(), 0, len, StandardCharsets.UTF_8);
+        }
+    }
+
     protected String decodeString(ByteBuffer buffer, ByteBuffer sb, int maxLen) {
         sb.clear();
 
@@ -147,6 +231,6 @@ public class MessageProtocolBase implements MessageProtocol {
             return "";
         }
 
-        return new String(sb.array(), 0, sb.limit());
+        return new String(sb.array(), 0, sb.limit(), StandardCharsets.UTF_8);
     }
 }
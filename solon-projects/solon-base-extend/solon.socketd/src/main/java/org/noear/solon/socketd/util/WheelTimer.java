@@ -0,0 +1,180 @@
+package org.noear.solon.socketd.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 时间轮定时器（用于大量的短期超时；添加与取消都不需要重新计划任务）
+ *
+ * <pre><code>
+ * 1.只有一个粗粒度的推进任务，每个刻度处理一个槽位
+ * 2.新任务先进入交接队列，由推进线程在处理每个刻度前放入槽位（槽位只有推进线程访问，不会漏掉正在处理的槽位）
+ * 3.超过一圈的任务留在槽位里，等轮到它的那一圈再执行
+ * 4.取消只是打标记，推进到时顺带移除
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class WheelTimer {
+    private final long tickMillis;
+    private final long tickNanos;
+    //起点（刻度按 nanoTime 相对起点计算，不受系统时钟调整影响）
+    private final long startNanos;
+    //槽位（只有推进线程访问）
+    private final List<Queue<Timeout>> wheel;
+    //交接队列（新计划的任务）
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService exec;
+
+    //已处理的刻度（只有推进线程访问）
+    private long currentTick;
+
+    /**
+     * @param name       线程名
+     * @param tickMillis 刻度（毫秒）
+     * @param slots      槽位数量
+     */
+    public WheelTimer(String name, long tickMillis, int slots) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.wheel = new ArrayList<>(Math.max(2, slots));
+
+        for (int i = 0; i < Math.max(2, slots); i++) {
+            wheel.add(new LinkedList<>());
+        }
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(this.tickMillis);
+        this.startNanos = System.nanoTime();
+        this.currentTick = 0;
+
+        this.exec = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+        this.exec.scheduleAtFixedRate(this::advance, this.tickMillis, this.tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 计划任务
+     *
+     * @param task        任务（在定时器线程上执行，要尽量轻）
+     * @param delayMillis 延时（毫秒）
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long deadline = elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        long tick = (deadline + tickNanos - 1) / tickNanos;
+
+        //由推进线程放入槽位（已经推进过的刻度，在下一个刻度执行）
+        Timeout timeout = new Timeout(task, tick);
+        incoming.offer(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * 停止
+     */
+    public void stop() {
+        exec.shutdownNow();
+    }
+
+    /**
+     * 推进（处理已到期的刻度）
+     */
+    private void advance() {
+        try {
+            long tick = elapsedNanos() / tickNanos;
+
+            //最多转一圈
+            long from = Math.max(currentTick + 1, tick - wheel.size() + 1);
+            for (long t = from; t <= tick; t++) {
+                currentTick = t;
+
+                transfer(t);
+
+                Iterator<Timeout> iterator = wheel.get((int) (t % wheel.size())).iterator();
+                while (iterator.hasNext()) {
+                    Timeout timeout = iterator.next();
+
+                    if (timeout.isCancelled()) {
+                        iterator.remove();
+                    } else if (timeout.tick <= t) {
+                        iterator.remove();
+                        timeout.expire();
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            //不能让异常中断时间轮
+        }
+    }
+
+    /**
+     * 自起点经过的纳秒数
+     */
+    private long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 把交接队列里的任务放入槽位（已到期的，放入当前刻度的槽位）
+     */
+    private void transfer(long tick) {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            long t = Math.max(timeout.tick, tick);
+            wheel.get((int) (t % wheel.size())).offer(timeout);
+        }
+    }
+
+    /**
+     * 超时句柄
+     */
+    public static class Timeout {
+        private final Runnable task;
+        private final long tick;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        Timeout(Runnable task, long tick) {
+            this.task = task;
+            this.tick = tick;
+        }
+
+        /**
+         * 取消（已执行的，返回 false）
+         */
+        public boolean cancel() {
+            if (done.compareAndSet(false, true)) {
+                cancelled = true;
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void expire() {
+            if (done.compareAndSet(false, true)) {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    //不能让异常中断时间轮
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package features;
+
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocol;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 协议编解码往返（encode/encodeFrames -> decode；堆、切片、直接缓冲；空内容）
+ *
+ * @author agent 2026/10/18 created
+ */
+public class MessageProtocolTest {
+    static final MessageProtocol protocol = MessageProtocolBase.instance;
+
+    public static void main(String[] args) throws Exception {
+        test_roundTrip();
+        test_charset();
+        test_container();
+        test_incomplete();
+
+        System.out.println("MessageProtocolTest: ok");
+    }
+
+    static Message[] samples() {
+        return new Message[]{
+                new Message(MessageFlag.message, "k1", "/demo/hello", "a=1&b=2", "hello".getBytes(StandardCharsets.UTF_8)),
+                new Message(MessageFlag.message, "k2", "/demo/中文", "name=张三", "你好，世界".getBytes(StandardCharsets.UTF_8)),
+                new Message(MessageFlag.message, "k3", "", "", new byte[0]),
+                new Message(MessageFlag.heartbeat, "", "", "", new byte[0]),
+                new Message(MessageFlag.message, "k4", "/demo/big", "", new byte[64 * 1024])
+        };
+    }
+
+    static void test_roundTrip() throws Exception {
+        for (Message m : samples()) {
+            byte[] frame = toBytes(protocol.encode(m));
+            byte[] frame2 = toBytes(protocol.encodeFrames(m));
+
+            //两种编码，结果一致
+            assert Arrays.equals(frame, frame2);
+
+            //堆
+            assertSame(m, protocol.decode(ByteBuffer.wrap(frame)));
+
+            //切片（数组偏移不为 0）
+            ByteBuffer outer = ByteBuffer.allocate(frame.length + 7);
+            outer.position(7);
+            outer.put(frame);
+            outer.position(7);
+            assertSame(m, protocol.decode(outer.slice()));
+
+            //直接缓冲（没有 array）
+            ByteBuffer direct = ByteBuffer.allocateDirect(frame.length);
+            direct.put(frame);
+            direct.flip();
+            assertSame(m, protocol.decode(direct));
+        }
+    }
+
+    static void test_charset() throws Exception {
+        //头部字符串固定为 UTF-8（与消息的 charset 无关）
+        Message m = new Message(MessageFlag.message, "k5", "/demo/中文", "name=张三", "内容".getBytes(StandardCharsets.UTF_8));
+        m.setCharset(StandardCharsets.ISO_8859_1);
+
+        Message m2 = protocol.decode(protocol.encode(m));
+        assertSame(m, m2);
+    }
+
+    static void test_container() throws Exception {
+        Message m = new Message(MessageFlag.container, null, null, null, "container".getBytes(StandardCharsets.UTF_8));
+
+        Message m2 = protocol.decode(ByteBuffer.wrap(toBytes(protocol.encodeFrames(m))));
+        assert m2.flag() == MessageFlag.container;
+        assert Arrays.equals(m.body(), m2.body());
+
+        Message e = new Message(MessageFlag.container, null, null, null, new byte[0]);
+        Message e2 = protocol.decode(protocol.encode(e));
+        assert e2.body().length == 0;
+    }
+
+    static void test_incomplete() throws Exception {
+        byte[] frame = toBytes(protocol.encode(samples()[0]));
+
+        //不完整的帧
+        assert protocol.decode(ByteBuffer.wrap(frame, 0, frame.length - 2)) == null;
+    }
+
+    static void assertSame(Message m, Message m2) {
+        assert m2 != null;
+        assert m.flag() == m2.flag();
+        assert m.key().equals(m2.key());
+        assert m.resourceDescriptor().equals(m2.resourceDescriptor());
+        assert m.header().equals(m2.header());
+        assert Arrays.equals(m.body(), m2.body());
+    }
+
+    static byte[] toBytes(ByteBuffer... buffers) {
+        int len = 0;
+        for (ByteBuffer b : buffers) {
+            len += b.remaining();
+        }
+
+        ByteBuffer tmp = ByteBuffer.allocate(len);
+        for (ByteBuffer b : buffers) {
+            tmp.put(b.duplicate());
+        }
+
+        return tmp.array();
+    }
+}
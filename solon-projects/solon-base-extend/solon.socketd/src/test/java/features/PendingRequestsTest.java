@@ -0,0 +1,116 @@
+package features;
+
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.PendingRequests;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 等待中请求表：完成、重复注册快速失败、超时与迟到、移除、会话关闭
+ *
+ * @author agent 2026/10/18 created
+ */
+public class PendingRequestsTest {
+    public static void main(String[] args) throws Exception {
+        test_complete();
+        test_duplicate();
+        test_timeout();
+        test_remove();
+        test_closeAll();
+
+        System.out.println("PendingRequestsTest: ok");
+    }
+
+    static void test_complete() throws Exception {
+        PendingRequests requests = new PendingRequests();
+        Message message = new Message(MessageFlag.message, "k1", "", "req".getBytes());
+
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        assert requests.register(message, future, 10);
+        assert requests.inflightCount() == 1;
+
+        Message response = Message.wrapResponse(message, "rsp".getBytes());
+        assert requests.complete(response);
+        assert future.get(1, TimeUnit.SECONDS) == response;
+        assert requests.inflightCount() == 0;
+
+        //不是等待中的
+        assert requests.complete(response) == false;
+    }
+
+    static void test_duplicate() throws Exception {
+        PendingRequests requests = new PendingRequests();
+        Message message = new Message(MessageFlag.message, "k2", "", "req".getBytes());
+
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        CompletableFuture<Message> future2 = new CompletableFuture<>();
+        assert requests.register(message, future, 10);
+
+        //重复的 key，快速失败（调用方不要再发送）
+        assert requests.register(message, future2, 10) == false;
+        assert future2.isCompletedExceptionally();
+        assert future.isDone() == false;
+
+        requests.complete(Message.wrapResponse(message, "rsp".getBytes()));
+        assert future.isDone();
+    }
+
+    static void test_timeout() throws Exception {
+        PendingRequests requests = new PendingRequests();
+        Message message = new Message(MessageFlag.message, "k3", "", "req".getBytes());
+
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        assert requests.register(message, future, 1);
+
+        try {
+            future.get(3, TimeUnit.SECONDS);
+            assert false;
+        } catch (ExecutionException e) {
+            assert e.getCause() instanceof TimeoutException;
+        }
+
+        assert requests.timeoutCount() == 1;
+        assert requests.inflightCount() == 0;
+
+        //迟到的响应（识别并丢弃）
+        assert requests.complete(Message.wrapResponse(message, "rsp".getBytes()));
+        assert requests.lateCount() == 1;
+
+        //超时占位可被同 key 的新请求替换
+        CompletableFuture<Message> future2 = new CompletableFuture<>();
+        assert requests.register(message, future2, 10);
+        requests.remove(message.key(), future2);
+    }
+
+    static void test_remove() throws Exception {
+        PendingRequests requests = new PendingRequests();
+        Message message = new Message(MessageFlag.message, "k4", "", "req".getBytes());
+
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        assert requests.register(message, future, 10);
+
+        requests.remove(message.key(), future);
+        assert requests.inflightCount() == 0;
+        assert requests.complete(Message.wrapResponse(message, "rsp".getBytes())) == false;
+    }
+
+    static void test_closeAll() throws Exception {
+        PendingRequests requests = new PendingRequests();
+
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        CompletableFuture<Message> future2 = new CompletableFuture<>();
+        assert requests.register(new Message(MessageFlag.message, "k5", "", "req".getBytes()), future, 10);
+        assert requests.register(new Message(MessageFlag.message, "k6", "", "req".getBytes()), future2, 10);
+
+        requests.closeAll(new IOException("closed"));
+
+        assert future.isCompletedExceptionally();
+        assert future2.isCompletedExceptionally();
+        assert requests.inflightCount() == 0;
+    }
+}
@@ -0,0 +1,216 @@
+package features;
+
+import org.noear.nami.*;
+import org.noear.nami.channel.socketd.SocketChannel;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.RequestManager;
+import org.noear.solon.socketd.SessionBase;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.*;
+
+/**
+ * socketd 异步调用（sendAndResponseAsync；不占用线程等待响应）
+ *
+ * @author agent 2026/10/18 created
+ */
+public class SocketChannelAsyncTest {
+    public interface DemoApi {
+        CompletableFuture<String> hello(String name);
+
+        CompletableFuture<Void> ping();
+    }
+
+    static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "test-socketd");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public static void main(String[] args) throws Exception {
+        test_async();
+        test_void();
+        test_timeout();
+
+        System.out.println("SocketChannelAsyncTest: ok");
+    }
+
+    static DemoApi create(Session session) {
+        return Nami.builder()
+                .url("tcp://127.0.0.1:28080/demo/")
+                .encoder(new TextEncoder())
+                .decoder(new TextDecoder())
+                .timeout(1)
+                .channel(new SocketChannel(() -> session))
+                .create(DemoApi.class);
+    }
+
+    static void test_async() throws Exception {
+        MemorySession session = new MemorySession(true);
+        CompletableFuture<String> future = create(session).hello("noear");
+
+        //没有等待响应
+        assert future.isDone() == false;
+        assert session.pendingRequests().inflightCount() == 1;
+
+        assert "hello".equals(future.get(2, TimeUnit.SECONDS));
+        assert session.pendingRequests().inflightCount() == 0;
+    }
+
+    static void test_void() throws Exception {
+        MemorySession session = new MemorySession(true);
+        CompletableFuture<Void> future = create(session).ping();
+
+        assert future.get(2, TimeUnit.SECONDS) == null;
+    }
+
+    static void test_timeout() throws Exception {
+        //不响应的会话
+        MemorySession session = new MemorySession(false);
+        CompletableFuture<String> future = create(session).hello("noear");
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            assert false;
+        } catch (ExecutionException e) {
+            assert e.getCause() instanceof TimeoutException;
+        }
+
+        assert session.pendingRequests().timeoutCount() == 1;
+    }
+
+    /**
+     * 内存会话（发送后，延时响应）
+     */
+    static class MemorySession extends SessionBase {
+        final boolean reply;
+
+        MemorySession(boolean reply) {
+            this.reply = reply;
+        }
+
+        @Override
+        public void send(Message message) {
+            if (reply == false) {
+                return;
+            }
+
+            String body = message.resourceDescriptor().endsWith("/hello") ? "hello" : "";
+            Message response = Message.wrapResponse(message, body);
+
+            scheduler.schedule(() -> RequestManager.complete(this, response), 100, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void send(String message) {
+            send(Message.wrap(message));
+        }
+
+        @Override
+        public Object real() {
+            return this;
+        }
+
+        @Override
+        public String sessionId() {
+            return "memory";
+        }
+
+        @Override
+        public MethodType method() {
+            return MethodType.SOCKET;
+        }
+
+        @Override
+        public URI uri() {
+            return URI.create("tcp://127.0.0.1:28080/");
+        }
+
+        @Override
+        public String path() {
+            return "/";
+        }
+
+        @Override
+        public void close() throws IOException {
+
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public void setAttachment(Object obj) {
+
+        }
+
+        @Override
+        public <T> T getAttachment() {
+            return null;
+        }
+
+        @Override
+        public Collection<Session> getOpenSessions() {
+            return Collections.singletonList(this);
+        }
+    }
+
+    static class TextEncoder implements Encoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public byte[] encode(Object obj) {
+            return (obj == null ? new byte[0] : obj.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+
+    static class TextDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package features;
+
+import org.noear.solon.socketd.util.WheelTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 时间轮：到期执行、取消、并发计划时不漏掉正在处理的槽位
+ *
+ * @author agent 2026/10/18 created
+ */
+public class WheelTimerTest {
+    public static void main(String[] args) throws Exception {
+        test_expire();
+        test_cancel();
+        test_concurrent();
+
+        System.out.println("WheelTimerTest: ok");
+    }
+
+    static void test_expire() throws Exception {
+        WheelTimer timer = new WheelTimer("test-timer", 10, 16);
+
+        try {
+            CountDownLatch latch = new CountDownLatch(3);
+            long start = System.currentTimeMillis();
+
+            timer.schedule(latch::countDown, 0);
+            timer.schedule(latch::countDown, 50);
+            //超过一圈（16 * 10ms）
+            timer.schedule(latch::countDown, 300);
+
+            assert latch.await(2, TimeUnit.SECONDS);
+            assert System.currentTimeMillis() - start >= 300;
+        } finally {
+            timer.stop();
+        }
+    }
+
+    static void test_cancel() throws Exception {
+        WheelTimer timer = new WheelTimer("test-timer", 10, 16);
+
+        try {
+            AtomicInteger fired = new AtomicInteger();
+
+            WheelTimer.Timeout timeout = timer.schedule(fired::incrementAndGet, 50);
+            assert timeout.cancel();
+            assert timeout.isCancelled();
+
+            WheelTimer.Timeout timeout2 = timer.schedule(fired::incrementAndGet, 0);
+            Thread.sleep(200);
+
+            //已执行的，不能再取消
+            assert timeout2.cancel() == false;
+            assert fired.get() == 1;
+        } finally {
+            timer.stop();
+        }
+    }
+
+    static void test_concurrent() throws Exception {
+        //刻度 1ms（计划的刻度常常正是推进线程在处理的刻度）；一圈 512ms，漏掉的任务要晚一圈才执行
+        WheelTimer timer = new WheelTimer("test-timer", 1, 512);
+
+        try {
+            int threads = 4;
+            int perThread = 2000;
+            CountDownLatch latch = new CountDownLatch(threads * perThread);
+            AtomicLong maxLate = new AtomicLong();
+
+            List<Thread> list = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Thread thread = new Thread(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        long delay = j % 3;
+                        long deadline = System.currentTimeMillis() + delay;
+
+                        timer.schedule(() -> {
+                            long late = System.currentTimeMillis() - deadline;
+                            maxLate.accumulateAndGet(late, Math::max);
+                            latch.countDown();
+                        }, delay);
+
+                        if (j % 100 == 0) {
+                            try {
+                                Thread.sleep(1);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    }
+                });
+                thread.start();
+                list.add(thread);
+            }
+
+            for (Thread thread : list) {
+                thread.join();
+            }
+
+            assert latch.await(5, TimeUnit.SECONDS);
+            assert maxLate.get() < 200 : "late: " + maxLate.get();
+        } finally {
+            timer.stop();
+        }
+    }
+}
@@ -13,11 +13,15 @@ public class StaticConfig {
     private static final String PROP_MAX_AGE = "solon.staticfiles.maxAge";
     public static final String PROP_CACHE_MAX_AGE = "solon.staticfiles.cacheMaxAge";
     public static final String PROP_MAPPINGS = "solon.staticfiles.mappings";
+    public static final String PROP_CACHE_SIZE = "solon.staticfiles.cacheSize";
+    public static final String PROP_CACHE_FILE_SIZE = "solon.staticfiles.cacheFileSize";
 
     public static final String RES_STATIC_LOCATION = "static/";
     public static final String RES_WEB_INF_STATIC_LOCATION = "WEB-INF/static/";
 
     private static int cacheMaxAge;
+    private static long cacheSize;
+    private static long cacheFileSize;
 
     static {
         if (Solon.cfg().isDebugMode()) {
@@ -35,6 +39,11 @@ public class StaticConfig {
 
             cacheMaxAge = Integer.parseInt(tmp);
         }
+
+        //32m
+        cacheSize = Solon.cfg().getLong(PROP_CACHE_SIZE, 32 * 1024 * 1024);
+        //512k
+        cacheFileSize = Solon.cfg().getLong(PROP_CACHE_FILE_SIZE, 512 * 1024);
     }
 
     /**
@@ -53,6 +62,36 @@ public class StaticConfig {
         cacheMaxAge = maxAge;
     }
 
+    /**
+     * 获取服务端内容缓存的总字节数
+     */
+    public static long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * 设置服务端内容缓存的总字节数
+     *
+     * @param size 0 表示不缓存内容
+     */
+    public static void setCacheSize(long size) {
+        cacheSize = size;
+    }
+
+    /**
+     * 获取服务端内容缓存的单文件字节数（大于它的文件不缓存内容，直接从文件传输）
+     */
+    public static long getCacheFileSize() {
+        return cacheFileSize;
+    }
+
+    /**
+     * 设置服务端内容缓存的单文件字节数
+     */
+    public static void setCacheFileSize(long size) {
+        cacheFileSize = size;
+    }
+
     /**
      * 是否启用
      */
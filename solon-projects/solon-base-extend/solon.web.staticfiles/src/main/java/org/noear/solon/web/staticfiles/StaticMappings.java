@@ -38,6 +38,7 @@ public class StaticMappings {
         //1.结尾不能自动加'/'; 2.使用 protected，允许用户同包名扩展
 
         locationMap.putIfAbsent(repository, new StaticLocation(pathPrefix, repository, repositoryIncPrefix));
+        StaticResourceCache.clear();
     }
 
     /**
@@ -45,6 +46,7 @@ public class StaticMappings {
      */
     public synchronized static void remove(StaticRepository repository) {
         locationMap.remove(repository);
+        StaticResourceCache.clear();
     }
 
     /**
@@ -0,0 +1,262 @@
+package org.noear.solon.web.staticfiles;
+
+import org.noear.solon.Utils;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 静态资源（元信息与内容；小文件内容驻留内存，大文件按需从文件传输）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class StaticResource {
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    //没有修改时间的（比如某些 jar 资源），用启动时间
+    private static final long BOOT_TIME = System.currentTimeMillis() / 1000 * 1000;
+
+    private final URL url;
+    private final File file;
+    private final long contentLength;
+    private final long lastModified;
+    private final String lastModifiedStr;
+    private final String etag;
+    private final byte[] content;
+
+    //预压缩的变体（.br / .gz 兄弟文件）
+    StaticResource brVariant;
+    StaticResource gzipVariant;
+
+    //上次检查过时的时间（毫秒）
+    private volatile long staleCheckedMillis;
+
+    private StaticResource(URL url, File file, long contentLength, long lastModified, byte[] content, String etagTag) {
+        this.url = url;
+        this.file = file;
+        this.contentLength = contentLength;
+        this.lastModified = (lastModified > 0 ? lastModified / 1000 * 1000 : BOOT_TIME);
+        this.lastModifiedStr = HTTP_DATE.format(Instant.ofEpochMilli(this.lastModified));
+        this.content = content;
+        this.etag = "\"" + Long.toHexString(this.lastModified) + "-" + Long.toHexString(contentLength) + etagTag + "\"";
+        this.staleCheckedMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * 加载
+     *
+     * @param url           资源地址
+     * @param maxContentSize 内容驻留内存的最大字节数（大于它的不读取内容）
+     * @param useCaches     URLConnection 是否使用缓存
+     * @param etagTag       ETag 附加标记（用于区分变体）
+     * @return 没有或者是目录时，为 null
+     */
+    public static StaticResource load(URL url, long maxContentSize, boolean useCaches, String etagTag) throws Exception {
+        if (url == null) {
+            return null;
+        }
+
+        if ("file".equals(url.getProtocol())) {
+            File file = new File(url.toURI());
+
+            if (file.isFile() == false) {
+                return null;
+            }
+
+            long length = file.length();
+            long lastModified = file.lastModified();
+            byte[] content = null;
+
+            if (length <= maxContentSize) {
+                try (InputStream stream = new FileInputStream(file)) {
+                    content = Utils.transferToBytes(stream);
+                }
+                length = content.length;
+            }
+
+            return new StaticResource(url, file, length, lastModified, content, etagTag);
+        } else {
+            URLConnection connection = url.openConnection();
+            connection.setUseCaches(useCaches);
+
+            long length = connection.getContentLengthLong();
+            long lastModified = connection.getLastModified();
+            byte[] content = null;
+
+            if (length < 0 || length <= maxContentSize) {
+                try (InputStream stream = connection.getInputStream()) {
+                    content = Utils.transferToBytes(stream);
+                }
+                length = content.length;
+            } else {
+                connection.getInputStream().close();
+            }
+
+            return new StaticResource(url, null, length, lastModified, content, etagTag);
+        }
+    }
+
+    /**
+     * 资源地址
+     */
+    public URL url() {
+        return url;
+    }
+
+    /**
+     * 内容长度
+     */
+    public long contentLength() {
+        return contentLength;
+    }
+
+    /**
+     * 最后修改时间（毫秒，精确到秒）
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 最后修改时间（HTTP 日期格式）
+     */
+    public String lastModifiedStr() {
+        return lastModifiedStr;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * 驻留内存的内容（没有时为 null）
+     */
+    public byte[] content() {
+        return content;
+    }
+
+    /**
+     * 内存占用（估算）
+     */
+    public long footprint() {
+        long size = (content == null ? 0 : content.length);
+
+        if (brVariant != null) {
+            size += brVariant.footprint();
+        }
+
+        if (gzipVariant != null) {
+            size += gzipVariant.footprint();
+        }
+
+        return size;
+    }
+
+    /**
+     * 是否已过时（文件被修改了）
+     */
+    public boolean isStale() {
+        if (file != null) {
+            if (file.lastModified() / 1000 * 1000 != lastModified || file.length() != contentLength) {
+                return true;
+            }
+        }
+
+        return (brVariant != null && brVariant.isStale()) || (gzipVariant != null && gzipVariant.isStale());
+    }
+
+    /**
+     * 是否已过时（间隔内只检查一次，其余时候直接认为未过时；用于减少每次命中的文件状态查询）
+     *
+     * @param intervalMillis 检查间隔（毫秒）
+     */
+    public boolean isStale(long intervalMillis) {
+        if (file == null && brVariant == null && gzipVariant == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - staleCheckedMillis < intervalMillis) {
+            return false;
+        }
+
+        staleCheckedMillis = now;
+        return isStale();
+    }
+
+    /**
+     * 输出内容（或其中一段）
+     *
+     * @param out    输出流
+     * @param start  开始位置
+     * @param length 长度
+     */
+    public void transferTo(OutputStream out, long start, long length) throws IOException {
+        if (content != null) {
+            out.write(content, (int) start, (int) length);
+        } else if (file != null) {
+            //大文件，由文件通道直接传输（不经过 url 与堆内缓冲复制）
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+
+                while (length > 0) {
+                    long n = channel.transferTo(start, length, target);
+                    if (n <= 0) {
+                        break;
+                    }
+
+                    start += n;
+                    length -= n;
+                }
+            }
+        } else {
+            try (InputStream stream = url.openStream()) {
+                skipFully(stream, start);
+
+                byte[] buf = new byte[8192];
+                while (length > 0) {
+                    int n = stream.read(buf, 0, (int) Math.min(buf.length, length));
+                    if (n < 0) {
+                        break;
+                    }
+
+                    out.write(buf, 0, n);
+                    length -= n;
+                }
+            }
+        }
+    }
+
+    private static void skipFully(InputStream stream, long n) throws IOException {
+        while (n > 0) {
+            long skipped = stream.skip(n);
+            if (skipped <= 0) {
+                if (stream.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+
+    /**
+     * 解析 HTTP 日期（失败时为 -1）
+     */
+    public static long parseHttpDate(String str) {
+        try {
+            return ZonedDateTime.parse(str, HTTP_DATE).toInstant().toEpochMilli();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.noear.solon.web.staticfiles;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 静态资源缓存（StaticMappings 之上的缓存层；按路径缓存资源的元信息与小文件内容）
+ *
+ * <pre><code>
+ * 1.分段 LRU（按路径散列到各段，段内各自加锁），按内容总字节数（StaticConfig.getCacheSize）与条目数限制
+ * 2.文件型资源命中时检查修改时间（每个资源每 STALE_CHECK_INTERVAL 毫秒最多检查一次），有变化则重新加载
+ * 3.同时查找预压缩的 .br / .gz 兄弟文件
+ * 4.客户端缓存秒数小于 0 时（调试模式），不缓存
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class StaticResourceCache {
+    private static final int MAX_ENTRIES = 4096;
+    private static final int SEGMENTS = 16;
+    //过时检查的最小间隔（毫秒）
+    private static final long STALE_CHECK_INTERVAL = 1000;
+
+    private static final Segment[] segments = new Segment[SEGMENTS];
+    private static final AtomicLong cachedSize = new AtomicLong();
+    private static final AtomicInteger cachedCount = new AtomicInteger();
+    //淘汰时的起始段（轮流，避免总是淘汰同一段）
+    private static final AtomicInteger evictCursor = new AtomicInteger();
+
+    static {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * 获取资源
+     *
+     * @param path 路径，例：/demo/file.htm
+     */
+    public static StaticResource get(String path) throws Exception {
+        boolean useCaches = StaticConfig.getCacheMaxAge() >= 0;
+
+        if (useCaches == false) {
+            //说明不需要缓存; 或者是调试模式
+            return load(path, 0, false);
+        }
+
+        Segment segment = segmentFor(path);
+        StaticResource res;
+        synchronized (segment) {
+            res = segment.map.get(path);
+        }
+
+        if (res != null && res.isStale(STALE_CHECK_INTERVAL) == false) {
+            return res;
+        }
+
+        res = load(path, Math.min(StaticConfig.getCacheFileSize(), StaticConfig.getCacheSize()), true);
+
+        if (res != null) {
+            put(segment, path, res);
+        } else {
+            remove(segment, path);
+        }
+
+        return res;
+    }
+
+    /**
+     * 清空（映射有变化时）
+     */
+    public static void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (StaticResource res : segment.map.values()) {
+                    cachedSize.addAndGet(-res.footprint());
+                    cachedCount.decrementAndGet();
+                }
+                segment.map.clear();
+            }
+        }
+    }
+
+    /**
+     * 缓存的条目数
+     */
+    public static int count() {
+        return cachedCount.get();
+    }
+
+    /**
+     * 缓存的内容字节数
+     */
+    public static long size() {
+        return cachedSize.get();
+    }
+
+    private static Segment segmentFor(String path) {
+        int h = path.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    private static StaticResource load(String path, long maxContentSize, boolean useCaches) throws Exception {
+        StaticResource res = StaticResource.load(StaticMappings.find(path), maxContentSize, useCaches, "");
+
+        if (res != null) {
+            res.brVariant = loadVariant(path + ".br", maxContentSize, useCaches, "-br");
+            res.gzipVariant = loadVariant(path + ".gz", maxContentSize, useCaches, "-gz");
+        }
+
+        return res;
+    }
+
+    private static StaticResource loadVariant(String path, long maxContentSize, boolean useCaches, String etagTag) throws Exception {
+        URL url = StaticMappings.find(path);
+
+        if (url == null) {
+            return null;
+        } else {
+            return StaticResource.load(url, maxContentSize, useCaches, etagTag);
+        }
+    }
+
+    private static void put(Segment segment, String path, StaticResource res) {
+        synchronized (segment) {
+            StaticResource old = segment.map.put(path, res);
+            if (old != null) {
+                cachedSize.addAndGet(res.footprint() - old.footprint());
+            } else {
+                cachedSize.addAndGet(res.footprint());
+                cachedCount.incrementAndGet();
+            }
+        }
+
+        //先淘汰本段最久未用的，不够再轮流淘汰其它段
+        if (isOverflow()) {
+            evict(segment);
+
+            int start = evictCursor.getAndIncrement();
+            for (int i = 0; i < SEGMENTS && isOverflow(); i++) {
+                evict(segments[(start + i) & (SEGMENTS - 1)]);
+            }
+        }
+    }
+
+    private static boolean isOverflow() {
+        return cachedSize.get() > StaticConfig.getCacheSize() || cachedCount.get() > MAX_ENTRIES;
+    }
+
+    private static void evict(Segment segment) {
+        synchronized (segment) {
+            Iterator<Map.Entry<String, StaticResource>> iterator = segment.map.entrySet().iterator();
+            while (iterator.hasNext() && isOverflow()) {
+                StaticResource tmp = iterator.next().getValue();
+                iterator.remove();
+                cachedSize.addAndGet(-tmp.footprint());
+                cachedCount.decrementAndGet();
+            }
+        }
+    }
+
+    private static void remove(Segment segment, String path) {
+        synchronized (segment) {
+            StaticResource old = segment.map.remove(path);
+            if (old != null) {
+                cachedSize.addAndGet(-old.footprint());
+                cachedCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 缓存段（访问顺序；由段自身加锁）
+     */
+    private static class Segment {
+        final LinkedHashMap<String, StaticResource> map = new LinkedHashMap<>(16, 0.75F, true);
+    }
+}
@@ -5,11 +5,6 @@ import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.handle.Handler;
 import org.noear.solon.core.handle.MethodType;
 
-import java.io.InputStream;
-import java.net.URL;
-import java.net.URLConnection;
-import java.util.Date;
-
 /**
  * 静态文件资源处理
  *
@@ -19,6 +14,16 @@ import java.util.Date;
 public class StaticResourceHandler implements Handler {
     private static final String CACHE_CONTROL = "Cache-Control";
     private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String ETAG = "ETag";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String IF_RANGE = "If-Range";
+    private static final String RANGE = "Range";
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String VARY = "Vary";
 
     public StaticResourceHandler() {
 
@@ -54,54 +59,207 @@ public class StaticResourceHandler implements Handler {
             return;
         }
 
-        //找资源
-        URL uri = StaticMappings.find(path);
+        //找资源（经过缓存层）
+        StaticResource res = StaticResourceCache.get(path);
 
-        if (uri != null) {
+        if (res != null) {
             ctx.setHandled(true);
 
-            String modified_since = ctx.header("If-Modified-Since");
-            String modified_now = modified_time.toString();
+            if (StaticConfig.getCacheMaxAge() > 0) {
+                ctx.headerSet(CACHE_CONTROL, "max-age=" + StaticConfig.getCacheMaxAge());//单位秒
+            }
 
-            if (modified_since != null && StaticConfig.getCacheMaxAge() > 0) {
-                if (modified_since.equals(modified_now)) {
-                    ctx.headerSet(CACHE_CONTROL, "max-age=" + StaticConfig.getCacheMaxAge());//单位秒
-                    ctx.headerSet(LAST_MODIFIED, modified_now);
-                    ctx.status(304);
-                    return;
+            String range = ctx.header(RANGE);
+
+            //选择预压缩的变体（有 Range 时，用原始内容）
+            if (Utils.isEmpty(range) && (res.brVariant != null || res.gzipVariant != null)) {
+                ctx.headerSet(VARY, ACCEPT_ENCODING);
+
+                String encoding = ctx.header(ACCEPT_ENCODING);
+                if (res.brVariant != null && acceptEncoding(encoding, "br")) {
+                    ctx.headerSet(CONTENT_ENCODING, "br");
+                    res = res.brVariant;
+                } else if (res.gzipVariant != null && acceptEncoding(encoding, "gzip")) {
+                    ctx.headerSet(CONTENT_ENCODING, "gzip");
+                    res = res.gzipVariant;
                 }
             }
 
-            if (StaticConfig.getCacheMaxAge() > 0) {
-                ctx.headerSet(CACHE_CONTROL, "max-age=" + StaticConfig.getCacheMaxAge());//单位秒
-                ctx.headerSet(LAST_MODIFIED, modified_time.toString());
+            ctx.headerSet(LAST_MODIFIED, res.lastModifiedStr());
+            ctx.headerSet(ETAG, res.etag());
+            ctx.headerSet(ACCEPT_RANGES, "bytes");
+
+            if (isNotModified(ctx, res)) {
+                ctx.status(304);
+                return;
             }
 
+            long start = 0;
+            long length = res.contentLength();
 
-            if (StaticConfig.getCacheMaxAge() < 0) {
-                //说明不需要 uri 缓存; 或者是调试模式
-                URLConnection connection = uri.openConnection();
-                connection.setUseCaches(false);
+            if (Utils.isNotEmpty(range) && isIfRangeMatched(ctx, res)) {
+                long[] tmp = parseRange(range, res.contentLength());
 
-                try (InputStream stream = connection.getInputStream()) {
-                    ctx.contentLength(stream.available());
-                    ctx.contentType(conentType);
-                    ctx.status(200);
-                    ctx.output(stream);
+                if (tmp == null) {
+                    //无法满足的范围
+                    ctx.headerSet(CONTENT_RANGE, "bytes */" + res.contentLength());
+                    ctx.status(416);
+                    return;
                 }
-            }else{
-                try (InputStream stream = uri.openStream()) {
-                    ctx.contentLength(stream.available());
-                    ctx.contentType(conentType);
+
+                if (tmp.length > 0) {
+                    start = tmp[0];
+                    length = tmp[1] - tmp[0] + 1;
+
+                    ctx.headerSet(CONTENT_RANGE, "bytes " + tmp[0] + "-" + tmp[1] + "/" + res.contentLength());
+                    ctx.status(206);
+                } else {
                     ctx.status(200);
-                    ctx.output(stream);
                 }
+            } else {
+                ctx.status(200);
+            }
+
+            ctx.contentType(conentType);
+            ctx.contentLength(length);
+
+            if (start == 0 && length == res.contentLength() && res.content() != null) {
+                ctx.output(res.content());
+            } else if (length > 0) {
+                res.transferTo(ctx.outputStream(), start, length);
             }
         }
     }
 
-    private static final Date modified_time = new Date();
+    /**
+     * 是否未修改（If-None-Match 优先，其次 If-Modified-Since）
+     */
+    private boolean isNotModified(Context ctx, StaticResource res) {
+        String noneMatch = ctx.header(IF_NONE_MATCH);
+        if (noneMatch != null) {
+            return matchEtag(noneMatch, res.etag());
+        }
+
+        String modifiedSince = ctx.header(IF_MODIFIED_SINCE);
+        if (modifiedSince != null) {
+            long since = StaticResource.parseHttpDate(modifiedSince);
+            return since >= res.lastModified();
+        }
+
+        return false;
+    }
+
+    /**
+     * If-Range 是否匹配（没有时，也算匹配）
+     */
+    private boolean isIfRangeMatched(Context ctx, StaticResource res) {
+        String ifRange = ctx.header(IF_RANGE);
+        if (Utils.isEmpty(ifRange)) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(res.etag());
+        } else {
+            return StaticResource.parseHttpDate(ifRange) == res.lastModified();
+        }
+    }
+
+    private boolean matchEtag(String header, String etag) {
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
 
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 是否接受编码
+     */
+    private boolean acceptEncoding(String header, String encoding) {
+        if (Utils.isEmpty(header)) {
+            return false;
+        }
+
+        for (String item : header.split(",")) {
+            String[] parts = item.split(";");
+
+            if (encoding.equalsIgnoreCase(parts[0].trim())) {
+                //排除 q=0
+                for (int i = 1; i < parts.length; i++) {
+                    String p = parts[i].trim();
+                    if (p.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(p.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 解析范围（只支持单个范围）
+     *
+     * @return [start, end]；忽略时为空数组；无法满足时为 null
+     */
+    protected static long[] parseRange(String range, long total) {
+        if (range.startsWith("bytes=") == false || range.indexOf(',') > 0) {
+            return new long[0];
+        }
+
+        String spec = range.substring(6).trim();
+        int idx = spec.indexOf('-');
+        if (idx < 0) {
+            return new long[0];
+        }
+
+        try {
+            String startStr = spec.substring(0, idx).trim();
+            String endStr = spec.substring(idx + 1).trim();
+
+            long start, end;
+            if (startStr.isEmpty()) {
+                //后缀范围：bytes=-500
+                long suffix = Long.parseLong(endStr);
+                if (suffix <= 0) {
+                    return null;
+                }
+
+                start = Math.max(0, total - suffix);
+                end = total - 1;
+            } else {
+                start = Long.parseLong(startStr);
+                end = endStr.isEmpty() ? total - 1 : Math.min(Long.parseLong(endStr), total - 1);
+
+                if (endStr.isEmpty() == false && Long.parseLong(endStr) < start) {
+                    return new long[0];
+                }
+            }
+
+            if (start >= total || start > end) {
+                return null;
+            }
+
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
 
     /**
      * 尝试查找路径的后缀名
@@ -0,0 +1,292 @@
+package features;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.solon.Solon;
+import org.noear.solon.core.NvMap;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.web.staticfiles.StaticConfig;
+import org.noear.solon.web.staticfiles.StaticMappings;
+import org.noear.solon.web.staticfiles.StaticRepository;
+import org.noear.solon.web.staticfiles.StaticResourceCache;
+import org.noear.solon.web.staticfiles.StaticResourceHandler;
+import org.noear.solon.web.staticfiles.repository.FileStaticRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * 静态资源处理：Range 解析、304（If-None-Match / If-Modified-Since）、If-Range、.br/.gz 变体选择、缓存
+ *
+ * @author agent 2026/10/18 created
+ */
+public class StaticResourceHandlerTest {
+    static File dir;
+    static StaticRepository repository;
+    static final byte[] content = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeClass
+    public static void init() throws Exception {
+        Solon.start(StaticResourceHandlerTest.class, new String[]{"--server.port=18090"});
+
+        dir = Files.createTempDirectory("staticfiles").toFile();
+        Files.write(new File(dir, "demo.txt").toPath(), content);
+        Files.write(new File(dir, "demo.txt.br").toPath(), "br".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(dir, "demo.txt.gz").toPath(), "gz".getBytes(StandardCharsets.UTF_8));
+
+        repository = new FileStaticRepository(dir.getAbsolutePath());
+        StaticMappings.add("/", repository);
+    }
+
+    @AfterClass
+    public static void destroy() {
+        StaticMappings.remove(repository);
+
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    @Before
+    public void reset() {
+        StaticConfig.setCacheMaxAge(600);
+        StaticConfig.setCacheSize(32 * 1024 * 1024);
+        StaticConfig.setCacheFileSize(512 * 1024);
+        StaticResourceCache.clear();
+    }
+
+    @Test
+    public void test_parseRange() {
+        assert Arrays.equals(RangeHandler.range("bytes=0-9", 20), new long[]{0, 9});
+        assert Arrays.equals(RangeHandler.range("bytes=5-", 20), new long[]{5, 19});
+        assert Arrays.equals(RangeHandler.range("bytes=-5", 20), new long[]{15, 19});
+        assert Arrays.equals(RangeHandler.range("bytes=-50", 20), new long[]{0, 19});
+        assert Arrays.equals(RangeHandler.range("bytes=10-100", 20), new long[]{10, 19});
+
+        //忽略的（按完整内容输出）
+        assert RangeHandler.range("bytes=0-1,3-4", 20).length == 0;
+        assert RangeHandler.range("items=0-9", 20).length == 0;
+        assert RangeHandler.range("bytes=9-5", 20).length == 0;
+        assert RangeHandler.range("bytes=a-b", 20).length == 0;
+        assert RangeHandler.range("bytes=5", 20).length == 0;
+
+        //无法满足的
+        assert RangeHandler.range("bytes=20-", 20) == null;
+        assert RangeHandler.range("bytes=-0", 20) == null;
+    }
+
+    @Test
+    public void test_full() throws Exception {
+        TestContext ctx = request();
+
+        assert ctx.status() == 200;
+        assert Arrays.equals(ctx.outputBytes(), content);
+        assert "bytes".equals(ctx.responseHeaders.get("Accept-Ranges"));
+        assert ctx.responseHeaders.get("ETag") != null;
+        assert ctx.responseHeaders.get("Last-Modified") != null;
+        assert "max-age=600".equals(ctx.responseHeaders.get("Cache-Control"));
+    }
+
+    @Test
+    public void test_notModified() throws Exception {
+        TestContext ctx0 = request();
+        String etag = ctx0.responseHeaders.get("ETag");
+        String lastModified = ctx0.responseHeaders.get("Last-Modified");
+
+        //If-None-Match（多个，弱比较）
+        TestContext ctx = request("If-None-Match", "\"x\", W/" + etag);
+        assert ctx.status() == 304;
+        assert ctx.outputBytes().length == 0;
+
+        ctx = request("If-None-Match", "*");
+        assert ctx.status() == 304;
+
+        ctx = request("If-None-Match", "\"x\"");
+        assert ctx.status() == 200;
+
+        //If-None-Match 优先于 If-Modified-Since
+        ctx = request("If-None-Match", "\"x\"", "If-Modified-Since", lastModified);
+        assert ctx.status() == 200;
+
+        //If-Modified-Since
+        ctx = request("If-Modified-Since", lastModified);
+        assert ctx.status() == 304;
+
+        ctx = request("If-Modified-Since", "Sun, 06 Nov 1994 08:49:37 GMT");
+        assert ctx.status() == 200;
+    }
+
+    @Test
+    public void test_range() throws Exception {
+        TestContext ctx = request("Range", "bytes=2-5");
+        assert ctx.status() == 206;
+        assert "bytes 2-5/20".equals(ctx.responseHeaders.get("Content-Range"));
+        assert "2345".equals(new String(ctx.outputBytes(), StandardCharsets.UTF_8));
+        //有 Range 时，不用变体
+        assert ctx.responseHeaders.get("Content-Encoding") == null;
+
+        ctx = request("Range", "bytes=30-");
+        assert ctx.status() == 416;
+        assert "bytes */20".equals(ctx.responseHeaders.get("Content-Range"));
+
+        ctx = request("Range", "bytes=0-1,3-4");
+        assert ctx.status() == 200;
+        assert Arrays.equals(ctx.outputBytes(), content);
+    }
+
+    @Test
+    public void test_ifRange() throws Exception {
+        TestContext ctx0 = request();
+        String etag = ctx0.responseHeaders.get("ETag");
+        String lastModified = ctx0.responseHeaders.get("Last-Modified");
+
+        //匹配，按范围输出
+        TestContext ctx = request("Range", "bytes=0-1", "If-Range", etag);
+        assert ctx.status() == 206;
+        assert "01".equals(new String(ctx.outputBytes(), StandardCharsets.UTF_8));
+
+        ctx = request("Range", "bytes=0-1", "If-Range", lastModified);
+        assert ctx.status() == 206;
+
+        //不匹配，输出完整内容
+        ctx = request("Range", "bytes=0-1", "If-Range", "\"x\"");
+        assert ctx.status() == 200;
+        assert Arrays.equals(ctx.outputBytes(), content);
+
+        ctx = request("Range", "bytes=0-1", "If-Range", "Sun, 06 Nov 1994 08:49:37 GMT");
+        assert ctx.status() == 200;
+
+        //弱标签不能用于 If-Range
+        ctx = request("Range", "bytes=0-1", "If-Range", "W/" + etag);
+        assert ctx.status() == 200;
+    }
+
+    @Test
+    public void test_variant() throws Exception {
+        //br 优先
+        TestContext ctx = request("Accept-Encoding", "gzip, deflate, br");
+        assert "br".equals(ctx.responseHeaders.get("Content-Encoding"));
+        assert "Accept-Encoding".equals(ctx.responseHeaders.get("Vary"));
+        assert "br".equals(new String(ctx.outputBytes(), StandardCharsets.UTF_8));
+        assert ctx.responseHeaders.get("ETag").endsWith("-br\"");
+
+        ctx = request("Accept-Encoding", "gzip");
+        assert "gzip".equals(ctx.responseHeaders.get("Content-Encoding"));
+        assert "gz".equals(new String(ctx.outputBytes(), StandardCharsets.UTF_8));
+        assert ctx.responseHeaders.get("ETag").endsWith("-gz\"");
+
+        //q=0 表示不接受
+        ctx = request("Accept-Encoding", "br;q=0, GZIP;q=0.5");
+        assert "gzip".equals(ctx.responseHeaders.get("Content-Encoding"));
+
+        ctx = request("Accept-Encoding", "br;q=0, gzip;q=0");
+        assert ctx.responseHeaders.get("Content-Encoding") == null;
+        assert Arrays.equals(ctx.outputBytes(), content);
+
+        //没有 Accept-Encoding，用原始内容（仍然要有 Vary）
+        ctx = request();
+        assert ctx.responseHeaders.get("Content-Encoding") == null;
+        assert "Accept-Encoding".equals(ctx.responseHeaders.get("Vary"));
+
+        //变体的 304 按变体的 ETag
+        String brEtag = request("Accept-Encoding", "br").responseHeaders.get("ETag");
+        assert request("Accept-Encoding", "br", "If-None-Match", brEtag).status() == 304;
+        assert request("Accept-Encoding", "gzip", "If-None-Match", brEtag).status() == 200;
+    }
+
+    @Test
+    public void test_cache() throws Exception {
+        request();
+        assert StaticResourceCache.count() == 1;
+        assert StaticResourceCache.size() == content.length + 2 + 2;
+
+        //大文件不驻留内容（仍然可以输出）
+        StaticResourceCache.clear();
+        StaticConfig.setCacheFileSize(4);
+        TestContext ctx = request();
+        assert Arrays.equals(ctx.outputBytes(), content);
+        assert StaticResourceCache.size() == 2 + 2;
+
+        //按总字节数淘汰
+        StaticResourceCache.clear();
+        StaticConfig.setCacheFileSize(512 * 1024);
+        StaticConfig.setCacheSize(content.length);
+        request();
+        assert StaticResourceCache.count() == 0;
+        assert StaticResourceCache.size() == 0;
+
+        //调试模式不缓存
+        StaticConfig.setCacheSize(32 * 1024 * 1024);
+        StaticConfig.setCacheMaxAge(-1);
+        ctx = request();
+        assert Arrays.equals(ctx.outputBytes(), content);
+        assert StaticResourceCache.count() == 0;
+        assert ctx.responseHeaders.get("Cache-Control") == null;
+    }
+
+    static TestContext request(String... headers) throws Exception {
+        TestContext ctx = new TestContext("/demo.txt");
+        for (int i = 0; i < headers.length; i += 2) {
+            ctx.headerMap().put(headers[i], headers[i + 1]);
+        }
+
+        new StaticResourceHandler().handle(ctx);
+        assert ctx.getHandled();
+
+        return ctx;
+    }
+
+    static class RangeHandler extends StaticResourceHandler {
+        static long[] range(String range, long total) {
+            return parseRange(range, total);
+        }
+    }
+
+    /**
+     * 请求头与响应头分开记录的上下文
+     */
+    static class TestContext extends ContextEmpty {
+        final NvMap responseHeaders = new NvMap();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        TestContext(String path) {
+            pathNew(path);
+        }
+
+        byte[] outputBytes() {
+            return output.toByteArray();
+        }
+
+        @Override
+        public String method() {
+            return "GET";
+        }
+
+        @Override
+        public void headerSet(String key, String val) {
+            responseHeaders.put(key, val);
+        }
+
+        @Override
+        public void headerAdd(String key, String val) {
+            responseHeaders.put(key, val);
+        }
+
+        @Override
+        public void output(byte[] bytes) {
+            output.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public OutputStream outputStream() {
+            return output;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.web.staticfiles.StaticResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class StaticResourceTest {
+    @Test
+    public void test() throws Exception {
+        URL url = StaticResourceTest.class.getClassLoader().getResource("META-INF/resources/doc.html");
+        StaticResource res = StaticResource.load(url, 1024 * 1024, true, "");
+
+        assert res != null;
+        assert res.content() != null;
+        assert res.content().length == res.contentLength();
+        assert res.etag().startsWith("\"");
+        assert StaticResource.parseHttpDate(res.lastModifiedStr()) == res.lastModified();
+
+        //只取一段
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.transferTo(out, 1, 3);
+        assert out.size() == 3;
+        assert out.toByteArray()[0] == res.content()[1];
+    }
+
+    @Test
+    public void test_large() throws Exception {
+        URL url = StaticResourceTest.class.getClassLoader().getResource("META-INF/resources/doc.html");
+        StaticResource res = StaticResource.load(url, 0, true, "");
+
+        assert res != null;
+        assert res.content() == null;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.transferTo(out, 0, res.contentLength());
+        assert out.size() == res.contentLength();
+    }
+
+    @Test
+    public void test_stale() throws Exception {
+        File file = File.createTempFile("stale", ".txt");
+
+        try {
+            Files.write(file.toPath(), "a".getBytes());
+            StaticResource res = StaticResource.load(file.toURI().toURL(), 1024, true, "");
+
+            Files.write(file.toPath(), "ab".getBytes());
+
+            //间隔内不检查
+            assert res.isStale(60_000) == false;
+            assert res.isStale();
+            assert res.isStale(0);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void test_date() {
+        assert StaticResource.parseHttpDate("Sun, 06 Nov 1994 08:49:37 GMT") == 784111777000L;
+        assert StaticResource.parseHttpDate("xxx") == -1;
+    }
+}
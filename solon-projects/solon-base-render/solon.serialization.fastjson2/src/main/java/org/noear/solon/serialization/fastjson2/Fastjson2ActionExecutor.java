@@ -3,7 +3,9 @@ package org.noear.solon.serialization.fastjson2;
 import com.alibaba.fastjson2.*;
 import org.noear.solon.Utils;
 import org.noear.solon.core.handle.ActionExecutorDefault;
+import org.noear.solon.core.handle.ArgumentResolver;
 import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.wrap.ParamWrap;
 
 import java.lang.reflect.ParameterizedType;
@@ -46,6 +48,36 @@ public class Fastjson2ActionExecutor extends ActionExecutorDefault {
         }
     }
 
+    /**
+     * @since 2.3 @Body JSONObject、JSONArray 参数直接使用 body 对象（免去转换）
+     * */
+    @Override
+    protected ArgumentResolver buildResolver(MethodWrap mWrap, ParamWrap p, int pi) {
+        ArgumentResolver def = super.buildResolver(mWrap, p, pi);
+
+        if (p.requireBody() && (p.getType() == JSONObject.class || p.getType() == JSONArray.class)) {
+            Class<?> pt = p.getType();
+
+            return new ArgumentResolver() {
+                @Override
+                public boolean requireBodyObj() {
+                    return true;
+                }
+
+                @Override
+                public Object resolve(Context ctx, Object bodyObj) throws Exception {
+                    if (pt.isInstance(bodyObj)) {
+                        return bodyObj;
+                    } else {
+                        return def.resolve(ctx, bodyObj);
+                    }
+                }
+            };
+        }
+
+        return def;
+    }
+
     @Override
     protected Object changeValue(Context ctx, ParamWrap p, int pi, Class<?> pt, Object bodyObj) throws Exception {
         if (p.requireBody() == false && ctx.paramMap().containsKey(p.getName())) {
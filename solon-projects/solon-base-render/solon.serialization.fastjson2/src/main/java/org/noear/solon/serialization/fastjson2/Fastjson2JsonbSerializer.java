@@ -0,0 +1,55 @@
+package org.noear.solon.serialization.fastjson2;
+
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import org.noear.solon.data.cache.BytesSerializer;
+
+/**
+ * Fastjson2 JSONB 字节序列化（可用于缓存服务；带类型信息，以便还原为原类型）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class Fastjson2JsonbSerializer implements BytesSerializer {
+    public static final Fastjson2JsonbSerializer instance = new Fastjson2JsonbSerializer();
+
+    private static final JSONWriter.Feature[] WRITE_FEATURES = {
+            JSONWriter.Feature.WriteClassName,
+            JSONWriter.Feature.FieldBased,
+            JSONWriter.Feature.ReferenceDetection,
+            JSONWriter.Feature.WriteNulls,
+            JSONWriter.Feature.NotWriteDefaultValue,
+            JSONWriter.Feature.NotWriteHashMapArrayListClassName
+    };
+
+    private static final JSONReader.Feature[] READ_FEATURES = {
+            JSONReader.Feature.SupportAutoType,
+            JSONReader.Feature.UseDefaultConstructorAsPossible,
+            JSONReader.Feature.UseNativeObject,
+            JSONReader.Feature.FieldBased
+    };
+
+    @Override
+    public String name() {
+        return "fastjson2-jsonb";
+    }
+
+    @Override
+    public byte[] serialize(Object obj) throws Exception {
+        if (obj == null) {
+            return null;
+        }
+
+        return JSONB.toBytes(obj, WRITE_FEATURES);
+    }
+
+    @Override
+    public Object deserialize(byte[] dta) throws Exception {
+        if (dta == null) {
+            return null;
+        }
+
+        return JSONB.parseObject(dta, Object.class, READ_FEATURES);
+    }
+}
@@ -0,0 +1,52 @@
+package org.noear.solon.serialization.hessian;
+
+import com.alibaba.com.caucho.hessian.io.Hessian2Input;
+import com.alibaba.com.caucho.hessian.io.Hessian2Output;
+import org.noear.solon.data.cache.BytesSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Hessian 字节序列化（可用于缓存服务）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class HessianBytesSerializer implements BytesSerializer {
+    public static final HessianBytesSerializer instance = new HessianBytesSerializer();
+
+    @Override
+    public String name() {
+        return "hessian";
+    }
+
+    @Override
+    public byte[] serialize(Object obj) throws Exception {
+        if (obj == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Hessian2Output ho = new Hessian2Output(out);
+        ho.writeObject(obj);
+        ho.close();
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] dta) throws Exception {
+        if (dta == null) {
+            return null;
+        }
+
+        Hessian2Input hi = new Hessian2Input(new ByteArrayInputStream(dta));
+        try {
+            return hi.readObject();
+        } finally {
+            hi.close();
+        }
+    }
+}
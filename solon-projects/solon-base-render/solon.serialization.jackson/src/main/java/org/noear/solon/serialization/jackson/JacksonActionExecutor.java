@@ -7,7 +7,9 @@ import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.noear.solon.Utils;
 import org.noear.solon.core.handle.ActionExecutorDefault;
+import org.noear.solon.core.handle.ArgumentResolver;
 import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.wrap.ParamWrap;
 
 import java.util.Collection;
@@ -61,6 +63,36 @@ public class JacksonActionExecutor extends ActionExecutorDefault {
         }
     }
 
+    /**
+     * @since 2.3 @Body JsonNode 参数直接使用 body 对象（免去转换）
+     * */
+    @Override
+    protected ArgumentResolver buildResolver(MethodWrap mWrap, ParamWrap p, int pi) {
+        ArgumentResolver def = super.buildResolver(mWrap, p, pi);
+
+        if (p.requireBody() && JsonNode.class.isAssignableFrom(p.getType())) {
+            Class<?> pt = p.getType();
+
+            return new ArgumentResolver() {
+                @Override
+                public boolean requireBodyObj() {
+                    return true;
+                }
+
+                @Override
+                public Object resolve(Context ctx, Object bodyObj) throws Exception {
+                    if (pt.isInstance(bodyObj)) {
+                        return bodyObj;
+                    } else {
+                        return def.resolve(ctx, bodyObj);
+                    }
+                }
+            };
+        }
+
+        return def;
+    }
+
     /**
      * @since 1.11 增加 requireBody 支持
      * */
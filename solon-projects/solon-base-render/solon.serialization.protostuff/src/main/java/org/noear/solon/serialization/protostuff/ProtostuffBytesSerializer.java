@@ -0,0 +1,36 @@
+package org.noear.solon.serialization.protostuff;
+
+import org.noear.solon.data.cache.BytesSerializer;
+
+/**
+ * Protostuff 字节序列化（可用于缓存服务）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class ProtostuffBytesSerializer implements BytesSerializer {
+    public static final ProtostuffBytesSerializer instance = new ProtostuffBytesSerializer();
+
+    @Override
+    public String name() {
+        return "protostuff";
+    }
+
+    @Override
+    public byte[] serialize(Object obj) throws Exception {
+        if (obj == null) {
+            return null;
+        }
+
+        return ProtostuffUtil.serialize(obj);
+    }
+
+    @Override
+    public Object deserialize(byte[] dta) throws Exception {
+        if (dta == null) {
+            return null;
+        }
+
+        return ProtostuffUtil.deserialize(dta);
+    }
+}
@@ -38,4 +38,12 @@ public @interface Cache {
      * */
     @Note("缓存标签，多个以逗号隔开")
     String tags() default "";
+
+    /**
+     * 数据存放超过此时间后被读取，会异步重新加载（期间仍返回旧数据）；需小于缓存时间
+     *
+     * @since 2.3
+     * */
+    @Note("提前刷新时间，0表示不启用")
+    int refreshSeconds() default 0;
 }
@@ -0,0 +1,11 @@
+package org.noear.solon.data.cache;
+
+/**
+ * 字节对象序列化接口（直接存取原始字节，免去 Base64 之类的字符串转换）
+ *
+ * @author agent
+ * @since 2.3
+ * */
+public interface BytesSerializer extends Serializer<byte[]> {
+
+}
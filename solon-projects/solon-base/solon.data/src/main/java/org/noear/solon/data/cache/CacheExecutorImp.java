@@ -2,12 +2,20 @@ package org.noear.solon.data.cache;
 
 import org.noear.solon.Utils;
 import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.handle.ContextUtil;
 import org.noear.solon.data.annotation.Cache;
 import org.noear.solon.data.annotation.CachePut;
 import org.noear.solon.data.annotation.CacheRemove;
 import org.noear.solon.data.util.InvKeys;
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.util.RunUtil;
 import org.noear.solon.core.util.SupplierEx;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
 /**
  * 缓存执行器
  *
@@ -40,40 +48,216 @@ public class CacheExecutorImp {
         }
 
 
-        Object result = null;
         CacheService cs = CacheLib.cacheServiceGet(anno.service());
 
-        String keyLock = key + ":lock";
-
-        synchronized (keyLock.intern()) {
+        //1.从缓存获取（命中时不加锁）
+        //
+        Object result = cs.get(key);
 
-            //1.从缓存获取
+        if (result == null) {
+            //2.未命中，同一个 key 只加载一次（其它调用者等待其结果）
+            //
+            result = load(anno, inv, executor, cs, key);
+        } else if (anno.refreshSeconds() > 0) {
+            //3.命中，如果数据已旧，则异步重新加载（刷新时间记在本地，不增加缓存服务的访问）
             //
-            result = cs.get(key);
+            if (refreshRequired(anno, key)) {
+                refresh(anno, inv, executor, cs, key);
+            }
+        }
+
+        return result;
+    }
+
+    //加载结果为 null 时的占位（与"未加载"区分）
+    private static final Object NULL_RESULT = new Object();
+
+    //加载中的 key（只有加载时才存在，不会无限增长）
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    //刷新时间记录（本地；数据过期后会被清理）
+    private final Map<String, RefreshMark> refreshMarks = new ConcurrentHashMap<>();
+    //下次清理刷新记录的数量阈值
+    private volatile int refreshMarksSweepSize = 1024;
+
+    /**
+     * 加载并缓存（单飞：同一个 key 同时只有一个加载）
+     */
+    private Object load(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key) throws Throwable {
+        //不同缓存服务的 key 可能相同
+        String flightKey = flightKey(anno, key);
+        Flight flight = new Flight();
+        Flight existing = flights.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            if (existing.owner == Thread.currentThread()) {
+                //重入（同一线程内加载同一个 key）
+                return executor.get();
+            }
+
+            return existing.await();
+        }
+
+        try {
+            //再次确认（可能刚被别的加载存入）
+            Object result = cs.get(key);
 
             if (result == null) {
-                //2.执行调用，并返回
-                //
                 result = executor.get();
 
                 if (result != null) {
-                    //3.不为null，则进行缓存
-                    //
-                    cs.store(key, result, anno.seconds());
-
-                    if (Utils.isNotEmpty(anno.tags())) {
-                        String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, result);
-                        CacheTags ct = new CacheTags(cs);
-
-                        //4.添加缓存标签
-                        for (String tag : tags.split(",")) {
-                            ct.add(tag, key, anno.seconds());
-                        }
-                    }
+                    store(anno, inv, cs, key, result);
                 }
             }
 
+            flight.complete(result);
             return result;
+        } catch (Throwable e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 后台加载并缓存（已有加载时，不再加载）
+     */
+    private void loadInBackground(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key) throws Throwable {
+        String flightKey = flightKey(anno, key);
+        Flight flight = new Flight();
+
+        if (flights.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+
+        try {
+            Object result = executor.get();
+
+            if (result != null) {
+                store(anno, inv, cs, key, result);
+            }
+
+            flight.complete(result);
+        } catch (Throwable e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    private static String flightKey(Cache anno, String key) {
+        return anno.service() + "#" + key;
+    }
+
+    /**
+     * 是否需要刷新（没有记录的，比如由别的节点存入，从现在开始计时）
+     */
+    private boolean refreshRequired(Cache anno, String key) {
+        String markKey = flightKey(anno, key);
+        RefreshMark mark = refreshMarks.get(markKey);
+        long now = System.currentTimeMillis();
+
+        if (mark == null) {
+            refreshMarkSet(anno, markKey, now);
+            return false;
+        }
+
+        if (mark.refreshAt > now) {
+            return false;
+        }
+
+        //先续上刷新时间，避免重复触发（只有一个线程能替换成功）
+        return refreshMarks.replace(markKey, mark, new RefreshMark(anno, now));
+    }
+
+    private void refreshMarkSet(Cache anno, String markKey, long now) {
+        refreshMarks.put(markKey, new RefreshMark(anno, now));
+
+        if (refreshMarks.size() > refreshMarksSweepSize) {
+            //清理数据已过期的记录
+            refreshMarks.values().removeIf(m -> m.expireAt <= now);
+            refreshMarksSweepSize = Math.max(1024, refreshMarks.size() * 2);
+        }
+    }
+
+    /**
+     * 异步刷新（不绑定请求上下文：请求可能已结束，其 request/response 会被回收或复用；key 已在调用者线程里生成）
+     */
+    private void refresh(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key) {
+        RunUtil.async(() -> {
+            //线程池的线程可能继承了别的请求的上下文（InheritableThreadLocal）
+            ContextUtil.currentRemove();
+
+            try {
+                loadInBackground(anno, inv, executor, cs, key);
+            } catch (Throwable e) {
+                EventBus.pushTry(e);
+            }
+        });
+    }
+
+    /**
+     * 存储（包括标签与刷新时间）
+     */
+    private void store(Cache anno, Invocation inv, CacheService cs, String key, Object result) {
+        //不为null，则进行缓存
+        //
+        cs.store(key, result, anno.seconds());
+
+        if (anno.refreshSeconds() > 0) {
+            refreshMarkSet(anno, flightKey(anno, key), System.currentTimeMillis());
+        }
+
+        if (Utils.isNotEmpty(anno.tags())) {
+            String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, result);
+            CacheTags ct = new CacheTags(cs);
+
+            //添加缓存标签
+            for (String tag : tags.split(",")) {
+                ct.add(tag, key, anno.seconds());
+            }
+        }
+    }
+
+    /**
+     * 加载中的记录
+     */
+    private static class Flight {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final Thread owner = Thread.currentThread();
+
+        void complete(Object result) {
+            future.complete(result == null ? NULL_RESULT : result);
+        }
+
+        /**
+         * 等待加载结果（加载结果为 null 的，返回 null）
+         */
+        Object await() throws Throwable {
+            Object result;
+
+            try {
+                result = future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+
+            return (result == NULL_RESULT ? null : result);
+        }
+    }
+
+    /**
+     * 刷新时间记录
+     */
+    private static class RefreshMark {
+        final long refreshAt;
+        final long expireAt;
+
+        RefreshMark(Cache anno, long now) {
+            this.refreshAt = now + anno.refreshSeconds() * 1000L;
+            this.expireAt = now + Math.max(anno.seconds(), anno.refreshSeconds()) * 1000L;
         }
     }
 
@@ -26,6 +26,12 @@ public class CacheTags {
     public void add(String tag, String targetCacheKey, int refSeconds) {
         String tagKey = _tagKey(tag);
 
+        if (_cache instanceof CacheTagsIndex) {
+            //原生索引（不需要读写整个列表）
+            ((CacheTagsIndex) _cache).tagAdd(tagKey, targetCacheKey, refSeconds);
+            return;
+        }
+
         List<String> cacheKeyList = _get(tagKey);
         if (cacheKeyList.contains(targetCacheKey))
             return;
@@ -65,6 +71,11 @@ public class CacheTags {
     public CacheTags remove(String tag) {
         String tagKey = _tagKey(tag);
 
+        if (_cache instanceof CacheTagsIndex) {
+            ((CacheTagsIndex) _cache).tagRemove(tagKey);
+            return this;
+        }
+
         List<String> cacheKeyList = _get(tagKey);
 
         for (String cacheKey : cacheKeyList) {
@@ -88,6 +99,11 @@ public class CacheTags {
     public void update(String tag, Object newValue, int seconds) {
         String tagKey = _tagKey(tag);
 
+        if (_cache instanceof CacheTagsIndex) {
+            ((CacheTagsIndex) _cache).tagUpdate(tagKey, newValue, seconds);
+            return;
+        }
+
         List<String> cacheKeyList = _get(tagKey);
 
         for (String cacheKey : cacheKeyList) {
@@ -0,0 +1,38 @@
+package org.noear.solon.data.cache;
+
+/**
+ * 缓存标签索引（由缓存服务原生实现，如：Redis SET、本地并发集合）
+ *
+ * <pre><code>
+ * 缓存服务实现此接口后，CacheTags 不再读写整个键列表（避免大对象重写与并发丢失）
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public interface CacheTagsIndex {
+    /**
+     * 为缓存键添加标签
+     *
+     * @param tagKey  标签键
+     * @param key     缓存键
+     * @param seconds 缓存秒数（标签的存活时间不小于此值）
+     */
+    void tagAdd(String tagKey, String key, int seconds);
+
+    /**
+     * 移除标签及其相关的所有缓存
+     *
+     * @param tagKey 标签键
+     */
+    void tagRemove(String tagKey);
+
+    /**
+     * 更新标签相关的所有缓存（类型一样才更新；新值为 null 时删除）
+     *
+     * @param tagKey   标签键
+     * @param newValue 新的值
+     * @param seconds  缓存秒数
+     */
+    void tagUpdate(String tagKey, Object newValue, int seconds);
+}
@@ -69,6 +69,12 @@ public class CacheTagsServiceImpl implements CacheTagsService {
 
             String tagKey = this._tagKey(tag);
 
+            if (this._cache instanceof CacheTagsIndex) {
+                //原生索引
+                ((CacheTagsIndex) this._cache).tagRemove(tagKey);
+                continue;
+            }
+
             List<String> cacheKeyList = this._get(tagKey);
 
             for (String cacheKey : cacheKeyList) {
@@ -105,6 +111,12 @@ public class CacheTagsServiceImpl implements CacheTagsService {
     protected void update(String key, String tag, Object newValue, int refSeconds) {
         String tagKey = this._tagKey(tag);
 
+        if (this._cache instanceof CacheTagsIndex) {
+            //原生索引（值已在 storeTag 时存入）
+            ((CacheTagsIndex) this._cache).tagAdd(tagKey, key, refSeconds);
+            return;
+        }
+
         List<String> cacheKeyList = this._get(tagKey);
         if (cacheKeyList.contains(key)) {
             Object temp = this._cache.get(key);
@@ -0,0 +1,132 @@
+package org.noear.solon.data.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩的字节序列化（超过阈值时才压缩）
+ *
+ * <pre><code>
+ * 数据格式：1 字节标记（0 原样，1 压缩） + 数据
+ * 默认使用 JDK Deflater；可重写 compress, decompress 换成 lz4、zstd 等
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ * */
+public class CompressedSerializer implements BytesSerializer {
+    private static final byte FLAG_RAW = 0;
+    private static final byte FLAG_COMPRESSED = 1;
+
+    private final BytesSerializer real;
+    private final int threshold;
+
+    /**
+     * @param real      真实的序列化
+     * @param threshold 压缩阈值（字节数）
+     */
+    public CompressedSerializer(BytesSerializer real, int threshold) {
+        this.real = real;
+        this.threshold = threshold;
+    }
+
+    public CompressedSerializer(BytesSerializer real) {
+        this(real, 1024);
+    }
+
+    @Override
+    public String name() {
+        return real.name() + "+compressed";
+    }
+
+    @Override
+    public byte[] serialize(Object obj) throws Exception {
+        byte[] data = real.serialize(obj);
+
+        if (data == null) {
+            return null;
+        }
+
+        if (data.length >= threshold) {
+            byte[] tmp = compress(data);
+
+            //压缩无效时，保持原样
+            if (tmp.length < data.length) {
+                return join(FLAG_COMPRESSED, tmp);
+            }
+        }
+
+        return join(FLAG_RAW, data);
+    }
+
+    @Override
+    public Object deserialize(byte[] dta) throws Exception {
+        if (dta == null || dta.length == 0) {
+            return null;
+        }
+
+        byte[] data = new byte[dta.length - 1];
+        System.arraycopy(dta, 1, data, 0, data.length);
+
+        if (dta[0] == FLAG_COMPRESSED) {
+            data = decompress(data);
+        }
+
+        return real.deserialize(data);
+    }
+
+    /**
+     * 压缩
+     */
+    protected byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buf = new byte[4096];
+            while (deflater.finished() == false) {
+                int len = deflater.deflate(buf);
+                out.write(buf, 0, len);
+            }
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 解压
+     */
+    protected byte[] decompress(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+            byte[] buf = new byte[4096];
+            while (inflater.finished() == false) {
+                int len = inflater.inflate(buf);
+                if (len == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Incomplete compressed data");
+                }
+                out.write(buf, 0, len);
+            }
+
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] join(byte flag, byte[] data) {
+        byte[] tmp = new byte[data.length + 1];
+        tmp[0] = flag;
+        System.arraycopy(data, 0, tmp, 1, data.length);
+        return tmp;
+    }
+}
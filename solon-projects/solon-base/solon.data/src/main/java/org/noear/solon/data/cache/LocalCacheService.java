@@ -12,13 +12,15 @@ import java.util.concurrent.*;
  * @author noear
  * @since 1.0
  * */
-public class LocalCacheService implements CacheService {
+public class LocalCacheService implements CacheService, CacheTagsIndex {
     public static final CacheService instance = new LocalCacheService();
 
     private int _defaultSeconds;
 
     //缓存存储器
     private Map<String, Entity> _data = new ConcurrentHashMap<>();
+    //标签索引
+    private final LocalCacheTagsIndex tagsIndex = new LocalCacheTagsIndex(this);
     //计划线程池（用于超时处理）
     private static ScheduledExecutorService _exec = Executors.newSingleThreadScheduledExecutor();
 
@@ -115,6 +117,25 @@ public class LocalCacheService implements CacheService {
         _data.clear();
     }
 
+    @Override
+    public void tagAdd(String tagKey, String key, int seconds) {
+        if (seconds <= 0) {
+            seconds = getDefalutSeconds();
+        }
+
+        tagsIndex.tagAdd(tagKey, key, seconds);
+    }
+
+    @Override
+    public void tagRemove(String tagKey) {
+        tagsIndex.tagRemove(tagKey);
+    }
+
+    @Override
+    public void tagUpdate(String tagKey, Object newValue, int seconds) {
+        tagsIndex.tagUpdate(tagKey, newValue, seconds);
+    }
+
     public int getDefalutSeconds() {
         return _defaultSeconds;
     }
@@ -0,0 +1,95 @@
+package org.noear.solon.data.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地缓存标签索引（并发集合实现；供本地缓存服务使用）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class LocalCacheTagsIndex implements CacheTagsIndex {
+    //每添加多少次，清理一次过期的标签
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final CacheService cache;
+    private final Map<String, TagSet> tags = new ConcurrentHashMap<>();
+    private final AtomicInteger addCount = new AtomicInteger();
+
+    public LocalCacheTagsIndex(CacheService cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void tagAdd(String tagKey, String key, int seconds) {
+        long now = System.currentTimeMillis();
+        long expireAt = now + seconds * 1000L;
+
+        //在 compute 内添加，与 tagRemove 互斥（避免添加到已移除的集合）
+        tags.compute(tagKey, (k, v) -> {
+            if (v == null || v.expireAt <= now) {
+                v = new TagSet();
+            }
+
+            if (v.expireAt < expireAt) {
+                v.expireAt = expireAt;
+            }
+
+            v.keys.add(key);
+            return v;
+        });
+
+        if (addCount.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            tags.values().removeIf(v -> v.expireAt <= now);
+        }
+    }
+
+    @Override
+    public void tagRemove(String tagKey) {
+        TagSet tagSet = tags.remove(tagKey);
+
+        if (tagSet != null) {
+            for (String key : tagSet.keys) {
+                cache.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void tagUpdate(String tagKey, Object newValue, int seconds) {
+        TagSet tagSet = tags.get(tagKey);
+
+        if (tagSet == null || tagSet.expireAt <= System.currentTimeMillis()) {
+            return;
+        }
+
+        for (String key : tagSet.keys) {
+            Object temp = cache.get(key);
+
+            if (temp != null) {
+                //如果之前有缓存，则：
+                //
+                if (newValue == null) {
+                    //如果值为null，则删除
+                    cache.remove(key);
+                } else {
+                    //类型一样才更新 //避免引起莫名的错
+                    if (newValue.getClass() == temp.getClass()) {
+                        cache.store(key, newValue, seconds);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 标签集合
+     */
+    private static class TagSet {
+        final Set<String> keys = ConcurrentHashMap.newKeySet();
+        volatile long expireAt;
+    }
+}
@@ -0,0 +1,14 @@
+package org.noear.solon.data.cache;
+
+import java.util.Properties;
+
+/**
+ * @author agent
+ * @since 2.3
+ */
+public class LocalLruCacheFactoryImpl implements CacheFactory{
+    @Override
+    public CacheService create(Properties props) {
+        return new LocalLruCacheService(props);
+    }
+}
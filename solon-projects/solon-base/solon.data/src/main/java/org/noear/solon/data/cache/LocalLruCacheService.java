@@ -0,0 +1,301 @@
+package org.noear.solon.data.cache;
+
+import org.noear.solon.Utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界的本地缓存服务（分段锁 + LRU 淘汰 + 惰性过期）
+ *
+ * <pre><code>
+ * 1.按 key 哈希分段加锁（不再 intern key，也不会有全局锁）
+ * 2.过期采用惰性处理：读取时检查；写入时顺带抽查分段中最久未用的几项（不需要计划任务）
+ * 3.超过 maxSize 时，按分段淘汰最久未用的项
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class LocalLruCacheService implements CacheService, CacheTagsIndex {
+    //写入时，顺带抽查的数量
+    private static final int SWEEP_SAMPLES = 4;
+
+    private final int defaultSeconds;
+    private final int maxSize;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    //标签索引
+    private final LocalCacheTagsIndex tagsIndex = new LocalCacheTagsIndex(this);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+
+    public LocalLruCacheService() {
+        this(30, 100_000);
+    }
+
+    /**
+     * @param defSeconds 默认秒数
+     * @param maxSize    最大数量
+     */
+    public LocalLruCacheService(int defSeconds, int maxSize) {
+        this(defSeconds, maxSize, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param defSeconds  默认秒数
+     * @param maxSize     最大数量
+     * @param concurrency 并发级别（分段数量，会调整为 2 的次方）
+     */
+    public LocalLruCacheService(int defSeconds, int maxSize, int concurrency) {
+        if (defSeconds < 1) {
+            defSeconds = 30;
+        }
+
+        if (maxSize < 1) {
+            maxSize = 100_000;
+        }
+
+        int size = 1;
+        while (size < concurrency && size < maxSize) {
+            size <<= 1;
+        }
+
+        this.defaultSeconds = defSeconds;
+        this.maxSize = maxSize;
+        this.segments = new Segment[size];
+        this.segmentMask = size - 1;
+
+        int segmentMaxSize = Math.max(1, (maxSize + size - 1) / size);
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    public LocalLruCacheService(Properties prop) {
+        this(parseInt(prop.getProperty("defSeconds")), parseInt(prop.getProperty("maxSize")));
+    }
+
+    private static int parseInt(String str) {
+        if (Utils.isNotEmpty(str)) {
+            return Integer.parseInt(str);
+        } else {
+            return 0;
+        }
+    }
+
+    private Segment segmentOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * 保存
+     *
+     * @param key     缓存键
+     * @param obj     对象
+     * @param seconds 秒数
+     */
+    @Override
+    public void store(String key, Object obj, int seconds) {
+        if (seconds <= 0) {
+            seconds = getDefalutSeconds();
+        }
+
+        long now = System.currentTimeMillis();
+        segmentOf(key).put(key, new Entity(obj, now + seconds * 1000L), now);
+    }
+
+    /**
+     * 获取
+     *
+     * @param key 缓存键
+     */
+    @Override
+    public Object get(String key) {
+        Object val = segmentOf(key).get(key, System.currentTimeMillis());
+
+        if (val == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+
+        return val;
+    }
+
+    /**
+     * 移除
+     *
+     * @param key 缓存键
+     */
+    @Override
+    public void remove(String key) {
+        segmentOf(key).remove(key);
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        for (Segment s : segments) {
+            s.clear();
+        }
+    }
+
+    /**
+     * 数量（可能包括已过期未清理的项）
+     */
+    public int size() {
+        int size = 0;
+        for (Segment s : segments) {
+            size += s.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void tagAdd(String tagKey, String key, int seconds) {
+        if (seconds <= 0) {
+            seconds = getDefalutSeconds();
+        }
+
+        tagsIndex.tagAdd(tagKey, key, seconds);
+    }
+
+    @Override
+    public void tagRemove(String tagKey) {
+        tagsIndex.tagRemove(tagKey);
+    }
+
+    @Override
+    public void tagUpdate(String tagKey, Object newValue, int seconds) {
+        tagsIndex.tagUpdate(tagKey, newValue, seconds);
+    }
+
+    public int getDefalutSeconds() {
+        return defaultSeconds;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 未命中次数
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 淘汰次数（因超过数量）
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 过期清理次数
+     */
+    public long expiredCount() {
+        return expiredCount.sum();
+    }
+
+
+    /**
+     * 缓存分段
+     */
+    private class Segment {
+        private final LinkedHashMap<String, Entity> data;
+
+        Segment(int maxSize) {
+            data = new LinkedHashMap<String, Entity>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entity> eldest) {
+                    if (size() > maxSize) {
+                        evictionCount.increment();
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+            };
+        }
+
+        synchronized Object get(String key, long now) {
+            Entity ent = data.get(key);
+
+            if (ent == null) {
+                return null;
+            }
+
+            if (ent.expireAt <= now) {
+                data.remove(key);
+                expiredCount.increment();
+                return null;
+            }
+
+            return ent.value;
+        }
+
+        synchronized void put(String key, Entity ent, long now) {
+            data.put(key, ent);
+            sweep(now);
+        }
+
+        synchronized void remove(String key) {
+            data.remove(key);
+        }
+
+        synchronized void clear() {
+            data.clear();
+        }
+
+        synchronized int size() {
+            return data.size();
+        }
+
+        /**
+         * 抽查最久未用的几项，清理已过期的
+         */
+        private void sweep(long now) {
+            Iterator<Entity> iterator = data.values().iterator();
+
+            for (int i = 0; i < SWEEP_SAMPLES && iterator.hasNext(); i++) {
+                if (iterator.next().expireAt <= now) {
+                    iterator.remove();
+                    expiredCount.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 存储实体
+     */
+    private static class Entity {
+        final Object value;
+        final long expireAt;
+
+        Entity(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -16,6 +16,7 @@ public class XPluginImp implements Plugin {
     public void start(AopContext context) {
         //注册缓存工厂
         CacheLib.cacheFactoryAdd("local", new LocalCacheFactoryImpl());
+        CacheLib.cacheFactoryAdd("lru", new LocalLruCacheFactoryImpl());
 
         //添加事务控制支持
         if (Solon.app().enableTransaction()) {
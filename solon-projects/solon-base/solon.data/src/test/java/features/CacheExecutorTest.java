@@ -0,0 +1,129 @@
+package features;
+
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.handle.ContextUtil;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.noear.solon.data.annotation.Cache;
+import org.noear.solon.data.cache.CacheExecutorImp;
+import org.noear.solon.data.cache.CacheLib;
+import org.noear.solon.data.cache.LocalLruCacheService;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 同一个 key 并发未命中时，只加载一次
+ *
+ * @author agent 2026/10/18 created
+ */
+public class CacheExecutorTest {
+    @Cache(key = "demo", seconds = 10, refreshSeconds = 1)
+    public String demo() {
+        return "demo";
+    }
+
+    public static void main(String[] args) throws Throwable {
+        CacheLib.cacheServiceAdd("", new LocalLruCacheService());
+
+        MethodWrap mWrap = new MethodWrap(new AopContext(), CacheExecutorTest.class.getMethod("demo"));
+        Cache anno = mWrap.getAnnotation(Cache.class);
+        Invocation inv = new Invocation(new CacheExecutorTest(), new Object[0], mWrap, mWrap.getArounds());
+
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(8);
+
+        for (int i = 0; i < 8; i++) {
+            new Thread(() -> {
+                try {
+                    Object rst = CacheExecutorImp.global.cache(anno, inv, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "demo";
+                    });
+
+                    assert "demo".equals(rst);
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        latch.await();
+        assert loads.get() == 1;
+
+        //过了刷新时间，异步重新加载（仍返回旧数据；不绑定调用者的上下文，请求可能已结束）
+        Thread.sleep(1100);
+        Context ctx = new ContextEmpty();
+        AtomicReference<Context> reloadCtx = new AtomicReference<>(ctx);
+        ContextUtil.currentSet(ctx);
+        try {
+            assert "demo".equals(CacheExecutorImp.global.cache(anno, inv, () -> {
+                reloadCtx.set(Context.current());
+                loads.incrementAndGet();
+                return "demo2";
+            }));
+        } finally {
+            ContextUtil.currentRemove();
+        }
+
+        Thread.sleep(200);
+        assert loads.get() == 2;
+        assert reloadCtx.get() == null;
+        assert "demo2".equals(CacheLib.cacheServiceGet("").get("demo"));
+
+        //刷新时间未到，不再加载
+        CacheExecutorImp.global.cache(anno, inv, () -> "demo3");
+        Thread.sleep(100);
+        assert loads.get() == 2;
+
+        nullResult();
+    }
+
+    @Cache(key = "none", seconds = 10)
+    public String none() {
+        return null;
+    }
+
+    /**
+     * 加载结果为 null 时，等待者得到 null（不再各自加载）
+     */
+    private static void nullResult() throws Throwable {
+        MethodWrap mWrap = new MethodWrap(new AopContext(), CacheExecutorTest.class.getMethod("none"));
+        Cache anno = mWrap.getAnnotation(Cache.class);
+        Invocation inv = new Invocation(new CacheExecutorTest(), new Object[0], mWrap, mWrap.getArounds());
+
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger nulls = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++) {
+            new Thread(() -> {
+                try {
+                    Object rst = CacheExecutorImp.global.cache(anno, inv, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return null;
+                    });
+
+                    if (rst == null) {
+                        nulls.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        latch.await();
+        assert loads.get() == 1;
+        assert nulls.get() == 4;
+    }
+}
@@ -0,0 +1,53 @@
+package features;
+
+import org.noear.solon.data.cache.CacheTags;
+import org.noear.solon.data.cache.LocalLruCacheService;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class CacheTagsTest {
+
+    public static void main(String[] args) throws Exception {
+        LocalLruCacheService cacheService = new LocalLruCacheService(30, 10_000, 4);
+        CacheTags tags = new CacheTags(cacheService);
+
+        //并发添加（不能丢失）
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            String key = "k" + i;
+            executor.submit(() -> {
+                cacheService.store(key, "v", 100);
+                tags.add("user", key, 100);
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        //更新
+        tags.update("user", "v2", 100);
+        assert "v2".equals(cacheService.get("k1"));
+
+        //类型不同，不更新
+        tags.update("user", 12, 100);
+        assert "v2".equals(cacheService.get("k1"));
+
+        //移除
+        tags.remove("user");
+        for (int i = 0; i < 1000; i++) {
+            assert cacheService.get("k" + i) == null;
+        }
+
+        //移除后，再添加
+        cacheService.store("k1", "v", 100);
+        tags.add("user", "k1", 100);
+        tags.remove("user");
+        assert cacheService.get("k1") == null;
+    }
+}
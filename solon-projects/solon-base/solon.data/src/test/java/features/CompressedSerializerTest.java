@@ -0,0 +1,67 @@
+package features;
+
+import org.noear.solon.data.cache.BytesSerializer;
+import org.noear.solon.data.cache.CompressedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class CompressedSerializerTest {
+
+    public static void main(String[] args) throws Exception {
+        CompressedSerializer serializer = new CompressedSerializer(new JdkSerializer(), 256);
+
+        //小数据，不压缩
+        byte[] small = serializer.serialize("hello");
+        assert small[0] == 0;
+        assert "hello".equals(serializer.deserialize(small));
+
+        //大数据，压缩
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add("item-" + i);
+        }
+
+        byte[] big = serializer.serialize(list);
+        assert big[0] == 1;
+        assert big.length < new JdkSerializer().serialize(list).length;
+        assert list.equals(serializer.deserialize(big));
+
+        assert serializer.serialize(null) == null;
+        assert serializer.deserialize(null) == null;
+    }
+
+    static class JdkSerializer implements BytesSerializer {
+        @Override
+        public String name() {
+            return "jdk";
+        }
+
+        @Override
+        public byte[] serialize(Object obj) throws Exception {
+            if (obj == null) {
+                return null;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(obj);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public Object deserialize(byte[] dta) throws Exception {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(dta))) {
+                return ois.readObject();
+            }
+        }
+    }
+}
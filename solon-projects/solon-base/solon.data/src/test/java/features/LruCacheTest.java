@@ -0,0 +1,35 @@
+package features;
+
+import org.noear.solon.data.cache.LocalLruCacheService;
+
+/**
+ * @author agent 2026/10/18 created
+ */
+public class LruCacheTest {
+
+    public static void main(String[] args) throws Exception {
+        LocalLruCacheService cacheService = new LocalLruCacheService(30, 64, 4);
+
+        cacheService.store("1", "world", 100);
+        assert "world".equals(cacheService.get("1"));
+        assert cacheService.get("2") == null;
+        assert cacheService.hitCount() == 1;
+        assert cacheService.missCount() == 1;
+
+        //数量限制
+        for (int i = 0; i < 1000; i++) {
+            cacheService.store("k" + i, i, 100);
+        }
+        assert cacheService.size() <= 64;
+        assert cacheService.evictionCount() > 0;
+
+        //过期
+        cacheService.store("3", "x", 1);
+        Thread.sleep(1100);
+        assert cacheService.get("3") == null;
+        assert cacheService.expiredCount() == 1;
+
+        cacheService.remove("k999");
+        assert cacheService.get("k999") == null;
+    }
+}
@@ -3,9 +3,12 @@ package org.noear.solon.logging;
 import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.logging.appender.AsyncAppender;
 import org.noear.solon.logging.event.Appender;
 import org.noear.solon.logging.event.Level;
 import org.noear.solon.logging.event.LogEvent;
+import org.noear.solon.logging.persistent.FullPolicy;
+import org.noear.solon.logging.persistent.PersistentAppenderBase;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -28,6 +31,16 @@ public final class AppenderHolder {
     }
 
     public AppenderHolder(String name, Appender real, boolean printed) {
+        if (Solon.app() != null && (real instanceof PersistentAppenderBase) == false) {
+            //异步模式（持久化添加器本身已是异步的）
+            if (Solon.cfg().getBool("solon.logging.appender." + name + ".async", false)) {
+                int queueSize = Solon.cfg().getInt("solon.logging.appender." + name + ".queueSize", 16384);
+                String policyStr = Solon.cfg().get("solon.logging.appender." + name + ".fullPolicy");
+
+                real = new AsyncAppender(real, queueSize, FullPolicy.of(policyStr, FullPolicy.BLOCK));
+            }
+        }
+
         this.real = real;
         this.name = name;
         this.printed = printed;
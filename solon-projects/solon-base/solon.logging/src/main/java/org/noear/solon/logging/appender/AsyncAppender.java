@@ -0,0 +1,101 @@
+package org.noear.solon.logging.appender;
+
+import org.noear.solon.logging.event.Appender;
+import org.noear.solon.logging.event.Level;
+import org.noear.solon.logging.event.LogEvent;
+import org.noear.solon.logging.persistent.FullPolicy;
+import org.noear.solon.logging.persistent.RingBufferQueueTask;
+
+import java.util.List;
+
+/**
+ * 异步添加器（把真实添加器移到后台线程；经有界环形缓冲，日志线程不再同步执行）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class AsyncAppender implements Appender {
+    private final Appender real;
+    private final RingBufferQueueTask<LogEvent> queueTask;
+
+    /**
+     * @param real       真实的添加器
+     * @param capacity   队列容量
+     * @param fullPolicy 队列满时的策略
+     */
+    public AsyncAppender(Appender real, int capacity, FullPolicy fullPolicy) {
+        this.real = real;
+        this.queueTask = new RingBufferQueueTask<>(capacity);
+
+        //低于 WARN 的，可丢弃
+        queueTask.setDiscardable(e -> e.getLevel().code < Level.WARN.code);
+        queueTask.setFullPolicy(fullPolicy);
+        queueTask.setInterval(100);
+        queueTask.setWorkHandler(this::onEvents);
+    }
+
+    public AsyncAppender(Appender real) {
+        this(real, 16384, FullPolicy.BLOCK);
+    }
+
+    private void onEvents(List<LogEvent> list) {
+        for (LogEvent logEvent : list) {
+            try {
+                real.append(logEvent);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * 真实的添加器
+     */
+    public Appender real() {
+        return real;
+    }
+
+    /**
+     * 队列任务（可查看积压与丢弃数量）
+     */
+    public RingBufferQueueTask<LogEvent> queueTask() {
+        return queueTask;
+    }
+
+    @Override
+    public Level getDefaultLevel() {
+        return real.getDefaultLevel();
+    }
+
+    @Override
+    public void start() {
+        real.start();
+    }
+
+    @Override
+    public void stop() {
+        try {
+            //先处理完积压的
+            queueTask.close();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        real.stop();
+    }
+
+    @Override
+    public String getName() {
+        return real.getName();
+    }
+
+    @Override
+    public void setName(String name) {
+        real.setName(name);
+    }
+
+    @Override
+    public void append(LogEvent logEvent) {
+        queueTask.add(logEvent);
+    }
+}
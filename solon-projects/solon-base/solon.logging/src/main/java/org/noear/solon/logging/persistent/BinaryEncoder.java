@@ -0,0 +1,70 @@
+package org.noear.solon.logging.persistent;
+
+import org.noear.solon.core.util.Utf8Util;
+import org.noear.solon.logging.event.LogEvent;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * 二进制编码器（长度前缀；紧凑，适合再由工具读取）
+ *
+ * <pre><code>
+ * event  = int 总长度（不含自身） + long 时间戳 + byte 级别 + str 日志器 + str 线程
+ *          + short 元信息数量 + (str 键 + str 值)* + str 内容 + str 异常
+ * str    = int 字节长度（null 为 -1） + UTF-8 字节
+ * 数字均为大端
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class BinaryEncoder implements LogEventEncoder {
+    public static final BinaryEncoder instance = new BinaryEncoder();
+
+    @Override
+    public void encode(LogEvent event, ByteBuffer buf) {
+        int start = buf.position();
+        buf.putInt(0); //占位，最后回填
+
+        buf.putLong(event.getTimeStamp());
+        buf.put((byte) event.getLevel().code);
+        putString(buf, event.getLoggerName());
+        putString(buf, event.getThreadName());
+
+        Map<String, String> meta = event.getMetainfo();
+        if (meta == null) {
+            buf.putShort((short) 0);
+        } else {
+            buf.putShort((short) Math.min(meta.size(), Short.MAX_VALUE));
+
+            int count = 0;
+            for (Map.Entry<String, String> kv : meta.entrySet()) {
+                if (count++ == Short.MAX_VALUE) {
+                    break;
+                }
+
+                putString(buf, kv.getKey());
+                putString(buf, kv.getValue());
+            }
+        }
+
+        putString(buf, EncoderUtil.contentOf(event));
+        putString(buf, EncoderUtil.throwableOf(event));
+
+        buf.putInt(start, buf.position() - start - 4);
+    }
+
+    private static void putString(ByteBuffer buf, String str) {
+        if (str == null) {
+            buf.putInt(-1);
+        } else {
+            int start = buf.position();
+            buf.putInt(0); //占位，最后回填
+
+            Utf8Util.put(buf, str);
+
+            buf.putInt(start, buf.position() - start - 4);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.noear.solon.logging.persistent;
+
+import org.noear.snack.ONode;
+import org.noear.solon.Utils;
+import org.noear.solon.core.util.Utf8Util;
+import org.noear.solon.logging.event.LogEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 编码工具（按字符直接写入 UTF-8，不产生 byte[]；UTF-8 写入见 Utf8Util）
+ *
+ * @author agent
+ * @since 2.3
+ */
+class EncoderUtil {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] LONG_MIN_VALUE = String.valueOf(Long.MIN_VALUE).getBytes();
+
+    /**
+     * 获取内容文本
+     */
+    public static String contentOf(LogEvent event) {
+        Object content = event.getContent();
+
+        if (content == null) {
+            return null;
+        } else if (content instanceof String) {
+            return (String) content;
+        } else {
+            return ONode.stringify(content);
+        }
+    }
+
+    /**
+     * 获取异常文本
+     */
+    public static String throwableOf(LogEvent event) {
+        if (event.getThrowable() == null) {
+            return null;
+        } else {
+            return Utils.throwableToString(event.getThrowable());
+        }
+    }
+
+    /**
+     * 写入 JSON 字符串（带引号与转义）
+     */
+    public static void putJsonString(ByteBuffer buf, CharSequence str) {
+        buf.put((byte) '"');
+
+        int start = 0;
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c == '"' || c == '\\' || c < 0x20) {
+                if (i > start) {
+                    Utf8Util.put(buf, str, start, i);
+                }
+
+                buf.put((byte) '\\');
+                switch (c) {
+                    case '"':
+                        buf.put((byte) '"');
+                        break;
+                    case '\\':
+                        buf.put((byte) '\\');
+                        break;
+                    case '\n':
+                        buf.put((byte) 'n');
+                        break;
+                    case '\r':
+                        buf.put((byte) 'r');
+                        break;
+                    case '\t':
+                        buf.put((byte) 't');
+                        break;
+                    default:
+                        buf.put((byte) 'u').put((byte) '0').put((byte) '0');
+                        buf.put(HEX[c >> 4]).put(HEX[c & 0xF]);
+                        break;
+                }
+
+                start = i + 1;
+            }
+        }
+
+        if (start < str.length()) {
+            Utf8Util.put(buf, str, start, str.length());
+        }
+
+        buf.put((byte) '"');
+    }
+
+    /**
+     * 写入 ASCII 数字
+     */
+    public static void putLong(ByteBuffer buf, long val) {
+        if (val == Long.MIN_VALUE) {
+            //取反会溢出
+            buf.put(LONG_MIN_VALUE);
+            return;
+        }
+
+        if (val < 0) {
+            buf.put((byte) '-');
+            val = -val;
+        }
+
+        if (val >= 10) {
+            putLong(buf, val / 10);
+        }
+
+        buf.put((byte) ('0' + (val % 10)));
+    }
+}
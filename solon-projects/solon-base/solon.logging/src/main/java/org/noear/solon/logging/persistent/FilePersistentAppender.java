@@ -0,0 +1,257 @@
+package org.noear.solon.logging.persistent;
+
+import org.noear.solon.Solon;
+import org.noear.solon.Utils;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.logging.event.LogEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 文件持久化添加器（批量编码到复用的直接缓冲区，每批一次写入）
+ *
+ * <pre><code>
+ * solon.logging.appender:
+ *   file:
+ *     class: "org.noear.solon.logging.persistent.FilePersistentAppender"
+ *     dir: "logs"           #默认为 logs
+ *     format: "json"        #json（JSON 行） 或 binary（长度前缀二进制）
+ *     maxFileSize: "100mb"  #按大小滚动，默认为 100mb
+ *     force: false          #每批写入后是否刷盘（组提交）
+ * </code></pre>
+ *
+ * 文件名为 {name}.{yyyy-MM-dd}.{序号}.log，按天及大小滚动（以批为单位，不会拆开一批）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class FilePersistentAppender extends PersistentAppenderBase {
+    private File dir = new File("logs");
+    private LogEventEncoder encoder = JsonLinesEncoder.instance;
+    private long maxFileSize = 100L * 1024 * 1024;
+    private boolean force;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+
+    private FileChannel channel;
+    private LocalDate channelDate;
+    private int channelIndex;
+    private long channelSize;
+    //已停止（与写入互斥）
+    private boolean stopped;
+
+    public void setDir(File dir) {
+        if (dir != null) {
+            this.dir = dir;
+        }
+    }
+
+    public void setEncoder(LogEventEncoder encoder) {
+        if (encoder != null) {
+            this.encoder = encoder;
+        }
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        if (maxFileSize > 0) {
+            this.maxFileSize = maxFileSize;
+        }
+    }
+
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+
+        if (Solon.app() != null) {
+            String prefix = "solon.logging.appender." + getName() + ".";
+
+            String dirStr = Solon.cfg().get(prefix + "dir");
+            if (Utils.isNotEmpty(dirStr)) {
+                setDir(new File(dirStr));
+            }
+
+            if ("binary".equalsIgnoreCase(Solon.cfg().get(prefix + "format"))) {
+                setEncoder(BinaryEncoder.instance);
+            }
+
+            setMaxFileSize(parseSize(Solon.cfg().get(prefix + "maxFileSize")));
+            setForce(Solon.cfg().getBool(prefix + "force", false));
+        }
+    }
+
+    @Override
+    public void stop() {
+        //先处理完积压的
+        super.stop();
+
+        //与写入互斥（等待超时时，消费线程可能还在写；由它写完后关闭）
+        synchronized (this) {
+            stopped = true;
+            channelCloseTry();
+        }
+    }
+
+    @Override
+    public void onEvents(List<LogEvent> list) throws Exception {
+        synchronized (this) {
+            buffer.clear();
+
+            for (LogEvent event : list) {
+                encodeDo(event);
+            }
+
+            flushDo();
+
+            if (stopped) {
+                //停止后才处理完的，写完即关闭
+                channelCloseTry();
+            } else if (force && channel != null) {
+                //组提交（一批一次）
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * 编码（缓冲区不够时，先写出；单个事件超出容量时扩容）
+     */
+    private void encodeDo(LogEvent event) throws IOException {
+        while (true) {
+            int mark = buffer.position();
+
+            try {
+                encoder.encode(event, buffer);
+                return;
+            } catch (BufferOverflowException | IndexOutOfBoundsException e) {
+                buffer.position(mark);
+
+                if (mark > 0) {
+                    flushDo();
+                    buffer.clear();
+                } else {
+                    buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * 写出缓冲区（一次 FileChannel.write）
+     */
+    private void flushDo() throws IOException {
+        buffer.flip();
+
+        if (buffer.hasRemaining()) {
+            FileChannel ch = channelGet(buffer.remaining());
+
+            while (buffer.hasRemaining()) {
+                channelSize += ch.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * 获取文件通道（按天及大小滚动）
+     */
+    private FileChannel channelGet(int writeSize) throws IOException {
+        LocalDate today = LocalDate.now();
+
+        if (channel != null) {
+            if (today.equals(channelDate) == false) {
+                channelClose();
+                channelIndex = 0;
+            } else if (channelSize > 0 && channelSize + writeSize > maxFileSize) {
+                channelClose();
+                channelIndex++;
+            }
+        }
+
+        while (channel == null) {
+            if (dir.exists() == false) {
+                dir.mkdirs();
+            }
+
+            String name = (getName() == null ? "solon" : getName());
+            File file = new File(dir, name + "." + today + "." + channelIndex + ".log");
+
+            if (file.exists() && file.length() + writeSize > maxFileSize && file.length() > 0) {
+                //已有的文件满了（比如重启后）
+                channelIndex++;
+                continue;
+            }
+
+            channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelDate = today;
+            channelSize = channel.size();
+        }
+
+        return channel;
+    }
+
+    private void channelCloseTry() {
+        try {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void channelClose() throws IOException {
+        if (force) {
+            channel.force(false);
+        }
+
+        channel.close();
+        channel = null;
+    }
+
+    /**
+     * 解析大小（如：100mb, 100m, 1.5g, 512kb, 1024；无效的返回 0，即用默认值）
+     */
+    private static long parseSize(String str) {
+        if (Utils.isEmpty(str)) {
+            return 0;
+        }
+
+        String tmp = str.trim().toLowerCase();
+        if (tmp.endsWith("b")) {
+            tmp = tmp.substring(0, tmp.length() - 1);
+        }
+
+        long unit = 1;
+        if (tmp.endsWith("k")) {
+            unit = 1024;
+        } else if (tmp.endsWith("m")) {
+            unit = 1024 * 1024;
+        } else if (tmp.endsWith("g")) {
+            unit = 1024 * 1024 * 1024;
+        }
+
+        if (unit > 1) {
+            tmp = tmp.substring(0, tmp.length() - 1);
+        }
+
+        try {
+            return (long) (Double.parseDouble(tmp.trim()) * unit);
+        } catch (NumberFormatException e) {
+            LogUtil.global().warn("Logging: invalid maxFileSize '" + str + "', use the default");
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.noear.solon.logging.persistent;
+
+/**
+ * 队列满时的策略
+ *
+ * @author agent
+ * @since 2.3
+ */
+public enum FullPolicy {
+    /**
+     * 阻塞等待（不丢失）
+     */
+    BLOCK,
+    /**
+     * 丢弃可丢弃的（如低级别日志），其它的阻塞等待
+     */
+    DROP,
+    /**
+     * 积压较多时，可丢弃的按比例采样；满时同 DROP
+     */
+    SAMPLE;
+
+    public static FullPolicy of(String name, FullPolicy def) {
+        if (name == null || name.length() == 0) {
+            return def;
+        }
+
+        for (FullPolicy v : values()) {
+            if (v.name().equalsIgnoreCase(name)) {
+                return v;
+            }
+        }
+
+        return def;
+    }
+}
@@ -0,0 +1,85 @@
+package org.noear.solon.logging.persistent;
+
+import org.noear.solon.logging.event.LogEvent;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * JSON 行编码器（一个事件一行）
+ *
+ * <pre><code>
+ * {"ts":1685600000000,"level":"INFO","logger":"demo","thread":"main","meta":{"traceId":"..."},"content":"...","error":"..."}
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class JsonLinesEncoder implements LogEventEncoder {
+    public static final JsonLinesEncoder instance = new JsonLinesEncoder();
+
+    @Override
+    public void encode(LogEvent event, ByteBuffer buf) {
+        buf.put((byte) '{');
+
+        putName(buf, "ts", false);
+        EncoderUtil.putLong(buf, event.getTimeStamp());
+
+        putName(buf, "level", true);
+        EncoderUtil.putJsonString(buf, event.getLevel().name());
+
+        putName(buf, "logger", true);
+        putStringOrNull(buf, event.getLoggerName());
+
+        putName(buf, "thread", true);
+        putStringOrNull(buf, event.getThreadName());
+
+        Map<String, String> meta = event.getMetainfo();
+        if (meta != null && meta.size() > 0) {
+            putName(buf, "meta", true);
+            buf.put((byte) '{');
+
+            boolean first = true;
+            for (Map.Entry<String, String> kv : meta.entrySet()) {
+                if (first == false) {
+                    buf.put((byte) ',');
+                }
+                first = false;
+
+                putStringOrNull(buf, kv.getKey());
+                buf.put((byte) ':');
+                putStringOrNull(buf, kv.getValue());
+            }
+
+            buf.put((byte) '}');
+        }
+
+        putName(buf, "content", true);
+        putStringOrNull(buf, EncoderUtil.contentOf(event));
+
+        if (event.getThrowable() != null) {
+            putName(buf, "error", true);
+            putStringOrNull(buf, EncoderUtil.throwableOf(event));
+        }
+
+        buf.put((byte) '}');
+        buf.put((byte) '\n');
+    }
+
+    private static void putName(ByteBuffer buf, String name, boolean comma) {
+        if (comma) {
+            buf.put((byte) ',');
+        }
+
+        EncoderUtil.putJsonString(buf, name);
+        buf.put((byte) ':');
+    }
+
+    private static void putStringOrNull(ByteBuffer buf, String str) {
+        if (str == null) {
+            buf.put((byte) 'n').put((byte) 'u').put((byte) 'l').put((byte) 'l');
+        } else {
+            EncoderUtil.putJsonString(buf, str);
+        }
+    }
+}
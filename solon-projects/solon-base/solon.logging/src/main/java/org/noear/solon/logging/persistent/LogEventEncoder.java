@@ -0,0 +1,21 @@
+package org.noear.solon.logging.persistent;
+
+import org.noear.solon.logging.event.LogEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 日志事件编码器（直接编码到缓冲区，不产生中间字符串）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public interface LogEventEncoder {
+    /**
+     * 编码
+     *
+     * @param event 日志事件
+     * @param buf   缓冲区（空间不足时抛出 BufferOverflowException，由调用方处理）
+     */
+    void encode(LogEvent event, ByteBuffer buf);
+}
@@ -1,8 +1,12 @@
 package org.noear.solon.logging.persistent;
 
+import org.noear.solon.Solon;
 import org.noear.solon.logging.event.AppenderBase;
+import org.noear.solon.logging.event.Level;
 import org.noear.solon.logging.event.LogEvent;
 
+import java.io.Closeable;
+
 /**
  * 持久化添加器（实现了异步、批量的特性）
  *
@@ -13,12 +17,44 @@ public abstract class PersistentAppenderBase extends AppenderBase implements Pac
     /**
      * 打包队列任务
      * */
-    protected PackagingQueueTask<LogEvent> packagingQueueTask = new PackagingQueueTaskImpl<LogEvent>();
+    protected PackagingQueueTask<LogEvent> packagingQueueTask = new RingBufferQueueTask<LogEvent>();
 
     public PersistentAppenderBase() {
         packagingQueueTask.setWorkHandler(this);
     }
 
+    /**
+     * 启动（配置打包队列；子类重写时，需调用 super.start()）
+     */
+    @Override
+    public void start() {
+        if (packagingQueueTask instanceof RingBufferQueueTask) {
+            RingBufferQueueTask<LogEvent> queueTask = (RingBufferQueueTask<LogEvent>) packagingQueueTask;
+
+            //低于 WARN 的，可丢弃
+            queueTask.setDiscardable(e -> e.getLevel().code < Level.WARN.code);
+
+            if (Solon.app() != null) {
+                String policyStr = Solon.cfg().get("solon.logging.appender." + getName() + ".fullPolicy");
+                queueTask.setFullPolicy(FullPolicy.of(policyStr, FullPolicy.BLOCK));
+            }
+        }
+    }
+
+    /**
+     * 停止（处理完积压的再关闭打包队列；子类重写时，需调用 super.stop()，之后再释放自己的资源）
+     */
+    @Override
+    public void stop() {
+        if (packagingQueueTask instanceof Closeable) {
+            try {
+                ((Closeable) packagingQueueTask).close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     @Override
     public void append(LogEvent logEvent) {
         packagingQueueTask.add(logEvent);
@@ -0,0 +1,337 @@
+package org.noear.solon.logging.persistent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * 环形缓冲打包队列（有界、多生产者无锁；打包后批量处理）
+ *
+ * <pre><code>
+ * 1.槽位预先分配，添加时不产生节点对象
+ * 2.消费线程空闲时挂起；积压达到包装大小时被唤醒，或等到 interval 超时（不再固定休眠轮询）
+ * 3.队列满时按 FullPolicy 处理，并统计丢弃数量
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class RingBufferQueueTask<Event> implements PackagingQueueTask<Event>, Closeable {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    //生产位置（多生产者）
+    private final AtomicLong tail = new AtomicLong();
+    //消费位置（仅消费线程写）
+    private volatile long head;
+
+    //消费线程（首次添加时启动）
+    private volatile Thread workThread;
+    private volatile boolean waiting;
+    private volatile boolean isStopped;
+
+    private PackagingWorkHandler<Event> workHandler;
+    private FullPolicy fullPolicy = FullPolicy.BLOCK;
+    private Predicate<Event> discardable = e -> false;
+    private int sampleRate = 10;
+
+    /**
+     * 最长等待时间（毫秒；积压不足包装大小时，最多等这么久就处理）
+     */
+    private volatile long interval = 500; //必须大于等于100
+    private final long interval_min = 100;
+
+    /**
+     * 包装合大小
+     */
+    private volatile int packetSize = 150; //必须大于等于150
+    private final int packetSize_min = 150;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    /**
+     * @param capacity 容量（会调整为 2 的次方）
+     */
+    public RingBufferQueueTask(int capacity) {
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        buffer = new Object[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public RingBufferQueueTask() {
+        this(16384);
+    }
+
+    @Override
+    public void setWorkHandler(PackagingWorkHandler<Event> workHandler) {
+        this.workHandler = workHandler;
+    }
+
+    /**
+     * 设置最长等待时间（毫秒）
+     */
+    @Override
+    public void setInterval(long interval) {
+        if (interval >= interval_min) {
+            this.interval = interval;
+            //让正在等待的按新的时间
+            signal();
+        }
+    }
+
+    @Override
+    public void setPacketSize(int packetSize) {
+        if (packetSize >= packetSize_min) {
+            this.packetSize = packetSize;
+        }
+    }
+
+    /**
+     * 设置队列满时的策略
+     */
+    public void setFullPolicy(FullPolicy fullPolicy) {
+        if (fullPolicy != null) {
+            this.fullPolicy = fullPolicy;
+        }
+    }
+
+    /**
+     * 设置可丢弃的条件（用于 DROP, SAMPLE 策略）
+     */
+    public void setDiscardable(Predicate<Event> discardable) {
+        if (discardable != null) {
+            this.discardable = discardable;
+        }
+    }
+
+    /**
+     * 设置采样率（SAMPLE 策略时，每 n 个保留 1 个）
+     */
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate > 0) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    /**
+     * 容量
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * 积压数量
+     */
+    public int depth() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * 丢弃数量
+     */
+    public long droppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    public void add(Event event) {
+        if (event == null || isStopped) {
+            return;
+        }
+
+        if (workThread == null) {
+            workStart();
+        }
+
+        if (fullPolicy == FullPolicy.SAMPLE && depth() >= (buffer.length >> 1) + (buffer.length >> 2)) {
+            //积压超过 3/4 时，可丢弃的按比例采样
+            if (discardable.test(event) && sampleCounter.incrementAndGet() % sampleRate != 0) {
+                droppedCount.increment();
+                return;
+            }
+        }
+
+        while (offer(event) == false) {
+            if (fullPolicy != FullPolicy.BLOCK && discardable.test(event)) {
+                droppedCount.increment();
+                return;
+            }
+
+            if (Thread.currentThread() == workThread || isStopped) {
+                //消费线程自己不能等（否则会死锁）
+                droppedCount.increment();
+                return;
+            }
+
+            signal();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+
+        if (waiting && depth() >= packetSize) {
+            signal();
+        }
+    }
+
+    @Override
+    public void addAll(Collection<Event> events) {
+        for (Event event : events) {
+            add(event);
+        }
+    }
+
+    /**
+     * 尝试添加（满时返回 false）
+     */
+    private boolean offer(Event event) {
+        while (true) {
+            long pos = tail.get();
+            int idx = (int) (pos & mask);
+            long dif = sequences.get(idx) - pos;
+
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[idx] = event;
+                    sequences.lazySet(idx, pos + 1);
+                    return true;
+                }
+            } else if (dif < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 取出（空时返回 null；仅消费线程调用）
+     */
+    @SuppressWarnings("unchecked")
+    private Event poll() {
+        long pos = head;
+        int idx = (int) (pos & mask);
+
+        if (sequences.get(idx) - (pos + 1) < 0) {
+            return null;
+        }
+
+        Event event = (Event) buffer[idx];
+        buffer[idx] = null;
+        sequences.lazySet(idx, pos + buffer.length);
+        head = pos + 1;
+
+        return event;
+    }
+
+    private void signal() {
+        Thread tmp = workThread;
+
+        if (waiting && tmp != null) {
+            LockSupport.unpark(tmp);
+        }
+    }
+
+    //
+    // 打包处理控制
+    //
+
+    /**
+     * 启动消费线程（不在构造时启动，避免未构造完成就被线程引用）
+     */
+    private synchronized void workStart() {
+        if (workThread == null && isStopped == false) {
+            Thread tmp = new Thread(this::workStartDo, "Ring buffer task");
+            tmp.setDaemon(true);
+            workThread = tmp;
+            tmp.start();
+        }
+    }
+
+    private void workStartDo() {
+        List<Event> list = new ArrayList<>(packetSize);
+
+        while (true) {
+            try {
+                if (workHandler != null) {
+                    //没有处理器时，先保留着
+                    collectDo(list);
+                }
+
+                if (list.size() > 0) {
+                    workHandler.onEvents(list);
+
+                    //不复用给处理器的列表（可能被保留）
+                    list = new ArrayList<>(packetSize);
+                    continue;
+                }
+
+                if (isStopped) {
+                    return;
+                }
+
+                waiting = true;
+                if (depth() == 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(interval));
+                }
+                waiting = false;
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+                list = new ArrayList<>(packetSize);
+            }
+        }
+    }
+
+    private void collectDo(List<Event> list) {
+        while (list.size() < packetSize) {
+            Event event = poll();
+
+            if (event == null) {
+                break;
+            } else {
+                list.add(event);
+            }
+        }
+    }
+
+    /**
+     * 关闭（处理完积压的再停止）
+     */
+    @Override
+    public void close() throws IOException {
+        Thread tmp;
+        synchronized (this) {
+            isStopped = true;
+            tmp = workThread;
+        }
+
+        if (tmp == null) {
+            //没有添加过
+            return;
+        }
+
+        LockSupport.unpark(tmp);
+
+        try {
+            tmp.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package features;
+
+import org.noear.solon.logging.event.Level;
+import org.noear.solon.logging.event.LogEvent;
+import org.noear.solon.logging.persistent.FilePersistentAppender;
+import org.noear.solon.logging.persistent.JsonLinesEncoder;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 文件持久化添加器：编码、大小解析、停止时处理完积压并关闭文件
+ */
+public class FilePersistentAppenderTest {
+    public static void main(String[] args) throws Exception {
+        encode();
+        parseSize();
+        stop();
+    }
+
+    static LogEvent event(long ts, String content) {
+        return new LogEvent("demo", Level.INFO, Collections.emptyMap(), content, ts, "main", null);
+    }
+
+    /**
+     * JSON 行编码（包括 Long.MIN_VALUE 与中文）
+     */
+    static void encode() {
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+
+        JsonLinesEncoder.instance.encode(event(Long.MIN_VALUE, "你好\"\n"), buf);
+        JsonLinesEncoder.instance.encode(event(-12, "a"), buf);
+        JsonLinesEncoder.instance.encode(event(0, "b"), buf);
+
+        String text = new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
+        String[] lines = text.split("\n");
+
+        assert lines.length == 3;
+        assert lines[0].startsWith("{\"ts\":" + Long.MIN_VALUE + ",");
+        assert lines[0].contains("\"content\":\"你好\\\"\\n\"");
+        assert lines[1].startsWith("{\"ts\":-12,");
+        assert lines[2].startsWith("{\"ts\":0,");
+    }
+
+    /**
+     * 大小解析（宽松；无效的返回 0，即用默认值）
+     */
+    static void parseSize() throws Exception {
+        Method method = FilePersistentAppender.class.getDeclaredMethod("parseSize", String.class);
+        method.setAccessible(true);
+
+        assert (long) method.invoke(null, "100mb") == 100L * 1024 * 1024;
+        assert (long) method.invoke(null, "100M") == 100L * 1024 * 1024;
+        assert (long) method.invoke(null, "1.5mb") == (long) (1.5 * 1024 * 1024);
+        assert (long) method.invoke(null, " 2 GB ") == 2L * 1024 * 1024 * 1024;
+        assert (long) method.invoke(null, "512k") == 512L * 1024;
+        assert (long) method.invoke(null, "1024") == 1024L;
+        assert (long) method.invoke(null, "100b") == 100L;
+        assert (long) method.invoke(null, "abc") == 0L;
+        assert (long) method.invoke(null, "") == 0L;
+    }
+
+    /**
+     * 停止时，处理完积压的再关闭文件
+     */
+    static void stop() throws Exception {
+        File dir = Files.createTempDirectory("solon-logging").toFile();
+
+        FilePersistentAppender appender = new FilePersistentAppender();
+        appender.setDir(dir);
+        appender.start();
+
+        for (int i = 0; i < 1000; i++) {
+            appender.append(event(i, "n" + i));
+        }
+        appender.stop();
+
+        File[] files = dir.listFiles();
+        assert files != null && files.length == 1;
+
+        List<String> lines = Files.readAllLines(files[0].toPath(), StandardCharsets.UTF_8);
+        assert lines.size() == 1000;
+        assert lines.get(999).contains("\"content\":\"n999\"");
+
+        //已关闭，可以删除
+        assert files[0].delete();
+        assert dir.delete();
+    }
+}
@@ -0,0 +1,202 @@
+package features;
+
+import org.noear.solon.logging.persistent.FullPolicy;
+import org.noear.solon.logging.persistent.RingBufferQueueTask;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 环形缓冲打包队列：多生产者、满时策略、停止时处理完积压
+ */
+public class RingBufferQueueTaskTest {
+    public static void main(String[] args) throws Exception {
+        multiProducer();
+        fullBlock();
+        fullDrop();
+        fullSample();
+        drainOnStop();
+        bounds();
+    }
+
+    /**
+     * 多生产者并发添加，不丢失、不重复，且同一生产者的顺序不变
+     */
+    static void multiProducer() throws Exception {
+        RingBufferQueueTask<int[]> task = new RingBufferQueueTask<>(64);
+        List<int[]> received = new CopyOnWriteArrayList<>();
+        task.setWorkHandler(received::addAll);
+
+        int producers = 8;
+        int count = 10_000;
+        CountDownLatch latch = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    task.add(new int[]{producer, i});
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        latch.await();
+        task.close();
+
+        assert received.size() == producers * count;
+        assert task.droppedCount() == 0;
+
+        int[] last = new int[producers];
+        for (int i = 0; i < producers; i++) {
+            last[i] = -1;
+        }
+        for (int[] e : received) {
+            assert e[1] == last[e[0]] + 1;
+            last[e[0]] = e[1];
+        }
+    }
+
+    /**
+     * 满时阻塞等待（不丢失）
+     */
+    static void fullBlock() throws Exception {
+        RingBufferQueueTask<Integer> task = new RingBufferQueueTask<>(4);
+        AtomicInteger received = new AtomicInteger();
+        task.setWorkHandler(list -> {
+            Thread.sleep(5);
+            received.addAndGet(list.size());
+        });
+
+        for (int i = 0; i < 200; i++) {
+            task.add(i);
+        }
+        task.close();
+
+        assert received.get() == 200;
+        assert task.droppedCount() == 0;
+    }
+
+    /**
+     * 满时丢弃可丢弃的，其它的阻塞等待
+     */
+    static void fullDrop() throws Exception {
+        RingBufferQueueTask<Integer> task = new RingBufferQueueTask<>(4);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+
+        task.setFullPolicy(FullPolicy.DROP);
+        task.setDiscardable(e -> e < 0); //负数可丢弃
+        task.setInterval(100);
+        task.setWorkHandler(list -> {
+            entered.countDown();
+            blocked.await();
+            received.addAll(list);
+        });
+
+        //先占住消费线程，再填满
+        task.add(1);
+        entered.await();
+        for (int i = 0; i < 4; i++) {
+            task.add(10 + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            task.add(-i - 1);
+        }
+        assert task.droppedCount() == 10;
+
+        blocked.countDown();
+        task.add(100); //不可丢弃的，等待后加入
+        task.close();
+
+        assert received.contains(100);
+        assert received.size() == 6;
+        for (Integer e : received) {
+            assert e > 0;
+        }
+    }
+
+    /**
+     * 积压超过 3/4 时，可丢弃的按比例采样
+     */
+    static void fullSample() throws Exception {
+        RingBufferQueueTask<Integer> task = new RingBufferQueueTask<>(16);
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+
+        task.setFullPolicy(FullPolicy.SAMPLE);
+        task.setSampleRate(2);
+        task.setDiscardable(e -> true);
+        task.setInterval(100);
+        task.setWorkHandler(list -> {
+            entered.countDown();
+            blocked.await();
+            received.addAndGet(list.size());
+        });
+
+        task.add(0);
+        entered.await();
+        for (int i = 0; i < 12; i++) {
+            task.add(i);
+        }
+        assert task.depth() == 12;
+
+        //超过 3/4 后，每 2 个保留 1 个
+        for (int i = 0; i < 4; i++) {
+            task.add(i);
+        }
+        assert task.depth() == 14;
+        assert task.droppedCount() == 2;
+
+        blocked.countDown();
+        task.close();
+        assert received.get() == 15;
+    }
+
+    /**
+     * 停止时，处理完积压的
+     */
+    static void drainOnStop() throws Exception {
+        RingBufferQueueTask<Integer> task = new RingBufferQueueTask<>(1024);
+        AtomicInteger received = new AtomicInteger();
+        task.setInterval(60_000); //不会因超时处理
+        task.setWorkHandler(list -> received.addAndGet(list.size()));
+
+        for (int i = 0; i < 100; i++) {
+            task.add(i);
+        }
+        task.close();
+
+        assert received.get() == 100;
+
+        //停止后，不再接收
+        task.add(1);
+        assert task.depth() == 0;
+    }
+
+    /**
+     * 低于下限的设置无效
+     */
+    static void bounds() throws Exception {
+        RingBufferQueueTask<Integer> task = new RingBufferQueueTask<>(1024);
+        List<List<Integer>> packets = new CopyOnWriteArrayList<>();
+
+        task.setPacketSize(10); //低于 150，无效
+        task.setInterval(10); //低于 100，无效
+        task.setWorkHandler(packets::add);
+
+        for (int i = 0; i < 300; i++) {
+            task.add(i);
+        }
+        task.close();
+
+        for (List<Integer> packet : packets) {
+            assert packet.size() <= 150;
+        }
+        assert packets.stream().anyMatch(p -> p.size() > 10);
+    }
+}
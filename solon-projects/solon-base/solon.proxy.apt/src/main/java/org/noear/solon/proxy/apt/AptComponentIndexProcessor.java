@@ -0,0 +1,147 @@
+package org.noear.solon.proxy.apt;
+
+import com.google.auto.service.AutoService;
+import org.noear.solon.core.ComponentIndex;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 组件索引生成处理器（生成 META-INF/solon/components.idx，用于代替启动时的类文件扫描）
+ *
+ * <pre><code>
+ * 1.记录经过处理器的所有类（及内部类）与其运行时注解名（没有时为空）；运行时，索引里没有的类文件照常加载
+ * 2.增量编译时，合并上一次的索引（去掉已不存在的类）
+ * 3.写入完整标记（#complete），运行时不再遍历此 jar 的条目；
+ *   有不经过处理器的类（比如 Kotlin、Groovy 混编）时，用编译参数 -Asolon.index.complete=false 去掉标记
+ * 4.只用于 jvm 运行时（native 运行时不使用索引）
+ * 5.使用：添加 solon.proxy.apt 依赖（scope 为 provided 即可），编译时自动生效
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+@AutoService(Processor.class)
+@SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedAnnotationTypes({"*"})
+@SupportedOptions({AptComponentIndexProcessor.OPTION_COMPLETE})
+public class AptComponentIndexProcessor extends AbstractProcessor {
+    public static final String OPTION_COMPLETE = "solon.index.complete";
+
+    private final Map<String, String> entries = new TreeMap<>();
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                collect((TypeElement) element);
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Failed to write " + ComponentIndex.INDEX_FILE + ": " + e);
+            }
+        }
+
+        //不认领注解（不影响其它处理器）
+        return false;
+    }
+
+    private void collect(TypeElement type) {
+        Elements elementUtils = processingEnv.getElementUtils();
+        String className = elementUtils.getBinaryName(type).toString();
+        processed.add(className);
+
+        StringBuilder buf = new StringBuilder();
+
+        //注解类型不会是组件（只记录类名）
+        if (type.getKind() != ElementKind.ANNOTATION_TYPE) {
+            for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+                TypeElement annoType = (TypeElement) mirror.getAnnotationType().asElement();
+                Retention retention = annoType.getAnnotation(Retention.class);
+
+                if (retention != null && retention.value() == RetentionPolicy.RUNTIME) {
+                    if (buf.length() > 0) {
+                        buf.append(',');
+                    }
+                    buf.append(elementUtils.getBinaryName(annoType));
+                }
+            }
+        }
+
+        entries.put(className, buf.toString());
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                collect((TypeElement) enclosed);
+            }
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        Filer filer = processingEnv.getFiler();
+
+        //合并上一次的索引（增量编译时，没有重新编译的类不会经过处理器）
+        Map<String, String> merged = new TreeMap<>();
+        try {
+            FileObject old = filer.getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.INDEX_FILE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(old.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int idx = line.indexOf('=');
+                    if (idx > 0 && line.charAt(0) != '#') {
+                        String className = line.substring(0, idx);
+
+                        if (processed.contains(className) == false && exists(className)) {
+                            merged.put(className, line.substring(idx + 1));
+                        }
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            //没有旧的索引
+        }
+
+        merged.putAll(entries);
+
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        FileObject fileObject = filer.createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.INDEX_FILE);
+        try (Writer writer = new OutputStreamWriter(fileObject.openOutputStream(), StandardCharsets.UTF_8)) {
+            writer.write("# Generated by solon.proxy.apt, do not edit\n");
+
+            if ("false".equals(processingEnv.getOptions().get(OPTION_COMPLETE)) == false) {
+                writer.write(ComponentIndex.COMPLETE_MARKER);
+                writer.write('\n');
+            }
+
+            for (Map.Entry<String, String> kv : merged.entrySet()) {
+                writer.write(kv.getKey());
+                writer.write('=');
+                writer.write(kv.getValue());
+                writer.write('\n');
+            }
+        }
+    }
+
+    private boolean exists(String className) {
+        return processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null;
+    }
+}
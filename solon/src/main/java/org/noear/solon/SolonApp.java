@@ -12,6 +12,7 @@ import org.noear.solon.core.util.LogUtil;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -181,7 +182,13 @@ public class SolonApp extends RouterWrapper {
 
         //1.1.尝试启动插件（顺序不能乱） //不能用forEach，以免当中有插进来
         for (int i = 0, len = plugs.size(); i < len; i++) {
+            long start = System.nanoTime();
             plugs.get(i).start(context());
+
+            if (cfg().startTiming()) {
+                LogUtil.global().info("App: plugin start: " + plugs.get(i).getClassName() +
+                        " (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms)");
+            }
         }
 
         //event::1.1.x推送Plugin load end事件
@@ -190,12 +197,21 @@ public class SolonApp extends RouterWrapper {
 
         LogUtil.global().info("App: Bean scanning");
 
-        //2.1.通过注解导入bean（一般是些配置器）
-        importTry();
+        long scanStart = System.nanoTime();
+
+        //2.开启并行启动时，@Bean 方法按依赖关系并行执行（注册顺序不变）
+        context().beanBuildParallel(() -> {
+            //2.1.通过注解导入bean（一般是些配置器）
+            importTry();
+
+            //2.2.通过源扫描bean
+            if (source() != null) {
+                context().beanScan(source());
+            }
+        });
 
-        //2.2.通过源扫描bean
-        if (source() != null) {
-            context().beanScan(source());
+        if (cfg().startTiming()) {
+            LogUtil.global().info("App: bean scan end (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scanStart) + "ms)");
         }
 
         //event::2.x.推送Bean load end事件
@@ -45,6 +45,8 @@ public final class SolonProps extends Props {
 
     private int stopDelay=10; //停止延迟（秒）
     private boolean stopSafe;//停止安全的进行
+    private boolean startParallel;//并行启动
+    private boolean startTiming;//启动计时
 
     private String env;
 
@@ -207,6 +209,11 @@ public final class SolonProps extends Props {
         stopSafe = "1".equals(stopSafeStr); //是否安全停止
         stopDelay = Integer.parseInt(getArg("stop.delay", "10s").replace("s", ""));
 
+        //solon.start.parallel = 0
+        //solon.start.timing   = 0
+        startParallel = "1".equals(getArg("start.parallel")); //是否并行启动
+        startTiming = "1".equals(getArg("start.timing")); //是否输出启动计时
+
         return this;
     }
 
@@ -630,6 +637,28 @@ public final class SolonProps extends Props {
          stopSafe = value;
     }
 
+    /**
+     * 并行启动（@Bean 方法与生命周期 bean，按依赖关系并行执行）
+     * */
+    public boolean startParallel(){
+        return startParallel;
+    }
+
+    public void startParallel(boolean value){
+        startParallel = value;
+    }
+
+    /**
+     * 启动计时（输出插件、@Bean 方法、生命周期 bean 的启动耗时）
+     * */
+    public boolean startTiming(){
+        return startTiming;
+    }
+
+    public void startTiming(boolean value){
+        startTiming = value;
+    }
+
     /**
      * @deprecated 2.0
      * */
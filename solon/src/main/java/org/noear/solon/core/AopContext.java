@@ -17,6 +17,8 @@ import org.noear.solon.core.wrap.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -43,10 +45,12 @@ public class AopContext extends BeanContainer {
     }
 
 
-    private final Set<RankEntity<LifecycleBean>> lifecycleBeans = new HashSet<>();
+    private final Set<RankEntity<LifecycleBean>> lifecycleBeans = ConcurrentHashMap.newKeySet();
+    //bean 形态的生命周期及其顺序位（按实例识别，不用 bean 的 equals/hashCode；并行启动时，同顺序位的可并行）
+    private final Map<LifecycleBean, Integer> lifecycleShapes = Collections.synchronizedMap(new IdentityHashMap<>());
 
-    private final Map<Method, MethodWrap> methodCached = new HashMap<>();
-    private final Set<VarGather> gatherSet = new HashSet<>();
+    private final Map<Method, MethodWrap> methodCached = new ConcurrentHashMap<>();
+    private final Set<VarGather> gatherSet = ConcurrentHashMap.newKeySet();
 
 
     public MethodWrap methodGet(Method method) {
@@ -81,6 +85,7 @@ public class AopContext extends BeanContainer {
         gatherSet.clear();
 
         lifecycleBeans.clear();
+        lifecycleShapes.clear();
 
         started = false;
     }
@@ -222,8 +227,16 @@ public class AopContext extends BeanContainer {
             int index = bw.index();
             if (index == 0) {
                 index = new IndexBuilder().buildIndex(clz);
+
+                if (annoEl instanceof Method && isStartParallel()) {
+                    //并行启动时，@Bean 方法的参数也作为依赖（排在参数的生命周期之后）
+                    for (Class<?> pt : ((Method) annoEl).getParameterTypes()) {
+                        index = Math.max(index, lifecycleIndexOf(getWrap(pt)));
+                    }
+                }
             }
 
+            lifecycleShapes.put(bw.raw(), index + 1);
             lifecycle(index + 1, bw.raw());
         }
 
@@ -237,6 +250,11 @@ public class AopContext extends BeanContainer {
             Bridge.upstreamFactorySet(bw.raw());
         }
 
+        //Converter
+        if (Converter.class.isAssignableFrom(clz)) {
+            addConverter(clz, bw, annoEl);
+        }
+
         //Handler
         if (Handler.class.isAssignableFrom(clz)) {
             Mapping mapping = annoEl.getAnnotation(Mapping.class);
@@ -422,6 +440,29 @@ public class AopContext extends BeanContainer {
             return;
         }
 
+        //优先使用组件索引（不需要扫描与加载非候选类）
+        if (ComponentIndex.isEnabled()) {
+            Set<String> annoNames = new HashSet<>();
+            annoNames.add(Condition.class.getName());
+            for (Class<?> anno : beanBuilders.keySet()) {
+                annoNames.add(anno.getName());
+            }
+
+            Set<String> classNames = ComponentIndex.find(classLoader, basePackage, annoNames::contains);
+
+            if (classNames != null) {
+                classNames.stream()
+                        .sorted(Comparator.comparing(s -> s.length()))
+                        .forEach(className -> {
+                            Class<?> clz = ClassUtil.loadClass(classLoader, className);
+                            if (clz != null) {
+                                tryCreateBeanOfClass(clz);
+                            }
+                        });
+                return;
+            }
+        }
+
         String dir = basePackage.replace('.', '/');
 
         //扫描类文件并处理（采用两段式加载，可以部分bean先处理；剩下的为第二段处理）
@@ -541,17 +582,15 @@ public class AopContext extends BeanContainer {
     }
 
 
-    private final Set<Class<?>> beanCreatedCached = new HashSet<>();
+    private final Set<Class<?>> beanCreatedCached = ConcurrentHashMap.newKeySet();
 
     private void tryCreateBean0(Class<?> clz, BiConsumerEx<BeanBuilder, Annotation> consumer) {
         Annotation[] annS = clz.getDeclaredAnnotations();
 
         if (annS.length > 0) {
             //去重处理
-            if (beanCreatedCached.contains(clz)) {
+            if (beanCreatedCached.add(clz) == false) {
                 return;
-            } else {
-                beanCreatedCached.add(clz);
             }
 
             for (Annotation a : annS) {
@@ -612,8 +651,80 @@ public class AopContext extends BeanContainer {
     }
 
     protected void tryBuildBeanDo(Bean anno, MethodWrap mWrap, BeanWrap bw, Object[] args) throws Throwable {
-        Object raw = mWrap.invoke(bw.raw(), args);
-        tryBuildBean0(mWrap, anno, raw);
+        Queue<BeanBuildTask> tasks = beanBuildTasks;
+
+        if (tasks != null) {
+            //并行构建：方法放到线程池执行；结果由 beanBuildParallel 按提交顺序注册
+            tasks.add(new BeanBuildTask(anno, mWrap, startSubmit(() -> {
+                long start = System.nanoTime();
+                Object raw = mWrap.invoke(bw.raw(), args);
+                timingLog("bean build", mWrap.getMethod(), start);
+                return raw;
+            })));
+        } else {
+            long start = System.nanoTime();
+            Object raw = mWrap.invoke(bw.raw(), args);
+            timingLog("bean build", mWrap.getMethod(), start);
+
+            tryBuildBean0(mWrap, anno, raw);
+        }
+    }
+
+    /**
+     * 并行构建 bean（在 scan 期间，@Bean 方法放到线程池执行；注册仍在当前线程，并按提交顺序进行）
+     *
+     * <pre><code>
+     * 1.有参数的 @Bean 方法，等参数注册后才提交（即按依赖关系执行）
+     * 2.没有开启并行启动时，直接执行 scan
+     * </code></pre>
+     *
+     * @param scan 扫描动作（如 beanScan, beanImport）
+     */
+    public void beanBuildParallel(RunnableEx scan) throws Throwable {
+        if (isStartParallel() == false || beanBuildTasks != null) {
+            scan.run();
+            return;
+        }
+
+        Queue<BeanBuildTask> tasks = new ConcurrentLinkedQueue<>();
+        beanBuildTasks = tasks;
+
+        try {
+            scan.run();
+
+            //注册时，可能会触发依赖它的 @Bean 方法（会继续进入队列）
+            BeanBuildTask task;
+            while ((task = tasks.poll()) != null) {
+                Object raw;
+                try {
+                    raw = task.future.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+
+                tryBuildBean0(task.mWrap, task.anno, raw);
+            }
+        } finally {
+            beanBuildTasks = null;
+
+            for (BeanBuildTask task : tasks) {
+                task.future.cancel(false);
+            }
+        }
+    }
+
+    private volatile Queue<BeanBuildTask> beanBuildTasks;
+
+    static class BeanBuildTask {
+        final Bean anno;
+        final MethodWrap mWrap;
+        final Future<Object> future;
+
+        BeanBuildTask(Bean anno, MethodWrap mWrap, Future<Object> future) {
+            this.anno = anno;
+            this.mWrap = mWrap;
+            this.future = future;
+        }
     }
 
     protected void tryBuildBean0(MethodWrap mWrap, Bean anno, Object raw) {
@@ -744,8 +855,12 @@ public class AopContext extends BeanContainer {
             beans.sort(Comparator.comparingInt(f -> f.index));
 
             //start
-            for (RankEntity<LifecycleBean> b : beans) {
-                b.target.start();
+            if (isStartParallel()) {
+                startParallel(beans);
+            } else {
+                for (RankEntity<LifecycleBean> b : beans) {
+                    startDo(b.target);
+                }
             }
 
             //全部跑完后，检查注入情况
@@ -754,6 +869,176 @@ public class AopContext extends BeanContainer {
             }
         } catch (Throwable e) {
             throw new IllegalStateException("AopContext start failed", e);
+        } finally {
+            startPoolShutdown();
+        }
+    }
+
+    /**
+     * 并行启动（同一顺序位的 bean 形态生命周期并行执行，顺序位之间仍按顺序）
+     *
+     * <pre><code>
+     * 1.同一顺序位，先在当前线程执行非 bean 形态的（如 beanOnloaded），再并行执行 bean 形态的
+     * 2.一个顺序位全部完成后，才开始下一个（依赖者的顺序位总是更大）
+     * </code></pre>
+     */
+    private void startParallel(List<RankEntity<LifecycleBean>> beans) throws Throwable {
+        List<LifecycleBean> group = new ArrayList<>();
+
+        for (int i = 0, len = beans.size(); i < len; ) {
+            int index = beans.get(i).index;
+
+            group.clear();
+            for (; i < len && beans.get(i).index == index; i++) {
+                LifecycleBean b = beans.get(i).target;
+
+                if (lifecycleShapes.containsKey(b)) {
+                    group.add(b);
+                } else {
+                    startDo(b);
+                }
+            }
+
+            if (group.size() < 2) {
+                for (LifecycleBean b : group) {
+                    startDo(b);
+                }
+                continue;
+            }
+
+            List<Future<?>> futures = new ArrayList<>(group.size());
+            for (LifecycleBean b : group) {
+                futures.add(startSubmit(() -> {
+                    startDo(b);
+                    return null;
+                }));
+            }
+
+            //等全部完成，再抛出第一个异常
+            Throwable error = null;
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                }
+            }
+
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    private void startDo(LifecycleBean b) throws Throwable {
+        long start = System.nanoTime();
+        b.start();
+        timingLog("lifecycle start", b, start);
+    }
+
+    /**
+     * 添加转换器（只支持 Converter&lt;String, T&gt;）
+     */
+    private void addConverter(Class<?> clz, BeanWrap bw, AnnotatedElement annoEl) {
+        Type[] args = null;
+
+        if (annoEl instanceof Method) {
+            //@Bean 方法返回的，从返回的泛型里找
+            Type type = ((Method) annoEl).getGenericReturnType();
+            if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Converter.class) {
+                args = ((ParameterizedType) type).getActualTypeArguments();
+            }
+        }
+
+        if (args == null) {
+            try {
+                args = GenericUtil.resolveTypeArguments(clz, Converter.class);
+            } catch (ClassCastException e) {
+                //泛型参数不是类
+            }
+        }
+
+        if (args != null && args.length == 2 && args[0] == String.class && args[1] instanceof Class) {
+            ConvertUtil.register((Class<Object>) args[1], bw.raw());
+        } else {
+            LogUtil.global().warn("Converter registration skipped, target type unresolved: " + clz.getName());
+        }
+    }
+
+    /**
+     * 获取 bean 的生命周期顺序位（不是生命周期时，为 0）
+     */
+    private int lifecycleIndexOf(BeanWrap bw) {
+        if (bw != null && bw.raw() instanceof LifecycleBean) {
+            Integer index = lifecycleShapes.get((LifecycleBean) bw.raw());
+            if (index != null) {
+                return index;
+            }
+        }
+
+        return 0;
+    }
+
+    private boolean isStartParallel() {
+        return Solon.app() != null && Solon.cfg().startParallel();
+    }
+
+    private void timingLog(String phase, Object target, long startNanos) {
+        if (Solon.app() != null && Solon.cfg().startTiming()) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            String name;
+            if (target instanceof Method) {
+                Method m = (Method) target;
+                name = m.getDeclaringClass().getName() + "::" + m.getName();
+            } else {
+                name = target.getClass().getName();
+            }
+
+            LogUtil.global().info("App: " + phase + ": " + name + " (" + elapsed + "ms, " + Thread.currentThread().getName() + ")");
+        }
+    }
+
+    //启动线程池（只在并行启动时创建；启动完成后关闭）
+    private ForkJoinPool startPool;
+
+    private synchronized ForkJoinPool startPool() {
+        if (startPool == null) {
+            ClassLoader classLoader = getClassLoader();
+            //启动任务多为网络等待，线程数可以比 cpu 核数多
+            int parallelism = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+            AtomicInteger threadCount = new AtomicInteger();
+
+            startPool = new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("solon-start-" + threadCount.incrementAndGet());
+                t.setContextClassLoader(classLoader);
+                return t;
+            }, null, false);
+        }
+
+        return startPool;
+    }
+
+    private <T> Future<T> startSubmit(SupplierEx<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        startPool().execute(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(Utils.throwableUnwrap(e));
+            }
+        });
+
+        return future;
+    }
+
+    private synchronized void startPoolShutdown() {
+        if (startPool != null) {
+            startPool.shutdown();
+            startPool = null;
         }
     }
 
@@ -17,6 +17,7 @@ import org.noear.solon.core.util.ResourceUtil;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -79,11 +80,11 @@ public abstract class BeanContainer {
     //
     /////////////////////////
     /**
-     * bean包装库
+     * bean包装库（并行启动时，会有多线程读写）
      */
-    private final Map<Class<?>, BeanWrap> beanWrapsOfType = new HashMap<>();
-    private final Map<String, BeanWrap> beanWrapsOfName = new HashMap<>();
-    private final Set<BeanWrap> beanWrapSet = new HashSet<>();
+    private final Map<Class<?>, BeanWrap> beanWrapsOfType = new ConcurrentHashMap<>();
+    private final Map<String, BeanWrap> beanWrapsOfName = new ConcurrentHashMap<>();
+    private final Set<BeanWrap> beanWrapSet = ConcurrentHashMap.newKeySet();
 
 
     /**
@@ -94,7 +95,7 @@ public abstract class BeanContainer {
     /**
      * clz mapping
      */
-    private final Map<Class<?>, Class<?>> clzMapping = new HashMap<>();
+    private final Map<Class<?>, Class<?>> clzMapping = new ConcurrentHashMap<>();
 
 
     //启动时写入
@@ -335,6 +336,10 @@ public abstract class BeanContainer {
      * @param nameOrType bean name or type
      */
     public BeanWrap getWrap(Object nameOrType) {
+        if (nameOrType == null) {
+            return null;
+        }
+
         if (nameOrType instanceof String) {
             return beanWrapsOfName.get(nameOrType);
         } else {
@@ -358,10 +363,18 @@ public abstract class BeanContainer {
         BeanWrap bw = getWrap(nameOrType);
 
         if (bw == null || bw.raw() == null) {
-            beanSubscribe(nameOrType, callback);
-        } else {
-            callback.accept(bw);
+            //与 putWrap 互斥（避免在检查与订阅之间，被别的线程存入，而错过通知）
+            synchronized (this) {
+                bw = getWrap(nameOrType);
+
+                if (bw == null || bw.raw() == null) {
+                    beanSubscribe(nameOrType, callback);
+                    return;
+                }
+            }
         }
+
+        callback.accept(bw);
     }
 
     /**
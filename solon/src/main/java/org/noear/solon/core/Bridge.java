@@ -2,6 +2,8 @@ package org.noear.solon.core;
 
 import org.noear.solon.Solon;
 import org.noear.solon.core.handle.*;
+import org.noear.solon.core.wrap.MethodInvokerFactory;
+import org.noear.solon.core.wrap.MethodInvokerFactoryDefault;
 
 import java.util.*;
 
@@ -149,4 +151,26 @@ public class Bridge {
     public static void actionExecutorRemove(Class<?> clz){
         _actionExecutors.remove(clz);
     }
-}
\ No newline at end of file
+
+
+    //
+    // MethodInvokerFactory 对接
+    //
+    private static MethodInvokerFactory _methodInvokerFactory = new MethodInvokerFactoryDefault();
+
+    /**
+     * 获取函数执行器工厂
+     */
+    public static MethodInvokerFactory methodInvokerFactory() {
+        return _methodInvokerFactory;
+    }
+
+    /**
+     * 设置函数执行器工厂（之后创建的 MethodWrap 生效）
+     */
+    public static void methodInvokerFactorySet(MethodInvokerFactory mif) {
+        if (mif != null) {
+            _methodInvokerFactory = mif;
+        }
+    }
+}
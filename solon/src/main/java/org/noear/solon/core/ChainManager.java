@@ -3,7 +3,8 @@ package org.noear.solon.core;
 import org.noear.solon.core.handle.*;
 import org.noear.solon.core.route.PathLimiter;
 import org.noear.solon.core.route.RouterInterceptor;
-import org.noear.solon.core.route.RouterInterceptorChainImpl;
+import org.noear.solon.core.route.RouterInterceptorChain;
+import org.noear.solon.core.route.RouterInterceptorChainNode;
 import org.noear.solon.core.route.RouterInterceptorLimiter;
 import org.noear.solon.core.util.RankEntity;
 import org.noear.solon.lang.Nullable;
@@ -24,6 +25,8 @@ public class ChainManager {
      * 过滤器 节点
      */
     private final List<RankEntity<Filter>> _filterNodes = new ArrayList<>();
+    //过滤器调用链（注册变化时重新编译）
+    private volatile FilterChain _filterChain = FilterChainNode.END;
 
     public List<RankEntity<Filter>> getFilterNodes() {
         return Collections.unmodifiableList(_filterNodes);
@@ -35,13 +38,14 @@ public class ChainManager {
     public synchronized void addFilter(Filter filter, int index) {
         _filterNodes.add(new RankEntity(filter, index));
         _filterNodes.sort(Comparator.comparingInt(f -> f.index));
+        _filterChain = FilterChainNode.compile(_filterNodes);
     }
 
     /**
      * 执行过滤
      */
     public void doFilter(Context x) throws Throwable {
-        new FilterChainImpl(_filterNodes).doFilter(x);
+        _filterChain.doFilter(x);
     }
 
 
@@ -49,6 +53,9 @@ public class ChainManager {
      * 拦截器节点
      */
     private final List<RankEntity<RouterInterceptor>> _interceptorNodes = new ArrayList<>();
+    //拦截器调用链与快照（注册变化时重新编译）
+    private volatile RouterInterceptorChain _interceptorChain = RouterInterceptorChainNode.END;
+    private volatile RouterInterceptor[] _interceptors = new RouterInterceptor[0];
 
     public List<RankEntity<RouterInterceptor>> getInterceptorNodes() {
         return Collections.unmodifiableList(_interceptorNodes);
@@ -64,21 +71,23 @@ public class ChainManager {
 
         _interceptorNodes.add(new RankEntity<>(interceptor, index));
         _interceptorNodes.sort(Comparator.comparingInt(f -> f.index));
+        _interceptorChain = RouterInterceptorChainNode.compile(_interceptorNodes);
+        _interceptors = _interceptorNodes.stream().map(e -> e.target).toArray(RouterInterceptor[]::new);
     }
 
     /**
      * 执行拦截
      */
     public void doIntercept(Context x, @Nullable Handler mainHandler) throws Throwable {
-        new RouterInterceptorChainImpl(_interceptorNodes).doIntercept(x, mainHandler);
+        _interceptorChain.doIntercept(x, mainHandler);
     }
 
     /**
      * 提交结果（action / render 执行前调用）
      */
     public Object postResult(Context x, @Nullable Object result) throws Throwable {
-        for (RankEntity<RouterInterceptor> e : _interceptorNodes) {
-            result = e.target.postResult(x, result);
+        for (RouterInterceptor e : _interceptors) {
+            result = e.postResult(x, result);
         }
 
         return result;
@@ -0,0 +1,197 @@
+package org.noear.solon.core;
+
+import org.noear.solon.Solon;
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.runtime.NativeDetector;
+import org.noear.solon.core.util.ResourceUtil;
+import org.noear.solon.core.util.ScanUtil;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 组件索引（编译时生成，用于代替类文件扫描）
+ *
+ * <pre><code>
+ * 1.索引文件：META-INF/solon/components.idx（每个 jar 或类目录一个；由 solon.proxy.apt 的 AptComponentIndexProcessor 编译时生成）
+ * 2.每行一个类：类名=注解名,注解名（处理器见过的类都会记录；没有运行时注解的，注解名为空）
+ * 3.有索引的根，从索引读取，并按注解过滤（不会加载非候选类）
+ * 4.有完整标记（#complete）的 jar 根，不再列出类文件；
+ *   其它有索引的根（类目录，或没有完整标记的），列出类文件，索引里没有的（比如 Kotlin、Groovy 编译的）照常作为候选加载
+ * 5.没有索引的根，照常扫描类文件
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class ComponentIndex {
+    public static final String INDEX_FILE = "META-INF/solon/components.idx";
+    public static final String PROP_ENABLED = "solon.index.enabled";
+    /**
+     * 完整标记（索引包含根下的所有类；由处理器写入）
+     */
+    public static final String COMPLETE_MARKER = "#complete";
+
+    /**
+     * 是否启用（native 运行时不启用；可通过 solon.index.enabled=false 关闭）
+     */
+    public static boolean isEnabled() {
+        if (NativeDetector.inNativeImage()) {
+            return false;
+        }
+
+        if (Solon.app() != null) {
+            return Solon.cfg().getBool(PROP_ENABLED, true);
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * 查找包下的候选类名
+     *
+     * @param classLoader 类加载器
+     * @param basePackage 包名
+     * @param annoFilter  注解名过滤（索引里的类，至少有一个注解通过才是候选）
+     * @return 没有任何索引时，为 null（由调用方照常扫描）
+     */
+    public static Set<String> find(ClassLoader classLoader, String basePackage, Predicate<String> annoFilter) {
+        String dir = basePackage.replace('.', '/');
+        String prefix = basePackage + ".";
+
+        Set<String> names = new LinkedHashSet<>();
+        List<URL> rootList = new ArrayList<>();
+        List<RootIndex> indexList = new ArrayList<>();
+        boolean indexed = false;
+
+        try {
+            Enumeration<URL> roots = ResourceUtil.getResources(classLoader, dir);
+
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                RootIndex index = loadIndex(root, dir, prefix, annoFilter, names);
+
+                if (index != null) {
+                    indexed = true;
+                }
+
+                rootList.add(root);
+                indexList.add(index);
+            }
+
+            if (indexed == false) {
+                return null;
+            }
+
+            for (int i = 0; i < rootList.size(); i++) {
+                URL root = rootList.get(i);
+                RootIndex index = indexList.get(i);
+
+                if (index != null && index.complete && "jar".equals(root.getProtocol())) {
+                    //完整的 jar 索引，不需要遍历 jar 条目
+                    continue;
+                }
+
+                //列出根下的类文件（只是列名，不加载）
+                Set<String> paths = new LinkedHashSet<>();
+                ScanUtil.getScanner().scanDo(root, dir, n -> n.endsWith(".class"), paths);
+
+                for (String path : paths) {
+                    String className = path.substring(0, path.length() - 6).replace('/', '.');
+
+                    if (index == null) {
+                        //没有索引的根，照常扫描
+                        names.add(className);
+                    } else if (index.known.contains(className) == false && isAnonymous(className) == false) {
+                        //索引里没有的类（没有经过处理器编译的）
+                        names.add(className);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            EventBus.pushTry(e);
+        }
+
+        return names;
+    }
+
+    /**
+     * 是否为匿名类或局部类（比如 A$1、A$1Local；不可能是组件，处理器也不会记录）
+     */
+    private static boolean isAnonymous(String className) {
+        int idx = className.lastIndexOf('$');
+        return idx > 0 && idx + 1 < className.length() && Character.isDigit(className.charAt(idx + 1));
+    }
+
+    /**
+     * 加载根的索引
+     *
+     * @param names 通过注解过滤的候选类名（输出）
+     * @return 没有索引时，为 null
+     */
+    private static RootIndex loadIndex(URL root, String dir, String prefix, Predicate<String> annoFilter, Set<String> names) throws IOException {
+        String rootStr = root.toString();
+        if (rootStr.endsWith("/")) {
+            rootStr = rootStr.substring(0, rootStr.length() - 1);
+        }
+
+        if (rootStr.endsWith(dir) == false) {
+            return null;
+        }
+
+        URL indexUrl = new URL(rootStr.substring(0, rootStr.length() - dir.length()) + INDEX_FILE);
+
+        InputStream stream;
+        try {
+            stream = indexUrl.openStream();
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+
+        RootIndex index = new RootIndex();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (COMPLETE_MARKER.equals(line.trim())) {
+                    index.complete = true;
+                    continue;
+                }
+
+                if (line.length() == 0 || line.charAt(0) == '#' || line.startsWith(prefix) == false) {
+                    continue;
+                }
+
+                int idx = line.indexOf('=');
+                if (idx < 0) {
+                    continue;
+                }
+
+                String className = line.substring(0, idx).trim();
+                index.known.add(className);
+
+                for (String anno : line.substring(idx + 1).split(",")) {
+                    if (annoFilter.test(anno.trim())) {
+                        names.add(className);
+                        break;
+                    }
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * 根的索引
+     */
+    private static class RootIndex {
+        //索引里的所有类名（本包下的）
+        final Set<String> known = new HashSet<>();
+        //是否完整（包含根下的所有类）
+        boolean complete;
+    }
+}
@@ -3,10 +3,7 @@ package org.noear.solon.core.aspect;
 import org.noear.solon.core.wrap.MethodHolder;
 import org.noear.solon.core.wrap.ParamWrap;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * 调用者
@@ -19,10 +16,18 @@ public class Invocation {
     private final Object[] args;
     private Map<String, Object> argsMap;
     private final MethodHolder method;
-    private final List<InterceptorEntity> interceptors;
+    private final Interceptor[] interceptors;
     private int interceptorIndex = 0;
 
     public Invocation(Object target, Object[] args, MethodHolder method, List<InterceptorEntity> interceptors) {
+        this(target, args, method, interceptors.toArray(new Interceptor[0]));
+    }
+
+    /**
+     * @param interceptors 拦截器（已排序的快照，不会被修改）
+     * @since 2.3
+     */
+    public Invocation(Object target, Object[] args, MethodHolder method, Interceptor[] interceptors) {
         this.target = target;
         this.args = args;
         this.method = method;
@@ -48,19 +53,10 @@ public class Invocation {
      */
     public Map<String, Object> argsAsMap() {
         if (argsMap == null) {
-            Map<String, Object> tmp = new LinkedHashMap<>();
-
-            ParamWrap[] params = method.getParamWraps();
-
-            for (int i = 0, len = params.length; i < len; i++) {
-                tmp.put(params[i].getName(), args[i]);
-            }
-
-            //变成只读
-            argsMap = Collections.unmodifiableMap(tmp);
+            //只读视图（不复制参数）
+            argsMap = new ArgsMap(method.getParamWraps(), args);
         }
 
-
         return argsMap;
     }
 
@@ -75,6 +71,78 @@ public class Invocation {
      * 调用
      */
     public Object invoke() throws Throwable {
-        return interceptors.get(interceptorIndex++).doIntercept(this);
+        return interceptors[interceptorIndex++].doIntercept(this);
+    }
+
+    /**
+     * 参数Map只读视图（保持参数顺序）
+     */
+    static class ArgsMap extends AbstractMap<String, Object> {
+        private final ParamWrap[] params;
+        private final Object[] args;
+
+        ArgsMap(ParamWrap[] params, Object[] args) {
+            this.params = params;
+            this.args = args;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < params.length; i++) {
+                if (params[i].getName().equals(key)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        public int size() {
+            return params.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : args[i];
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public int size() {
+                    return params.length;
+                }
+
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        int i = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < params.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (i >= params.length) {
+                                throw new NoSuchElementException();
+                            }
+
+                            Entry<String, Object> e = new SimpleImmutableEntry<>(params[i].getName(), args[i]);
+                            i++;
+                            return e;
+                        }
+                    };
+                }
+            };
+        }
     }
 }
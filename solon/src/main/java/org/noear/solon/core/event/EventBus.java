@@ -4,29 +4,54 @@ import org.noear.solon.Solon;
 import org.noear.solon.core.exception.EventException;
 import org.noear.solon.core.util.RunUtil;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 监听器（内部类，外部不要使用）
  *
+ * <pre><code>
+ * 1.订阅者为写时复制的数组（按订阅顺序分发）；并按事件类型建立分发索引（含父类型），推送时只需一次查找
+ * 2.可为事件类型添加异步通道（有界队列，满时阻塞推送者；同一通道按推送顺序执行）
+ * </code></pre>
+ *
  * @see org.noear.solon.core.AopContext#start()
  * @see org.noear.solon.SolonApp#onEvent(Class, EventListener)
  * */
 public final class EventBus {
-    //异常订阅者
-    private static Map<Object, HH> sThrow = new HashMap<>();
-    //其它订阅者
-    private static Map<Object, HH> sOther = new HashMap<>();
+    private static final HH[] EMPTY = new HH[0];
+
+    //异常订阅者（写时复制）
+    private static volatile HH[] sThrow = EMPTY;
+    //其它订阅者（写时复制）
+    private static volatile HH[] sOther = EMPTY;
+    //分发索引（事件类型 -> 订阅者；订阅有变化时，整个替换）
+    private static volatile Map<Class<?>, HH[]> sIndex = new ConcurrentHashMap<>();
+
+    //异步通道（事件类型 -> 通道）
+    private static final Map<Class<?>, Lane> sLanes = new ConcurrentHashMap<>();
+    //异步通道索引（事件类型 -> 通道，含父类型；通道有变化时，整个替换）
+    private static volatile Map<Class<?>, Lane[]> sLaneIndex = new ConcurrentHashMap<>();
 
     /**
-     * 异步推送事件（一般不推荐）；
+     * 异步推送事件（一般不推荐）；有匹配的异步通道时，进入通道（通道满时会阻塞）
      *
      * @param event 事件（可以是任何对象）
      */
     public static void pushAsync(Object event) {
         if (event != null) {
+            Lane lane = laneOf(event.getClass());
+
+            if (lane != null && lane.put(event)) {
+                return;
+            }
+
             RunUtil.async(() -> {
                 try {
                     push0(event);
@@ -37,6 +62,35 @@ public final class EventBus {
         }
     }
 
+    /**
+     * 添加异步通道（pushAsync 的事件，是此类型或子类型的，进入通道按顺序执行）
+     *
+     * @param eventType 事件类型
+     * @param capacity  队列容量（满时，推送者阻塞等待）
+     */
+    public static synchronized void laneAdd(Class<?> eventType, int capacity) {
+        Lane old = sLanes.put(eventType, new Lane(eventType, capacity));
+        sLaneIndex = new ConcurrentHashMap<>();
+
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    /**
+     * 移除异步通道（已进入通道的事件，仍会执行完）
+     *
+     * @param eventType 事件类型
+     */
+    public static synchronized void laneRemove(Class<?> eventType) {
+        Lane old = sLanes.remove(eventType);
+        sLaneIndex = new ConcurrentHashMap<>();
+
+        if (old != null) {
+            old.close();
+        }
+    }
+
     /**
      * 同步推送事件（会抛异常，可传导事务回滚）
      *
@@ -78,28 +132,85 @@ public final class EventBus {
             }
 
             //异常分发
-            push1(sThrow.values(), event, false);
+            push1(indexOf(event.getClass()), event, false);
         } else {
             //其它事件分发
-            push1(sOther.values(), event, true);
+            push1(indexOf(event.getClass()), event, true);
         }
     }
 
-    private static void push1(Collection<HH> hhs, Object event, boolean thrown) throws Throwable {
+    private static void push1(HH[] hhs, Object event, boolean thrown) throws Throwable {
         for (HH h1 : hhs) {
-            if (h1.t.isInstance(event)) {
-                try {
-                    h1.l.onEvent(event);
-                } catch (Throwable e) {
-                    if (thrown) {
-                        throw e;
-                    } else {
-                        //此处不能再转发异常 //不然会死循环
-                        e.printStackTrace();
+            try {
+                h1.l.onEvent(event);
+            } catch (Throwable e) {
+                if (thrown) {
+                    throw e;
+                } else {
+                    //此处不能再转发异常 //不然会死循环
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取事件类型的订阅者（索引里没有时，构建并记录）
+     */
+    private static HH[] indexOf(Class<?> eventType) {
+        //先取索引，再取订阅者（订阅时是先改订阅者，再换索引）
+        Map<Class<?>, HH[]> index = sIndex;
+        HH[] hhs = index.get(eventType);
+
+        if (hhs == null) {
+            HH[] all = Throwable.class.isAssignableFrom(eventType) ? sThrow : sOther;
+            List<HH> list = new ArrayList<>();
+
+            for (HH h1 : all) {
+                if (h1.t.isAssignableFrom(eventType)) {
+                    list.add(h1);
+                }
+            }
+
+            hhs = list.toArray(EMPTY);
+            index.put(eventType, hhs);
+        }
+
+        return hhs;
+    }
+
+    /**
+     * 获取事件类型的异步通道（没有时，为 null）
+     */
+    private static Lane laneOf(Class<?> eventType) {
+        if (sLanes.isEmpty()) {
+            return null;
+        }
+
+        Map<Class<?>, Lane[]> index = sLaneIndex;
+        Lane[] lanes = index.get(eventType);
+
+        if (lanes == null) {
+            //优先匹配最近的类型
+            Lane lane = null;
+            for (Class<?> c = eventType; c != null && lane == null; c = c.getSuperclass()) {
+                lane = sLanes.get(c);
+            }
+
+            if (lane == null) {
+                for (Lane l1 : sLanes.values()) {
+                    if (l1.type.isAssignableFrom(eventType)) {
+                        lane = l1;
+                        break;
                     }
                 }
             }
+
+            lanes = (lane == null ? new Lane[0] : new Lane[]{lane});
+            index.put(eventType, lanes);
         }
+
+        return lanes.length == 0 ? null : lanes[0];
     }
 
     /**
@@ -110,14 +221,16 @@ public final class EventBus {
      */
     public synchronized static <T> void subscribe(Class<T> eventType, EventListener<T> listener) {
         if (Throwable.class.isAssignableFrom(eventType)) {
-            sThrow.putIfAbsent(listener, new HH(eventType, listener));
+            sThrow = addTo(sThrow, new HH(eventType, listener));
 
             if (Solon.app() != null) {
                 Solon.app().enableErrorAutoprint(false);
             }
         } else {
-            sOther.putIfAbsent(listener, new HH(eventType, listener));
+            sOther = addTo(sOther, new HH(eventType, listener));
         }
+
+        sIndex = new ConcurrentHashMap<>();
     }
 
     /**
@@ -126,8 +239,127 @@ public final class EventBus {
      * @param listener 事件监听者
      */
     public synchronized static <T> void unsubscribe(EventListener<T> listener) {
-        sThrow.remove(listener);
-        sOther.remove(listener);
+        sThrow = removeFrom(sThrow, listener);
+        sOther = removeFrom(sOther, listener);
+
+        sIndex = new ConcurrentHashMap<>();
+    }
+
+    private static HH[] addTo(HH[] hhs, HH hh) {
+        for (HH h1 : hhs) {
+            if (h1.l.equals(hh.l)) {
+                //同一个监听者只订阅一次
+                return hhs;
+            }
+        }
+
+        HH[] tmp = Arrays.copyOf(hhs, hhs.length + 1);
+        tmp[hhs.length] = hh;
+        return tmp;
+    }
+
+    private static HH[] removeFrom(HH[] hhs, EventListener<?> listener) {
+        List<HH> list = new ArrayList<>(hhs.length);
+        for (HH h1 : hhs) {
+            if (h1.l.equals(listener) == false) {
+                list.add(h1);
+            }
+        }
+
+        return list.size() == hhs.length ? hhs : list.toArray(EMPTY);
+    }
+
+    /**
+     * 异步通道（有界队列 + 单线程，保证同一通道的执行顺序）
+     */
+    static class Lane implements Runnable {
+        //关闭后，消费线程的等待间隔（毫秒；取空后退出）
+        private static final long POLL_MILLIS = 1000;
+
+        protected final Class<?> type;
+        protected final BlockingQueue<Object> queue;
+        private volatile Thread thread;
+        private volatile boolean closed;
+
+        public Lane(Class<?> type, int capacity) {
+            this.type = type;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * 放入事件（通道已关闭时，返回 false）
+         */
+        public boolean put(Object event) {
+            if (closed) {
+                return false;
+            }
+
+            if (thread == null && start() == false) {
+                return false;
+            }
+
+            try {
+                queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EventException("Event lane interrupted: " + type.getName(), e);
+            }
+
+            //放入期间关闭了（消费线程可能已退出）：还能取回的，由调用方另行执行
+            if (closed && queue.remove(event)) {
+                return false;
+            }
+
+            return true;
+        }
+
+        private synchronized boolean start() {
+            if (closed) {
+                return false;
+            }
+
+            if (thread == null) {
+                thread = new Thread(this, "solon-event-" + type.getSimpleName());
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            return true;
+        }
+
+        /**
+         * 关闭（不中断消费线程；已进入通道的事件，仍会执行完）
+         */
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Object event;
+                try {
+                    event = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    //不因中断退出（否则会丢下已进入通道的事件）
+                    continue;
+                }
+
+                if (event == null) {
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    } else {
+                        continue;
+                    }
+                }
+
+                try {
+                    push0(event);
+                } catch (Throwable e) {
+                    pushTry(e);
+                }
+            }
+        }
     }
 
     /**
@@ -10,6 +10,7 @@ import org.noear.solon.core.util.PathUtil;
 import org.noear.solon.core.util.DataThrowable;
 import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.util.PathAnalyzer;
+import org.noear.solon.core.util.PathVars;
 import org.noear.solon.annotation.Mapping;
 
 import java.lang.reflect.Method;
@@ -304,10 +305,17 @@ public class Action extends HandlerAide implements Handler {
 
     private void bindPathVarDo(Context c) throws Throwable{
         if (pathAnalyzer != null) {
-            Matcher pm = pathAnalyzer.matcher(c.pathNew());
-            if (pm.find()) {
-                for (int i = 0, len = pathKeys.size(); i < len; i++) {
-                    c.paramSet(pathKeys.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
+            String path = c.pathNew();
+
+            //优先使用路由时捕获的结果（免去二次分析）
+            PathVars vars = c.attr(PathVars.ATTR_NAME);
+            if (vars == null || vars.isFrom(pathAnalyzer, path) == false) {
+                vars = PathVars.capture(pathAnalyzer, path);
+            }
+
+            if (vars != null) {
+                for (int i = 0, len = Math.min(pathKeys.size(), vars.count()); i < len; i++) {
+                    c.paramSet(pathKeys.get(i), vars.get(i));//不采用group name,可解决_的问题
                 }
             }
         }
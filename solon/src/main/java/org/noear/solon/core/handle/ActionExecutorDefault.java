@@ -7,7 +7,9 @@ import org.noear.solon.core.util.ConvertUtil;
 import org.noear.solon.core.wrap.ParamWrap;
 
 import java.io.InputStream;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -20,6 +22,13 @@ import java.util.Map;
  * @since 1.0
  * */
 public class ActionExecutorDefault implements ActionExecutor {
+    //changeValue 是否被重写（未重写时，参数解析器可使用预先分析的结果）
+    private final boolean changeValueOverridden = isOverridden("changeValue",
+            Context.class, ParamWrap.class, int.class, Class.class, Object.class);
+    //buildArgs 是否被重写（被重写时，仍由它构建执行参数）
+    private final boolean buildArgsOverridden = isOverridden("buildArgs",
+            Context.class, MethodWrap.class);
+
     /**
      * 是否匹配
      *
@@ -40,8 +49,15 @@ public class ActionExecutorDefault implements ActionExecutor {
      */
     @Override
     public Object execute(Context ctx, Object obj, MethodWrap mWrap) throws Throwable {
-        List<Object> args = buildArgs(ctx, mWrap);
-        return mWrap.invokeByAspect(obj, args.toArray());
+        Object[] args;
+
+        if (buildArgsOverridden) {
+            args = buildArgs(ctx, mWrap).toArray();
+        } else {
+            args = resolveArgs(ctx, mWrap);
+        }
+
+        return mWrap.invokeByAspect(obj, args);
     }
 
 
@@ -49,104 +65,85 @@ public class ActionExecutorDefault implements ActionExecutor {
      * 构建执行参数
      *
      * @param ctx   上下文
+     * @deprecated 2.3（请改用 buildResolver 定制；重写后仍然有效，但不再使用预先生成的参数解析器）
      */
+    @Deprecated
     protected List<Object> buildArgs(Context ctx, MethodWrap mWrap) throws Exception {
-        ParamWrap[] pSet = mWrap.getParamWraps();
-        List<Object> args = new ArrayList<>(pSet.length);
+        return new ArrayList<>(Arrays.asList(resolveArgs(ctx, mWrap)));
+    }
 
-        Object bodyObj = changeBody(ctx);
+    /**
+     * 解析执行参数（使用预先生成的参数解析器）
+     *
+     * @param ctx   上下文
+     * @param mWrap 函数包装器
+     * @since 2.3
+     */
+    protected Object[] resolveArgs(Context ctx, MethodWrap mWrap) throws Exception {
+        ArgumentResolver[] resolvers = mWrap.getArgumentResolvers(this, this::buildResolvers);
+        Object[] args = new Object[resolvers.length];
 
-        //p 参数
-        //pt 参数原类型
-        for (int i = 0, len = pSet.length; i < len; i++) {
-            ParamWrap p = pSet[i];
-            Class<?> pt = p.getType();
+        Object bodyObj = null;
+        boolean bodyDone = false;
 
-            if (Context.class.isAssignableFrom(pt)) {
-                //如果是 Context 类型，直接加入参数
-                //
-                args.add(ctx);
-            } else if (ModelAndView.class.isAssignableFrom(pt)) {
-                //如果是 ModelAndView 类型，直接加入参数
-                //
-                args.add(new ModelAndView());
-            } else if (Locale.class.isAssignableFrom(pt)) {
-                //如果是 Locale 类型，直接加入参数
-                //
-                args.add(ctx.getLocale());
-            } else if (UploadedFile.class == pt) {
-                //如果是 UploadedFile
-                //
-                args.add(ctx.file(p.getName()));
-            } else if (pt.isInstance(ctx.request())) { //getTypeName().equals("javax.servlet.http.HttpServletRequest")
-                args.add(ctx.request());
-            } else if (pt.isInstance(ctx.response())) { //getTypeName().equals("javax.servlet.http.HttpServletResponse")
-                args.add(ctx.response());
-            } else {
-                Object tv = null;
+        for (int i = 0; i < resolvers.length; i++) {
+            ArgumentResolver r = resolvers[i];
 
+            if (bodyDone == false && r.requireBodyObj()) {
+                //有需要时，才转换 body
+                bodyObj = changeBody(ctx);
+                bodyDone = true;
+            }
 
-                if (p.requireBody()) {
-                    //需要 body 数据
-                    if (String.class.equals(pt)) {
-                        tv = ctx.bodyNew();
-                    } else if (InputStream.class.equals(pt)) {
-                        tv = ctx.bodyAsStream();
-                    } else if (Map.class.equals(pt) && bodyObj instanceof NvMap) {
-                        tv = bodyObj;
-                    }
-                }
-
-                if (tv == null) {
-                    //尝试数据转换
-                    try {
-                        tv = changeValue(ctx, p, i, pt, bodyObj);
-                    } catch (Exception e) {
-                        String methodFullName = mWrap.getEntityClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
-                        throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
-                    }
-                }
+            args[i] = r.resolve(ctx, bodyObj);
+        }
 
-                if (tv == null) {
-                    //
-                    // 如果是基类类型（int,long...），则抛出异常
-                    //
-                    if (pt.isPrimitive()) {
-                        //如果是基本类型，则为给个默认值
-                        //
-                        if (pt == short.class) {
-                            tv = (short) 0;
-                        } else if (pt == int.class) {
-                            tv = 0;
-                        } else if (pt == long.class) {
-                            tv = 0L;
-                        } else if (pt == double.class) {
-                            tv = 0d;
-                        } else if (pt == float.class) {
-                            tv = 0f;
-                        } else if (pt == boolean.class) {
-                            tv = false;
-                        } else {
-                            //
-                            //其它类型不支持
-                            //
-                            throw new IllegalArgumentException("Please enter a valid parameter @" + p.getName());
-                        }
-                    }
-                }
+        return args;
+    }
 
-                if (tv == null) {
-                    if (p.required()) {
-                        ctx.status(400);
-                        throw new IllegalArgumentException(p.requiredHint());
-                    }
-                }
+    /**
+     * 构建函数的参数解析器
+     *
+     * @since 2.3
+     */
+    protected ArgumentResolver[] buildResolvers(MethodWrap mWrap) {
+        ParamWrap[] pSet = mWrap.getParamWraps();
+        ArgumentResolver[] resolvers = new ArgumentResolver[pSet.length];
 
-                args.add(tv);
-            }
+        for (int i = 0; i < pSet.length; i++) {
+            resolvers[i] = buildResolver(mWrap, pSet[i], i);
         }
 
-        return args;
+        return resolvers;
+    }
+
+    /**
+     * 构建参数解析器（可重写，以定制特定参数的解析）
+     *
+     * @param mWrap 函数包装器
+     * @param p     参数
+     * @param pi    参数顺序位
+     * @since 2.3
+     */
+    protected ArgumentResolver buildResolver(MethodWrap mWrap, ParamWrap p, int pi) {
+        Class<?> pt = p.getType();
+
+        if (Context.class.isAssignableFrom(pt)) {
+            //如果是 Context 类型，直接加入参数
+            return (ctx, bodyObj) -> ctx;
+        } else if (ModelAndView.class.isAssignableFrom(pt)) {
+            //如果是 ModelAndView 类型，直接加入参数
+            return (ctx, bodyObj) -> new ModelAndView();
+        } else if (Locale.class.isAssignableFrom(pt)) {
+            //如果是 Locale 类型，直接加入参数
+            return (ctx, bodyObj) -> ctx.getLocale();
+        } else if (UploadedFile.class == pt) {
+            //如果是 UploadedFile
+            String name = p.getName();
+            return (ctx, bodyObj) -> ctx.file(name);
+        } else {
+            return new ValueResolver(mWrap, p, pi);
+        }
     }
 
     /**
@@ -198,6 +195,19 @@ public class ActionExecutorDefault implements ActionExecutor {
         return tv;
     }
 
+    private boolean isOverridden(String name, Class<?>... parameterTypes) {
+        for (Class<?> c = getClass(); c != ActionExecutorDefault.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                //继续向上找
+            }
+        }
+
+        return false;
+    }
+
     /**
      * 尝试将值转换为实体
      */
@@ -207,4 +217,182 @@ public class ActionExecutorDefault implements ActionExecutor {
 
         return clzW.newBy(map::get, ctx);
     }
+
+    /**
+     * 值参数解析器（request/response、body、转换值、基本类型默认值、实体绑定）
+     */
+    private class ValueResolver implements ArgumentResolver {
+        private final ParamWrap p;
+        private final int pi;
+        private final Class<?> pt;
+        private final String methodFullName;
+
+        //可能是 request/response 对象（基本类型或 java 的 final 类型，不可能是）
+        private final boolean maybeRequest;
+        //body 类型：0 不需要，1 String，2 InputStream，3 Map，4 其它
+        private final int bodyType;
+        //基本类型的默认值
+        private final Object primitiveDef;
+
+        //使用默认的值转换（changeValue 未被重写）
+        private final boolean changeValueDef;
+        //无值时的处理：0 为 null，1 UploadedFile，2 从 attr 找，3 转为实体
+        private final int absentType;
+        private volatile ClassWrap entityWrap;
+
+        ValueResolver(MethodWrap mWrap, ParamWrap p, int pi) {
+            this.p = p;
+            this.pi = pi;
+            this.pt = p.getType();
+            this.methodFullName = mWrap.getEntityClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
+
+            this.maybeRequest = (pt.isPrimitive() || pt.isArray() ||
+                    (Modifier.isFinal(pt.getModifiers()) && pt.getName().startsWith("java."))) == false;
+
+            if (p.requireBody()) {
+                //需要 body 数据
+                if (String.class.equals(pt)) {
+                    bodyType = 1;
+                } else if (InputStream.class.equals(pt)) {
+                    bodyType = 2;
+                } else if (Map.class.equals(pt)) {
+                    bodyType = 3;
+                } else {
+                    bodyType = 4;
+                }
+            } else {
+                bodyType = 0;
+            }
+
+            //如果是基本类型，则为给个默认值
+            if (pt == short.class) {
+                primitiveDef = (short) 0;
+            } else if (pt == int.class) {
+                primitiveDef = 0;
+            } else if (pt == long.class) {
+                primitiveDef = 0L;
+            } else if (pt == double.class) {
+                primitiveDef = 0d;
+            } else if (pt == float.class) {
+                primitiveDef = 0f;
+            } else if (pt == boolean.class) {
+                primitiveDef = false;
+            } else {
+                primitiveDef = null;
+            }
+
+            changeValueDef = (changeValueOverridden == false);
+
+            if (UploadedFile.class == pt) {
+                absentType = 1;
+            } else if (p.getName().startsWith("$")) {
+                absentType = 2;
+            } else if (pt.getName().startsWith("java.") || pt.isArray() || pt.isPrimitive()) {
+                absentType = 0;
+            } else {
+                absentType = 3;
+            }
+        }
+
+        @Override
+        public boolean requireBodyObj() {
+            //默认的值转换，只有 Map body 才用到 body 对象
+            return changeValueDef == false || bodyType == 3;
+        }
+
+        /**
+         * 默认的值转换（与 changeValue 相同，只是预先做了分析）
+         */
+        private Object changeValueDo(Context ctx) throws Exception {
+            String pv = p.getValue(ctx);
+
+            if (pv == null) {
+                pv = p.defaultValue();
+            }
+
+            if (pv == null) {
+                switch (absentType) {
+                    case 1:
+                        return ctx.file(p.getName());
+                    case 2:
+                        return ctx.attr(p.getName());
+                    case 3: {
+                        if (entityWrap == null) {
+                            entityWrap = ClassWrap.get(pt);
+                        }
+
+                        Map<String, String> map = ctx.paramMap();
+                        return entityWrap.newBy(map::get, ctx);
+                    }
+                    default:
+                        return null;
+                }
+            } else {
+                return ConvertUtil.to(p.getParameter(), pt, p.getName(), pv, ctx);
+            }
+        }
+
+        @Override
+        public Object resolve(Context ctx, Object bodyObj) throws Exception {
+            if (maybeRequest) {
+                Object tmp = ctx.request();
+                if (pt.isInstance(tmp)) { //getTypeName().equals("javax.servlet.http.HttpServletRequest")
+                    return tmp;
+                }
+
+                tmp = ctx.response();
+                if (pt.isInstance(tmp)) { //getTypeName().equals("javax.servlet.http.HttpServletResponse")
+                    return tmp;
+                }
+            }
+
+            Object tv = null;
+
+            if (bodyType == 1) {
+                tv = ctx.bodyNew();
+            } else if (bodyType == 2) {
+                tv = ctx.bodyAsStream();
+            } else if (bodyType == 3 && bodyObj instanceof NvMap) {
+                tv = bodyObj;
+            }
+
+            if (tv == null) {
+                //尝试数据转换
+                try {
+                    if (changeValueDef) {
+                        tv = changeValueDo(ctx);
+                    } else {
+                        tv = changeValue(ctx, p, pi, pt, bodyObj);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
+                }
+            }
+
+            if (tv == null) {
+                //
+                // 如果是基类类型（int,long...），则抛出异常
+                //
+                if (pt.isPrimitive()) {
+                    if (primitiveDef == null) {
+                        //
+                        //其它类型不支持
+                        //
+                        throw new IllegalArgumentException("Please enter a valid parameter @" + p.getName());
+                    }
+
+                    tv = primitiveDef;
+                }
+            }
+
+            if (tv == null) {
+                if (p.required()) {
+                    ctx.status(400);
+                    throw new IllegalArgumentException(p.requiredHint());
+                }
+            }
+
+            return tv;
+        }
+    }
 }
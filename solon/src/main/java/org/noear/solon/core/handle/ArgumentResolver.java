@@ -0,0 +1,26 @@
+package org.noear.solon.core.handle;
+
+/**
+ * 动作参数解析器（按参数预先生成，请求时直接解析）
+ *
+ * @see ActionExecutorDefault#buildResolver(org.noear.solon.core.wrap.MethodWrap, org.noear.solon.core.wrap.ParamWrap, int)
+ * @author agent
+ * @since 2.3
+ */
+@FunctionalInterface
+public interface ArgumentResolver {
+    /**
+     * 是否需要 body 对象（有需要时，才会执行 changeBody）
+     */
+    default boolean requireBodyObj() {
+        return false;
+    }
+
+    /**
+     * 解析
+     *
+     * @param ctx     上下文
+     * @param bodyObj body 对象（不需要时为 null）
+     */
+    Object resolve(Context ctx, Object bodyObj) throws Exception;
+}
@@ -0,0 +1,47 @@
+package org.noear.solon.core.handle;
+
+import org.noear.solon.core.util.RankEntity;
+
+import java.util.List;
+
+/**
+ * 过滤器调用链节点（不可变；注册变化时预先编译，请求时不再产生对象）
+ *
+ * @author agent
+ * @since 2.3
+ * */
+public class FilterChainNode implements FilterChain {
+    /**
+     * 链尾（什么也不做）
+     */
+    public static final FilterChain END = ctx -> {
+    };
+
+    /**
+     * 编译调用链
+     *
+     * @param filterList 过滤器（已排序）
+     */
+    public static FilterChain compile(List<RankEntity<Filter>> filterList) {
+        FilterChain next = END;
+
+        for (int i = filterList.size() - 1; i >= 0; i--) {
+            next = new FilterChainNode(filterList.get(i).target, next);
+        }
+
+        return next;
+    }
+
+    private final Filter filter;
+    private final FilterChain next;
+
+    public FilterChainNode(Filter filter, FilterChain next) {
+        this.filter = filter;
+        this.next = next;
+    }
+
+    @Override
+    public void doFilter(Context ctx) throws Throwable {
+        filter.doFilter(ctx, next);
+    }
+}
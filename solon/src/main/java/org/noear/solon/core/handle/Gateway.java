@@ -5,10 +5,12 @@ import org.noear.solon.Utils;
 import org.noear.solon.annotation.Mapping;
 import org.noear.solon.core.*;
 import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.route.Routing;
 import org.noear.solon.core.route.RoutingDefault;
 import org.noear.solon.core.route.RoutingTable;
 import org.noear.solon.core.route.RoutingTableDefault;
 import org.noear.solon.core.util.PathUtil;
+import org.noear.solon.core.util.PathVars;
 import org.noear.solon.core.util.DataThrowable;
 import org.noear.solon.core.util.RankEntity;
 
@@ -44,6 +46,8 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
     private final String mapping;
     private Mapping mappingAnno;
     private List<RankEntity<Filter>> filterList = new ArrayList<>();
+    //过滤器调用链（注册变化时重新编译）
+    private FilterChain filterChain;
 
     public Gateway() {
         this(new RoutingTableDefault<>());
@@ -64,6 +68,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
         mainDef = (c) -> c.status(404);
 
         filterList.add(new RankEntity<>(this::doFilter, Integer.MAX_VALUE));
+        filterChain = FilterChainNode.compile(filterList);
 
         register();
     }
@@ -139,6 +144,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
     public void filter(int index, Filter filter) {
         filterList.add(new RankEntity<>(filter, index));
         filterList.sort(Comparator.comparingInt(f -> f.index));
+        filterChain = FilterChainNode.compile(filterList);
     }
 
     /**
@@ -147,7 +153,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
     @Override
     public void handle(Context c) throws Throwable {
         try {
-            new FilterChainImpl(filterList).doFilter(c);
+            filterChain.doFilter(c);
         } catch (Throwable e) {
             c.setHandled(true); //停止处理
 
@@ -442,7 +448,19 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
             return null;
         } else {
             MethodType method = MethodTypeUtil.valueOf(c.method());
-            return mainRouting.matchOne(path, method);
+            PathVars[] vars = new PathVars[1];
+            Routing<Handler> routing = mainRouting.matchOneRouting(path, method, vars);
+
+            if (routing == null) {
+                return null;
+            }
+
+            //捕获的路径变量，交由 Action 直接使用（免去二次分析）
+            if (vars[0] != null && routing.target() instanceof Action) {
+                c.attrSet(PathVars.ATTR_NAME, vars[0]);
+            }
+
+            return routing.target();
         }
     }
 }
@@ -2,6 +2,7 @@ package org.noear.solon.core.message;
 
 import org.noear.solon.core.util.PathAnalyzer;
 import org.noear.solon.core.util.PathUtil;
+import org.noear.solon.core.util.PathVars;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -44,10 +45,10 @@ public class ListenerHolder implements Listener {
     public void onOpen(Session s) {
         //获取path var
         if (pathAnalyzer != null) {
-            Matcher pm = pathAnalyzer.matcher(s.pathNew());
-            if (pm.find()) {
-                for (int i = 0, len = pathKeys.size(); i < len; i++) {
-                    s.paramSet(pathKeys.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
+            PathVars vars = PathVars.capture(pathAnalyzer, s.pathNew());
+            if (vars != null) {
+                for (int i = 0, len = Math.min(pathKeys.size(), vars.count()); i < len; i++) {
+                    s.paramSet(pathKeys.get(i), vars.get(i));//不采用group name,可解决_的问题
                 }
             }
         }
@@ -0,0 +1,329 @@
+package org.noear.solon.core.route;
+
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.Endpoint;
+import org.noear.solon.core.handle.Handler;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.message.Listener;
+import org.noear.solon.core.message.Session;
+import org.noear.solon.core.util.PathVars;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带分发缓存的路由器（按 method + pathNew 缓存匹配结果；有界，近似 LRU）
+ *
+ * <pre><code>
+ * 1.适合访问集中在少量路径的场景；每个请求只查找一次缓存项（之后从请求属性取），命中时不加锁
+ * 2.读取只记一个访问刻度（不调整顺序）；超出容量时，批量淘汰最久未访问的
+ * 3.路由关系变化（add, remove, clear）时，缓存会失效
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class RouterCached implements Router {
+    //请求属性名（当前请求的缓存项）
+    private static final String ATTR_ENTRY = "solon.router.cached";
+
+    private final Router real;
+    private final int capacity;
+    private final Map<Key, Entry> cached = new ConcurrentHashMap<>();
+    //路由关系的版本（变化时递增，使旧的缓存失效）
+    private volatile long version;
+    //访问刻度（新增缓存项时递增；命中时记到缓存项上，用于近似 LRU）
+    private final AtomicLong tick = new AtomicLong();
+    private final Object evictLock = new Object();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param real     真实的路由器
+     * @param capacity 缓存容量
+     */
+    public RouterCached(Router real, int capacity) {
+        this.real = real;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * 真实的路由器
+     */
+    public Router real() {
+        return real;
+    }
+
+    /**
+     * 缓存命中次数
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 缓存未命中次数
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 缓存数量
+     */
+    public int cacheSize() {
+        return cached.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void invalidate() {
+        version++;
+        cached.clear();
+    }
+
+
+    @Override
+    public void caseSensitive(boolean caseSensitive) {
+        real.caseSensitive(caseSensitive);
+        invalidate();
+    }
+
+    @Override
+    public void add(String path, Endpoint endpoint, MethodType method, int index, Handler handler) {
+        real.add(path, endpoint, method, index, handler);
+        invalidate();
+    }
+
+    @Override
+    public void remove(String pathPrefix) {
+        real.remove(pathPrefix);
+        invalidate();
+    }
+
+    @Override
+    public Collection<Routing<Handler>> getAll(Endpoint endpoint) {
+        return real.getAll(endpoint);
+    }
+
+    @Override
+    public Handler matchOne(Context ctx, Endpoint endpoint) {
+        Entry entry = entryOf(ctx);
+
+        Object tmp = entry.one.get(endpoint.code);
+        if (tmp == null) {
+            missCount.increment();
+
+            tmp = real.matchOne(ctx, endpoint);
+            entry.one.set(endpoint.code, (tmp == null ? Entry.NONE : tmp));
+        } else {
+            hitCount.increment();
+        }
+
+        return (tmp == Entry.NONE ? null : (Handler) tmp);
+    }
+
+    @Override
+    public Handler matchMain(Context ctx) {
+        Entry entry = entryOf(ctx);
+
+        MainResult tmp = entry.main;
+        if (tmp == null) {
+            missCount.increment();
+
+            Object varsOld = ctx.attr(PathVars.ATTR_NAME);
+            Handler handler = real.matchMain(ctx);
+            Object varsNew = ctx.attr(PathVars.ATTR_NAME);
+
+            if (varsNew instanceof PathVars && varsNew != varsOld) {
+                tmp = new MainResult(handler, (PathVars) varsNew);
+            } else {
+                tmp = new MainResult(handler, null);
+            }
+
+            entry.main = tmp;
+            return handler;
+        } else {
+            hitCount.increment();
+
+            if (tmp.handler != null) {
+                if (tmp.vars != null) {
+                    ctx.attrSet(PathVars.ATTR_NAME, tmp.vars);
+                }
+
+                ctx.attrSet("mainHandler", tmp.handler);
+            }
+
+            return tmp.handler;
+        }
+    }
+
+    @Override
+    public List<Handler> matchAll(Context ctx, Endpoint endpoint) {
+        Entry entry = entryOf(ctx);
+
+        List<Handler> tmp = entry.all.get(endpoint.code);
+        if (tmp == null) {
+            missCount.increment();
+
+            tmp = Collections.unmodifiableList(real.matchAll(ctx, endpoint));
+            entry.all.set(endpoint.code, tmp);
+        } else {
+            hitCount.increment();
+        }
+
+        return tmp;
+    }
+
+    @Override
+    public void add(String path, MethodType method, int index, Listener listener) {
+        real.add(path, method, index, listener);
+    }
+
+    @Override
+    public Listener matchOne(Session session) {
+        return real.matchOne(session);
+    }
+
+    @Override
+    public List<Listener> matchAll(Session session) {
+        return real.matchAll(session);
+    }
+
+    @Override
+    public void clear() {
+        real.clear();
+        invalidate();
+    }
+
+    /**
+     * 获取缓存项（没有时新建；同一请求内复用，除非 pathNew 被前置处理修改了）
+     */
+    private Entry entryOf(Context ctx) {
+        String method = ctx.method();
+        String path = ctx.pathNew();
+        long ver = version;
+
+        Entry entry = ctx.attr(ATTR_ENTRY);
+        if (entry != null && entry.version == ver && entry.key.matches(method, path)) {
+            return entry;
+        }
+
+        Key key = new Key(method, path);
+        entry = cached.get(key);
+
+        if (entry == null || entry.version != ver) {
+            entry = new Entry(key, ver);
+            entry.accessTick = tick.incrementAndGet();
+
+            //版本没变才放入缓存（变化期间产生的结果可能已过时）
+            if (ver == version) {
+                cached.put(key, entry);
+
+                if (cached.size() > capacity) {
+                    evict();
+                }
+            }
+        } else {
+            //只在刻度变化时写（减少命中时的写竞争）
+            long now = tick.get();
+            if (entry.accessTick != now) {
+                entry.accessTick = now;
+            }
+        }
+
+        ctx.attrSet(ATTR_ENTRY, entry);
+        return entry;
+    }
+
+    /**
+     * 批量淘汰最久未访问的（淘汰到容量的 3/4，避免每次新增都淘汰）
+     */
+    private void evict() {
+        synchronized (evictLock) {
+            int size = cached.size();
+            if (size <= capacity) {
+                return;
+            }
+
+            List<Entry> list = new ArrayList<>(cached.values());
+            list.sort(Comparator.comparingLong(e -> e.accessTick));
+
+            int count = size - capacity * 3 / 4;
+            for (int i = 0; i < count && i < list.size(); i++) {
+                Entry e = list.get(i);
+                cached.remove(e.key, e);
+            }
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    static class Key {
+        final String method;
+        final String path;
+        final int hash;
+
+        Key(String method, String path) {
+            this.method = method;
+            this.path = path;
+            this.hash = 31 * String.valueOf(method).hashCode() + String.valueOf(path).hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return hash == key.hash && Objects.equals(method, key.method) && Objects.equals(path, key.path);
+        }
+
+        boolean matches(String method, String path) {
+            return Objects.equals(this.method, method) && Objects.equals(this.path, path);
+        }
+    }
+
+    /**
+     * 缓存项（各处理点的匹配结果，用时才填充）
+     */
+    static class Entry {
+        static final Object NONE = new Object();
+
+        final Key key;
+        final long version;
+        //按 endpoint.code 存放（原子数组，保证写入后其它线程可见）
+        final AtomicReferenceArray<Object> one = new AtomicReferenceArray<>(3);
+        final AtomicReferenceArray<List<Handler>> all = new AtomicReferenceArray<>(3);
+        volatile MainResult main;
+        volatile long accessTick;
+
+        Entry(Key key, long version) {
+            this.key = key;
+            this.version = version;
+        }
+    }
+
+    /**
+     * 主处理匹配结果
+     */
+    static class MainResult {
+        final Handler handler;
+        final PathVars vars;
+
+        MainResult(Handler handler, PathVars vars) {
+            this.handler = handler;
+            this.vars = vars;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.noear.solon.core.handle.*;
 import org.noear.solon.core.message.Listener;
 import org.noear.solon.core.message.ListenerHolder;
 import org.noear.solon.core.message.Session;
+import org.noear.solon.core.util.PathVars;
 
 import java.util.*;
 
@@ -18,13 +19,21 @@ public class RouterDefault implements Router{
     private final RoutingTable<Listener> routesL;
 
     public RouterDefault() {
-        routesH = new RoutingTableDefault[3];
+        this(RoutingTableTrie::new);
+    }
+
+    /**
+     * @param tableFactory 路由表工厂（默认为字典树实现；RoutingTableDefault::new 为线性实现）
+     * @since 2.3
+     */
+    public RouterDefault(RoutingTableFactory tableFactory) {
+        routesH = new RoutingTable[3];
 
-        routesH[0] = new RoutingTableDefault<>();//before:0
-        routesH[1] = new RoutingTableDefault<>();//main
-        routesH[2] = new RoutingTableDefault<>();//after:2
+        routesH[0] = tableFactory.create();//before:0
+        routesH[1] = tableFactory.create();//main
+        routesH[2] = tableFactory.create();//after:2
 
-        routesL = new RoutingTableDefault<>();
+        routesL = tableFactory.create();
     }
     /**
      * 添加路由关系 for Handler
@@ -70,7 +79,7 @@ public class RouterDefault implements Router{
 
 
     /**
-     * 区配一个处理（根据上下文）
+     * 区配一个处理（根据上下文；主处理时，同时捕获路径变量，交由 Action 直接使用）
      *
      * @param ctx 上下文
      * @param endpoint 处理点
@@ -81,7 +90,22 @@ public class RouterDefault implements Router{
         String pathNew = ctx.pathNew();
         MethodType method = MethodTypeUtil.valueOf(ctx.method());
 
-        return routesH[endpoint.code].matchOne(pathNew, method);
+        if (endpoint != Endpoint.main) {
+            return routesH[endpoint.code].matchOne(pathNew, method);
+        }
+
+        PathVars[] vars = new PathVars[1];
+        Routing<Handler> routing = routesH[Endpoint.main.code].matchOneRouting(pathNew, method, vars);
+
+        if (routing == null) {
+            return null;
+        }
+
+        if (vars[0] != null && routing.target() instanceof Action) {
+            ctx.attrSet(PathVars.ATTR_NAME, vars[0]);
+        }
+
+        return routing.target();
     }
 
     /**
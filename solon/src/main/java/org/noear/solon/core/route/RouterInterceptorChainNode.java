@@ -0,0 +1,50 @@
+package org.noear.solon.core.route;
+
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.Handler;
+import org.noear.solon.core.util.RankEntity;
+import org.noear.solon.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * 路由拦截器调用链节点（不可变；注册变化时预先编译，请求时不再产生对象）
+ *
+ * @author agent
+ * @since 2.3
+ * */
+public class RouterInterceptorChainNode implements RouterInterceptorChain {
+    /**
+     * 链尾（什么也不做）
+     */
+    public static final RouterInterceptorChain END = (ctx, mainHandler) -> {
+    };
+
+    /**
+     * 编译调用链
+     *
+     * @param interceptorList 拦截器（已排序）
+     */
+    public static RouterInterceptorChain compile(List<RankEntity<RouterInterceptor>> interceptorList) {
+        RouterInterceptorChain next = END;
+
+        for (int i = interceptorList.size() - 1; i >= 0; i--) {
+            next = new RouterInterceptorChainNode(interceptorList.get(i).target, next);
+        }
+
+        return next;
+    }
+
+    private final RouterInterceptor interceptor;
+    private final RouterInterceptorChain next;
+
+    public RouterInterceptorChainNode(RouterInterceptor interceptor, RouterInterceptorChain next) {
+        this.interceptor = interceptor;
+        this.next = next;
+    }
+
+    @Override
+    public void doIntercept(Context ctx, @Nullable Handler mainHandler) throws Throwable {
+        interceptor.doIntercept(ctx, mainHandler, next);
+    }
+}
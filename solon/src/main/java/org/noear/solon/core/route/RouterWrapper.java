@@ -23,7 +23,17 @@ public abstract class RouterWrapper implements HandlerSlots {
     protected void initRouter(Filter appFilter) {
         //顺序不能换
         _chainManager = new ChainManager();
-        _router = new RouterDefault();
+        if (context().cfg().getBool("solon.route.trie", true)) {
+            _router = new RouterDefault();
+        } else {
+            _router = new RouterDefault(RoutingTableDefault::new);
+        }
+
+        int cacheSize = context().cfg().getInt("solon.route.cacheSize", 0);
+        if (cacheSize > 0) {
+            //分发缓存（按 method + pathNew）
+            _router = new RouterCached(_router, cacheSize);
+        }
         _routerHandler = new RouterHandler(_router);
 
         _chainManager.addInterceptor(_routerHandler, Integer.MAX_VALUE);
@@ -3,6 +3,7 @@ package org.noear.solon.core.route;
 import org.noear.solon.core.SignalType;
 import org.noear.solon.core.handle.MethodType;
 import org.noear.solon.core.util.PathAnalyzer;
+import org.noear.solon.core.util.PathVars;
 
 /**
  * 路由默认实现
@@ -57,17 +58,53 @@ public class RoutingDefault<T> implements Routing<T> {
      */
     @Override
     public boolean matches(MethodType method2, String path2) {
-        if (MethodType.ALL == method) {
+        if (matchesMethod(method2)) {
             return matches0(path2);
-        } else if (MethodType.HTTP == method) { //不是null时，不能用==
-            if (method2.signal == SignalType.HTTP) {
-                return matches0(path2);
-            }
-        } else if (method2 == method) {
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * 是否匹配（有变量时，匹配即捕获，结果存入 vars[0]）
+     */
+    public boolean matches(MethodType method2, String path2, PathVars[] vars) {
+        if (matchesMethod(method2) == false) {
+            return false;
+        }
+
+        if (rule.varCount() == 0 || path.equals(path2)) {
             return matches0(path2);
         }
 
-        return false;
+        PathVars tmp = PathVars.capture(rule, path2);
+
+        if (tmp == null) {
+            return false;
+        } else {
+            vars[0] = tmp;
+            return true;
+        }
+    }
+
+    /**
+     * 是否匹配方法
+     */
+    public boolean matchesMethod(MethodType method2) {
+        if (MethodType.ALL == method) {
+            return true;
+        } else if (MethodType.HTTP == method) { //不是null时，不能用==
+            return method2.signal == SignalType.HTTP;
+        } else {
+            return method2 == method;
+        }
+    }
+
+    /**
+     * 捕获路径变量（没有变量或不匹配时为 null）
+     */
+    public PathVars capture(String path2) {
+        return PathVars.capture(rule, path2);
     }
 
     private boolean matches0(String path2) {
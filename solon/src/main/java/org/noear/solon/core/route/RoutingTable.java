@@ -1,6 +1,7 @@
 package org.noear.solon.core.route;
 
 import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.util.PathVars;
 
 import java.util.Collection;
 import java.util.List;
@@ -53,6 +54,43 @@ public interface RoutingTable<T> {
      */
     T matchOne(String path, MethodType method);
 
+    /**
+     * 区配一个路由记录
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的路由记录
+     * @since 2.3
+     */
+    default Routing<T> matchOneRouting(String path, MethodType method) {
+        for (Routing<T> l : getAll()) {
+            if (l.matches(method, path)) {
+                return l;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 区配一个路由记录，并捕获路径变量
+     *
+     * @param path   路径
+     * @param method 方法
+     * @param vars   路径变量接收（匹配且有变量时，存入 vars[0]）
+     * @return 一个区配的路由记录
+     * @since 2.3
+     */
+    default Routing<T> matchOneRouting(String path, MethodType method, PathVars[] vars) {
+        Routing<T> routing = matchOneRouting(path, method);
+
+        if (routing instanceof RoutingDefault) {
+            vars[0] = ((RoutingDefault<T>) routing).capture(path);
+        }
+
+        return routing;
+    }
+
     /**
      * 区配多个目标
      *
@@ -1,6 +1,7 @@
 package org.noear.solon.core.route;
 
 import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.util.PathVars;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -59,9 +60,50 @@ public class RoutingTableDefault<T> implements RoutingTable<T> {
      * @return 一个区配的目标
      */
     public T matchOne(String path, MethodType method) {
+        Routing<T> l = matchOneRouting(path, method);
+
+        if (l == null) {
+            return null;
+        } else {
+            return l.target();
+        }
+    }
+
+    /**
+     * 区配一个路由记录
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的路由记录
+     */
+    @Override
+    public Routing<T> matchOneRouting(String path, MethodType method) {
         for (Routing<T> l : table) {
             if (l.matches(method, path)) {
-                return l.target();
+                return l;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 区配一个路由记录，并捕获路径变量（匹配与捕获为同一次分析）
+     *
+     * @param path   路径
+     * @param method 方法
+     * @param vars   路径变量接收（匹配且有变量时，存入 vars[0]）
+     * @return 一个区配的路由记录
+     */
+    @Override
+    public Routing<T> matchOneRouting(String path, MethodType method, PathVars[] vars) {
+        for (Routing<T> l : table) {
+            if (l instanceof RoutingDefault) {
+                if (((RoutingDefault<T>) l).matches(method, path, vars)) {
+                    return l;
+                }
+            } else if (l.matches(method, path)) {
+                return l;
             }
         }
 
@@ -0,0 +1,15 @@
+package org.noear.solon.core.route;
+
+/**
+ * 路由表工厂
+ *
+ * @author agent
+ * @since 2.3
+ */
+@FunctionalInterface
+public interface RoutingTableFactory {
+    /**
+     * 创建路由表
+     */
+    <T> RoutingTable<T> create();
+}
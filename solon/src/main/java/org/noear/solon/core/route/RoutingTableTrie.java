@@ -0,0 +1,648 @@
+package org.noear.solon.core.route;
+
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.util.PathAnalyzer;
+
+import java.util.*;
+
+/**
+ * 路由表字典树实现（按路径段索引，查找成本与路径深度相关，而与路由数量无关）
+ *
+ * <pre><code>
+ * 支持的段：静态段、{var}、{var_}、*、**
+ * 其它复杂表达式（如：/{id}.html, /user*）退回为线性匹配
+ * </code></pre>
+ *
+ * 匹配优先级与 RoutingTableDefault 保持一致（即以记录在表中的顺序为准）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class RoutingTableTrie<T> extends RoutingTableDefault<T> {
+    //索引快照（变更时作废，下次匹配时重建）
+    private volatile Index<T> index;
+
+    /**
+     * 添加路由记录
+     *
+     * @param routing 路由
+     */
+    @Override
+    public synchronized void add(Routing<T> routing) {
+        super.add(routing);
+        index = null;
+    }
+
+    /**
+     * 添加路由记录
+     *
+     * @param routing 路由
+     * @param index   索引位置
+     */
+    @Override
+    public synchronized void add(int index, Routing<T> routing) {
+        super.add(index, routing);
+        this.index = null;
+    }
+
+    @Override
+    public synchronized void remove(String pathPrefix) {
+        super.remove(pathPrefix);
+        index = null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        index = null;
+    }
+
+    /**
+     * 区配一个目标
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的目标
+     */
+    @Override
+    public T matchOne(String path, MethodType method) {
+        Entry<T> entry = index().matchOne(path, method);
+
+        if (entry == null) {
+            return null;
+        } else {
+            return entry.routing.target();
+        }
+    }
+
+    /**
+     * 区配一个路由记录
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的路由记录
+     */
+    @Override
+    public Routing<T> matchOneRouting(String path, MethodType method) {
+        Entry<T> entry = index().matchOne(path, method);
+
+        if (entry == null) {
+            return null;
+        } else {
+            return entry.routing;
+        }
+    }
+
+    /**
+     * 区配多个目标
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一批区配的目标
+     */
+    @Override
+    public List<T> matchAll(String path, MethodType method) {
+        List<Entry<T>> entries = new ArrayList<>();
+        index().matchAll(path, method, entries);
+
+        if (entries.size() == 0) {
+            return new ArrayList<>();
+        }
+
+        if (entries.size() > 1) {
+            entries.sort(Entry::compareTo);
+        }
+
+        List<T> list = new ArrayList<>(entries.size());
+        for (Entry<T> e : entries) {
+            list.add(e.routing.target());
+        }
+
+        return list;
+    }
+
+    private Index<T> index() {
+        Index<T> tmp = index;
+
+        if (tmp == null) {
+            synchronized (this) {
+                tmp = index;
+                if (tmp == null) {
+                    tmp = new Index<>(getAll(), PathAnalyzer.isCaseSensitive() == false);
+                    index = tmp;
+                }
+            }
+        }
+
+        return tmp;
+    }
+
+
+    /**
+     * 路由索引（不可变快照）
+     */
+    static class Index<T> {
+        private final boolean ignoreCase;
+        private final Node<T> root;
+        //所有记录（按表中顺序）
+        private final Entry<T>[] entries;
+        //不能进入树的记录（按表中顺序）
+        private final Entry<T>[] others;
+
+        @SuppressWarnings("unchecked")
+        Index(Collection<Routing<T>> table, boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            this.root = new Node<>();
+            this.entries = new Entry[table.size()];
+
+            List<Entry<T>> otherList = new ArrayList<>();
+
+            int ordinal = 0;
+            for (Routing<T> r : table) {
+                Entry<T> e = new Entry<>(r, ordinal);
+                entries[ordinal] = e;
+                ordinal++;
+
+                if (tryAdd(e) == false) {
+                    otherList.add(e);
+                }
+            }
+
+            this.others = otherList.toArray(new Entry[0]);
+            this.root.freeze(ignoreCase);
+        }
+
+        /**
+         * 尝试加入树（表达式不支持时返回 false）
+         */
+        private boolean tryAdd(Entry<T> e) {
+            if (e.routingDefault == null) {
+                return false;
+            }
+
+            String expr = e.routing.path();
+            if (expr == null) {
+                return false;
+            }
+
+            if (expr.startsWith("/") == false) {
+                expr = "/" + expr;
+            }
+
+            String[] segments = expr.substring(1).split("/", -1);
+            for (String s : segments) {
+                if (segmentType(s) < 0) {
+                    return false;
+                }
+            }
+
+            Node<T> node = root;
+            for (String s : segments) {
+                node = node.child(s, segmentType(s), ignoreCase);
+            }
+
+            node.routeList.add(e);
+            return true;
+        }
+
+        Entry<T> matchOne(String path, MethodType method) {
+            if (path.length() == 0 || path.charAt(0) != '/') {
+                //非常规路径，走线性匹配
+                for (Entry<T> e : entries) {
+                    if (e.routing.matches(method, path)) {
+                        return e;
+                    }
+                }
+
+                return null;
+            }
+
+            Entry<T> best = matchOne(root, path, 1, method, null);
+
+            for (Entry<T> e : others) {
+                if (best != null && e.ordinal > best.ordinal) {
+                    break;
+                }
+
+                if (e.routing.matches(method, path)) {
+                    return e;
+                }
+            }
+
+            return best;
+        }
+
+        void matchAll(String path, MethodType method, List<Entry<T>> list) {
+            if (path.length() == 0 || path.charAt(0) != '/') {
+                //非常规路径，走线性匹配
+                for (Entry<T> e : entries) {
+                    if (e.routing.matches(method, path)) {
+                        list.add(e);
+                    }
+                }
+
+                return;
+            }
+
+            matchAll(root, path, 1, method, list);
+
+            for (Entry<T> e : others) {
+                if (e.routing.matches(method, path)) {
+                    list.add(e);
+                }
+            }
+        }
+
+        /**
+         * 找出顺序最靠前的匹配项
+         *
+         * @param pos 当前段的开始位置（大于长度时，表示路径已结束）
+         */
+        private Entry<T> matchOne(Node<T> node, String path, int pos, MethodType method, Entry<T> best) {
+            int len = path.length();
+
+            if (pos > len) {
+                return better(node.routes, method, best);
+            }
+
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = len;
+            }
+
+            Node<T> tmp = node.findStatic(path, pos, end, ignoreCase);
+            if (tmp != null) {
+                best = matchOne(tmp, path, end + 1, method, best);
+            }
+
+            if (node.varChild != null && end > pos) {
+                best = matchOne(node.varChild, path, end + 1, method, best);
+            }
+
+            if (node.starChild != null) {
+                best = matchOne(node.starChild, path, end + 1, method, best);
+            }
+
+            if (node.spanChild != null) {
+                tmp = node.spanChild;
+
+                if (len > pos) {
+                    best = better(tmp.routes, method, best);
+                }
+
+                if (tmp.hasChildren()) {
+                    for (int i = pos + 1; i < len; i++) {
+                        if (path.charAt(i) == '/') {
+                            best = matchOne(tmp, path, i + 1, method, best);
+                        }
+                    }
+                }
+            }
+
+            if (node.globChild != null) {
+                tmp = node.globChild;
+
+                best = better(tmp.routes, method, best);
+
+                if (tmp.hasChildren()) {
+                    for (int i = pos; i < len; i++) {
+                        if (path.charAt(i) == '/') {
+                            best = matchOne(tmp, path, i + 1, method, best);
+                        }
+                    }
+                }
+            }
+
+            return best;
+        }
+
+        /**
+         * 找出所有匹配项
+         *
+         * @param pos 当前段的开始位置（大于长度时，表示路径已结束）
+         */
+        private void matchAll(Node<T> node, String path, int pos, MethodType method, List<Entry<T>> list) {
+            int len = path.length();
+
+            if (pos > len) {
+                collect(node.routes, method, list);
+                return;
+            }
+
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = len;
+            }
+
+            Node<T> tmp = node.findStatic(path, pos, end, ignoreCase);
+            if (tmp != null) {
+                matchAll(tmp, path, end + 1, method, list);
+            }
+
+            if (node.varChild != null && end > pos) {
+                matchAll(node.varChild, path, end + 1, method, list);
+            }
+
+            if (node.starChild != null) {
+                matchAll(node.starChild, path, end + 1, method, list);
+            }
+
+            if (node.spanChild != null) {
+                tmp = node.spanChild;
+
+                if (len > pos) {
+                    collect(tmp.routes, method, list);
+                }
+
+                if (tmp.hasChildren()) {
+                    for (int i = pos + 1; i < len; i++) {
+                        if (path.charAt(i) == '/') {
+                            matchAll(tmp, path, i + 1, method, list);
+                        }
+                    }
+                }
+            }
+
+            if (node.globChild != null) {
+                tmp = node.globChild;
+
+                collect(tmp.routes, method, list);
+
+                if (tmp.hasChildren()) {
+                    for (int i = pos; i < len; i++) {
+                        if (path.charAt(i) == '/') {
+                            matchAll(tmp, path, i + 1, method, list);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static <T> Entry<T> better(Entry<T>[] routes, MethodType method, Entry<T> best) {
+            for (Entry<T> e : routes) {
+                if (best != null && e.ordinal > best.ordinal) {
+                    break;
+                }
+
+                if (e.routingDefault.matchesMethod(method)) {
+                    return e;
+                }
+            }
+
+            return best;
+        }
+
+        private static <T> void collect(Entry<T>[] routes, MethodType method, List<Entry<T>> list) {
+            for (Entry<T> e : routes) {
+                if (e.routingDefault.matchesMethod(method)) {
+                    //同一条记录可能经 ** 多次命中
+                    if (list.contains(e) == false) {
+                        list.add(e);
+                    }
+                }
+            }
+        }
+    }
+
+    static final int SEGMENT_STATIC = 0;
+    static final int SEGMENT_VAR = 1; // {var}
+    static final int SEGMENT_SPAN = 2; // {var_}
+    static final int SEGMENT_STAR = 3; // *
+    static final int SEGMENT_GLOB = 4; // **
+
+    /**
+     * 分析段类型（不支持时返回 -1）
+     */
+    static int segmentType(String s) {
+        if ("*".equals(s)) {
+            return SEGMENT_STAR;
+        }
+
+        if ("**".equals(s)) {
+            return SEGMENT_GLOB;
+        }
+
+        int len = s.length();
+
+        if (len > 2 && s.charAt(0) == '{' && s.charAt(len - 1) == '}') {
+            for (int i = 1; i < len - 1; i++) {
+                char c = s.charAt(i);
+                if (c == '{' || c == '}') {
+                    return -1;
+                }
+            }
+
+            //与 PathAnalyzer 保持一致：{_} 仍为普通变量
+            if (len > 3 && s.charAt(len - 2) == '_') {
+                return SEGMENT_SPAN;
+            } else {
+                return SEGMENT_VAR;
+            }
+        }
+
+        for (int i = 0; i < len; i++) {
+            switch (s.charAt(i)) {
+                case '*':
+                case '{':
+                case '}':
+                case '\\':
+                case '^':
+                case '[':
+                case ']':
+                case '(':
+                case ')':
+                case '|':
+                case '+':
+                case '?':
+                    return -1;
+            }
+        }
+
+        return SEGMENT_STATIC;
+    }
+
+
+    /**
+     * 树节点
+     */
+    static class Node<T> {
+        //构建期使用
+        private Map<String, Node<T>> staticMap;
+        private List<Entry<T>> routeList = new ArrayList<>();
+
+        //冻结后使用（开放地址表）
+        private String[] staticKeys;
+        private Node<T>[] staticNodes;
+        Entry<T>[] routes;
+
+        Node<T> varChild;
+        Node<T> spanChild;
+        Node<T> starChild;
+        Node<T> globChild;
+
+        Node<T> child(String segment, int type, boolean ignoreCase) {
+            switch (type) {
+                case SEGMENT_VAR:
+                    if (varChild == null) {
+                        varChild = new Node<>();
+                    }
+                    return varChild;
+                case SEGMENT_SPAN:
+                    if (spanChild == null) {
+                        spanChild = new Node<>();
+                    }
+                    return spanChild;
+                case SEGMENT_STAR:
+                    if (starChild == null) {
+                        starChild = new Node<>();
+                    }
+                    return starChild;
+                case SEGMENT_GLOB:
+                    if (globChild == null) {
+                        globChild = new Node<>();
+                    }
+                    return globChild;
+                default:
+                    if (staticMap == null) {
+                        staticMap = new HashMap<>();
+                    }
+
+                    String key = ignoreCase ? fold(segment) : segment;
+                    return staticMap.computeIfAbsent(key, k -> new Node<>());
+            }
+        }
+
+        boolean hasChildren() {
+            return staticKeys != null || varChild != null || spanChild != null || starChild != null || globChild != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void freeze(boolean ignoreCase) {
+            routeList.sort(Entry::compareByOrdinal);
+            routes = routeList.toArray(new Entry[0]);
+            routeList = null;
+
+            if (staticMap != null) {
+                int size = 4;
+                while (size < staticMap.size() * 2) {
+                    size <<= 1;
+                }
+
+                staticKeys = new String[size];
+                staticNodes = new Node[size];
+
+                int mask = size - 1;
+                for (Map.Entry<String, Node<T>> kv : staticMap.entrySet()) {
+                    String key = kv.getKey();
+                    int i = hash(key, 0, key.length(), ignoreCase) & mask;
+                    while (staticKeys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+
+                    staticKeys[i] = key;
+                    staticNodes[i] = kv.getValue();
+                    kv.getValue().freeze(ignoreCase);
+                }
+
+                staticMap = null;
+            }
+
+            if (varChild != null) {
+                varChild.freeze(ignoreCase);
+            }
+            if (spanChild != null) {
+                spanChild.freeze(ignoreCase);
+            }
+            if (starChild != null) {
+                starChild.freeze(ignoreCase);
+            }
+            if (globChild != null) {
+                globChild.freeze(ignoreCase);
+            }
+        }
+
+        /**
+         * 查找静态子节点（不产生子串）
+         */
+        Node<T> findStatic(String path, int from, int to, boolean ignoreCase) {
+            if (staticKeys == null) {
+                return null;
+            }
+
+            int mask = staticKeys.length - 1;
+            int size = to - from;
+
+            for (int i = hash(path, from, to, ignoreCase) & mask; ; i = (i + 1) & mask) {
+                String key = staticKeys[i];
+
+                if (key == null) {
+                    return null;
+                }
+
+                if (key.length() == size && path.regionMatches(ignoreCase, from, key, 0, size)) {
+                    return staticNodes[i];
+                }
+            }
+        }
+
+        private static int hash(String str, int from, int to, boolean ignoreCase) {
+            int h = 0;
+            for (int i = from; i < to; i++) {
+                char c = str.charAt(i);
+                if (ignoreCase) {
+                    c = Character.toLowerCase(Character.toUpperCase(c));
+                }
+                h = 31 * h + c;
+            }
+
+            return h ^ (h >>> 16);
+        }
+
+        private static String fold(String str) {
+            StringBuilder buf = new StringBuilder(str.length());
+            for (int i = 0; i < str.length(); i++) {
+                buf.append(Character.toLowerCase(Character.toUpperCase(str.charAt(i))));
+            }
+            return buf.toString();
+        }
+    }
+
+    /**
+     * 索引项
+     */
+    static class Entry<T> implements Comparable<Entry<T>> {
+        final Routing<T> routing;
+        final RoutingDefault<T> routingDefault;
+        //在表中的顺序
+        final int ordinal;
+
+        Entry(Routing<T> routing, int ordinal) {
+            this.routing = routing;
+            this.ordinal = ordinal;
+
+            //只有默认实现的匹配规则是明确的，可以进入树
+            if (routing.getClass() == RoutingDefault.class) {
+                this.routingDefault = (RoutingDefault<T>) routing;
+            } else {
+                this.routingDefault = null;
+            }
+        }
+
+        /**
+         * 按 index 排序，同 index 保持表中顺序
+         */
+        @Override
+        public int compareTo(Entry<T> o) {
+            int rst = Integer.compare(routing.index(), o.routing.index());
+            if (rst == 0) {
+                return Integer.compare(ordinal, o.ordinal);
+            } else {
+                return rst;
+            }
+        }
+
+        static int compareByOrdinal(Entry<?> a, Entry<?> b) {
+            return Integer.compare(a.ordinal, b.ordinal);
+        }
+    }
+}
@@ -11,18 +11,78 @@ import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 类型转换工具
  *
+ * <pre><code>
+ * 1.字符串转换按目标类型查找转换器（注册的优先，其次是内置的），查找结果会缓存
+ * 2.数组与 List 需要上下文（多值参数），不走转换器
+ * </code></pre>
+ *
  * @author noear
  * @since 1.0
  * */
 public class ConvertUtil {
+    //注册的转换器
+    private static final Map<Class<?>, Converter<String, ?>> registered = new ConcurrentHashMap<>();
+    //查找结果的缓存（不支持的，为 NONE）
+    private static final Map<Class<?>, Converter<String, ?>> resolved = new ConcurrentHashMap<>();
+    private static final Converter<String, ?> NONE = val -> null;
+    //注册变化的版本号（用于让外部缓存的转换器失效）
+    private static volatile int version;
+
+    /**
+     * 注册转换器（目标类型相同时，替换之前的；包括内置的）
+     *
+     * @param type      目标类型
+     * @param converter 转换器
+     */
+    public static synchronized <T> void register(Class<T> type, Converter<String, T> converter) {
+        registered.put(type, converter);
+        version++;
+        resolved.clear();
+    }
+
+    /**
+     * 注册变化的版本号
+     */
+    public static int version() {
+        return version;
+    }
+
+    /**
+     * 获取字符串的转换器（没有时，为 null）
+     *
+     * @param type 目标类型
+     */
+    public static Converter<String, ?> getConverter(Class<?> type) {
+        Converter<String, ?> converter = resolved.get(type);
+
+        if (converter == null) {
+            converter = resolve(type);
+        }
+
+        return converter == NONE ? null : converter;
+    }
+
+    //与 register 互斥（避免缓存旧的）；每个类型一般只进来一次
+    private static synchronized Converter<String, ?> resolve(Class<?> type) {
+        Converter<String, ?> converter = registered.get(type);
+
+        if (converter == null) {
+            converter = builtinOf(type);
+        }
+
+        if (converter == null) {
+            converter = NONE;
+        }
+
+        resolved.put(type, converter);
+        return converter;
+    }
 
     /**
      * 转换 context 的值
@@ -44,16 +104,11 @@ public class ConvertUtil {
 
         Object rst = null;
 
-        if (rst == null && Date.class == type) {
-            try {
-                rst = DateAnalyzer.getGlobal().parse(val);
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        //转数组
-        if (rst == null && type.isArray()) {
+        Converter<String, ?> converter = getConverter(type);
+        if (converter != null) {
+            rst = converter.convert(val);
+        } else if (type.isArray()) {
+            //转数组
             String[] ary = null;
             if (ctx == null) {
                 ary = val.split(",");
@@ -66,10 +121,8 @@ public class ConvertUtil {
             }
 
             rst = tryToArray(ary, type);
-        }
-
-        //转 list
-        if(rst == null && List.class.isAssignableFrom(type)) {
+        } else if (List.class.isAssignableFrom(type)) {
+            //转 list
             String[] ary = null;
             if (ctx == null) {
                 ary = val.split(",");
@@ -104,10 +157,6 @@ public class ConvertUtil {
             }
         }
 
-        if (rst == null) {
-            rst = tryTo(type, val);
-        }
-
         if (rst == null) {
             throw new ClassCastException("Unsupported type:" + type.getName());
         } else {
@@ -136,17 +185,6 @@ public class ConvertUtil {
             return rst;
         }
 
-        if (Date.class == (type)) {
-            try {
-                return DateAnalyzer.getGlobal().parse(val);
-            } catch (RuntimeException ex) {
-                throw ex;
-            } catch (Throwable ex) {
-                throw new RuntimeException(ex);
-            }
-        }
-
-
         throw new ClassCastException("不支持类型:" + type.getName());
     }
 
@@ -206,86 +244,105 @@ public class ConvertUtil {
      * @param val  值
      */
     public static Object tryTo(Class<?> type, String val) {
+        Converter<String, ?> converter = getConverter(type);
+
+        if (converter == null) {
+            return null;
+        } else {
+            return converter.convert(val);
+        }
+    }
+
+    /**
+     * 构建内置的转换器（不支持的，为 null）
+     */
+    private static Converter<String, ?> builtinOf(Class<?> type) {
+        if (String.class == type) {
+            return val -> val;
+        }
+
         if (Short.class == type || type == Short.TYPE) {
-            return Short.parseShort(val);
+            return Short::parseShort;
         }
 
         if (Integer.class == type || type == Integer.TYPE) {
-            return Integer.parseInt(val);
+            return Integer::parseInt;
         }
 
         if (Long.class == type || type == Long.TYPE) {
-            return Long.parseLong(val);
+            return Long::parseLong;
         }
 
         if (Double.class == type || type == Double.TYPE) {
-            return Double.parseDouble(val);
+            return Double::parseDouble;
         }
 
         if (Float.class == type || type == Float.TYPE) {
-            return Float.parseFloat(val);
+            return Float::parseFloat;
         }
 
         if (Boolean.class == type || type == Boolean.TYPE) {
-            if("1".equals(val)){
-                return true;
-            }
+            return val -> "1".equals(val) || Boolean.parseBoolean(val);
+        }
 
-            return Boolean.parseBoolean(val);
+        if (Date.class == type) {
+            return val -> {
+                try {
+                    return DateAnalyzer.getGlobal().parse(val);
+                } catch (ParseException e) {
+                    throw new RuntimeException(e);
+                }
+            };
         }
 
         if (LocalDate.class == type) {
             //as "2007-12-03", not null
-            return LocalDate.parse(val);
+            return LocalDate::parse;
         }
 
         if (LocalTime.class == type) {
             //as "10:15:30", not null
-            return LocalTime.parse(val);
+            return LocalTime::parse;
         }
 
         if (LocalDateTime.class == type) {
             //as "2007-12-03T10:15:30", not null
-            return LocalDateTime.parse(val);
+            return LocalDateTime::parse;
         }
 
         if (BigDecimal.class == type) {
-            return new BigDecimal(val);
+            return BigDecimal::new;
         }
 
         if (BigInteger.class == type) {
-            return new BigInteger(val);
+            return BigInteger::new;
         }
 
         if (type.isEnum()) {
-            return enumOf((Class<Enum>) type, val);
+            return enumOf((Class<Enum>) type);
         }
 
         if (File.class == type) {
-            return new File(val);
+            return File::new;
         }
 
         if (Charset.class == type) {
-            return Charset.forName(val);
-        }
-
-        if(String.class == type){
-            return val;
+            return Charset::forName;
         }
 
         return null;
     }
 
     /**
-     * 获取枚举
+     * 构建枚举的转换器（名字不区分大小写；预先建好名字索引）
      * */
-    private static <T extends Enum<T>> T enumOf(Class<T> enumType, String name) {
-        for (T each : enumType.getEnumConstants()) {
-            if (each.name().compareToIgnoreCase(name) == 0) {
-                return each;
-            }
+    private static Converter<String, ?> enumOf(Class<Enum> enumType) {
+        Map<String, Enum> names = new HashMap<>();
+        for (Enum each : enumType.getEnumConstants()) {
+            names.putIfAbsent(each.name().toLowerCase(Locale.ROOT), each);
         }
-        return null;
+
+        return val -> names.get(val.toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -0,0 +1,26 @@
+package org.noear.solon.core.util;
+
+/**
+ * 转换器（可通过 ConvertUtil.register 注册；或者作为组件，自动注册）
+ *
+ * <pre><code>
+ * @Component
+ * public class MoneyConverter implements Converter<String, Money> {
+ *     public Money convert(String value) {
+ *         return Money.parse(value);
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+    /**
+     * 转换（不支持的值，可返回 null）
+     *
+     * @param value 源值
+     */
+    T convert(S value);
+}
@@ -7,6 +7,9 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 
 /**
@@ -53,6 +56,40 @@ public class DateAnalyzer {
         return global;
     }
 
+    //按格式缓存的解析器（SimpleDateFormat 非线程安全，所以按线程缓存）
+    private static final ThreadLocal<FormatCache> formatCached = ThreadLocal.withInitial(FormatCache::new);
+
+    /**
+     * 获取格式的解析器（每个线程，每个格式，只构建一次）
+     */
+    protected DateFormat getFormat(String ft) {
+        Locale locale = (Solon.app() == null ? null : Solon.cfg().locale());
+        FormatCache cache = formatCached.get();
+
+        if (cache.locale != locale) {
+            //语言变了，重新构建
+            cache.locale = locale;
+            cache.formats.clear();
+        }
+
+        DateFormat df = cache.formats.get(ft);
+        if (df == null) {
+            if (locale == null) {
+                df = new SimpleDateFormat(ft);
+            } else {
+                df = new SimpleDateFormat(ft, locale);
+            }
+            cache.formats.put(ft, df);
+        }
+
+        df.setTimeZone(TimeZone.getDefault());
+        return df;
+    }
+
+    static class FormatCache {
+        Locale locale;
+        final Map<String, DateFormat> formats = new HashMap<>();
+    }
 
     /**
      * 解析
@@ -142,15 +179,7 @@ public class DateAnalyzer {
         }
 
         if (ft != null) {
-            DateFormat df = null;
-            if (Solon.app() == null) {
-                df = new SimpleDateFormat(ft);
-            } else {
-                df = new SimpleDateFormat(ft, Solon.cfg().locale());
-            }
-
-            df.setTimeZone(TimeZone.getDefault());
-            return df.parse(val);
+            return getFormat(ft).parse(val);
         } else {
             return null;
         }
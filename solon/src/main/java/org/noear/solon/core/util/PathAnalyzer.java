@@ -2,7 +2,9 @@ package org.noear.solon.core.util;
 
 import org.noear.solon.core.handle.Action;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,6 +31,10 @@ public class PathAnalyzer {
         PathAnalyzer.caseSensitive = caseSensitive;
     }
 
+    public static boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
     public static PathAnalyzer get(String expr) {
         PathAnalyzer pa = cached.get(expr);
         if (pa == null) {
@@ -45,13 +51,41 @@ public class PathAnalyzer {
     }
 
 
-    private Pattern pattern;
+    private final Pattern pattern;
+    //编译后的段标记（为 null 时，表示不支持，退回为正则）
+    private final Token[] tokens;
+    private final boolean ignoreCase;
+    private final int varCount;
+    private final int minLength;
 
     private PathAnalyzer(String expr) {
-        if (caseSensitive) {
+        ignoreCase = (caseSensitive == false);
+
+        if (ignoreCase) {
+            pattern = Pattern.compile(exprCompile(expr), Pattern.CASE_INSENSITIVE);
+        } else {
             pattern = Pattern.compile(exprCompile(expr));
+        }
+
+        tokens = tokenize(expr);
+
+        if (tokens == null) {
+            varCount = pattern.matcher("").groupCount();
+            minLength = 0;
         } else {
-            pattern = Pattern.compile(exprCompile(expr), Pattern.CASE_INSENSITIVE);
+            int vc = 0;
+            int ml = 0;
+            for (Token t : tokens) {
+                if (t.type == Token.LITERAL) {
+                    ml += t.text.length();
+                } else if (t.type == Token.VAR || t.type == Token.SPAN) {
+                    vc++;
+                    ml++;
+                }
+            }
+
+            varCount = vc;
+            minLength = ml;
         }
     }
 
@@ -66,7 +100,270 @@ public class PathAnalyzer {
      * 检测是否匹配
      * */
     public boolean matches(String uri){
-        return pattern.matcher(uri).find();
+        if (tokens == null) {
+            return pattern.matcher(uri).find();
+        } else {
+            return matches0(uri, null);
+        }
+    }
+
+    /**
+     * 路径变量数量
+     * */
+    public int varCount() {
+        return varCount;
+    }
+
+    /**
+     * 检测是否匹配，并输出路径变量在 uri 中的位置（不产生中间对象）
+     *
+     * @param uri     路径
+     * @param offsets 变量位置（长度不小于 varCount * 2；依次为：开始位置，结束位置）
+     * */
+    public boolean matches(String uri, int[] offsets) {
+        if (tokens == null) {
+            Matcher m = pattern.matcher(uri);
+            if (m.find()) {
+                for (int i = 0; i < varCount; i++) {
+                    offsets[i * 2] = m.start(i + 1);
+                    offsets[i * 2 + 1] = m.end(i + 1);
+                }
+                return true;
+            } else {
+                return false;
+            }
+        } else {
+            return matches0(uri, offsets);
+        }
+    }
+
+    private boolean matches0(String uri, int[] offsets) {
+        if (uri.length() < minLength) {
+            return false;
+        }
+
+        //前缀与后缀检测（快速排除）
+        Token first = tokens[0];
+        if (first.type == Token.LITERAL) {
+            if (uri.regionMatches(ignoreCase, 0, first.text, 0, first.text.length()) == false) {
+                return false;
+            }
+        }
+
+        Token last = tokens[tokens.length - 1];
+        if (last.type == Token.LITERAL && tokens.length > 1) {
+            int len = last.text.length();
+            if (uri.regionMatches(ignoreCase, uri.length() - len, last.text, 0, len) == false) {
+                return false;
+            }
+        }
+
+        return matchAt(uri, 0, 0, offsets, 0);
+    }
+
+    /**
+     * 按正则的优先顺序回溯匹配（* 与 ** 为贪婪；{var} 与 {var_} 为懒惰），确保变量结果与正则一致
+     * */
+    private boolean matchAt(String uri, int ti, int pos, int[] offsets, int vi) {
+        int len = uri.length();
+
+        if (ti == tokens.length) {
+            return pos == len;
+        }
+
+        Token t = tokens[ti];
+        Token next = (ti + 1 < tokens.length) ? tokens[ti + 1] : null;
+
+        switch (t.type) {
+            case Token.LITERAL: {
+                int size = t.text.length();
+                if (uri.regionMatches(ignoreCase, pos, t.text, 0, size)) {
+                    return matchAt(uri, ti + 1, pos + size, offsets, vi);
+                } else {
+                    return false;
+                }
+            }
+            case Token.STAR:
+            case Token.VAR: {
+                int limit = uri.indexOf('/', pos);
+                if (limit < 0) {
+                    limit = len;
+                }
+
+                int min = (t.type == Token.VAR ? pos + 1 : pos);
+                if (min > limit) {
+                    return false;
+                }
+
+                if (next == null || next.isSlashLiteral()) {
+                    //段内无 '/'，只能在段尾结束
+                    if (next == null && limit != len) {
+                        return false;
+                    }
+
+                    return capture(offsets, vi, t, pos, limit) && matchAt(uri, ti + 1, limit, offsets, vi + t.vars());
+                }
+
+                if (t.type == Token.VAR) {
+                    for (int end = min; end <= limit; end++) {
+                        if (capture(offsets, vi, t, pos, end) && matchAt(uri, ti + 1, end, offsets, vi + 1)) {
+                            return true;
+                        }
+                    }
+                } else {
+                    for (int end = limit; end >= min; end--) {
+                        if (matchAt(uri, ti + 1, end, offsets, vi)) {
+                            return true;
+                        }
+                    }
+                }
+
+                return false;
+            }
+            default: {
+                //SPAN, GLOB
+                int min = (t.type == Token.SPAN ? pos + 1 : pos);
+                if (min > len) {
+                    return false;
+                }
+
+                if (next == null) {
+                    return capture(offsets, vi, t, pos, len);
+                }
+
+                if (t.type == Token.SPAN) {
+                    for (int end = min; end <= len; end++) {
+                        if (capture(offsets, vi, t, pos, end) && matchAt(uri, ti + 1, end, offsets, vi + 1)) {
+                            return true;
+                        }
+                    }
+                } else {
+                    for (int end = len; end >= min; end--) {
+                        if (matchAt(uri, ti + 1, end, offsets, vi)) {
+                            return true;
+                        }
+                    }
+                }
+
+                return false;
+            }
+        }
+    }
+
+    private static boolean capture(int[] offsets, int vi, Token t, int start, int end) {
+        if (offsets != null && t.vars() > 0) {
+            offsets[vi * 2] = start;
+            offsets[vi * 2 + 1] = end;
+        }
+
+        return true;
+    }
+
+    /**
+     * 将路径表达式编译为段标记（不支持时返回 null）
+     * */
+    private static Token[] tokenize(String expr) {
+        if (expr.startsWith("/") == false) {
+            expr = "/" + expr;
+        }
+
+        List<Token> list = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+
+        int len = expr.length();
+        for (int i = 0; i < len; ) {
+            char c = expr.charAt(i);
+
+            if (c == '*') {
+                flushLiteral(list, buf);
+
+                if (i + 1 < len && expr.charAt(i + 1) == '*') {
+                    list.add(new Token(Token.GLOB, null));
+                    i += 2;
+                } else {
+                    list.add(new Token(Token.STAR, null));
+                    i += 1;
+                }
+            } else if (c == '{') {
+                int end = expr.indexOf('}', i + 1);
+                if (end < i + 2) {
+                    return null;
+                }
+
+                for (int j = i + 1; j < end; j++) {
+                    char c2 = expr.charAt(j);
+                    if (c2 == '{' || c2 == '*' || c2 == '\\') {
+                        return null;
+                    }
+                }
+
+                flushLiteral(list, buf);
+
+                //与正则规则保持一致：{_} 仍为普通变量
+                if (end - i > 2 && expr.charAt(end - 1) == '_') {
+                    list.add(new Token(Token.SPAN, null));
+                } else {
+                    list.add(new Token(Token.VAR, null));
+                }
+
+                i = end + 1;
+            } else {
+                switch (c) {
+                    case '}':
+                    case '\\':
+                    case '^':
+                    case '[':
+                    case ']':
+                    case '(':
+                    case ')':
+                    case '|':
+                    case '+':
+                    case '?':
+                        return null;
+                }
+
+                buf.append(c);
+                i++;
+            }
+        }
+
+        flushLiteral(list, buf);
+
+        return list.toArray(new Token[0]);
+    }
+
+    private static void flushLiteral(List<Token> list, StringBuilder buf) {
+        if (buf.length() > 0) {
+            list.add(new Token(Token.LITERAL, buf.toString()));
+            buf.setLength(0);
+        }
+    }
+
+    /**
+     * 段标记
+     * */
+    static class Token {
+        static final int LITERAL = 0;
+        static final int STAR = 1; // *   -> [^/]*
+        static final int GLOB = 2; // **  -> .*
+        static final int VAR = 3;  // {x} -> ([^/]+?)
+        static final int SPAN = 4; // {x_}-> (.+?)
+
+        final int type;
+        final String text;
+
+        Token(int type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        int vars() {
+            return (type == VAR || type == SPAN) ? 1 : 0;
+        }
+
+        boolean isSlashLiteral() {
+            return type == LITERAL && text.charAt(0) == '/';
+        }
     }
 
     /**
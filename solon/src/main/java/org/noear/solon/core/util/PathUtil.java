@@ -96,10 +96,10 @@ public class PathUtil {
             if (_pks.size() > 0) {
                 PathAnalyzer _pr = PathAnalyzer.get(expr);
 
-                pm = _pr.matcher(path2);
-                if (pm.find()) {
-                    for (int i = 0, len = _pks.size(); i < len; i++) {
-                        _map.put(_pks.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
+                PathVars _vars = PathVars.capture(_pr, path2);
+                if (_vars != null) {
+                    for (int i = 0, len = Math.min(_pks.size(), _vars.count()); i < len; i++) {
+                        _map.put(_pks.get(i), _vars.get(i));//不采用group name,可解决_的问题
                     }
                 }
             }
@@ -0,0 +1,67 @@
+package org.noear.solon.core.util;
+
+/**
+ * 路径变量捕获结果（由路由时产生，交由 Action 直接使用，免去二次分析）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class PathVars {
+    /**
+     * 上下文特性名
+     * */
+    public static final String ATTR_NAME = "pathVars";
+
+    /**
+     * 捕获
+     *
+     * @param analyzer 路径分析器
+     * @param path     路径
+     * @return 没有变量或不匹配时为 null
+     * */
+    public static PathVars capture(PathAnalyzer analyzer, String path) {
+        if (analyzer.varCount() == 0) {
+            return null;
+        }
+
+        int[] offsets = new int[analyzer.varCount() * 2];
+        if (analyzer.matches(path, offsets)) {
+            return new PathVars(analyzer, path, offsets);
+        } else {
+            return null;
+        }
+    }
+
+    private final PathAnalyzer analyzer;
+    private final String path;
+    private final int[] offsets;
+
+    private PathVars(PathAnalyzer analyzer, String path, int[] offsets) {
+        this.analyzer = analyzer;
+        this.path = path;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 是否来自同一分析器与路径（分析器按引用比较）
+     * */
+    public boolean isFrom(PathAnalyzer analyzer, String path) {
+        return this.analyzer == analyzer && (this.path == path || this.path.equals(path));
+    }
+
+    /**
+     * 变量数量
+     * */
+    public int count() {
+        return offsets.length / 2;
+    }
+
+    /**
+     * 获取变量值
+     *
+     * @param index 变量顺序位
+     * */
+    public String get(int index) {
+        return path.substring(offsets[index * 2], offsets[index * 2 + 1]);
+    }
+}
@@ -36,6 +36,13 @@ public class ScanUtil {
         }
     }
 
+    /**
+     * 获取扫描器
+     * */
+    public static ResourceScanner getScanner() {
+        return scanner;
+    }
+
     /**
      * 扫描路径下的的资源（path 扫描路径）
      *
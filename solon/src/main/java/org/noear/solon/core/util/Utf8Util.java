@@ -0,0 +1,73 @@
+package org.noear.solon.core.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 工具（直接写入缓冲区，免去 getBytes 产生的 byte[]）
+ *
+ * @author agent
+ * @since 2.3
+ */
+public final class Utf8Util {
+    /**
+     * 编码后的字节长度
+     */
+    public static int length(CharSequence str) {
+        int len = str.length();
+        int size = len;
+
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    size += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    size += 2; //两个 char 共 4 字节
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    //孤立的代理字符，编码为 '?'
+                } else {
+                    size += 2;
+                }
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * 写入（与 String.getBytes(UTF_8) 的结果相同）
+     */
+    public static void put(ByteBuffer buf, CharSequence str) {
+        put(buf, str, 0, str.length());
+    }
+
+    /**
+     * 写入区间 [from, to)
+     */
+    public static void put(ByteBuffer buf, CharSequence str, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = str.charAt(i);
+
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | (c >> 6)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, str.charAt(++i));
+                buf.put((byte) (0xF0 | (cp >> 18)));
+                buf.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buf.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buf.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buf.put((byte) '?');
+            } else {
+                buf.put((byte) (0xE0 | (c >> 12)));
+                buf.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
@@ -48,6 +48,8 @@ public class ClassWrap {
     private final List<FieldWrap> fieldWraps;
     //clz.all_fieldS
     private final Map<String, FieldWrap> fieldAllWrapsMap;
+    //clz.all_fieldS 的绑定器（用时再构建）
+    private volatile FieldBinder[] fieldBinders;
 
     //for record
     private boolean _recordable;
@@ -224,27 +226,45 @@ public class ClassWrap {
      * @param ctx  上下文
      */
     private void doFill(Object bean, Function<String, String> data, Context ctx) throws Exception {
-        for (Map.Entry<String, FieldWrap> kv : fieldAllWrapsMap.entrySet()) {
-            String key = kv.getKey();
-            String val0 = data.apply(key);
-
-            FieldWrap fw = kv.getValue();
+        for (FieldBinder fb : getFieldBinders()) {
+            String val0 = data.apply(fb.key);
 
             if (val0 != null) {
                 //将 string 转为目标 type，并为字段赋值
-                Object val = ConvertUtil.to(fw.field, fw.type, key, val0, ctx);
-                fw.setValue(bean, val);
+                Object val = fb.convert(val0, ctx);
+                fb.setValue(bean, val);
             } else {
-                if (ctx != null && fw.type == UploadedFile.class) {
-                    UploadedFile file1 = ctx.file(key);
+                if (ctx != null && fb.fw.type == UploadedFile.class) {
+                    UploadedFile file1 = ctx.file(fb.key);
                     if (file1 != null) {
-                        fw.setValue(bean, file1);
+                        fb.setValue(bean, file1);
                     }
                 }
             }
         }
     }
 
+    /**
+     * 获取所有字段的绑定器（转换器与设置器只构建一次）
+     */
+    private FieldBinder[] getFieldBinders() {
+        FieldBinder[] tmp = fieldBinders;
+
+        if (tmp == null) {
+            //构建是幂等的，并发时重复构建也没关系
+            tmp = new FieldBinder[fieldAllWrapsMap.size()];
+
+            int i = 0;
+            for (Map.Entry<String, FieldWrap> kv : fieldAllWrapsMap.entrySet()) {
+                tmp[i++] = new FieldBinder(kv.getKey(), kv.getValue());
+            }
+
+            fieldBinders = tmp;
+        }
+
+        return tmp;
+    }
+
     /**
      * 扫描一个类的所有字段（不能与Snack3的复用；它需要排除非序列化字段）
      */
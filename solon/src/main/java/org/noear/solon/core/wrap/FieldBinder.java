@@ -0,0 +1,136 @@
+package org.noear.solon.core.wrap;
+
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.util.ConvertUtil;
+import org.noear.solon.core.util.Converter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * 字段绑定器（ClassWrap 填充数据用；构建时确定转换器与设置器，绑定时不再做类型判断与反射调用）
+ *
+ * @author agent
+ * @since 2.3
+ */
+class FieldBinder {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    final String key;
+    final FieldWrap fw;
+    //转换器及其版本（整体替换发布；转换器为 null 时，走 ConvertUtil.to；比如数组与 List 需要上下文）
+    private volatile ConverterHolder converterHolder;
+    //设置器（为 null 时，走 FieldWrap.setValue）
+    private final MethodHandle setter;
+
+    FieldBinder(String key, FieldWrap fw) {
+        this.key = key;
+        this.fw = fw;
+        this.converterHolder = converterHolderOf(fw);
+        this.setter = (fw.readonly ? null : setterOf(fw));
+    }
+
+    /**
+     * 转换值
+     */
+    public Object convert(String val, Context ctx) {
+        if (fw.type == String.class) {
+            return val;
+        }
+
+        ConverterHolder holder = converterHolder;
+        if (holder.version != ConvertUtil.version()) {
+            //有新注册的转换器
+            holder = converterHolderOf(fw);
+            converterHolder = holder;
+        }
+
+        Converter<String, ?> tmp = holder.converter;
+        if (tmp == null) {
+            return ConvertUtil.to(fw.field, fw.type, key, val, ctx);
+        }
+
+        if (val.length() == 0) {
+            return null;
+        }
+
+        Object rst = tmp.convert(val);
+
+        if (rst == null) {
+            throw new ClassCastException("Unsupported type:" + fw.type.getName());
+        } else {
+            return rst;
+        }
+    }
+
+    /**
+     * 设置值
+     */
+    public void setValue(Object obj, Object val) {
+        if (val == null || fw.readonly) {
+            return;
+        }
+
+        if (setter == null) {
+            fw.setValue(obj, val);
+            return;
+        }
+
+        try {
+            setter.invokeExact(obj, val);
+        } catch (ClassCastException ex) {
+            throw new IllegalArgumentException(
+                    fw.field.getName() + "(" + fw.field.getType().getSimpleName() +
+                            ") Type receive failure ：val(" + val.getClass().getSimpleName() + ")", ex);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * 构建转换器（先取版本；注册与获取交错时，下次再更新）
+     */
+    private static ConverterHolder converterHolderOf(FieldWrap fw) {
+        int ver = ConvertUtil.version();
+        return new ConverterHolder(ver, ConvertUtil.getConverter(fw.type));
+    }
+
+    /**
+     * 构建设置器（与 FieldWrap 一致：有 set 函数的用函数，否则用字段）
+     */
+    private static MethodHandle setterOf(FieldWrap fw) {
+        try {
+            MethodHandle mh;
+            Method method = fw.setter();
+
+            if (method == null) {
+                mh = MethodHandles.lookup().unreflectSetter(fw.field);
+            } else {
+                method.setAccessible(true);
+                mh = MethodHandles.lookup().unreflect(method);
+            }
+
+            return mh.asType(SETTER_TYPE);
+        } catch (Throwable e) {
+            //比如模块限制，退回反射
+            return null;
+        }
+    }
+
+    /**
+     * 转换器及其版本（不可变）
+     */
+    private static final class ConverterHolder {
+        final int version;
+        final Converter<String, ?> converter;
+
+        ConverterHolder(int version, Converter<String, ?> converter) {
+            this.version = version;
+            this.converter = converter;
+        }
+    }
+}
@@ -115,6 +115,13 @@ public class FieldWrap {
         return new VarHolderOfField(ctx, this, obj, onDone);
     }
 
+    /**
+     * 值设置器（可能为 null）
+     */
+    Method setter() {
+        return _setter;
+    }
+
     /**
      * 获取字段的值
      */
@@ -0,0 +1,18 @@
+package org.noear.solon.core.wrap;
+
+/**
+ * 函数执行器（每个函数一个，用于替代反射执行）
+ *
+ * @author agent
+ * @since 2.3
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+    /**
+     * 执行
+     *
+     * @param obj  目标对象（静态函数时为 null）
+     * @param args 参数
+     */
+    Object invoke(Object obj, Object[] args) throws Throwable;
+}
@@ -0,0 +1,20 @@
+package org.noear.solon.core.wrap;
+
+import java.lang.reflect.Method;
+
+/**
+ * 函数执行器工厂
+ *
+ * @author agent
+ * @since 2.3
+ */
+@FunctionalInterface
+public interface MethodInvokerFactory {
+    /**
+     * 创建执行器
+     *
+     * @param method 函数
+     * @return 不支持时返回 null（即退回为反射执行）
+     */
+    MethodInvoker create(Method method);
+}
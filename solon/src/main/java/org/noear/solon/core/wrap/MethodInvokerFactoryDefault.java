@@ -0,0 +1,408 @@
+package org.noear.solon.core.wrap;
+
+import org.noear.solon.core.runtime.NativeDetector;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 函数执行器工厂默认实现
+ *
+ * <pre><code>
+ * 通过 LambdaMetafactory 为每个函数生成直接调用的类（与手写 lambda 的调用方式相同）
+ * 不支持时返回 null（即退回为反射），包括：原生镜像、非公有、参数超过 MAX_PARAMS 个、类加载器不可见等
+ * 执行时，目标对象或参数不符的（数量不对、基本类型为 null、类型不符），转由反射执行，异常与反射一致
+ * </code></pre>
+ *
+ * @author agent
+ * @since 2.3
+ */
+public class MethodInvokerFactoryDefault implements MethodInvokerFactory {
+    /**
+     * 支持的最大参数数量
+     */
+    public static final int MAX_PARAMS = 6;
+
+    private static final Class<?>[] FUNCS = new Class<?>[]{F0.class, F1.class, F2.class, F3.class, F4.class, F5.class, F6.class, F7.class};
+    private static final Class<?>[] VOIDS = new Class<?>[]{V0.class, V1.class, V2.class, V3.class, V4.class, V5.class, V6.class, V7.class};
+
+    @Override
+    public MethodInvoker create(Method method) {
+        if (NativeDetector.inNativeImage()) {
+            //原生镜像不支持运行时生成类，使用反射（aot 时已登记）
+            return null;
+        }
+
+        if (method.getParameterCount() > MAX_PARAMS || isAccessible(method) == false) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle mh = lookup.unreflect(method);
+
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            boolean isVoid = (method.getReturnType() == void.class);
+            int arity = mh.type().parameterCount(); //非静态时，包括目标对象
+
+            MethodType samType = MethodType.genericMethodType(arity);
+            MethodType instantiatedType = mh.type().wrap();
+            Class<?> samClz;
+
+            if (isVoid) {
+                samType = samType.changeReturnType(void.class);
+                instantiatedType = instantiatedType.changeReturnType(void.class);
+                samClz = VOIDS[arity];
+            } else {
+                samClz = FUNCS[arity];
+            }
+
+            Object lambda = LambdaMetafactory.metafactory(lookup, "apply",
+                            MethodType.methodType(samClz), samType, mh, instantiatedType)
+                    .getTarget()
+                    .invoke();
+
+            MethodInvoker invoker;
+            if (isVoid) {
+                invoker = ofVoid(lambda, arity, isStatic);
+            } else {
+                invoker = ofFunc(lambda, arity, isStatic);
+            }
+
+            return (invoker == null ? null : checkedOf(method, isStatic, invoker));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 参数检查（与反射保持一致：目标对象或参数不符时，转由反射执行；
+     * 由反射抛出 IllegalArgumentException，或者完成基本类型的放宽转换）
+     */
+    private static MethodInvoker checkedOf(Method method, boolean isStatic, MethodInvoker invoker) {
+        Class<?> declaringClz = method.getDeclaringClass();
+        Class<?>[] paramTypes = method.getParameterTypes();
+        Class<?>[] wrapTypes = new Class<?>[paramTypes.length];
+        boolean[] primitives = new boolean[paramTypes.length];
+
+        for (int i = 0; i < paramTypes.length; i++) {
+            wrapTypes[i] = MethodType.methodType(paramTypes[i]).wrap().returnType();
+            primitives[i] = paramTypes[i].isPrimitive();
+        }
+
+        return (obj, args) -> {
+            if (isStatic == false && declaringClz.isInstance(obj) == false) {
+                return method.invoke(obj, args);
+            }
+
+            int argsLength = (args == null ? 0 : args.length);
+            if (argsLength != wrapTypes.length) {
+                return method.invoke(obj, args);
+            }
+
+            for (int i = 0; i < argsLength; i++) {
+                Object arg = args[i];
+
+                if (arg == null) {
+                    if (primitives[i]) {
+                        return method.invoke(obj, args);
+                    }
+                } else if (wrapTypes[i].isInstance(arg) == false) {
+                    return method.invoke(obj, args);
+                }
+            }
+
+            return invoker.invoke(obj, args);
+        };
+    }
+
+    /**
+     * 生成的类位于当前类的类加载器里，要求函数及相关类型可访问且可见
+     */
+    private static boolean isAccessible(Method method) {
+        if (Modifier.isPublic(method.getModifiers()) == false) {
+            return false;
+        }
+
+        for (Class<?> c = method.getDeclaringClass(); c != null; c = c.getEnclosingClass()) {
+            if (Modifier.isPublic(c.getModifiers()) == false) {
+                return false;
+            }
+        }
+
+        if (isVisible(method.getDeclaringClass()) == false || isVisible(method.getReturnType()) == false) {
+            return false;
+        }
+
+        for (Class<?> c : method.getParameterTypes()) {
+            if (isVisible(c) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> clz) {
+        while (clz.isArray()) {
+            clz = clz.getComponentType();
+        }
+
+        if (clz.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(clz.getName(), false, MethodInvokerFactoryDefault.class.getClassLoader()) == clz;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodInvoker ofFunc(Object lambda, int arity, boolean isStatic) {
+        switch (arity) {
+            case 0: {
+                F0 fn = (F0) lambda;
+                return (obj, args) -> fn.apply();
+            }
+            case 1: {
+                F1 fn = (F1) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0]);
+                } else {
+                    return (obj, args) -> fn.apply(obj);
+                }
+            }
+            case 2: {
+                F2 fn = (F2) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0], args[1]);
+                } else {
+                    return (obj, args) -> fn.apply(obj, args[0]);
+                }
+            }
+            case 3: {
+                F3 fn = (F3) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0], args[1], args[2]);
+                } else {
+                    return (obj, args) -> fn.apply(obj, args[0], args[1]);
+                }
+            }
+            case 4: {
+                F4 fn = (F4) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0], args[1], args[2], args[3]);
+                } else {
+                    return (obj, args) -> fn.apply(obj, args[0], args[1], args[2]);
+                }
+            }
+            case 5: {
+                F5 fn = (F5) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0], args[1], args[2], args[3], args[4]);
+                } else {
+                    return (obj, args) -> fn.apply(obj, args[0], args[1], args[2], args[3]);
+                }
+            }
+            case 6: {
+                F6 fn = (F6) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0], args[1], args[2], args[3], args[4], args[5]);
+                } else {
+                    return (obj, args) -> fn.apply(obj, args[0], args[1], args[2], args[3], args[4]);
+                }
+            }
+            case 7: {
+                F7 fn = (F7) lambda;
+                if (isStatic) {
+                    return (obj, args) -> fn.apply(args[0], args[1], args[2], args[3], args[4], args[5], args[6]);
+                } else {
+                    return (obj, args) -> fn.apply(obj, args[0], args[1], args[2], args[3], args[4], args[5]);
+                }
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static MethodInvoker ofVoid(Object lambda, int arity, boolean isStatic) {
+        switch (arity) {
+            case 0: {
+                V0 fn = (V0) lambda;
+                return (obj, args) -> {
+                    fn.apply();
+                    return null;
+                };
+            }
+            case 1: {
+                V1 fn = (V1) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj);
+                        return null;
+                    };
+                }
+            }
+            case 2: {
+                V2 fn = (V2) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0], args[1]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj, args[0]);
+                        return null;
+                    };
+                }
+            }
+            case 3: {
+                V3 fn = (V3) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0], args[1], args[2]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj, args[0], args[1]);
+                        return null;
+                    };
+                }
+            }
+            case 4: {
+                V4 fn = (V4) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0], args[1], args[2], args[3]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj, args[0], args[1], args[2]);
+                        return null;
+                    };
+                }
+            }
+            case 5: {
+                V5 fn = (V5) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0], args[1], args[2], args[3], args[4]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj, args[0], args[1], args[2], args[3]);
+                        return null;
+                    };
+                }
+            }
+            case 6: {
+                V6 fn = (V6) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0], args[1], args[2], args[3], args[4], args[5]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj, args[0], args[1], args[2], args[3], args[4]);
+                        return null;
+                    };
+                }
+            }
+            case 7: {
+                V7 fn = (V7) lambda;
+                if (isStatic) {
+                    return (obj, args) -> {
+                        fn.apply(args[0], args[1], args[2], args[3], args[4], args[5], args[6]);
+                        return null;
+                    };
+                } else {
+                    return (obj, args) -> {
+                        fn.apply(obj, args[0], args[1], args[2], args[3], args[4], args[5]);
+                        return null;
+                    };
+                }
+            }
+            default:
+                return null;
+        }
+    }
+
+    public interface F0 {
+        Object apply();
+    }
+
+    public interface F1 {
+        Object apply(Object p0);
+    }
+
+    public interface F2 {
+        Object apply(Object p0, Object p1);
+    }
+
+    public interface F3 {
+        Object apply(Object p0, Object p1, Object p2);
+    }
+
+    public interface F4 {
+        Object apply(Object p0, Object p1, Object p2, Object p3);
+    }
+
+    public interface F5 {
+        Object apply(Object p0, Object p1, Object p2, Object p3, Object p4);
+    }
+
+    public interface F6 {
+        Object apply(Object p0, Object p1, Object p2, Object p3, Object p4, Object p5);
+    }
+
+    public interface F7 {
+        Object apply(Object p0, Object p1, Object p2, Object p3, Object p4, Object p5, Object p6);
+    }
+
+    public interface V0 {
+        void apply();
+    }
+
+    public interface V1 {
+        void apply(Object p0);
+    }
+
+    public interface V2 {
+        void apply(Object p0, Object p1);
+    }
+
+    public interface V3 {
+        void apply(Object p0, Object p1, Object p2);
+    }
+
+    public interface V4 {
+        void apply(Object p0, Object p1, Object p2, Object p3);
+    }
+
+    public interface V5 {
+        void apply(Object p0, Object p1, Object p2, Object p3, Object p4);
+    }
+
+    public interface V6 {
+        void apply(Object p0, Object p1, Object p2, Object p3, Object p4, Object p5);
+    }
+
+    public interface V7 {
+        void apply(Object p0, Object p1, Object p2, Object p3, Object p4, Object p5, Object p6);
+    }
+}
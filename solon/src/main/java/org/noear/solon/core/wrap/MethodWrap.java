@@ -3,9 +3,12 @@ package org.noear.solon.core.wrap;
 import org.noear.solon.Utils;
 import org.noear.solon.annotation.*;
 import org.noear.solon.core.AopContext;
+import org.noear.solon.core.Bridge;
 import org.noear.solon.core.aspect.Interceptor;
 import org.noear.solon.core.aspect.InterceptorEntity;
 import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.handle.ActionExecutor;
+import org.noear.solon.core.handle.ArgumentResolver;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
@@ -13,6 +16,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * 方法包装
@@ -30,6 +35,7 @@ public class MethodWrap implements Interceptor, MethodHolder {
         entityClz = m.getDeclaringClass();
 
         method = m;
+        invoker = Bridge.methodInvokerFactory().create(m);
         parameters = paramsWrap(m.getParameters());
         annotations = m.getAnnotations();
         arounds = new ArrayList<>();
@@ -69,6 +75,7 @@ public class MethodWrap implements Interceptor, MethodHolder {
         }
 
         arounds.add(new InterceptorEntity(0, this));
+        aroundsArray = arounds.toArray(new Interceptor[0]);
     }
 
     private ParamWrap[] paramsWrap(Parameter[] pAry) {
@@ -105,6 +112,8 @@ public class MethodWrap implements Interceptor, MethodHolder {
     private final Class<?> entityClz;
     //函数
     private final Method method;
+    //函数执行器（为 null 时，使用反射）
+    private final MethodInvoker invoker;
     //函数参数
     private final ParamWrap[] parameters;
     //函数注解
@@ -112,6 +121,10 @@ public class MethodWrap implements Interceptor, MethodHolder {
     //函数包围列表（扩展切点）
     private final List<InterceptorEntity> arounds;
     private final Set<Interceptor> aroundsIdx;
+    //函数包围快照（执行时使用）
+    private final Interceptor[] aroundsArray;
+    //参数解析器（按执行器缓存）
+    private final Map<ActionExecutor, ArgumentResolver[]> argumentResolvers = new ConcurrentHashMap<>();
 
 
     /**
@@ -153,6 +166,21 @@ public class MethodWrap implements Interceptor, MethodHolder {
         return parameters;
     }
 
+    /**
+     * 获取参数解析器（按执行器缓存，首次时构建）
+     *
+     * @param executor 动作执行器
+     * @param builder  构建器
+     */
+    public ArgumentResolver[] getArgumentResolvers(ActionExecutor executor, Function<MethodWrap, ArgumentResolver[]> builder) {
+        ArgumentResolver[] tmp = argumentResolvers.get(executor);
+        if (tmp == null) {
+            tmp = argumentResolvers.computeIfAbsent(executor, k -> builder.apply(this));
+        }
+
+        return tmp;
+    }
+
     /**
      * 获取函数所有注解
      */
@@ -194,6 +222,14 @@ public class MethodWrap implements Interceptor, MethodHolder {
      * 执行
      */
     public Object invoke(Object obj, Object[] args) throws Throwable {
+        if (invoker != null) {
+            try {
+                return invoker.invoke(obj, args);
+            } catch (Throwable e) {
+                throw Utils.throwableUnwrap(e);
+            }
+        }
+
         try {
             return method.invoke(obj, args);
         } catch (InvocationTargetException e) {
@@ -206,7 +242,12 @@ public class MethodWrap implements Interceptor, MethodHolder {
      * 执行切面
      */
     public Object invokeByAspect(Object obj, Object[] args) throws Throwable {
-        Invocation inv = new Invocation(obj, args, this, arounds);
+        if (aroundsArray.length == 1) {
+            //没有拦截器时，直接执行
+            return invoke(obj, args);
+        }
+
+        Invocation inv = new Invocation(obj, args, this, aroundsArray);
         return inv.invoke();
     }
 }
\ No newline at end of file